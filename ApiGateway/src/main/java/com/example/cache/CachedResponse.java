@@ -0,0 +1,139 @@
+package com.example.cache;
+
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import reactor.core.publisher.Mono;
+
+import java.util.function.Consumer;
+
+/**
+ * An immutable snapshot of a downstream response: status, headers and the fully
+ * buffered body. Snapshots can be replayed onto any number of client responses.
+ */
+public class CachedResponse {
+
+    private final String routeId;
+    private final int statusCode;
+    private final HttpHeaders headers;
+    private final byte[] body;
+    private final long createdAtNanos;
+    private final long expiresAtNanos;
+
+    /**
+     * Constructs a response snapshot.
+     *
+     * @param routeId        the id of the route that produced the response
+     * @param statusCode     the raw HTTP status code
+     * @param headers        the response headers; a read-only copy is kept
+     * @param body           the response body
+     * @param createdAtNanos the {@link System#nanoTime()} at which the response was captured
+     * @param expiresAtNanos the {@link System#nanoTime()} after which the snapshot is stale
+     */
+    public CachedResponse(String routeId, int statusCode, HttpHeaders headers, byte[] body,
+                          long createdAtNanos, long expiresAtNanos) {
+        this.routeId = routeId;
+        this.statusCode = statusCode;
+        HttpHeaders copy = new HttpHeaders();
+        copy.putAll(headers);
+        copy.remove(HttpHeaders.TRANSFER_ENCODING);
+        copy.remove(HttpHeaders.CONNECTION);
+        copy.setContentLength(body.length);
+        this.headers = HttpHeaders.readOnlyHttpHeaders(copy);
+        this.body = body;
+        this.createdAtNanos = createdAtNanos;
+        this.expiresAtNanos = expiresAtNanos;
+    }
+
+    /**
+     * Get the id of the route that produced the response.
+     *
+     * @return the route id
+     */
+    public String getRouteId() {
+        return routeId;
+    }
+
+    /**
+     * Get the raw HTTP status code.
+     *
+     * @return the status code
+     */
+    public int getStatusCode() {
+        return statusCode;
+    }
+
+    /**
+     * Get the read-only response headers.
+     *
+     * @return the headers
+     */
+    public HttpHeaders getHeaders() {
+        return headers;
+    }
+
+    /**
+     * Get the response body. Callers must not modify the returned array.
+     *
+     * @return the body bytes
+     */
+    public byte[] getBody() {
+        return body;
+    }
+
+    /**
+     * Get the entity tag of the response, if any.
+     *
+     * @return the ETag header value, or null
+     */
+    public String getETag() {
+        return headers.getETag();
+    }
+
+    /**
+     * Get the age of the snapshot in seconds, as reported in the Age header.
+     *
+     * @param nowNanos the current {@link System#nanoTime()}
+     * @return the age in whole seconds
+     */
+    public long ageSeconds(long nowNanos) {
+        return Math.max(0, (nowNanos - createdAtNanos) / 1_000_000_000L);
+    }
+
+    /**
+     * Check whether the snapshot is past its TTL.
+     *
+     * @param nowNanos the current {@link System#nanoTime()}
+     * @return true if the snapshot has expired
+     */
+    public boolean isExpired(long nowNanos) {
+        return nowNanos - expiresAtNanos >= 0;
+    }
+
+    /**
+     * Replay this snapshot onto a client response.
+     *
+     * @param response the response to write to
+     * @return a Mono that completes once the body is written
+     */
+    public Mono<Void> writeTo(ServerHttpResponse response) {
+        return writeTo(response, responseHeaders -> {
+        });
+    }
+
+    /**
+     * Replay this snapshot onto a client response, adjusting the headers before
+     * the response is committed.
+     *
+     * @param response          the response to write to
+     * @param headerCustomizer  callback applied to the response headers after the snapshot headers are copied
+     * @return a Mono that completes once the body is written
+     */
+    public Mono<Void> writeTo(ServerHttpResponse response, Consumer<HttpHeaders> headerCustomizer) {
+        response.setRawStatusCode(statusCode);
+        response.getHeaders().putAll(headers);
+        headerCustomizer.accept(response.getHeaders());
+        DataBuffer buffer = response.bufferFactory().wrap(body);
+        return response.writeWith(Mono.just(buffer));
+    }
+}
@@ -0,0 +1,113 @@
+package com.example.cache;
+
+import org.reactivestreams.Publisher;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.http.server.reactive.ServerHttpResponseDecorator;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.function.Consumer;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.zip.CRC32;
+
+/**
+ * Response decorator that passes the downstream body through to the client and,
+ * when the response is cacheable, hands a {@link CachedResponse} snapshot to a callback.
+ */
+public class CachingResponseDecorator extends ServerHttpResponseDecorator {
+
+    private static final Pattern MAX_AGE = Pattern.compile("(?:s-maxage|max-age)=(\\d+)");
+
+    private final String routeId;
+    private final Duration routeTtl;
+    private final int maxBodyBytes;
+    private final Consumer<CachedResponse> onCacheable;
+
+    /**
+     * Constructs a decorator for a single exchange.
+     *
+     * @param delegate     the client response
+     * @param routeId      the id of the matched route
+     * @param routeTtl     the TTL configured for the route
+     * @param maxBodyBytes the largest body that will be captured
+     * @param onCacheable  callback receiving the snapshot of a cacheable response
+     */
+    public CachingResponseDecorator(ServerHttpResponse delegate, String routeId, Duration routeTtl,
+                                    int maxBodyBytes, Consumer<CachedResponse> onCacheable) {
+        super(delegate);
+        this.routeId = routeId;
+        this.routeTtl = routeTtl;
+        this.maxBodyBytes = maxBodyBytes;
+        this.onCacheable = onCacheable;
+    }
+
+    @Override
+    public Mono<Void> writeWith(Publisher<? extends DataBuffer> body) {
+        Duration ttl = effectiveTtl();
+        long contentLength = getHeaders().getContentLength();
+        if (ttl.isZero() || contentLength > maxBodyBytes) {
+            return super.writeWith(body);
+        }
+        return DataBufferUtils.join(Flux.from(body))
+                .defaultIfEmpty(bufferFactory().wrap(new byte[0]))
+                .flatMap(joined -> {
+                    byte[] bytes = new byte[joined.readableByteCount()];
+                    joined.read(bytes);
+                    DataBufferUtils.release(joined);
+                    if (bytes.length > maxBodyBytes) {
+                        return super.writeWith(Mono.just(bufferFactory().wrap(bytes)));
+                    }
+                    if (getHeaders().getETag() == null) {
+                        getHeaders().setETag(weakETag(bytes));
+                    }
+                    long now = System.nanoTime();
+                    onCacheable.accept(new CachedResponse(routeId, getRawStatusCode(), getHeaders(), bytes,
+                            now, now + ttl.toNanos()));
+                    return super.writeWith(Mono.just(bufferFactory().wrap(bytes)));
+                });
+    }
+
+    /**
+     * Resolve how long the current response may be cached, combining the route
+     * TTL with the downstream Cache-Control header.
+     *
+     * @return the TTL, or zero if the response must not be cached
+     */
+    private Duration effectiveTtl() {
+        Integer status = getRawStatusCode();
+        if (status == null || status != HttpStatus.OK.value()) {
+            return Duration.ZERO;
+        }
+        String cacheControl = getHeaders().getCacheControl();
+        if (cacheControl == null) {
+            return routeTtl;
+        }
+        String directives = cacheControl.toLowerCase();
+        if (directives.contains("no-store") || directives.contains("no-cache") || directives.contains("private")) {
+            return Duration.ZERO;
+        }
+        Matcher matcher = MAX_AGE.matcher(directives);
+        if (matcher.find()) {
+            Duration maxAge = Duration.ofSeconds(Long.parseLong(matcher.group(1)));
+            return maxAge.compareTo(routeTtl) < 0 ? maxAge : routeTtl;
+        }
+        return routeTtl;
+    }
+
+    /**
+     * Compute a weak entity tag from the body for responses that carry none.
+     *
+     * @param bytes the response body
+     * @return the weak ETag value
+     */
+    private static String weakETag(byte[] bytes) {
+        CRC32 crc = new CRC32();
+        crc.update(bytes);
+        return "W/\"" + Long.toHexString(crc.getValue()) + "-" + Integer.toHexString(bytes.length) + "\"";
+    }
+}
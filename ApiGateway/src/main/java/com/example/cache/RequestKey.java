@@ -0,0 +1,35 @@
+package com.example.cache;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+
+import java.util.List;
+
+/**
+ * Builds the key identifying equivalent GET requests, used both for cached
+ * responses and for coalescing concurrent requests.
+ */
+public final class RequestKey {
+
+    private RequestKey() {
+    }
+
+    /**
+     * Build the key from the request path, query string and Accept header.
+     *
+     * @param request the client request
+     * @return the request key
+     */
+    public static String of(ServerHttpRequest request) {
+        StringBuilder key = new StringBuilder(request.getURI().getRawPath());
+        String query = request.getURI().getRawQuery();
+        if (query != null) {
+            key.append('?').append(query);
+        }
+        List<String> accept = request.getHeaders().get(HttpHeaders.ACCEPT);
+        if (accept != null) {
+            key.append('|').append(String.join(",", accept));
+        }
+        return key.toString();
+    }
+}
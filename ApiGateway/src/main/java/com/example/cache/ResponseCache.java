@@ -0,0 +1,141 @@
+package com.example.cache;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A bounded, least-recently-used store of downstream responses.
+ * Expired entries are kept until they are evicted so that they can still be
+ * served as a stale fallback when a route is unavailable.
+ * Each route has a generation that an invalidation advances, so a response
+ * loaded before a write is not stored after the write has cleared the route.
+ */
+public class ResponseCache {
+
+    private final int maxEntries;
+    private final Map<String, CachedResponse> entries;
+    private final Map<String, Long> generations = new HashMap<>();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    /**
+     * Constructs a cache holding at most the given number of entries.
+     *
+     * @param maxEntries the maximum number of entries
+     */
+    public ResponseCache(int maxEntries) {
+        this.maxEntries = maxEntries;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, CachedResponse> eldest) {
+                return size() > ResponseCache.this.maxEntries;
+            }
+        };
+    }
+
+    /**
+     * Look up a fresh entry and record the hit or miss.
+     *
+     * @param key the cache key
+     * @return the cached response, or null if absent or expired
+     */
+    public CachedResponse get(String key) {
+        CachedResponse response;
+        synchronized (entries) {
+            response = entries.get(key);
+        }
+        if (response == null || response.isExpired(System.nanoTime())) {
+            misses.increment();
+            return null;
+        }
+        hits.increment();
+        return response;
+    }
+
+    /**
+     * Look up an entry regardless of its TTL. Does not affect the hit ratio.
+     *
+     * @param key the cache key
+     * @return the cached response, possibly expired, or null if absent
+     */
+    public CachedResponse getStale(String key) {
+        synchronized (entries) {
+            return entries.get(key);
+        }
+    }
+
+    /**
+     * Get the current generation of a route, to be passed to {@link #put} with
+     * the response loaded from it.
+     *
+     * @param routeId the route id
+     * @return the route's generation
+     */
+    public long generation(String routeId) {
+        synchronized (entries) {
+            return generations.getOrDefault(routeId, 0L);
+        }
+    }
+
+    /**
+     * Store a response under the given key, unless its route has been
+     * invalidated since the response started loading.
+     *
+     * @param key        the cache key
+     * @param response   the response to store
+     * @param generation the route's generation when the response started loading
+     */
+    public void put(String key, CachedResponse response, long generation) {
+        synchronized (entries) {
+            if (generations.getOrDefault(response.getRouteId(), 0L) == generation) {
+                entries.put(key, response);
+            }
+        }
+    }
+
+    /**
+     * Remove every entry produced by the given route.
+     *
+     * @param routeId the route id
+     * @return the number of entries removed
+     */
+    public int invalidateRoute(String routeId) {
+        int removed = 0;
+        synchronized (entries) {
+            generations.merge(routeId, 1L, Long::sum);
+            Iterator<CachedResponse> iterator = entries.values().iterator();
+            while (iterator.hasNext()) {
+                if (routeId.equals(iterator.next().getRouteId())) {
+                    iterator.remove();
+                    removed++;
+                }
+            }
+        }
+        return removed;
+    }
+
+    /**
+     * Get the number of entries currently held.
+     *
+     * @return the entry count
+     */
+    public int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    /**
+     * Get the ratio of lookups that were served from the cache.
+     *
+     * @return the hit ratio between 0 and 1, or 0 before the first lookup
+     */
+    public double hitRatio() {
+        long hitCount = hits.sum();
+        long total = hitCount + misses.sum();
+        return total == 0 ? 0.0 : (double) hitCount / total;
+    }
+}
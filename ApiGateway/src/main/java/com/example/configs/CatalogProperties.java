@@ -0,0 +1,94 @@
+package com.example.configs;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Configuration properties for the catalog aggregation endpoint, bound from the
+ * {@code gateway.catalog} prefix.
+ */
+@ConfigurationProperties(prefix = "gateway.catalog")
+public class CatalogProperties {
+
+    private String bookServiceUri = "lb://BookService";
+
+    private String authorServiceUri = "lb://AuthorService";
+
+    private int authorPageSize = 1000;
+
+    private Duration timeout = Duration.ofSeconds(3);
+
+    /**
+     * Get the load-balanced base URI of BookService.
+     *
+     * @return the BookService URI
+     */
+    public String getBookServiceUri() {
+        return bookServiceUri;
+    }
+
+    /**
+     * Set the load-balanced base URI of BookService.
+     *
+     * @param bookServiceUri the BookService URI
+     */
+    public void setBookServiceUri(String bookServiceUri) {
+        this.bookServiceUri = bookServiceUri;
+    }
+
+    /**
+     * Get the load-balanced base URI of AuthorService.
+     *
+     * @return the AuthorService URI
+     */
+    public String getAuthorServiceUri() {
+        return authorServiceUri;
+    }
+
+    /**
+     * Set the load-balanced base URI of AuthorService.
+     *
+     * @param authorServiceUri the AuthorService URI
+     */
+    public void setAuthorServiceUri(String authorServiceUri) {
+        this.authorServiceUri = authorServiceUri;
+    }
+
+    /**
+     * Get the number of authors fetched alongside a page of books. Authors of
+     * books that are not among them are fetched by id afterwards.
+     *
+     * @return the author page size
+     */
+    public int getAuthorPageSize() {
+        return authorPageSize;
+    }
+
+    /**
+     * Set the number of authors fetched alongside a page of books.
+     *
+     * @param authorPageSize the author page size
+     */
+    public void setAuthorPageSize(int authorPageSize) {
+        this.authorPageSize = authorPageSize;
+    }
+
+    /**
+     * Get the timeout applied to each downstream call.
+     *
+     * @return the call timeout
+     */
+    public Duration getTimeout() {
+        return timeout;
+    }
+
+    /**
+     * Set the timeout applied to each downstream call.
+     *
+     * @param timeout the call timeout
+     */
+    public void setTimeout(Duration timeout) {
+        this.timeout = timeout;
+    }
+}
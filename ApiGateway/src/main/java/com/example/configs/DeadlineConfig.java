@@ -0,0 +1,30 @@
+package com.example.configs;
+
+import com.example.filters.DeadlineFilter;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.cloud.gateway.config.HttpClientProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Configuration class for the deadline header passed to the downstream services.
+ * It can be switched off with {@code gateway.deadline.enabled=false}.
+ */
+@Configuration
+@EnableConfigurationProperties(DeadlineProperties.class)
+@ConditionalOnProperty(prefix = "gateway.deadline", name = "enabled", matchIfMissing = true)
+public class DeadlineConfig {
+
+    /**
+     * Creates the global deadline filter.
+     *
+     * @param properties           the deadline configuration
+     * @param httpClientProperties the gateway's HTTP client settings
+     * @return the deadline filter
+     */
+    @Bean
+    public DeadlineFilter deadlineFilter(DeadlineProperties properties, HttpClientProperties httpClientProperties) {
+        return new DeadlineFilter(properties, httpClientProperties);
+    }
+}
@@ -0,0 +1,54 @@
+package com.example.configs;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Configuration properties for the deadline passed to the downstream services,
+ * bound from the {@code gateway.deadline} prefix.
+ */
+@ConfigurationProperties(prefix = "gateway.deadline")
+public class DeadlineProperties {
+
+    private boolean enabled = true;
+
+    private Duration margin = Duration.ofMillis(100);
+
+    /**
+     * Whether routed requests carry a deadline header.
+     *
+     * @return true if deadlines are sent
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Set whether routed requests carry a deadline header.
+     *
+     * @param enabled true to send deadlines
+     */
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    /**
+     * Get how long before the route's response timeout the deadline falls,
+     * leaving time for the response to travel back.
+     *
+     * @return the margin
+     */
+    public Duration getMargin() {
+        return margin;
+    }
+
+    /**
+     * Set how long before the route's response timeout the deadline falls.
+     *
+     * @param margin the margin
+     */
+    public void setMargin(Duration margin) {
+        this.margin = margin;
+    }
+}
@@ -0,0 +1,159 @@
+package com.example.configs;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Configuration properties for choosing upstream instances of {@code lb://}
+ * routes, bound from the {@code gateway.load-balancer} prefix.
+ */
+@ConfigurationProperties(prefix = "gateway.load-balancer")
+public class GatewayLoadBalancerProperties {
+
+    private boolean enabled = true;
+
+    private Duration decay = Duration.ofSeconds(10);
+
+    private Duration initialLatency = Duration.ofMillis(100);
+
+    private Duration errorPenalty = Duration.ofSeconds(1);
+
+    private List<String> hashPaths = new ArrayList<>();
+
+    private double hashLoadFactor = 1.25;
+
+    private int virtualNodes = 160;
+
+    /**
+     * Whether instances are chosen by live latency and load instead of round robin.
+     *
+     * @return true if latency-aware balancing is active
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Set whether instances are chosen by live latency and load instead of round robin.
+     *
+     * @param enabled true to balance by latency and load
+     */
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    /**
+     * Get the time constant of the per-instance latency average. A slow sample
+     * stops counting against an instance after a few multiples of it.
+     *
+     * @return the decay time
+     */
+    public Duration getDecay() {
+        return decay;
+    }
+
+    /**
+     * Set the time constant of the per-instance latency average.
+     *
+     * @param decay the decay time
+     */
+    public void setDecay(Duration decay) {
+        this.decay = decay;
+    }
+
+    /**
+     * Get the latency assumed for an instance until it has answered once.
+     *
+     * @return the initial latency
+     */
+    public Duration getInitialLatency() {
+        return initialLatency;
+    }
+
+    /**
+     * Set the latency assumed for an instance until it has answered once.
+     *
+     * @param initialLatency the initial latency
+     */
+    public void setInitialLatency(Duration initialLatency) {
+        this.initialLatency = initialLatency;
+    }
+
+    /**
+     * Get the minimum latency recorded for a call that failed or returned a server error.
+     *
+     * @return the error penalty
+     */
+    public Duration getErrorPenalty() {
+        return errorPenalty;
+    }
+
+    /**
+     * Set the minimum latency recorded for a call that failed or returned a server error.
+     *
+     * @param errorPenalty the error penalty
+     */
+    public void setErrorPenalty(Duration errorPenalty) {
+        this.errorPenalty = errorPenalty;
+    }
+
+    /**
+     * Get the path patterns whose {@code {id}} variable is consistent-hashed onto
+     * the instances, for example {@code /books/{id:[0-9]+}}.
+     *
+     * @return the hash path patterns
+     */
+    public List<String> getHashPaths() {
+        return hashPaths;
+    }
+
+    /**
+     * Set the path patterns whose {@code {id}} variable is consistent-hashed onto the instances.
+     *
+     * @param hashPaths the hash path patterns
+     */
+    public void setHashPaths(List<String> hashPaths) {
+        this.hashPaths = hashPaths;
+    }
+
+    /**
+     * Get how far above the average outstanding requests an instance may go
+     * before hashed requests spill over to the next instance on the ring.
+     *
+     * @return the load factor, greater than 1
+     */
+    public double getHashLoadFactor() {
+        return hashLoadFactor;
+    }
+
+    /**
+     * Set how far above the average outstanding requests an instance may go
+     * before hashed requests spill over to the next instance on the ring.
+     *
+     * @param hashLoadFactor the load factor, greater than 1
+     */
+    public void setHashLoadFactor(double hashLoadFactor) {
+        this.hashLoadFactor = hashLoadFactor;
+    }
+
+    /**
+     * Get the number of ring positions per instance.
+     *
+     * @return the virtual node count
+     */
+    public int getVirtualNodes() {
+        return virtualNodes;
+    }
+
+    /**
+     * Set the number of ring positions per instance.
+     *
+     * @param virtualNodes the virtual node count
+     */
+    public void setVirtualNodes(int virtualNodes) {
+        this.virtualNodes = virtualNodes;
+    }
+}
@@ -0,0 +1,33 @@
+package com.example.configs;
+
+import com.example.filters.HedgingFilter;
+import com.example.metrics.RouteMetrics;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Configuration class for hedging slow GET requests.
+ * Hedging can be switched off with {@code gateway.hedging.enabled=false}.
+ */
+@Configuration
+@EnableConfigurationProperties(HedgingProperties.class)
+@ConditionalOnProperty(prefix = "gateway.hedging", name = "enabled", matchIfMissing = true)
+public class HedgingConfig {
+
+    /**
+     * Creates the global hedging filter.
+     *
+     * @param routeMetrics  provides the routes' latency percentiles
+     * @param properties    the hedging configuration
+     * @param meterRegistry the registry receiving hedge counts
+     * @return the hedging filter
+     */
+    @Bean
+    public HedgingFilter hedgingFilter(RouteMetrics routeMetrics, HedgingProperties properties,
+                                       MeterRegistry meterRegistry) {
+        return new HedgingFilter(routeMetrics, properties, meterRegistry);
+    }
+}
@@ -0,0 +1,166 @@
+package com.example.configs;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Configuration properties for hedging slow GET requests, bound from the
+ * {@code gateway.hedging} prefix.
+ */
+@ConfigurationProperties(prefix = "gateway.hedging")
+public class HedgingProperties {
+
+    private boolean enabled = true;
+
+    private Set<String> routes = new HashSet<>();
+
+    private double percentile = 0.95;
+
+    private Duration minDelay = Duration.ofMillis(5);
+
+    private long minSamples = 100;
+
+    private double maxExtraLoad = 0.05;
+
+    private int maxBurst = 10;
+
+    /**
+     * Whether slow GET requests are hedged.
+     *
+     * @return true if hedging is active
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Set whether slow GET requests are hedged.
+     *
+     * @param enabled true to hedge requests
+     */
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    /**
+     * Get the ids of the routes whose requests are hedged. Empty means every route.
+     *
+     * @return the route ids
+     */
+    public Set<String> getRoutes() {
+        return routes;
+    }
+
+    /**
+     * Set the ids of the routes whose requests are hedged.
+     *
+     * @param routes the route ids
+     */
+    public void setRoutes(Set<String> routes) {
+        this.routes = routes;
+    }
+
+    /**
+     * Get the percentile of the route's upstream latency after which a hedge is
+     * sent. One of 0.5, 0.95, 0.99 or 0.999.
+     *
+     * @return the hedge percentile
+     */
+    public double getPercentile() {
+        return percentile;
+    }
+
+    /**
+     * Set the percentile of the route's upstream latency after which a hedge is sent.
+     *
+     * @param percentile one of 0.5, 0.95, 0.99 or 0.999
+     */
+    public void setPercentile(double percentile) {
+        this.percentile = percentile;
+    }
+
+    /**
+     * Get the shortest delay before a hedge is sent.
+     *
+     * @return the minimum hedge delay
+     */
+    public Duration getMinDelay() {
+        return minDelay;
+    }
+
+    /**
+     * Set the shortest delay before a hedge is sent.
+     *
+     * @param minDelay the minimum hedge delay
+     */
+    public void setMinDelay(Duration minDelay) {
+        this.minDelay = minDelay;
+    }
+
+    /**
+     * Get how many upstream responses a route needs before its percentile is trusted.
+     *
+     * @return the minimum sample count
+     */
+    public long getMinSamples() {
+        return minSamples;
+    }
+
+    /**
+     * Set how many upstream responses a route needs before its percentile is trusted.
+     *
+     * @param minSamples the minimum sample count
+     */
+    public void setMinSamples(long minSamples) {
+        this.minSamples = minSamples;
+    }
+
+    /**
+     * Get the hedges allowed per request, which bounds the extra upstream load.
+     *
+     * @return the extra load ratio
+     */
+    public double getMaxExtraLoad() {
+        return maxExtraLoad;
+    }
+
+    /**
+     * Set the hedges allowed per request, which bounds the extra upstream load.
+     *
+     * @param maxExtraLoad the extra load ratio
+     */
+    public void setMaxExtraLoad(double maxExtraLoad) {
+        this.maxExtraLoad = maxExtraLoad;
+    }
+
+    /**
+     * Get the most hedges a route can save up and send in a burst.
+     *
+     * @return the burst size
+     */
+    public int getMaxBurst() {
+        return maxBurst;
+    }
+
+    /**
+     * Set the most hedges a route can save up and send in a burst.
+     *
+     * @param maxBurst the burst size
+     */
+    public void setMaxBurst(int maxBurst) {
+        this.maxBurst = maxBurst;
+    }
+
+    /**
+     * Check whether requests on the given route are hedged.
+     *
+     * @param routeId the route id
+     * @return true if the route is hedged
+     */
+    public boolean appliesTo(String routeId) {
+        return routes.isEmpty() || routes.contains(routeId);
+    }
+}
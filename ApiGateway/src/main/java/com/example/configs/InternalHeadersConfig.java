@@ -0,0 +1,44 @@
+package com.example.configs;
+
+import com.example.filters.IngressHeadersFilter;
+import com.example.filters.InstanceExclusionFilter;
+import com.example.filters.InternalHeadersFilter;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Configuration class for the headers the gateway uses internally.
+ */
+@Configuration
+public class InternalHeadersConfig {
+
+    /**
+     * Creates the filter that drops internal headers sent by clients.
+     *
+     * @return the ingress headers filter
+     */
+    @Bean
+    public IngressHeadersFilter ingressHeadersFilter() {
+        return new IngressHeadersFilter();
+    }
+
+    /**
+     * Creates the filter that hands instance exclusions to the load balancer.
+     *
+     * @return the instance exclusion filter
+     */
+    @Bean
+    public InstanceExclusionFilter instanceExclusionFilter() {
+        return new InstanceExclusionFilter();
+    }
+
+    /**
+     * Creates the filter that keeps internal headers from reaching downstream services.
+     *
+     * @return the internal headers filter
+     */
+    @Bean
+    public InternalHeadersFilter internalHeadersFilter() {
+        return new InternalHeadersFilter();
+    }
+}
@@ -0,0 +1,37 @@
+package com.example.configs;
+
+import com.example.loadbalancer.InstanceStatsRegistry;
+import com.example.loadbalancer.LatencyAwareLoadBalancer;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.loadbalancer.core.ReactorLoadBalancer;
+import org.springframework.cloud.loadbalancer.core.ServiceInstanceListSupplier;
+import org.springframework.cloud.loadbalancer.support.LoadBalancerClientFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.core.env.Environment;
+
+/**
+ * Load balancer client configuration applied to each service's child context.
+ * It is deliberately not annotated with {@code @Configuration}, otherwise
+ * component scanning would register its beans in the gateway context as well.
+ */
+public class LatencyAwareLoadBalancerConfiguration {
+
+    /**
+     * Creates the latency-aware load balancer for the service of this context.
+     *
+     * @param environment               the child context environment, holding the service id
+     * @param loadBalancerClientFactory provides the service's instance list supplier
+     * @param instanceStatsRegistry     the shared instance statistics
+     * @param properties                the load balancer configuration
+     * @return the load balancer
+     */
+    @Bean
+    public ReactorLoadBalancer<ServiceInstance> reactorServiceInstanceLoadBalancer(Environment environment,
+            LoadBalancerClientFactory loadBalancerClientFactory, InstanceStatsRegistry instanceStatsRegistry,
+            GatewayLoadBalancerProperties properties) {
+        String serviceId = environment.getProperty(LoadBalancerClientFactory.PROPERTY_NAME);
+        return new LatencyAwareLoadBalancer(
+                loadBalancerClientFactory.getLazyProvider(serviceId, ServiceInstanceListSupplier.class),
+                serviceId, instanceStatsRegistry, properties);
+    }
+}
@@ -0,0 +1,58 @@
+package com.example.configs;
+
+import com.example.filters.InstanceStatsCancelFilter;
+import com.example.loadbalancer.InstanceStatsLifecycle;
+import com.example.loadbalancer.InstanceStatsRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.cloud.loadbalancer.annotation.LoadBalancerClients;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Configuration class replacing round robin with latency-aware instance
+ * selection for every load-balanced service. The statistics live in this
+ * context so that the per-service load balancer contexts share them.
+ * Latency-aware balancing can be switched off with {@code gateway.load-balancer.enabled=false}.
+ */
+@Configuration
+@EnableConfigurationProperties(GatewayLoadBalancerProperties.class)
+@ConditionalOnProperty(prefix = "gateway.load-balancer", name = "enabled", matchIfMissing = true)
+@LoadBalancerClients(defaultConfiguration = LatencyAwareLoadBalancerConfiguration.class)
+public class LoadBalancerConfig {
+
+    /**
+     * Creates the store of per-instance latency and load statistics.
+     *
+     * @param properties the load balancer configuration
+     * @return the statistics registry
+     */
+    @Bean
+    public InstanceStatsRegistry instanceStatsRegistry(GatewayLoadBalancerProperties properties) {
+        return new InstanceStatsRegistry(properties.getDecay(), properties.getInitialLatency());
+    }
+
+    /**
+     * Creates the lifecycle that records the outcome of load-balanced calls.
+     *
+     * @param registry   the statistics registry
+     * @param properties the load balancer configuration
+     * @return the lifecycle
+     */
+    @Bean
+    public InstanceStatsLifecycle instanceStatsLifecycle(InstanceStatsRegistry registry,
+                                                         GatewayLoadBalancerProperties properties) {
+        return new InstanceStatsLifecycle(registry, properties.getErrorPenalty());
+    }
+
+    /**
+     * Creates the filter that ends cancelled calls in the statistics.
+     *
+     * @param lifecycle the lifecycle tracking the calls
+     * @return the filter
+     */
+    @Bean
+    public InstanceStatsCancelFilter instanceStatsCancelFilter(InstanceStatsLifecycle lifecycle) {
+        return new InstanceStatsCancelFilter(lifecycle);
+    }
+}
@@ -0,0 +1,50 @@
+package com.example.configs;
+
+import com.example.filters.RateLimitFilter;
+import com.example.ratelimit.TokenBucketRateLimiter;
+import com.example.utils.Constants;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Configuration class for per-client, per-route rate limiting.
+ * Rate limiting can be switched off with {@code gateway.rate-limit.enabled=false}.
+ */
+@Configuration
+@EnableConfigurationProperties(RateLimitProperties.class)
+@ConditionalOnProperty(prefix = "gateway.rate-limit", name = "enabled", matchIfMissing = true)
+public class RateLimitConfig {
+
+    /**
+     * Creates the in-memory bucket store and registers its size gauge.
+     *
+     * @param properties    the rate limit configuration
+     * @param meterRegistry the registry receiving the gauge
+     * @return the rate limiter
+     */
+    @Bean
+    public TokenBucketRateLimiter tokenBucketRateLimiter(RateLimitProperties properties, MeterRegistry meterRegistry) {
+        TokenBucketRateLimiter rateLimiter = new TokenBucketRateLimiter(properties.getMaxBuckets());
+        Gauge.builder(Constants.METRIC_RATE_LIMIT_BUCKETS, rateLimiter, TokenBucketRateLimiter::size)
+                .register(meterRegistry);
+        return rateLimiter;
+    }
+
+    /**
+     * Creates the global rate limiting filter.
+     *
+     * @param rateLimiter   the bucket store
+     * @param properties    the rate limit configuration
+     * @param meterRegistry the registry receiving rejection counts
+     * @return the rate limit filter
+     */
+    @Bean
+    public RateLimitFilter rateLimitFilter(TokenBucketRateLimiter rateLimiter, RateLimitProperties properties,
+                                           MeterRegistry meterRegistry) {
+        return new RateLimitFilter(rateLimiter, properties, meterRegistry);
+    }
+}
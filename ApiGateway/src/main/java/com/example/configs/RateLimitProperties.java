@@ -0,0 +1,183 @@
+package com.example.configs;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Configuration properties for per-client, per-route rate limiting, bound from
+ * the {@code gateway.rate-limit} prefix.
+ */
+@ConfigurationProperties(prefix = "gateway.rate-limit")
+public class RateLimitProperties {
+
+    private boolean enabled = true;
+
+    private Set<String> trustedProxies = new HashSet<>();
+
+    private int maxBuckets = 100_000;
+
+    private Limit defaultLimit = new Limit();
+
+    private Map<String, Limit> routes = new HashMap<>();
+
+    /**
+     * Whether requests are rate limited.
+     *
+     * @return true if rate limiting is active
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Set whether requests are rate limited.
+     *
+     * @param enabled true to rate limit requests
+     */
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    /**
+     * Get the addresses of the proxies in front of the gateway. Clients are
+     * identified by their remote address; X-Forwarded-For is only read on
+     * requests arriving from one of these addresses.
+     *
+     * @return the proxy addresses
+     */
+    public Set<String> getTrustedProxies() {
+        return trustedProxies;
+    }
+
+    /**
+     * Set the addresses of the proxies in front of the gateway.
+     *
+     * @param trustedProxies the proxy addresses
+     */
+    public void setTrustedProxies(Set<String> trustedProxies) {
+        this.trustedProxies = trustedProxies;
+    }
+
+    /**
+     * Get the number of buckets above which buckets are dropped, idle ones first.
+     *
+     * @return the bucket bound
+     */
+    public int getMaxBuckets() {
+        return maxBuckets;
+    }
+
+    /**
+     * Set the number of buckets above which buckets are dropped, idle ones first.
+     *
+     * @param maxBuckets the bucket bound
+     */
+    public void setMaxBuckets(int maxBuckets) {
+        this.maxBuckets = maxBuckets;
+    }
+
+    /**
+     * Get the limit used for routes without an explicit entry.
+     *
+     * @return the default limit
+     */
+    public Limit getDefaultLimit() {
+        return defaultLimit;
+    }
+
+    /**
+     * Set the limit used for routes without an explicit entry.
+     *
+     * @param defaultLimit the default limit
+     */
+    public void setDefaultLimit(Limit defaultLimit) {
+        this.defaultLimit = defaultLimit;
+    }
+
+    /**
+     * Get the limits configured per route id.
+     *
+     * @return the limits keyed by route id
+     */
+    public Map<String, Limit> getRoutes() {
+        return routes;
+    }
+
+    /**
+     * Set the limits configured per route id.
+     *
+     * @param routes the limits keyed by route id
+     */
+    public void setRoutes(Map<String, Limit> routes) {
+        this.routes = routes;
+    }
+
+    /**
+     * Resolve the limit that applies to the given route.
+     *
+     * @param routeId the route id
+     * @return the route limit, or the default limit if the route has none
+     */
+    public Limit limitFor(String routeId) {
+        return routes.getOrDefault(routeId, defaultLimit);
+    }
+
+    /**
+     * Token bucket settings for one route.
+     */
+    public static class Limit {
+
+        private double replenishRate;
+
+        private int burstCapacity;
+
+        /**
+         * Get the tokens added to each client's bucket per second. Zero disables the limit.
+         *
+         * @return the replenish rate
+         */
+        public double getReplenishRate() {
+            return replenishRate;
+        }
+
+        /**
+         * Set the tokens added to each client's bucket per second. Zero disables the limit.
+         *
+         * @param replenishRate the replenish rate
+         */
+        public void setReplenishRate(double replenishRate) {
+            this.replenishRate = replenishRate;
+        }
+
+        /**
+         * Get the maximum number of tokens in each client's bucket.
+         *
+         * @return the burst capacity
+         */
+        public int getBurstCapacity() {
+            return burstCapacity;
+        }
+
+        /**
+         * Set the maximum number of tokens in each client's bucket.
+         *
+         * @param burstCapacity the burst capacity
+         */
+        public void setBurstCapacity(int burstCapacity) {
+            this.burstCapacity = burstCapacity;
+        }
+
+        /**
+         * Check whether the limit is in effect.
+         *
+         * @return true if requests are limited
+         */
+        public boolean isActive() {
+            return replenishRate > 0 && burstCapacity > 0;
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package com.example.configs;
+
+import com.example.cache.ResponseCache;
+import com.example.filters.RouteResilienceFilter;
+import com.example.resilience.RouteResilienceRegistry;
+import io.github.resilience4j.micrometer.tagged.TaggedBulkheadMetrics;
+import io.github.resilience4j.micrometer.tagged.TaggedCircuitBreakerMetrics;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Configuration class for the per-route circuit breakers and bulkheads.
+ * The policies can be switched off with {@code gateway.resilience.enabled=false}.
+ */
+@Configuration
+@EnableConfigurationProperties(ResilienceProperties.class)
+@ConditionalOnProperty(prefix = "gateway.resilience", name = "enabled", matchIfMissing = true)
+public class ResilienceConfig {
+
+    /**
+     * Creates the per-route circuit breakers and bulkheads and binds their metrics.
+     *
+     * @param properties    the resilience configuration
+     * @param meterRegistry the registry receiving circuit breaker and bulkhead meters
+     * @return the route resilience registry
+     */
+    @Bean
+    public RouteResilienceRegistry routeResilienceRegistry(ResilienceProperties properties,
+                                                           MeterRegistry meterRegistry) {
+        RouteResilienceRegistry registry = new RouteResilienceRegistry(properties);
+        TaggedCircuitBreakerMetrics.ofCircuitBreakerRegistry(registry.getCircuitBreakerRegistry())
+                .bindTo(meterRegistry);
+        TaggedBulkheadMetrics.ofBulkheadRegistry(registry.getBulkheadRegistry()).bindTo(meterRegistry);
+        return registry;
+    }
+
+    /**
+     * Creates the global filter applying the route policies.
+     *
+     * @param registry      the per-route circuit breakers and bulkheads
+     * @param responseCache the response cache, if enabled
+     * @param meterRegistry the registry receiving fallback counts
+     * @return the route resilience filter
+     */
+    @Bean
+    public RouteResilienceFilter routeResilienceFilter(RouteResilienceRegistry registry,
+                                                       ObjectProvider<ResponseCache> responseCache,
+                                                       MeterRegistry meterRegistry) {
+        return new RouteResilienceFilter(registry, responseCache.getIfAvailable(), meterRegistry);
+    }
+}
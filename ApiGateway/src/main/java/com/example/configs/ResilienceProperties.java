@@ -0,0 +1,261 @@
+package com.example.configs;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Configuration properties for the per-route circuit breakers and bulkheads,
+ * bound from the {@code gateway.resilience} prefix.
+ */
+@ConfigurationProperties(prefix = "gateway.resilience")
+public class ResilienceProperties {
+
+    private boolean enabled = true;
+
+    private Map<String, RoutePolicy> routes = new HashMap<>();
+
+    /**
+     * Whether circuit breakers and bulkheads are applied.
+     *
+     * @return true if the policies are active
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Set whether circuit breakers and bulkheads are applied.
+     *
+     * @param enabled true to apply the policies
+     */
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    /**
+     * Get the policies configured per route id. Routes without an entry are not protected.
+     *
+     * @return the policies keyed by route id
+     */
+    public Map<String, RoutePolicy> getRoutes() {
+        return routes;
+    }
+
+    /**
+     * Set the policies configured per route id.
+     *
+     * @param routes the policies keyed by route id
+     */
+    public void setRoutes(Map<String, RoutePolicy> routes) {
+        this.routes = routes;
+    }
+
+    /**
+     * Circuit breaker, bulkhead and fallback settings for one route.
+     */
+    public static class RoutePolicy {
+
+        private float failureRateThreshold = 50;
+
+        private float slowCallRateThreshold = 80;
+
+        private Duration slowCallDurationThreshold = Duration.ofSeconds(2);
+
+        private int slidingWindowSize = 50;
+
+        private int minimumNumberOfCalls = 20;
+
+        private Duration waitDurationInOpenState = Duration.ofSeconds(10);
+
+        private int permittedCallsInHalfOpenState = 5;
+
+        private int maxConcurrentCalls = 100;
+
+        private Duration maxWaitDuration = Duration.ZERO;
+
+        private boolean staleFallback = true;
+
+        /**
+         * Get the failure percentage at which the circuit opens.
+         *
+         * @return the failure rate threshold
+         */
+        public float getFailureRateThreshold() {
+            return failureRateThreshold;
+        }
+
+        /**
+         * Set the failure percentage at which the circuit opens.
+         *
+         * @param failureRateThreshold the failure rate threshold
+         */
+        public void setFailureRateThreshold(float failureRateThreshold) {
+            this.failureRateThreshold = failureRateThreshold;
+        }
+
+        /**
+         * Get the percentage of slow calls at which the circuit opens.
+         *
+         * @return the slow call rate threshold
+         */
+        public float getSlowCallRateThreshold() {
+            return slowCallRateThreshold;
+        }
+
+        /**
+         * Set the percentage of slow calls at which the circuit opens.
+         *
+         * @param slowCallRateThreshold the slow call rate threshold
+         */
+        public void setSlowCallRateThreshold(float slowCallRateThreshold) {
+            this.slowCallRateThreshold = slowCallRateThreshold;
+        }
+
+        /**
+         * Get the duration above which a call counts as slow.
+         *
+         * @return the slow call duration threshold
+         */
+        public Duration getSlowCallDurationThreshold() {
+            return slowCallDurationThreshold;
+        }
+
+        /**
+         * Set the duration above which a call counts as slow.
+         *
+         * @param slowCallDurationThreshold the slow call duration threshold
+         */
+        public void setSlowCallDurationThreshold(Duration slowCallDurationThreshold) {
+            this.slowCallDurationThreshold = slowCallDurationThreshold;
+        }
+
+        /**
+         * Get the number of recent calls the failure and slow call rates are computed over.
+         *
+         * @return the sliding window size
+         */
+        public int getSlidingWindowSize() {
+            return slidingWindowSize;
+        }
+
+        /**
+         * Set the number of recent calls the failure and slow call rates are computed over.
+         *
+         * @param slidingWindowSize the sliding window size
+         */
+        public void setSlidingWindowSize(int slidingWindowSize) {
+            this.slidingWindowSize = slidingWindowSize;
+        }
+
+        /**
+         * Get the number of calls needed before the rates are evaluated.
+         *
+         * @return the minimum number of calls
+         */
+        public int getMinimumNumberOfCalls() {
+            return minimumNumberOfCalls;
+        }
+
+        /**
+         * Set the number of calls needed before the rates are evaluated.
+         *
+         * @param minimumNumberOfCalls the minimum number of calls
+         */
+        public void setMinimumNumberOfCalls(int minimumNumberOfCalls) {
+            this.minimumNumberOfCalls = minimumNumberOfCalls;
+        }
+
+        /**
+         * Get how long the circuit stays open before probing the route again.
+         *
+         * @return the open state duration
+         */
+        public Duration getWaitDurationInOpenState() {
+            return waitDurationInOpenState;
+        }
+
+        /**
+         * Set how long the circuit stays open before probing the route again.
+         *
+         * @param waitDurationInOpenState the open state duration
+         */
+        public void setWaitDurationInOpenState(Duration waitDurationInOpenState) {
+            this.waitDurationInOpenState = waitDurationInOpenState;
+        }
+
+        /**
+         * Get the number of probe calls let through while half open.
+         *
+         * @return the permitted calls in half open state
+         */
+        public int getPermittedCallsInHalfOpenState() {
+            return permittedCallsInHalfOpenState;
+        }
+
+        /**
+         * Set the number of probe calls let through while half open.
+         *
+         * @param permittedCallsInHalfOpenState the permitted calls in half open state
+         */
+        public void setPermittedCallsInHalfOpenState(int permittedCallsInHalfOpenState) {
+            this.permittedCallsInHalfOpenState = permittedCallsInHalfOpenState;
+        }
+
+        /**
+         * Get the maximum number of calls to the route in flight at once.
+         *
+         * @return the bulkhead size
+         */
+        public int getMaxConcurrentCalls() {
+            return maxConcurrentCalls;
+        }
+
+        /**
+         * Set the maximum number of calls to the route in flight at once.
+         *
+         * @param maxConcurrentCalls the bulkhead size
+         */
+        public void setMaxConcurrentCalls(int maxConcurrentCalls) {
+            this.maxConcurrentCalls = maxConcurrentCalls;
+        }
+
+        /**
+         * Get how long a call may wait for a bulkhead slot before it is rejected.
+         *
+         * @return the maximum wait duration
+         */
+        public Duration getMaxWaitDuration() {
+            return maxWaitDuration;
+        }
+
+        /**
+         * Set how long a call may wait for a bulkhead slot before it is rejected.
+         *
+         * @param maxWaitDuration the maximum wait duration
+         */
+        public void setMaxWaitDuration(Duration maxWaitDuration) {
+            this.maxWaitDuration = maxWaitDuration;
+        }
+
+        /**
+         * Whether a rejected GET is answered with a stale cached response when one exists.
+         *
+         * @return true if stale responses are served
+         */
+        public boolean isStaleFallback() {
+            return staleFallback;
+        }
+
+        /**
+         * Set whether a rejected GET is answered with a stale cached response when one exists.
+         *
+         * @param staleFallback true to serve stale responses
+         */
+        public void setStaleFallback(boolean staleFallback) {
+            this.staleFallback = staleFallback;
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package com.example.configs;
+
+import com.example.cache.ResponseCache;
+import com.example.filters.ResponseCacheFilter;
+import com.example.utils.Constants;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Configuration class for the gateway response cache.
+ * The cache and its filter can be switched off with {@code gateway.cache.enabled=false}.
+ */
+@Configuration
+@EnableConfigurationProperties(ResponseCacheProperties.class)
+@ConditionalOnProperty(prefix = "gateway.cache", name = "enabled", matchIfMissing = true)
+public class ResponseCacheConfig {
+
+    /**
+     * Creates the response store and registers its size and hit-ratio gauges.
+     *
+     * @param properties    the cache configuration
+     * @param meterRegistry the registry receiving cache meters
+     * @return the response cache
+     */
+    @Bean
+    public ResponseCache responseCache(ResponseCacheProperties properties, MeterRegistry meterRegistry) {
+        ResponseCache cache = new ResponseCache(properties.getMaxEntries());
+        Gauge.builder(Constants.METRIC_CACHE_SIZE, cache, ResponseCache::size).register(meterRegistry);
+        Gauge.builder(Constants.METRIC_CACHE_HIT_RATIO, cache, ResponseCache::hitRatio).register(meterRegistry);
+        return cache;
+    }
+
+    /**
+     * Creates the global filter serving GET requests from the cache.
+     *
+     * @param responseCache the response store
+     * @param properties    the cache configuration
+     * @param meterRegistry the registry receiving cache meters
+     * @return the response cache filter
+     */
+    @Bean
+    public ResponseCacheFilter responseCacheFilter(ResponseCache responseCache, ResponseCacheProperties properties,
+                                                   MeterRegistry meterRegistry) {
+        return new ResponseCacheFilter(responseCache, properties, meterRegistry);
+    }
+}
@@ -0,0 +1,125 @@
+package com.example.configs;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Configuration properties for the gateway response cache, bound from the
+ * {@code gateway.cache} prefix.
+ */
+@ConfigurationProperties(prefix = "gateway.cache")
+public class ResponseCacheProperties {
+
+    private boolean enabled = true;
+
+    private int maxEntries = 10_000;
+
+    private int maxBodyBytes = 256 * 1024;
+
+    private Duration defaultTtl = Duration.ZERO;
+
+    private Map<String, Duration> routes = new HashMap<>();
+
+    /**
+     * Whether the response cache filter is active.
+     *
+     * @return true if responses are cached
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Set whether the response cache filter is active.
+     *
+     * @param enabled true to cache responses
+     */
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    /**
+     * Get the maximum number of entries kept before the least recently used one is evicted.
+     *
+     * @return the maximum number of entries
+     */
+    public int getMaxEntries() {
+        return maxEntries;
+    }
+
+    /**
+     * Set the maximum number of entries kept before the least recently used one is evicted.
+     *
+     * @param maxEntries the maximum number of entries
+     */
+    public void setMaxEntries(int maxEntries) {
+        this.maxEntries = maxEntries;
+    }
+
+    /**
+     * Get the largest response body, in bytes, that will be stored.
+     *
+     * @return the maximum body size in bytes
+     */
+    public int getMaxBodyBytes() {
+        return maxBodyBytes;
+    }
+
+    /**
+     * Set the largest response body, in bytes, that will be stored.
+     *
+     * @param maxBodyBytes the maximum body size in bytes
+     */
+    public void setMaxBodyBytes(int maxBodyBytes) {
+        this.maxBodyBytes = maxBodyBytes;
+    }
+
+    /**
+     * Get the TTL used for routes without an explicit entry. Zero disables caching.
+     *
+     * @return the default TTL
+     */
+    public Duration getDefaultTtl() {
+        return defaultTtl;
+    }
+
+    /**
+     * Set the TTL used for routes without an explicit entry. Zero disables caching.
+     *
+     * @param defaultTtl the default TTL
+     */
+    public void setDefaultTtl(Duration defaultTtl) {
+        this.defaultTtl = defaultTtl;
+    }
+
+    /**
+     * Get the TTL configured per route id.
+     *
+     * @return the TTLs keyed by route id
+     */
+    public Map<String, Duration> getRoutes() {
+        return routes;
+    }
+
+    /**
+     * Set the TTL configured per route id.
+     *
+     * @param routes the TTLs keyed by route id
+     */
+    public void setRoutes(Map<String, Duration> routes) {
+        this.routes = routes;
+    }
+
+    /**
+     * Resolve the TTL that applies to the given route.
+     *
+     * @param routeId the route id
+     * @return the route TTL, or the default TTL if the route has none
+     */
+    public Duration ttlFor(String routeId) {
+        return routes.getOrDefault(routeId, defaultTtl);
+    }
+}
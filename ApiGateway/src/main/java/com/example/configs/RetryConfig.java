@@ -0,0 +1,30 @@
+package com.example.configs;
+
+import com.example.filters.RetryFilter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Configuration class for budgeted retries of idempotent requests.
+ * Retries can be switched off with {@code gateway.retry.enabled=false}.
+ */
+@Configuration
+@EnableConfigurationProperties(RetryProperties.class)
+@ConditionalOnProperty(prefix = "gateway.retry", name = "enabled", matchIfMissing = true)
+public class RetryConfig {
+
+    /**
+     * Creates the global retry filter.
+     *
+     * @param properties    the retry configuration
+     * @param meterRegistry the registry receiving retry counts
+     * @return the retry filter
+     */
+    @Bean
+    public RetryFilter retryFilter(RetryProperties properties, MeterRegistry meterRegistry) {
+        return new RetryFilter(properties, meterRegistry);
+    }
+}
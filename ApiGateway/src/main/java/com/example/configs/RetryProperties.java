@@ -0,0 +1,232 @@
+package com.example.configs;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.http.HttpMethod;
+
+import java.time.Duration;
+import java.util.EnumSet;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Configuration properties for retrying idempotent requests, bound from the
+ * {@code gateway.retry} prefix.
+ */
+@ConfigurationProperties(prefix = "gateway.retry")
+public class RetryProperties {
+
+    private boolean enabled = true;
+
+    private Set<String> routes = new HashSet<>();
+
+    private Set<HttpMethod> methods = EnumSet.of(HttpMethod.GET, HttpMethod.HEAD, HttpMethod.OPTIONS);
+
+    private Set<Integer> statuses = new HashSet<>(Set.of(502, 503));
+
+    private int maxAttempts = 3;
+
+    private Duration firstBackoff = Duration.ofMillis(25);
+
+    private Duration maxBackoff = Duration.ofMillis(250);
+
+    private double budgetRatio = 0.2;
+
+    private double minRetriesPerSecond = 10;
+
+    private int maxBurst = 100;
+
+    /**
+     * Whether failed idempotent requests are retried.
+     *
+     * @return true if retries are active
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Set whether failed idempotent requests are retried.
+     *
+     * @param enabled true to retry requests
+     */
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    /**
+     * Get the ids of the routes whose requests are retried. Empty means every route.
+     *
+     * @return the route ids
+     */
+    public Set<String> getRoutes() {
+        return routes;
+    }
+
+    /**
+     * Set the ids of the routes whose requests are retried.
+     *
+     * @param routes the route ids
+     */
+    public void setRoutes(Set<String> routes) {
+        this.routes = routes;
+    }
+
+    /**
+     * Get the methods that are retried. Methods carrying a request body are not
+     * retried whatever this contains, since the body is not buffered. A retried
+     * status such as 503 may come after the instance ran the request, so only
+     * methods that are safe to run twice with the same visible result belong here;
+     * DELETE does not, as the second attempt answers 404.
+     *
+     * @return the retried methods
+     */
+    public Set<HttpMethod> getMethods() {
+        return methods;
+    }
+
+    /**
+     * Set the methods that are retried.
+     *
+     * @param methods the retried methods
+     */
+    public void setMethods(Set<HttpMethod> methods) {
+        this.methods = methods;
+    }
+
+    /**
+     * Get the upstream response statuses that are retried, besides connection failures.
+     *
+     * @return the retried statuses
+     */
+    public Set<Integer> getStatuses() {
+        return statuses;
+    }
+
+    /**
+     * Set the upstream response statuses that are retried.
+     *
+     * @param statuses the retried statuses
+     */
+    public void setStatuses(Set<Integer> statuses) {
+        this.statuses = statuses;
+    }
+
+    /**
+     * Get the most attempts made for one request, including the first.
+     *
+     * @return the attempt limit
+     */
+    public int getMaxAttempts() {
+        return maxAttempts;
+    }
+
+    /**
+     * Set the most attempts made for one request, including the first.
+     *
+     * @param maxAttempts the attempt limit
+     */
+    public void setMaxAttempts(int maxAttempts) {
+        this.maxAttempts = maxAttempts;
+    }
+
+    /**
+     * Get the backoff bound before the first retry. Each retry doubles the bound
+     * and waits a random time below it.
+     *
+     * @return the first backoff bound
+     */
+    public Duration getFirstBackoff() {
+        return firstBackoff;
+    }
+
+    /**
+     * Set the backoff bound before the first retry.
+     *
+     * @param firstBackoff the first backoff bound
+     */
+    public void setFirstBackoff(Duration firstBackoff) {
+        this.firstBackoff = firstBackoff;
+    }
+
+    /**
+     * Get the largest backoff bound.
+     *
+     * @return the maximum backoff bound
+     */
+    public Duration getMaxBackoff() {
+        return maxBackoff;
+    }
+
+    /**
+     * Set the largest backoff bound.
+     *
+     * @param maxBackoff the maximum backoff bound
+     */
+    public void setMaxBackoff(Duration maxBackoff) {
+        this.maxBackoff = maxBackoff;
+    }
+
+    /**
+     * Get the retries earned per successful request.
+     *
+     * @return the budget ratio
+     */
+    public double getBudgetRatio() {
+        return budgetRatio;
+    }
+
+    /**
+     * Set the retries earned per successful request.
+     *
+     * @param budgetRatio the budget ratio
+     */
+    public void setBudgetRatio(double budgetRatio) {
+        this.budgetRatio = budgetRatio;
+    }
+
+    /**
+     * Get the retries allowed per second on a route however little traffic it has.
+     *
+     * @return the minimum retry rate
+     */
+    public double getMinRetriesPerSecond() {
+        return minRetriesPerSecond;
+    }
+
+    /**
+     * Set the retries allowed per second on a route however little traffic it has.
+     *
+     * @param minRetriesPerSecond the minimum retry rate
+     */
+    public void setMinRetriesPerSecond(double minRetriesPerSecond) {
+        this.minRetriesPerSecond = minRetriesPerSecond;
+    }
+
+    /**
+     * Get the most retries a route can save up from earlier successes.
+     *
+     * @return the burst size
+     */
+    public int getMaxBurst() {
+        return maxBurst;
+    }
+
+    /**
+     * Set the most retries a route can save up from earlier successes.
+     *
+     * @param maxBurst the burst size
+     */
+    public void setMaxBurst(int maxBurst) {
+        this.maxBurst = maxBurst;
+    }
+
+    /**
+     * Check whether requests on the given route are retried.
+     *
+     * @param routeId the route id
+     * @return true if the route is covered
+     */
+    public boolean appliesTo(String routeId) {
+        return routes.isEmpty() || routes.contains(routeId);
+    }
+}
@@ -0,0 +1,82 @@
+package com.example.configs;
+
+import com.example.filters.RouteMetricsFilter;
+import com.example.filters.UpstreamMetricsFilter;
+import com.example.metrics.RouteMetrics;
+import com.example.utils.Constants;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cloud.gateway.config.HttpClientCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * Configuration class for per-route and per-instance latency metrics.
+ */
+@Configuration
+public class RouteMetricsConfig {
+
+    /**
+     * Creates the latency recorder.
+     *
+     * @param meterRegistry the registry receiving the timers
+     * @param expiry        the window over which percentiles are computed
+     * @return the route metrics recorder
+     */
+    @Bean
+    public RouteMetrics routeMetrics(MeterRegistry meterRegistry,
+                                     @Value("${gateway.metrics.percentile-expiry:1m}") Duration expiry) {
+        return new RouteMetrics(meterRegistry, expiry);
+    }
+
+    /**
+     * Creates the filter recording end-to-end latency per route.
+     *
+     * @param routeMetrics the latency recorder
+     * @return the route metrics filter
+     */
+    @Bean
+    public RouteMetricsFilter routeMetricsFilter(RouteMetrics routeMetrics) {
+        return new RouteMetricsFilter(routeMetrics);
+    }
+
+    /**
+     * Creates the filter recording queueing and upstream time per route and instance.
+     *
+     * @param routeMetrics the latency recorder
+     * @return the upstream metrics filter
+     */
+    @Bean
+    public UpstreamMetricsFilter upstreamMetricsFilter(RouteMetrics routeMetrics) {
+        return new UpstreamMetricsFilter(routeMetrics);
+    }
+
+    /**
+     * Enables Reactor Netty client metrics, which time connection pool
+     * acquisition, connect and response per remote address. The URI tag is
+     * reduced to its first path segment to keep cardinality bounded.
+     *
+     * @return the HTTP client customizer
+     */
+    @Bean
+    public HttpClientCustomizer metricsHttpClientCustomizer() {
+        return httpClient -> httpClient.metrics(true, RouteMetricsConfig::firstPathSegment);
+    }
+
+    /**
+     * Reduce a request URI to its first path segment.
+     *
+     * @param uri the request URI
+     * @return the first path segment, such as "/books"
+     */
+    private static String firstPathSegment(String uri) {
+        int end = uri.indexOf('/', 1);
+        int query = uri.indexOf('?');
+        if (end < 0 || (query >= 0 && query < end)) {
+            end = query;
+        }
+        return end < 0 ? uri : uri.substring(0, end);
+    }
+}
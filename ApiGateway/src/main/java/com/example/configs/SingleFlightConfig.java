@@ -0,0 +1,52 @@
+package com.example.configs;
+
+import com.example.cache.CachedResponse;
+import com.example.filters.SingleFlightFilter;
+import com.example.support.SingleFlight;
+import com.example.utils.Constants;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Configuration class for coalescing concurrent identical GET requests.
+ * Coalescing can be switched off with {@code gateway.single-flight.enabled=false}.
+ */
+@Configuration
+@EnableConfigurationProperties(SingleFlightProperties.class)
+@ConditionalOnProperty(prefix = "gateway.single-flight", name = "enabled", matchIfMissing = true)
+public class SingleFlightConfig {
+
+    /**
+     * Creates the call coalescer and registers its in-flight and coalesced meters.
+     *
+     * @param meterRegistry the registry receiving the meters
+     * @return the call coalescer
+     */
+    @Bean
+    public SingleFlight<String, CachedResponse> singleFlight(MeterRegistry meterRegistry) {
+        SingleFlight<String, CachedResponse> singleFlight = new SingleFlight<>();
+        Gauge.builder(Constants.METRIC_SINGLE_FLIGHT_IN_FLIGHT, singleFlight, SingleFlight::inFlight)
+                .register(meterRegistry);
+        FunctionCounter.builder(Constants.METRIC_SINGLE_FLIGHT_COALESCED, singleFlight, SingleFlight::coalesced)
+                .register(meterRegistry);
+        return singleFlight;
+    }
+
+    /**
+     * Creates the global filter coalescing identical GET requests.
+     *
+     * @param singleFlight the call coalescer
+     * @param properties   the coalescing configuration
+     * @return the single-flight filter
+     */
+    @Bean
+    public SingleFlightFilter singleFlightFilter(SingleFlight<String, CachedResponse> singleFlight,
+                                                 SingleFlightProperties properties) {
+        return new SingleFlightFilter(singleFlight, properties);
+    }
+}
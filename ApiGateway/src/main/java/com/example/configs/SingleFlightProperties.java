@@ -0,0 +1,85 @@
+package com.example.configs;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Configuration properties for coalescing concurrent identical GET requests,
+ * bound from the {@code gateway.single-flight} prefix.
+ */
+@ConfigurationProperties(prefix = "gateway.single-flight")
+public class SingleFlightProperties {
+
+    private boolean enabled = true;
+
+    private Duration timeout = Duration.ofSeconds(10);
+
+    private Set<String> routes = new HashSet<>();
+
+    /**
+     * Whether concurrent identical GET requests are coalesced.
+     *
+     * @return true if coalescing is active
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Set whether concurrent identical GET requests are coalesced.
+     *
+     * @param enabled true to coalesce requests
+     */
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    /**
+     * Get how long a shared upstream call may run before every waiting client receives 504.
+     *
+     * @return the shared call timeout
+     */
+    public Duration getTimeout() {
+        return timeout;
+    }
+
+    /**
+     * Set how long a shared upstream call may run before every waiting client receives 504.
+     *
+     * @param timeout the shared call timeout
+     */
+    public void setTimeout(Duration timeout) {
+        this.timeout = timeout;
+    }
+
+    /**
+     * Get the ids of the routes whose requests are coalesced. Empty means every route.
+     *
+     * @return the route ids
+     */
+    public Set<String> getRoutes() {
+        return routes;
+    }
+
+    /**
+     * Set the ids of the routes whose requests are coalesced. Empty means every route.
+     *
+     * @param routes the route ids
+     */
+    public void setRoutes(Set<String> routes) {
+        this.routes = routes;
+    }
+
+    /**
+     * Check whether requests on the given route are coalesced.
+     *
+     * @param routeId the route id
+     * @return true if the route is covered
+     */
+    public boolean appliesTo(String routeId) {
+        return routes.isEmpty() || routes.contains(routeId);
+    }
+}
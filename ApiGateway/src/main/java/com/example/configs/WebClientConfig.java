@@ -0,0 +1,26 @@
+package com.example.configs;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.cloud.client.loadbalancer.LoadBalanced;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.reactive.function.client.WebClient;
+
+/**
+ * Configuration class for the reactive client used to call the services directly.
+ */
+@Configuration
+@EnableConfigurationProperties(CatalogProperties.class)
+public class WebClientConfig {
+
+    /**
+     * Creates a WebClient builder that resolves {@code lb://} URIs through the load balancer.
+     *
+     * @return a load-balanced WebClient builder
+     */
+    @Bean
+    @LoadBalanced
+    public WebClient.Builder loadBalancedWebClientBuilder() {
+        return WebClient.builder();
+    }
+}
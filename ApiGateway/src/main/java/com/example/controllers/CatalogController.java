@@ -0,0 +1,41 @@
+package com.example.controllers;
+
+import com.example.dto.response.CatalogEntry;
+import com.example.services.ICatalogService;
+import com.example.utils.Constants;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Flux;
+
+/**
+ * Controller class aggregating books and authors into a single catalog.
+ * All endpoints in this controller are mapped under "/catalog".
+ */
+@RestController
+@RequestMapping("/catalog")
+public class CatalogController {
+
+    private final ICatalogService catalogService;
+
+    public CatalogController(ICatalogService catalogService) {
+        this.catalogService = catalogService;
+    }
+
+    /**
+     * Get a page of books with their authors. The result is streamed as
+     * newline-delimited JSON when the client accepts it, otherwise as a JSON array.
+     *
+     * @param page the page number, default is {@value Constants#DEFAULT_PAGE_NUMBER}
+     * @param size the page size, default is {@value Constants#DEFAULT_PAGE_SIZE}
+     * @return the catalog entries
+     */
+    @GetMapping(produces = {MediaType.APPLICATION_NDJSON_VALUE, MediaType.APPLICATION_JSON_VALUE})
+    public Flux<CatalogEntry> getCatalog(
+            @RequestParam(defaultValue = Constants.DEFAULT_PAGE_NUMBER) int page,
+            @RequestParam(defaultValue = Constants.DEFAULT_PAGE_SIZE) int size) {
+        return catalogService.getCatalog(page, size);
+    }
+}
@@ -0,0 +1,102 @@
+package com.example.dto.response;
+
+/**
+ * DTO class representing an author as returned by AuthorService.
+ */
+public class AuthorView {
+    private Long id;
+    private String authorName;
+    private String birthDate;
+    private String nationality;
+    private String description;
+
+    /**
+     * Get the ID of the author.
+     *
+     * @return the ID of the author
+     */
+    public Long getId() {
+        return id;
+    }
+
+    /**
+     * Set the ID of the author.
+     *
+     * @param id the ID to set
+     */
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    /**
+     * Get the name of the author.
+     *
+     * @return the name of the author
+     */
+    public String getAuthorName() {
+        return authorName;
+    }
+
+    /**
+     * Set the name of the author.
+     *
+     * @param authorName the name to set
+     */
+    public void setAuthorName(String authorName) {
+        this.authorName = authorName;
+    }
+
+    /**
+     * Get the birth date of the author, as formatted by AuthorService.
+     *
+     * @return the birth date of the author
+     */
+    public String getBirthDate() {
+        return birthDate;
+    }
+
+    /**
+     * Set the birth date of the author.
+     *
+     * @param birthDate the birth date to set
+     */
+    public void setBirthDate(String birthDate) {
+        this.birthDate = birthDate;
+    }
+
+    /**
+     * Get the nationality of the author.
+     *
+     * @return the nationality of the author
+     */
+    public String getNationality() {
+        return nationality;
+    }
+
+    /**
+     * Set the nationality of the author.
+     *
+     * @param nationality the nationality to set
+     */
+    public void setNationality(String nationality) {
+        this.nationality = nationality;
+    }
+
+    /**
+     * Get the description of the author.
+     *
+     * @return the description of the author
+     */
+    public String getDescription() {
+        return description;
+    }
+
+    /**
+     * Set the description of the author.
+     *
+     * @param description the description to set
+     */
+    public void setDescription(String description) {
+        this.description = description;
+    }
+}
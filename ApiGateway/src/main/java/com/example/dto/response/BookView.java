@@ -0,0 +1,121 @@
+package com.example.dto.response;
+
+/**
+ * DTO class representing a book as returned by BookService.
+ */
+public class BookView {
+    private Long id;
+    private String title;
+    private String publishedDate;
+    private String genre;
+    private String description;
+    private Long author;
+
+    /**
+     * Get the ID of the book.
+     *
+     * @return the ID of the book
+     */
+    public Long getId() {
+        return id;
+    }
+
+    /**
+     * Set the ID of the book.
+     *
+     * @param id the ID to set
+     */
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    /**
+     * Get the title of the book.
+     *
+     * @return the title of the book
+     */
+    public String getTitle() {
+        return title;
+    }
+
+    /**
+     * Set the title of the book.
+     *
+     * @param title the title to set
+     */
+    public void setTitle(String title) {
+        this.title = title;
+    }
+
+    /**
+     * Get the published date of the book, as formatted by BookService.
+     *
+     * @return the published date of the book
+     */
+    public String getPublishedDate() {
+        return publishedDate;
+    }
+
+    /**
+     * Set the published date of the book.
+     *
+     * @param publishedDate the published date to set
+     */
+    public void setPublishedDate(String publishedDate) {
+        this.publishedDate = publishedDate;
+    }
+
+    /**
+     * Get the genre of the book.
+     *
+     * @return the genre of the book
+     */
+    public String getGenre() {
+        return genre;
+    }
+
+    /**
+     * Set the genre of the book.
+     *
+     * @param genre the genre to set
+     */
+    public void setGenre(String genre) {
+        this.genre = genre;
+    }
+
+    /**
+     * Get the description of the book.
+     *
+     * @return the description of the book
+     */
+    public String getDescription() {
+        return description;
+    }
+
+    /**
+     * Set the description of the book.
+     *
+     * @param description the description to set
+     */
+    public void setDescription(String description) {
+        this.description = description;
+    }
+
+    /**
+     * Get the ID of the author of the book.
+     *
+     * @return the author ID
+     */
+    public Long getAuthor() {
+        return author;
+    }
+
+    /**
+     * Set the ID of the author of the book.
+     *
+     * @param author the author ID to set
+     */
+    public void setAuthor(Long author) {
+        this.author = author;
+    }
+}
@@ -0,0 +1,38 @@
+package com.example.dto.response;
+
+/**
+ * DTO class representing a book together with its author.
+ */
+public class CatalogEntry {
+    private final BookView book;
+    private final AuthorView author;
+
+    /**
+     * Constructs a catalog entry.
+     *
+     * @param book   the book
+     * @param author the author of the book, or null if unknown
+     */
+    public CatalogEntry(BookView book, AuthorView author) {
+        this.book = book;
+        this.author = author;
+    }
+
+    /**
+     * Get the book.
+     *
+     * @return the book
+     */
+    public BookView getBook() {
+        return book;
+    }
+
+    /**
+     * Get the author of the book.
+     *
+     * @return the author, or null if unknown
+     */
+    public AuthorView getAuthor() {
+        return author;
+    }
+}
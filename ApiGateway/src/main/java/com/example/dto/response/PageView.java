@@ -0,0 +1,31 @@
+package com.example.dto.response;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * DTO class reading the content of a Spring Data page returned by a downstream service.
+ *
+ * @param <T> the element type
+ */
+public class PageView<T> {
+    private List<T> content = new ArrayList<>();
+
+    /**
+     * Get the elements of the page.
+     *
+     * @return the page content
+     */
+    public List<T> getContent() {
+        return content;
+    }
+
+    /**
+     * Set the elements of the page.
+     *
+     * @param content the page content
+     */
+    public void setContent(List<T> content) {
+        this.content = content;
+    }
+}
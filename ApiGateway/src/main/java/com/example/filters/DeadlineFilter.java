@@ -0,0 +1,85 @@
+package com.example.filters;
+
+import com.example.configs.DeadlineProperties;
+import com.example.utils.Constants;
+import org.springframework.cloud.gateway.config.HttpClientProperties;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.RouteMetadataUtils;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.core.Ordered;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+
+/**
+ * Global filter stamping each routed request with the time, in epoch
+ * milliseconds, after which the gateway no longer waits for the answer: the
+ * arrival time plus the route's response timeout, less a margin for the way
+ * back. The downstream services stop working on the request once the deadline
+ * has passed. A client may send an earlier deadline, never a later one.
+ */
+public class DeadlineFilter implements GlobalFilter, Ordered {
+
+    private final DeadlineProperties properties;
+    private final HttpClientProperties httpClientProperties;
+
+    /**
+     * Constructs the filter.
+     *
+     * @param properties           the deadline configuration
+     * @param httpClientProperties holds the response timeout of routes without their own
+     */
+    public DeadlineFilter(DeadlineProperties properties, HttpClientProperties httpClientProperties) {
+        this.properties = properties;
+        this.httpClientProperties = httpClientProperties;
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        Route route = exchange.getAttribute(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR);
+        Duration timeout = route == null ? null : responseTimeout(route);
+        if (timeout == null) {
+            return chain.filter(exchange);
+        }
+        long deadline = System.currentTimeMillis() + timeout.minus(properties.getMargin()).toMillis();
+        String clientDeadline = exchange.getRequest().getHeaders().getFirst(Constants.HEADER_REQUEST_DEADLINE);
+        if (clientDeadline != null) {
+            try {
+                deadline = Math.min(deadline, Long.parseLong(clientDeadline.trim()));
+            } catch (NumberFormatException e) {
+                // an unreadable client deadline is replaced by the gateway's
+            }
+        }
+        String value = Long.toString(deadline);
+        return chain.filter(exchange.mutate()
+                .request(request -> request.headers(headers -> headers.set(Constants.HEADER_REQUEST_DEADLINE, value)))
+                .build());
+    }
+
+    @Override
+    public int getOrder() {
+        return Constants.DEADLINE_FILTER_ORDER;
+    }
+
+    /**
+     * Get the response timeout of a route, as the routing filter applies it.
+     *
+     * @param route the route
+     * @return the timeout, or null if the route waits indefinitely
+     */
+    private Duration responseTimeout(Route route) {
+        Object metadata = route.getMetadata().get(RouteMetadataUtils.RESPONSE_TIMEOUT_ATTR);
+        if (metadata instanceof Number) {
+            long millis = ((Number) metadata).longValue();
+            return millis < 0 ? null : Duration.ofMillis(millis);
+        }
+        if (metadata != null) {
+            long millis = Long.parseLong(metadata.toString().trim());
+            return millis < 0 ? null : Duration.ofMillis(millis);
+        }
+        return httpClientProperties.getResponseTimeout();
+    }
+}
@@ -0,0 +1,169 @@
+package com.example.filters;
+
+import com.example.configs.HedgingProperties;
+import com.example.metrics.RouteMetrics;
+import com.example.support.DetachedExchange;
+import com.example.support.InstanceExclusion;
+import com.example.support.RequestBudget;
+import com.example.utils.Constants;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.core.Ordered;
+import org.springframework.http.HttpMethod;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.LinkedHashSet;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Global filter that hedges GET requests: if the upstream has not answered
+ * within the route's observed latency percentile, a second request is sent to a
+ * different instance and whichever answers first is returned to the client,
+ * the other being cancelled. Hedges are paid for from a per-route
+ * {@link RequestBudget}, so they add at most a fixed fraction of extra load.
+ */
+public class HedgingFilter implements GlobalFilter, Ordered {
+
+    private static final long DELAY_REFRESH_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    private final RouteMetrics routeMetrics;
+    private final HedgingProperties properties;
+    private final MeterRegistry meterRegistry;
+    private final ConcurrentMap<String, RequestBudget> budgets = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, HedgeDelay> delays = new ConcurrentHashMap<>();
+
+    /**
+     * Constructs the filter.
+     *
+     * @param routeMetrics  provides the routes' latency percentiles
+     * @param properties    the hedging configuration
+     * @param meterRegistry the registry receiving hedge counts
+     */
+    public HedgingFilter(RouteMetrics routeMetrics, HedgingProperties properties, MeterRegistry meterRegistry) {
+        this.routeMetrics = routeMetrics;
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        Route route = exchange.getAttribute(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR);
+        if (route == null || exchange.getRequest().getMethod() != HttpMethod.GET
+                || !properties.appliesTo(route.getId())) {
+            return chain.filter(exchange);
+        }
+        String routeId = route.getId();
+        Duration delay = hedgeDelay(routeId);
+        RequestBudget budget = budgets.computeIfAbsent(routeId,
+                id -> new RequestBudget(properties.getMaxExtraLoad(), properties.getMaxBurst(), 0));
+        budget.deposit();
+        if (delay == null) {
+            return chain.filter(exchange);
+        }
+        count(Constants.METRIC_HEDGE_ELIGIBLE, routeId);
+
+        DetachedExchange primary = new DetachedExchange(exchange);
+        Mono<Attempt> primaryCall = chain.filter(primary)
+                .then(Mono.fromSupplier(() -> new Attempt(primary, null)))
+                .onErrorResume(e -> Mono.just(new Attempt(primary, e)));
+        Mono<Attempt> hedgeCall = Mono.delay(delay).flatMap(tick -> {
+            if (!budget.tryWithdraw(System.nanoTime())) {
+                count(Constants.METRIC_HEDGE_SUPPRESSED, routeId);
+                return Mono.empty();
+            }
+            count(Constants.METRIC_HEDGE_SENT, routeId);
+            String busy = InstanceExclusion.chosenInstance(primary);
+            DetachedExchange hedge = new DetachedExchange(exchange);
+            if (busy != null) {
+                Set<String> excluded = new LinkedHashSet<>(InstanceExclusion.excludedInstances(exchange));
+                excluded.add(busy);
+                InstanceExclusion.exclude(hedge, excluded);
+            }
+            return chain.filter(hedge)
+                    .then(Mono.fromSupplier(() -> new Attempt(hedge, null)))
+                    .doOnNext(attempt -> count(Constants.METRIC_HEDGE_WON, routeId));
+        });
+
+        return Mono.firstWithValue(primaryCall, hedgeCall).flatMap(winner -> {
+            if (winner.error != null) {
+                return Mono.error(winner.error);
+            }
+            winner.exchange.publishAttributes();
+            return winner.exchange.getResponse().snapshot(routeId, System.nanoTime())
+                    .writeTo(exchange.getResponse());
+        });
+    }
+
+    @Override
+    public int getOrder() {
+        return Constants.HEDGING_FILTER_ORDER;
+    }
+
+    /**
+     * Get the delay after which a request on the route is hedged. The route's
+     * percentile is looked up at most once per second.
+     *
+     * @param routeId the route id
+     * @return the delay, or null while the route has too few samples
+     */
+    private Duration hedgeDelay(String routeId) {
+        long now = System.nanoTime();
+        HedgeDelay cached = delays.get(routeId);
+        if (cached == null || now - cached.computedAtNanos > DELAY_REFRESH_NANOS) {
+            long percentile = routeMetrics.routeLatencyPercentile(routeId, properties.getPercentile(),
+                    properties.getMinSamples());
+            Duration delay = percentile > 0
+                    ? Duration.ofNanos(Math.max(percentile, properties.getMinDelay().toNanos()))
+                    : null;
+            cached = new HedgeDelay(now, delay);
+            delays.put(routeId, cached);
+        }
+        return cached.delay;
+    }
+
+    /**
+     * Increment a hedging counter.
+     *
+     * @param name    the meter name
+     * @param routeId the route id
+     */
+    private void count(String name, String routeId) {
+        meterRegistry.counter(name, Constants.TAG_ROUTE_ID, routeId).increment();
+    }
+
+    /**
+     * The outcome of one of the two requests.
+     */
+    private static final class Attempt {
+
+        private final DetachedExchange exchange;
+        private final Throwable error;
+
+        Attempt(DetachedExchange exchange, Throwable error) {
+            this.exchange = exchange;
+            this.error = error;
+        }
+    }
+
+    /**
+     * A route's hedge delay and when it was computed.
+     */
+    private static final class HedgeDelay {
+
+        private final long computedAtNanos;
+        private final Duration delay;
+
+        HedgeDelay(long computedAtNanos, Duration delay) {
+            this.computedAtNanos = computedAtNanos;
+            this.delay = delay;
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package com.example.filters;
+
+import com.example.utils.Constants;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.core.Ordered;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+/**
+ * First global filter. Removes the headers the gateway uses to pass hints to
+ * its load balancer from client requests, so that a client cannot steer or
+ * blackhole instance selection by sending them.
+ */
+public class IngressHeadersFilter implements GlobalFilter, Ordered {
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        if (!exchange.getRequest().getHeaders().containsKey(Constants.HEADER_EXCLUDE_INSTANCES)) {
+            return chain.filter(exchange);
+        }
+        return chain.filter(exchange.mutate()
+                .request(request -> request.headers(headers -> headers.remove(Constants.HEADER_EXCLUDE_INSTANCES)))
+                .build());
+    }
+
+    @Override
+    public int getOrder() {
+        return Constants.INGRESS_HEADERS_FILTER_ORDER;
+    }
+}
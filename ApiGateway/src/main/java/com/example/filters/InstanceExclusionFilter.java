@@ -0,0 +1,37 @@
+package com.example.filters;
+
+import com.example.support.InstanceExclusion;
+import com.example.utils.Constants;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.core.Ordered;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Global filter running right before the load balancer. Copies the instances an
+ * attempt must avoid from the exchange attribute set by the gateway's own
+ * filters into the internal header the load balancer reads.
+ */
+public class InstanceExclusionFilter implements GlobalFilter, Ordered {
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        List<String> excluded = InstanceExclusion.excludedInstances(exchange);
+        if (excluded.isEmpty()) {
+            return chain.filter(exchange);
+        }
+        return chain.filter(exchange.mutate()
+                .request(request -> request.headers(
+                        headers -> headers.put(Constants.HEADER_EXCLUDE_INSTANCES, new ArrayList<>(excluded))))
+                .build());
+    }
+
+    @Override
+    public int getOrder() {
+        return Constants.INSTANCE_EXCLUSION_FILTER_ORDER;
+    }
+}
@@ -0,0 +1,52 @@
+package com.example.filters;
+
+import com.example.loadbalancer.InstanceStatsLifecycle;
+import com.example.utils.Constants;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.loadbalancer.Response;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.core.Ordered;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.SignalType;
+
+/**
+ * Global filter reporting load-balanced calls that are cancelled to the
+ * {@link InstanceStatsLifecycle}. The load balancer filter only reports calls
+ * that complete or fail, so without it every losing hedge, timed-out call and
+ * client disconnect would stay outstanding on its instance for good.
+ */
+public class InstanceStatsCancelFilter implements GlobalFilter, Ordered {
+
+    private final InstanceStatsLifecycle lifecycle;
+
+    /**
+     * Constructs the filter.
+     *
+     * @param lifecycle the lifecycle tracking the calls
+     */
+    public InstanceStatsCancelFilter(InstanceStatsLifecycle lifecycle) {
+        this.lifecycle = lifecycle;
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        return chain.filter(exchange).doFinally(signal -> {
+            if (signal != SignalType.CANCEL) {
+                return;
+            }
+            Response<ServiceInstance> lbResponse =
+                    exchange.getAttribute(ServerWebExchangeUtils.GATEWAY_LOADBALANCER_RESPONSE_ATTR);
+            if (lbResponse != null) {
+                lifecycle.onCancel(lbResponse);
+            }
+        });
+    }
+
+    @Override
+    public int getOrder() {
+        return Constants.INSTANCE_STATS_CANCEL_FILTER_ORDER;
+    }
+}
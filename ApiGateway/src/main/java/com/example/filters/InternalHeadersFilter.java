@@ -0,0 +1,30 @@
+package com.example.filters;
+
+import com.example.utils.Constants;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.core.Ordered;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+/**
+ * Global filter removing the headers the gateway uses to pass hints to its load
+ * balancer once it has run, so that they never reach the downstream services.
+ */
+public class InternalHeadersFilter implements GlobalFilter, Ordered {
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        if (!exchange.getRequest().getHeaders().containsKey(Constants.HEADER_EXCLUDE_INSTANCES)) {
+            return chain.filter(exchange);
+        }
+        return chain.filter(exchange.mutate()
+                .request(request -> request.headers(headers -> headers.remove(Constants.HEADER_EXCLUDE_INSTANCES)))
+                .build());
+    }
+
+    @Override
+    public int getOrder() {
+        return Constants.INTERNAL_HEADERS_FILTER_ORDER;
+    }
+}
@@ -0,0 +1,113 @@
+package com.example.filters;
+
+import com.example.configs.RateLimitProperties;
+import com.example.ratelimit.TokenBucketRateLimiter;
+import com.example.utils.Constants;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.core.Ordered;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.net.InetSocketAddress;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Global filter applying an in-memory token bucket per client and route.
+ * Clients are identified by address, so a client cannot pick a new identity
+ * with each request.
+ * Rejected requests receive 429 with a Retry-After header and never reach the
+ * downstream service.
+ */
+public class RateLimitFilter implements GlobalFilter, Ordered {
+
+    private final TokenBucketRateLimiter rateLimiter;
+    private final RateLimitProperties properties;
+    private final MeterRegistry meterRegistry;
+
+    /**
+     * Constructs the filter.
+     *
+     * @param rateLimiter   the bucket store
+     * @param properties    the rate limit configuration
+     * @param meterRegistry the registry receiving rejection counts
+     */
+    public RateLimitFilter(TokenBucketRateLimiter rateLimiter, RateLimitProperties properties,
+                           MeterRegistry meterRegistry) {
+        this.rateLimiter = rateLimiter;
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        Route route = exchange.getAttribute(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR);
+        if (route == null) {
+            return chain.filter(exchange);
+        }
+        RateLimitProperties.Limit limit = properties.limitFor(route.getId());
+        if (!limit.isActive()) {
+            return chain.filter(exchange);
+        }
+        String key = clientId(exchange.getRequest()) + '|' + route.getId();
+        long waitNanos = rateLimiter.tryAcquire(key, limit.getReplenishRate(), limit.getBurstCapacity());
+        if (waitNanos == 0L) {
+            return chain.filter(exchange);
+        }
+        meterRegistry.counter(Constants.METRIC_RATE_LIMIT_REJECTED, Constants.TAG_ROUTE_ID, route.getId())
+                .increment();
+        ServerHttpResponse response = exchange.getResponse();
+        response.setStatusCode(HttpStatus.TOO_MANY_REQUESTS);
+        long retryAfterSeconds = Math.max(1L, TimeUnit.NANOSECONDS.toSeconds(waitNanos + 999_999_999L));
+        response.getHeaders().set(HttpHeaders.RETRY_AFTER, Long.toString(retryAfterSeconds));
+        return response.setComplete();
+    }
+
+    @Override
+    public int getOrder() {
+        return Constants.RATE_LIMIT_FILTER_ORDER;
+    }
+
+    /**
+     * Identify the client by its remote address. When that address is a trusted
+     * proxy, the forwarded addresses are walked from the nearest hop outwards and
+     * the first address that is not a trusted proxy is used; earlier entries are
+     * written by the client and are ignored.
+     *
+     * @param request the client request
+     * @return the client identity
+     */
+    private String clientId(ServerHttpRequest request) {
+        InetSocketAddress remote = request.getRemoteAddress();
+        if (remote == null || remote.getAddress() == null) {
+            return Constants.UNKNOWN_CLIENT;
+        }
+        String client = remote.getAddress().getHostAddress();
+        Set<String> trustedProxies = properties.getTrustedProxies();
+        List<String> forwarded = request.getHeaders().get(Constants.HEADER_FORWARDED_FOR);
+        if (forwarded == null || !trustedProxies.contains(client)) {
+            return client;
+        }
+        String[] hops = String.join(",", forwarded).split(",");
+        for (int i = hops.length - 1; i >= 0; i--) {
+            String hop = hops[i].trim();
+            if (hop.isEmpty()) {
+                continue;
+            }
+            client = hop;
+            if (!trustedProxies.contains(hop)) {
+                break;
+            }
+        }
+        return client;
+    }
+}
@@ -0,0 +1,162 @@
+package com.example.filters;
+
+import com.example.cache.CachedResponse;
+import com.example.cache.CachingResponseDecorator;
+import com.example.cache.RequestKey;
+import com.example.cache.ResponseCache;
+import com.example.configs.ResponseCacheProperties;
+import com.example.utils.Constants;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.core.Ordered;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+
+/**
+ * Global filter that serves idempotent GET requests from a bounded in-memory
+ * cache and invalidates a route's entries when a write is proxied through it.
+ * Requests carrying cookies or credentials may be answered per client, for
+ * instance from the primary after the client's own write, so they bypass the cache.
+ */
+public class ResponseCacheFilter implements GlobalFilter, Ordered {
+
+    private final ResponseCache cache;
+    private final ResponseCacheProperties properties;
+    private final MeterRegistry meterRegistry;
+
+    /**
+     * Constructs the filter.
+     *
+     * @param cache         the response store
+     * @param properties    the cache configuration
+     * @param meterRegistry the registry receiving cache meters
+     */
+    public ResponseCacheFilter(ResponseCache cache, ResponseCacheProperties properties, MeterRegistry meterRegistry) {
+        this.cache = cache;
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        Route route = exchange.getAttribute(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR);
+        if (route == null) {
+            return chain.filter(exchange);
+        }
+        String routeId = route.getId();
+        HttpMethod method = exchange.getRequest().getMethod();
+        if (isWrite(method)) {
+            return chain.filter(exchange).doOnSuccess(done -> invalidateOnSuccess(exchange, routeId));
+        }
+        Duration ttl = properties.ttlFor(routeId);
+        if (method != HttpMethod.GET || ttl.isZero() || ttl.isNegative()) {
+            return chain.filter(exchange);
+        }
+
+        HttpHeaders requestHeaders = exchange.getRequest().getHeaders();
+        String requestCacheControl = requestHeaders.getCacheControl();
+        if (requestCacheControl != null && requestCacheControl.toLowerCase().contains("no-store")
+                || requestHeaders.containsKey(HttpHeaders.COOKIE)
+                || requestHeaders.containsKey(HttpHeaders.AUTHORIZATION)) {
+            count(routeId, Constants.CACHE_STATUS_BYPASS);
+            exchange.getResponse().getHeaders().set(Constants.HEADER_CACHE_STATUS, Constants.CACHE_STATUS_BYPASS);
+            return chain.filter(exchange);
+        }
+
+        String key = RequestKey.of(exchange.getRequest());
+        boolean revalidate = requestCacheControl != null && requestCacheControl.toLowerCase().contains("no-cache");
+        CachedResponse cached = revalidate ? null : cache.get(key);
+        if (cached != null) {
+            count(routeId, Constants.CACHE_STATUS_HIT);
+            return writeFromCache(exchange, cached);
+        }
+
+        count(routeId, Constants.CACHE_STATUS_MISS);
+        long generation = cache.generation(routeId);
+        ServerHttpResponse response = exchange.getResponse();
+        response.getHeaders().set(Constants.HEADER_CACHE_STATUS, Constants.CACHE_STATUS_MISS);
+        CachingResponseDecorator decorator = new CachingResponseDecorator(response, routeId, ttl,
+                properties.getMaxBodyBytes(), snapshot -> cache.put(key, snapshot, generation));
+        return chain.filter(exchange.mutate().response(decorator).build());
+    }
+
+    @Override
+    public int getOrder() {
+        return Constants.RESPONSE_CACHE_FILTER_ORDER;
+    }
+
+    /**
+     * Serve a cached response, answering 304 when the client already holds the same entity.
+     *
+     * @param exchange the current exchange
+     * @param cached   the cached response
+     * @return a Mono that completes once the response is written
+     */
+    private Mono<Void> writeFromCache(ServerWebExchange exchange, CachedResponse cached) {
+        ServerHttpResponse response = exchange.getResponse();
+        String age = Long.toString(cached.ageSeconds(System.nanoTime()));
+        String etag = cached.getETag();
+        if (etag != null && exchange.getRequest().getHeaders().getIfNoneMatch().contains(etag)) {
+            response.setStatusCode(HttpStatus.NOT_MODIFIED);
+            response.getHeaders().set(Constants.HEADER_CACHE_STATUS, Constants.CACHE_STATUS_HIT);
+            response.getHeaders().set(HttpHeaders.AGE, age);
+            response.getHeaders().setETag(etag);
+            return response.setComplete();
+        }
+        // The snapshot carries the MISS status of the response it was taken from.
+        return cached.writeTo(response, headers -> {
+            headers.set(Constants.HEADER_CACHE_STATUS, Constants.CACHE_STATUS_HIT);
+            headers.set(HttpHeaders.AGE, age);
+        });
+    }
+
+    /**
+     * Drop the route's cached entries once a write has been accepted downstream.
+     *
+     * @param exchange the current exchange
+     * @param routeId  the route id
+     */
+    private void invalidateOnSuccess(ServerWebExchange exchange, String routeId) {
+        HttpStatus status = exchange.getResponse().getStatusCode();
+        if (status != null && status.is2xxSuccessful()) {
+            int removed = cache.invalidateRoute(routeId);
+            meterRegistry.counter(Constants.METRIC_CACHE_INVALIDATIONS, Constants.TAG_ROUTE_ID, routeId)
+                    .increment(removed);
+        }
+    }
+
+    /**
+     * Check whether the method changes server state.
+     *
+     * @param method the request method
+     * @return true for POST, PUT, PATCH and DELETE
+     */
+    private static boolean isWrite(HttpMethod method) {
+        return method == HttpMethod.POST || method == HttpMethod.PUT
+                || method == HttpMethod.PATCH || method == HttpMethod.DELETE;
+    }
+
+    /**
+     * Record the outcome of a cache lookup.
+     *
+     * @param routeId the route id
+     * @param result  the lookup result
+     */
+    private void count(String routeId, String result) {
+        Counter.builder(Constants.METRIC_CACHE_REQUESTS)
+                .tag(Constants.TAG_ROUTE_ID, routeId)
+                .tag(Constants.TAG_RESULT, result)
+                .register(meterRegistry)
+                .increment();
+    }
+}
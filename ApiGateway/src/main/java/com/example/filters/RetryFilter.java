@@ -0,0 +1,182 @@
+package com.example.filters;
+
+import com.example.configs.RetryProperties;
+import com.example.support.DetachedExchange;
+import com.example.support.InstanceExclusion;
+import com.example.support.RequestBudget;
+import com.example.utils.Constants;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.core.Ordered;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.net.ConnectException;
+import java.time.Duration;
+import java.util.LinkedHashSet;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Global filter that retries idempotent requests that could not be sent or
+ * failed with a retryable status, on an instance that has not failed them yet.
+ * Retries wait a random time below an exponentially growing bound and are paid
+ * for from a per-route {@link RequestBudget} filled by successful requests, so
+ * an outage cannot turn into a retry storm.
+ */
+public class RetryFilter implements GlobalFilter, Ordered {
+
+    private final RetryProperties properties;
+    private final MeterRegistry meterRegistry;
+    private final ConcurrentMap<String, RequestBudget> budgets = new ConcurrentHashMap<>();
+
+    /**
+     * Constructs the filter.
+     *
+     * @param properties    the retry configuration
+     * @param meterRegistry the registry receiving retry counts
+     */
+    public RetryFilter(RetryProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        Route route = exchange.getAttribute(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR);
+        if (route == null || !isRetryable(exchange) || !properties.appliesTo(route.getId())) {
+            return chain.filter(exchange);
+        }
+        String routeId = route.getId();
+        RequestBudget budget = budgets.computeIfAbsent(routeId, id -> new RequestBudget(
+                properties.getBudgetRatio(), properties.getMaxBurst(), properties.getMinRetriesPerSecond()));
+        return attempt(exchange, chain, routeId, budget, 1, new LinkedHashSet<>());
+    }
+
+    @Override
+    public int getOrder() {
+        return Constants.RETRY_FILTER_ORDER;
+    }
+
+    /**
+     * Run the rest of the chain once and decide whether to retry.
+     *
+     * @param exchange the client exchange
+     * @param chain    the remaining filter chain
+     * @param routeId  the route id
+     * @param budget   the route's retry budget
+     * @param attempt  the number of this attempt, starting at 1
+     * @param failed   the instances that have failed this request so far
+     * @return a Mono that completes once the response is written
+     */
+    private Mono<Void> attempt(ServerWebExchange exchange, GatewayFilterChain chain, String routeId,
+                               RequestBudget budget, int attempt, Set<String> failed) {
+        DetachedExchange detached = new DetachedExchange(exchange);
+        InstanceExclusion.exclude(detached, failed);
+        return chain.filter(detached).materialize().flatMap(signal -> {
+            Throwable error = signal.getThrowable();
+            boolean retryable = error != null ? isConnectionFailure(error)
+                    : properties.getStatuses().contains(detached.getResponse().getRawStatusCode());
+            if (!retryable) {
+                budget.deposit();
+                return complete(exchange, detached, routeId, error);
+            }
+            if (attempt >= properties.getMaxAttempts()) {
+                exhausted(routeId, Constants.RETRY_EXHAUSTED_ATTEMPTS);
+                return complete(exchange, detached, routeId, error);
+            }
+            if (!budget.tryWithdraw(System.nanoTime())) {
+                exhausted(routeId, Constants.RETRY_EXHAUSTED_BUDGET);
+                return complete(exchange, detached, routeId, error);
+            }
+            String instance = InstanceExclusion.chosenInstance(detached);
+            if (instance != null) {
+                failed.add(instance);
+            }
+            meterRegistry.counter(Constants.METRIC_RETRY_SENT, Constants.TAG_ROUTE_ID, routeId).increment();
+            return Mono.delay(backoff(attempt))
+                    .then(Mono.defer(() -> attempt(exchange, chain, routeId, budget, attempt + 1, failed)));
+        });
+    }
+
+    /**
+     * Hand the outcome of the last attempt to the client.
+     *
+     * @param exchange the client exchange
+     * @param detached the exchange of the last attempt
+     * @param routeId  the route id
+     * @param error    the error the attempt failed with, or null
+     * @return a Mono that completes once the response is written
+     */
+    private static Mono<Void> complete(ServerWebExchange exchange, DetachedExchange detached, String routeId,
+                                       Throwable error) {
+        if (error != null) {
+            return Mono.error(error);
+        }
+        detached.publishAttributes();
+        return detached.getResponse().snapshot(routeId, System.nanoTime()).writeTo(exchange.getResponse());
+    }
+
+    /**
+     * Pick the wait before the given retry, uniformly below a bound that doubles
+     * with each attempt (full jitter), so that clients failing together do not
+     * retry together.
+     *
+     * @param attempt the number of the attempt that failed
+     * @return the backoff
+     */
+    private Duration backoff(int attempt) {
+        long first = properties.getFirstBackoff().toNanos();
+        long bound = Math.min(properties.getMaxBackoff().toNanos(), first << Math.min(attempt - 1, 20));
+        return Duration.ofNanos(ThreadLocalRandom.current().nextLong(bound + 1));
+    }
+
+    /**
+     * Check whether the request may be sent more than once.
+     *
+     * @param exchange the client exchange
+     * @return true for configured methods without a request body
+     */
+    private boolean isRetryable(ServerWebExchange exchange) {
+        HttpHeaders headers = exchange.getRequest().getHeaders();
+        HttpMethod method = exchange.getRequest().getMethod();
+        return method != null && properties.getMethods().contains(method)
+                && headers.getContentLength() <= 0 && !headers.containsKey(HttpHeaders.TRANSFER_ENCODING);
+    }
+
+    /**
+     * Check whether an error means the request never reached the instance, such
+     * as a refused or timed out connection. Errors after the connection was made,
+     * such as a reset, are not retried: the instance may already have run the
+     * request.
+     *
+     * @param error the error
+     * @return true if a connect failure is in the cause chain
+     */
+    private static boolean isConnectionFailure(Throwable error) {
+        for (Throwable cause = error; cause != null; cause = cause.getCause()) {
+            if (cause instanceof ConnectException) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Record a request that failed without being retried.
+     *
+     * @param routeId the route id
+     * @param reason  why no retry was made
+     */
+    private void exhausted(String routeId, String reason) {
+        meterRegistry.counter(Constants.METRIC_RETRY_EXHAUSTED, Constants.TAG_ROUTE_ID, routeId,
+                Constants.TAG_REASON, reason).increment();
+    }
+}
@@ -0,0 +1,46 @@
+package com.example.filters;
+
+import com.example.metrics.RouteMetrics;
+import com.example.utils.Constants;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.core.Ordered;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+/**
+ * Outermost gateway filter. Stamps the arrival time used by the phase timers and
+ * records the end-to-end latency of every routed request.
+ */
+public class RouteMetricsFilter implements GlobalFilter, Ordered {
+
+    private final RouteMetrics routeMetrics;
+
+    /**
+     * Constructs the filter.
+     *
+     * @param routeMetrics the latency recorder
+     */
+    public RouteMetricsFilter(RouteMetrics routeMetrics) {
+        this.routeMetrics = routeMetrics;
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        Route route = exchange.getAttribute(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR);
+        if (route == null) {
+            return chain.filter(exchange);
+        }
+        long start = System.nanoTime();
+        exchange.getAttributes().put(Constants.ATTR_ARRIVAL_NANOS, start);
+        return chain.filter(exchange).doFinally(signal -> routeMetrics.recordRequest(route.getId(),
+                exchange.getResponse().getRawStatusCode(), System.nanoTime() - start));
+    }
+
+    @Override
+    public int getOrder() {
+        return Constants.ROUTE_METRICS_FILTER_ORDER;
+    }
+}
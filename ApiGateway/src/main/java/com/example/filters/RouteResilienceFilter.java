@@ -0,0 +1,132 @@
+package com.example.filters;
+
+import com.example.cache.CachedResponse;
+import com.example.cache.RequestKey;
+import com.example.cache.ResponseCache;
+import com.example.configs.ResilienceProperties;
+import com.example.resilience.DownstreamServerErrorException;
+import com.example.resilience.RouteResilienceRegistry;
+import com.example.utils.Constants;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.reactor.bulkhead.operator.BulkheadOperator;
+import io.github.resilience4j.reactor.circuitbreaker.operator.CircuitBreakerOperator;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.core.Ordered;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+/**
+ * Global filter wrapping every protected route in its own bulkhead and circuit
+ * breaker. Calls rejected by either are answered immediately, with a stale
+ * cached response when one is available and 503 otherwise.
+ */
+public class RouteResilienceFilter implements GlobalFilter, Ordered {
+
+    private final RouteResilienceRegistry registry;
+    private final ResponseCache responseCache;
+    private final MeterRegistry meterRegistry;
+
+    /**
+     * Constructs the filter.
+     *
+     * @param registry      the per-route circuit breakers and bulkheads
+     * @param responseCache the response cache used for stale fallbacks, or null if caching is disabled
+     * @param meterRegistry the registry receiving fallback counts
+     */
+    public RouteResilienceFilter(RouteResilienceRegistry registry, ResponseCache responseCache,
+                                 MeterRegistry meterRegistry) {
+        this.registry = registry;
+        this.responseCache = responseCache;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        Route route = exchange.getAttribute(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR);
+        ResilienceProperties.RoutePolicy policy = route != null ? registry.policy(route.getId()) : null;
+        if (policy == null) {
+            return chain.filter(exchange);
+        }
+        String routeId = route.getId();
+        return chain.filter(exchange)
+                .then(Mono.defer(() -> failOnServerError(exchange)))
+                .transformDeferred(CircuitBreakerOperator.of(registry.circuitBreaker(routeId)))
+                .transformDeferred(BulkheadOperator.of(registry.bulkhead(routeId)))
+                .onErrorResume(DownstreamServerErrorException.class, e -> Mono.empty())
+                .onErrorResume(e -> e instanceof CallNotPermittedException || e instanceof BulkheadFullException,
+                        e -> fallback(exchange, routeId, policy, e));
+    }
+
+    @Override
+    public int getOrder() {
+        return Constants.ROUTE_RESILIENCE_FILTER_ORDER;
+    }
+
+    /**
+     * Turn a relayed 5xx response into an error so the circuit breaker counts it.
+     *
+     * @param exchange the current exchange
+     * @return an empty Mono, or an error for a 5xx response
+     */
+    private Mono<Void> failOnServerError(ServerWebExchange exchange) {
+        Integer status = exchange.getResponse().getRawStatusCode();
+        if (status != null && status >= HttpStatus.INTERNAL_SERVER_ERROR.value()) {
+            return Mono.error(new DownstreamServerErrorException(status));
+        }
+        return Mono.empty();
+    }
+
+    /**
+     * Answer a call the route could not accept.
+     *
+     * @param exchange the current exchange
+     * @param routeId  the route id
+     * @param policy   the route policy
+     * @param cause    why the call was rejected
+     * @return a Mono that completes once the fallback response is written
+     */
+    private Mono<Void> fallback(ServerWebExchange exchange, String routeId, ResilienceProperties.RoutePolicy policy,
+                                Throwable cause) {
+        ServerHttpResponse response = exchange.getResponse();
+        if (policy.isStaleFallback() && responseCache != null
+                && exchange.getRequest().getMethod() == HttpMethod.GET) {
+            CachedResponse stale = responseCache.getStale(RequestKey.of(exchange.getRequest()));
+            if (stale != null && routeId.equals(stale.getRouteId())) {
+                countFallback(routeId, Constants.FALLBACK_STALE);
+                return stale.writeTo(response, headers -> {
+                    headers.set(Constants.HEADER_CACHE_STATUS, Constants.CACHE_STATUS_STALE);
+                    headers.set(HttpHeaders.WARNING, Constants.WARNING_RESPONSE_STALE);
+                    headers.setCacheControl(CacheControl.noStore());
+                });
+            }
+        }
+        countFallback(routeId, Constants.FALLBACK_UNAVAILABLE);
+        long retryAfterSeconds = cause instanceof CallNotPermittedException
+                ? Math.max(1L, policy.getWaitDurationInOpenState().getSeconds())
+                : 1L;
+        response.setStatusCode(HttpStatus.SERVICE_UNAVAILABLE);
+        response.getHeaders().set(HttpHeaders.RETRY_AFTER, Long.toString(retryAfterSeconds));
+        return response.setComplete();
+    }
+
+    /**
+     * Record a fallback response.
+     *
+     * @param routeId the route id
+     * @param result  the kind of fallback served
+     */
+    private void countFallback(String routeId, String result) {
+        meterRegistry.counter(Constants.METRIC_RESILIENCE_FALLBACKS,
+                Constants.TAG_ROUTE_ID, routeId, Constants.TAG_RESULT, result).increment();
+    }
+}
@@ -0,0 +1,95 @@
+package com.example.filters;
+
+import com.example.cache.CachedResponse;
+import com.example.cache.RequestKey;
+import com.example.configs.SingleFlightProperties;
+import com.example.support.DetachedExchange;
+import com.example.support.SingleFlight;
+import com.example.utils.Constants;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.core.Ordered;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Global filter that lets concurrent identical GET requests share one upstream
+ * call. The first request runs the rest of the chain on a detached exchange and
+ * every request, including the first, replays the recorded response.
+ * Requests whose response may differ for their sender, such as conditional
+ * requests and requests carrying cookies or credentials, are never shared.
+ */
+public class SingleFlightFilter implements GlobalFilter, Ordered {
+
+    private final SingleFlight<String, CachedResponse> singleFlight;
+    private final SingleFlightProperties properties;
+
+    /**
+     * Constructs the filter.
+     *
+     * @param singleFlight the call coalescer
+     * @param properties   the coalescing configuration
+     */
+    public SingleFlightFilter(SingleFlight<String, CachedResponse> singleFlight, SingleFlightProperties properties) {
+        this.singleFlight = singleFlight;
+        this.properties = properties;
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        Route route = exchange.getAttribute(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR);
+        ServerHttpRequest request = exchange.getRequest();
+        if (route == null || request.getMethod() != HttpMethod.GET
+                || !properties.appliesTo(route.getId()) || !isShareable(request)) {
+            return chain.filter(exchange);
+        }
+        String routeId = route.getId();
+        String key = routeId + ' ' + RequestKey.of(request);
+        List<String> languages = request.getHeaders().get(HttpHeaders.ACCEPT_LANGUAGE);
+        if (languages != null) {
+            key += '|' + String.join(",", languages);
+        }
+        return singleFlight.execute(key, () -> {
+                    DetachedExchange detached = new DetachedExchange(exchange);
+                    return chain.filter(detached)
+                            .then(Mono.fromSupplier(() -> detached.getResponse().snapshot(routeId, System.nanoTime())))
+                            .doOnSuccess(response -> detached.publishAttributes())
+                            .timeout(properties.getTimeout());
+                })
+                .onErrorMap(TimeoutException.class,
+                        e -> new ResponseStatusException(HttpStatus.GATEWAY_TIMEOUT, Constants.SINGLE_FLIGHT_TIMEOUT, e))
+                .flatMap(response -> response.writeTo(exchange.getResponse()));
+    }
+
+    @Override
+    public int getOrder() {
+        return Constants.SINGLE_FLIGHT_FILTER_ORDER;
+    }
+
+    /**
+     * Check whether the response to the request may be replayed to other clients.
+     * A conditional request may be answered with 304, and a request carrying
+     * cookies or credentials may be answered for its sender only, for example
+     * from the primary database right after that client wrote.
+     *
+     * @param request the client request
+     * @return true if the request can share an upstream call
+     */
+    private static boolean isShareable(ServerHttpRequest request) {
+        HttpHeaders headers = request.getHeaders();
+        return !headers.containsKey(HttpHeaders.IF_NONE_MATCH)
+                && !headers.containsKey(HttpHeaders.IF_MODIFIED_SINCE)
+                && !headers.containsKey(HttpHeaders.COOKIE)
+                && !headers.containsKey(HttpHeaders.AUTHORIZATION);
+    }
+}
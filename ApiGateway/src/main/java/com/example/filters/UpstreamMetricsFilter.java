@@ -0,0 +1,61 @@
+package com.example.filters;
+
+import com.example.metrics.RouteMetrics;
+import com.example.utils.Constants;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.cloud.gateway.filter.ReactiveLoadBalancerClientFilter;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.core.Ordered;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.SignalType;
+
+import java.net.URI;
+
+/**
+ * Filter running right after the load balancer has chosen an instance. Records
+ * how long the request queued in the gateway and how long the chosen instance
+ * took to respond, both tagged by route and instance.
+ */
+public class UpstreamMetricsFilter implements GlobalFilter, Ordered {
+
+    private final RouteMetrics routeMetrics;
+
+    /**
+     * Constructs the filter.
+     *
+     * @param routeMetrics the latency recorder
+     */
+    public UpstreamMetricsFilter(RouteMetrics routeMetrics) {
+        this.routeMetrics = routeMetrics;
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        Route route = exchange.getAttribute(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR);
+        URI requestUrl = exchange.getAttribute(ServerWebExchangeUtils.GATEWAY_REQUEST_URL_ATTR);
+        if (route == null || requestUrl == null) {
+            return chain.filter(exchange);
+        }
+        String instance = requestUrl.getHost() + ':' + requestUrl.getPort();
+        long start = System.nanoTime();
+        Long arrival = exchange.getAttribute(Constants.ATTR_ARRIVAL_NANOS);
+        if (arrival != null) {
+            routeMetrics.recordQueue(route.getId(), instance, start - arrival);
+        }
+        return chain.filter(exchange).doFinally(signal -> {
+            long elapsed = System.nanoTime() - start;
+            routeMetrics.recordUpstream(route.getId(), instance, exchange.getResponse().getRawStatusCode(), elapsed);
+            if (signal != SignalType.CANCEL) {
+                routeMetrics.recordRouteLatency(route.getId(), elapsed);
+            }
+        });
+    }
+
+    @Override
+    public int getOrder() {
+        return ReactiveLoadBalancerClientFilter.LOAD_BALANCER_CLIENT_FILTER_ORDER + 1;
+    }
+}
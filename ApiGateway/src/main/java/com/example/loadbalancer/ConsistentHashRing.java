@@ -0,0 +1,138 @@
+package com.example.loadbalancer;
+
+import org.springframework.cloud.client.ServiceInstance;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Predicate;
+import java.util.function.ToIntFunction;
+
+/**
+ * Immutable hash ring placing each instance at a number of virtual nodes.
+ * A key belongs to the first node clockwise from its hash, so when an instance
+ * joins or leaves only the keys of its own nodes move.
+ * Lookups are bounded-load: a node whose instance already serves more than
+ * {@code loadFactor} times the average number of outstanding requests is
+ * skipped, which keeps a hot key from overloading its owner.
+ */
+public class ConsistentHashRing {
+
+    private final long[] points;
+    private final ServiceInstance[] owners;
+    private final ServiceInstance[] instances;
+    private final Set<String> members;
+
+    /**
+     * Builds the ring for the given instances.
+     *
+     * @param instances    the instances to place on the ring
+     * @param virtualNodes the number of nodes per instance
+     */
+    public ConsistentHashRing(List<ServiceInstance> instances, int virtualNodes) {
+        int size = instances.size() * virtualNodes;
+        long[][] nodes = new long[size][];
+        this.instances = instances.toArray(new ServiceInstance[0]);
+        this.members = new HashSet<>();
+        for (int i = 0; i < instances.size(); i++) {
+            String key = InstanceStatsRegistry.key(instances.get(i));
+            members.add(key);
+            for (int v = 0; v < virtualNodes; v++) {
+                nodes[i * virtualNodes + v] = new long[]{hash(key + '#' + v), i};
+            }
+        }
+        Arrays.sort(nodes, (a, b) -> Long.compare(a[0], b[0]));
+        points = new long[size];
+        owners = new ServiceInstance[size];
+        for (int n = 0; n < size; n++) {
+            points[n] = nodes[n][0];
+            owners[n] = instances.get((int) nodes[n][1]);
+        }
+    }
+
+    /**
+     * Check whether the ring was built for exactly these instances.
+     *
+     * @param instances the current instances
+     * @return true if the ring can be reused
+     */
+    public boolean hasMembers(List<ServiceInstance> instances) {
+        if (instances.size() != members.size()) {
+            return false;
+        }
+        for (ServiceInstance instance : instances) {
+            if (!members.contains(InstanceStatsRegistry.key(instance))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Find the instance owning a key, skipping instances above their load bound.
+     *
+     * @param key         the key, such as an entity id
+     * @param loadFactor  how far above the average load an instance may go
+     * @param outstanding gives the outstanding requests of an instance
+     * @return the owning instance, or null if the ring is empty
+     */
+    public ServiceInstance locate(String key, double loadFactor, ToIntFunction<ServiceInstance> outstanding) {
+        return locate(key, loadFactor, outstanding, instance -> true);
+    }
+
+    /**
+     * Find the instance owning a key among the eligible instances, skipping
+     * instances above their load bound.
+     *
+     * @param key         the key, such as an entity id
+     * @param loadFactor  how far above the average load an instance may go
+     * @param outstanding gives the outstanding requests of an instance
+     * @param eligible    tells whether an instance may be chosen
+     * @return the owning instance, or null if the ring is empty
+     */
+    public ServiceInstance locate(String key, double loadFactor, ToIntFunction<ServiceInstance> outstanding,
+                                  Predicate<ServiceInstance> eligible) {
+        if (points.length == 0) {
+            return null;
+        }
+        long load = 0;
+        for (ServiceInstance instance : instances) {
+            load += outstanding.applyAsInt(instance);
+        }
+        long capacity = (long) Math.ceil(loadFactor * (load + 1) / instances.length);
+        int start = Arrays.binarySearch(points, hash(key));
+        if (start < 0) {
+            start = -start - 1;
+        }
+        for (int step = 0; step < points.length; step++) {
+            ServiceInstance candidate = owners[(start + step) % points.length];
+            if (eligible.test(candidate) && outstanding.applyAsInt(candidate) < capacity) {
+                return candidate;
+            }
+        }
+        return owners[start % points.length];
+    }
+
+    /**
+     * Hash a string onto the ring with FNV-1a followed by a 64-bit finaliser,
+     * which spreads similar keys such as consecutive ids evenly.
+     *
+     * @param value the string to hash
+     * @return the ring position
+     */
+    static long hash(String value) {
+        long h = 0xcbf29ce484222325L;
+        for (byte b : value.getBytes(StandardCharsets.UTF_8)) {
+            h ^= b;
+            h *= 0x100000001b3L;
+        }
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+}
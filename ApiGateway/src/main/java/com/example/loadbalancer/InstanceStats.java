@@ -0,0 +1,120 @@
+package com.example.loadbalancer;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Live load signals for one upstream instance: the number of requests it is
+ * currently serving and a peak-sensitive moving average of its response time.
+ * The average jumps to any sample above it and otherwise decays exponentially
+ * with the time between samples, so an instance that stalls is avoided at once
+ * and is tried again only after its average has decayed.
+ */
+public class InstanceStats {
+
+    private final AtomicInteger outstanding = new AtomicInteger();
+    private final double decayNanos;
+    private final double initialLatencyNanos;
+    private double latencyNanos;
+    private long stampNanos;
+    private boolean sampled;
+
+    /**
+     * Constructs statistics for an instance that has not answered yet.
+     *
+     * @param decayNanos          the time constant of the moving average
+     * @param initialLatencyNanos the latency assumed until the first response
+     */
+    public InstanceStats(long decayNanos, long initialLatencyNanos) {
+        this.decayNanos = decayNanos;
+        this.initialLatencyNanos = initialLatencyNanos;
+    }
+
+    /**
+     * Record that a request was sent to the instance.
+     */
+    public void begin() {
+        outstanding.incrementAndGet();
+    }
+
+    /**
+     * Record that a request sent to the instance has finished.
+     *
+     * @param nowNanos     the current {@link System#nanoTime()}
+     * @param elapsedNanos how long the request took
+     */
+    public void end(long nowNanos, long elapsedNanos) {
+        outstanding.decrementAndGet();
+        observe(nowNanos, elapsedNanos);
+    }
+
+    /**
+     * Record that a request sent to the instance was given up before it
+     * finished. How long it would have taken is unknown, so the latency
+     * average is left alone.
+     */
+    public void abandon() {
+        outstanding.decrementAndGet();
+    }
+
+    /**
+     * Get the cost of sending one more request to the instance, which is its
+     * decayed latency average multiplied by the requests it would then be serving.
+     *
+     * @param nowNanos the current {@link System#nanoTime()}
+     * @return the cost; lower is better
+     */
+    public double cost(long nowNanos) {
+        return latency(nowNanos) * (outstanding.get() + 1);
+    }
+
+    /**
+     * Get the number of requests the instance is currently serving.
+     *
+     * @return the outstanding request count
+     */
+    public int outstanding() {
+        return outstanding.get();
+    }
+
+    /**
+     * Fold a response time into the moving average.
+     *
+     * @param nowNanos     the current {@link System#nanoTime()}
+     * @param elapsedNanos the response time
+     */
+    private synchronized void observe(long nowNanos, long elapsedNanos) {
+        if (!sampled) {
+            latencyNanos = elapsedNanos;
+            sampled = true;
+        } else {
+            double current = decayed(nowNanos);
+            if (elapsedNanos > current) {
+                latencyNanos = elapsedNanos;
+            } else {
+                double weight = Math.exp(-(nowNanos - stampNanos) / decayNanos);
+                latencyNanos = current * weight + elapsedNanos * (1 - weight);
+            }
+        }
+        stampNanos = nowNanos;
+    }
+
+    /**
+     * Get the current latency estimate.
+     *
+     * @param nowNanos the current {@link System#nanoTime()}
+     * @return the estimate in nanoseconds
+     */
+    private synchronized double latency(long nowNanos) {
+        return sampled ? decayed(nowNanos) : initialLatencyNanos;
+    }
+
+    /**
+     * Decay the last average towards zero for the time since it was updated.
+     *
+     * @param nowNanos the current {@link System#nanoTime()}
+     * @return the decayed average
+     */
+    private double decayed(long nowNanos) {
+        return latencyNanos * Math.exp(-Math.max(0, nowNanos - stampNanos) / decayNanos);
+    }
+}
@@ -0,0 +1,118 @@
+package com.example.loadbalancer;
+
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.loadbalancer.CompletionContext;
+import org.springframework.cloud.client.loadbalancer.LoadBalancerLifecycle;
+import org.springframework.cloud.client.loadbalancer.Request;
+import org.springframework.cloud.client.loadbalancer.RequestDataContext;
+import org.springframework.cloud.client.loadbalancer.Response;
+import org.springframework.cloud.client.loadbalancer.ResponseData;
+import org.springframework.cloud.client.loadbalancer.TimedRequestContext;
+import org.springframework.http.HttpStatus;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+/**
+ * Feeds the outcome of every load-balanced call into the {@link InstanceStatsRegistry}.
+ * Failed calls and 5xx responses count as at least the configured error penalty,
+ * so that an instance failing fast does not attract traffic by looking quick.
+ * The load balancer filter reports calls that complete or fail; cancelled calls
+ * are reported through {@link #onCancel(Response)}. Each call ends once, however
+ * it is reported.
+ */
+public class InstanceStatsLifecycle implements LoadBalancerLifecycle<RequestDataContext, ResponseData, ServiceInstance> {
+
+    private final InstanceStatsRegistry registry;
+    private final long errorPenaltyNanos;
+    private final Map<Response<ServiceInstance>, InstanceStats> calls =
+            Collections.synchronizedMap(new IdentityHashMap<>());
+
+    /**
+     * Constructs the lifecycle.
+     *
+     * @param registry     the registry receiving the samples
+     * @param errorPenalty the minimum latency recorded for a failed call
+     */
+    public InstanceStatsLifecycle(InstanceStatsRegistry registry, Duration errorPenalty) {
+        this.registry = registry;
+        this.errorPenaltyNanos = errorPenalty.toNanos();
+    }
+
+    @Override
+    public boolean supports(Class requestContextClass, Class responseClass, Class serverTypeClass) {
+        return RequestDataContext.class.isAssignableFrom(requestContextClass)
+                && ResponseData.class.isAssignableFrom(responseClass)
+                && ServiceInstance.class.isAssignableFrom(serverTypeClass);
+    }
+
+    @Override
+    public void onStart(Request<RequestDataContext> request) {
+    }
+
+    @Override
+    public void onStartRequest(Request<RequestDataContext> request, Response<ServiceInstance> lbResponse) {
+        if (!lbResponse.hasServer()) {
+            return;
+        }
+        if (request.getContext() instanceof TimedRequestContext) {
+            ((TimedRequestContext) request.getContext()).setRequestStartTime(System.nanoTime());
+        }
+        InstanceStats stats = registry.get(lbResponse.getServer());
+        calls.put(lbResponse, stats);
+        stats.begin();
+    }
+
+    @Override
+    public void onComplete(CompletionContext<ResponseData, ServiceInstance, RequestDataContext> completionContext) {
+        Response<ServiceInstance> lbResponse = completionContext.getLoadBalancerResponse();
+        if (completionContext.status() == CompletionContext.Status.DISCARD
+                || lbResponse == null || !lbResponse.hasServer()) {
+            return;
+        }
+        InstanceStats stats = calls.remove(lbResponse);
+        if (stats == null) {
+            return;
+        }
+        long now = System.nanoTime();
+        long elapsed = 0L;
+        Request<RequestDataContext> request = completionContext.getLoadBalancerRequest();
+        if (request != null && request.getContext() instanceof TimedRequestContext) {
+            elapsed = now - ((TimedRequestContext) request.getContext()).getRequestStartTime();
+        }
+        if (isFailure(completionContext)) {
+            elapsed = Math.max(elapsed, errorPenaltyNanos);
+        }
+        stats.end(now, elapsed);
+    }
+
+    /**
+     * End a call that was cancelled before it completed, e.g. a losing hedge,
+     * a timed-out call or one whose client went away.
+     *
+     * @param lbResponse the load balancer's choice for the call
+     */
+    public void onCancel(Response<ServiceInstance> lbResponse) {
+        InstanceStats stats = calls.remove(lbResponse);
+        if (stats != null) {
+            stats.abandon();
+        }
+    }
+
+    /**
+     * Check whether the call failed or the instance answered with a server error.
+     *
+     * @param completionContext the outcome of the call
+     * @return true if the call should be penalised
+     */
+    private static boolean isFailure(CompletionContext<ResponseData, ServiceInstance, RequestDataContext> completionContext) {
+        if (completionContext.status() == CompletionContext.Status.FAILED) {
+            return true;
+        }
+        ResponseData response = completionContext.getClientResponse();
+        HttpStatus status = response != null ? response.getHttpStatus() : null;
+        return status != null && status.is5xxServerError();
+    }
+}
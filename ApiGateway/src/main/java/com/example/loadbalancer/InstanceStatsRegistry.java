@@ -0,0 +1,49 @@
+package com.example.loadbalancer;
+
+import org.springframework.cloud.client.ServiceInstance;
+
+import java.time.Duration;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Holds the {@link InstanceStats} of every upstream instance the gateway has
+ * talked to, keyed by host and port so that all load-balanced clients share them.
+ */
+public class InstanceStatsRegistry {
+
+    private final ConcurrentMap<String, InstanceStats> stats = new ConcurrentHashMap<>();
+    private final long decayNanos;
+    private final long initialLatencyNanos;
+
+    /**
+     * Constructs an empty registry.
+     *
+     * @param decay          the time constant of the latency averages
+     * @param initialLatency the latency assumed for an instance until it first answers
+     */
+    public InstanceStatsRegistry(Duration decay, Duration initialLatency) {
+        this.decayNanos = decay.toNanos();
+        this.initialLatencyNanos = initialLatency.toNanos();
+    }
+
+    /**
+     * Get the statistics of an instance, creating them on first use.
+     *
+     * @param instance the instance
+     * @return its statistics
+     */
+    public InstanceStats get(ServiceInstance instance) {
+        return stats.computeIfAbsent(key(instance), key -> new InstanceStats(decayNanos, initialLatencyNanos));
+    }
+
+    /**
+     * Get the key identifying an instance.
+     *
+     * @param instance the instance
+     * @return host:port of the instance
+     */
+    public static String key(ServiceInstance instance) {
+        return instance.getHost() + ':' + instance.getPort();
+    }
+}
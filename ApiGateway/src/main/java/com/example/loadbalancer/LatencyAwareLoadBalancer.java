@@ -0,0 +1,224 @@
+package com.example.loadbalancer;
+
+import com.example.configs.GatewayLoadBalancerProperties;
+import com.example.utils.Constants;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.loadbalancer.DefaultResponse;
+import org.springframework.cloud.client.loadbalancer.EmptyResponse;
+import org.springframework.cloud.client.loadbalancer.Request;
+import org.springframework.cloud.client.loadbalancer.RequestData;
+import org.springframework.cloud.client.loadbalancer.RequestDataContext;
+import org.springframework.cloud.client.loadbalancer.Response;
+import org.springframework.cloud.loadbalancer.core.NoopServiceInstanceListSupplier;
+import org.springframework.cloud.loadbalancer.core.ReactorServiceInstanceLoadBalancer;
+import org.springframework.cloud.loadbalancer.core.SelectedInstanceCallback;
+import org.springframework.cloud.loadbalancer.core.ServiceInstanceListSupplier;
+import org.springframework.http.server.PathContainer;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+import reactor.core.publisher.Mono;
+
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.LongSupplier;
+
+/**
+ * Load balancer choosing between two random instances the one with the lower
+ * cost, where cost is the instance's peak-sensitive latency average multiplied
+ * by its outstanding requests plus one (power of two choices over peak EWMA).
+ * Comparing two random candidates instead of taking the global minimum keeps
+ * concurrent choices from herding onto the same instance.
+ * Requests whose path matches one of the configured hash paths, such as
+ * {@code /books/{id}}, are instead sent to the owner of the id on a bounded-load
+ * {@link ConsistentHashRing}, so each entity stays in one instance's cache.
+ */
+public class LatencyAwareLoadBalancer implements ReactorServiceInstanceLoadBalancer {
+
+    private final ObjectProvider<ServiceInstanceListSupplier> supplierProvider;
+    private final String serviceId;
+    private final InstanceStatsRegistry statsRegistry;
+    private final List<PathPattern> hashPaths;
+    private final double hashLoadFactor;
+    private final int virtualNodes;
+    private final LongSupplier clock;
+    private volatile ConsistentHashRing ring;
+
+    /**
+     * Constructs the load balancer.
+     *
+     * @param supplierProvider provides the instances of the service
+     * @param serviceId        the service id
+     * @param statsRegistry    the live instance statistics
+     * @param properties       the load balancer configuration
+     */
+    public LatencyAwareLoadBalancer(ObjectProvider<ServiceInstanceListSupplier> supplierProvider, String serviceId,
+                                    InstanceStatsRegistry statsRegistry, GatewayLoadBalancerProperties properties) {
+        this(supplierProvider, serviceId, statsRegistry, properties, System::nanoTime);
+    }
+
+    /**
+     * Constructs the load balancer with an explicit clock.
+     *
+     * @param supplierProvider provides the instances of the service
+     * @param serviceId        the service id
+     * @param statsRegistry    the live instance statistics
+     * @param properties       the load balancer configuration
+     * @param clock            supplies the current time in nanoseconds
+     */
+    public LatencyAwareLoadBalancer(ObjectProvider<ServiceInstanceListSupplier> supplierProvider, String serviceId,
+                                    InstanceStatsRegistry statsRegistry, GatewayLoadBalancerProperties properties,
+                                    LongSupplier clock) {
+        this.supplierProvider = supplierProvider;
+        this.serviceId = serviceId;
+        this.statsRegistry = statsRegistry;
+        this.hashPaths = properties.getHashPaths().stream()
+                .map(PathPatternParser.defaultInstance::parse)
+                .collect(Collectors.toList());
+        this.hashLoadFactor = properties.getHashLoadFactor();
+        this.virtualNodes = properties.getVirtualNodes();
+        this.clock = clock;
+    }
+
+    @Override
+    @SuppressWarnings("rawtypes")
+    public Mono<Response<ServiceInstance>> choose(Request request) {
+        ServiceInstanceListSupplier supplier = supplierProvider.getIfAvailable(NoopServiceInstanceListSupplier::new);
+        String hashKey = hashKey(request);
+        Set<String> excluded = excludedInstances(request);
+        return supplier.get(request).next().map(instances -> {
+            Response<ServiceInstance> response = hashKey != null
+                    ? locate(hashKey, instances, excluded)
+                    : choose(eligible(instances, excluded));
+            if (supplier instanceof SelectedInstanceCallback && response.hasServer()) {
+                ((SelectedInstanceCallback) supplier).selectedServiceInstance(response.getServer());
+            }
+            return response;
+        });
+    }
+
+    /**
+     * Pick an instance from the current list.
+     *
+     * @param instances the available instances
+     * @return the chosen instance, or an empty response if there are none
+     */
+    Response<ServiceInstance> choose(List<ServiceInstance> instances) {
+        int size = instances.size();
+        if (size == 0) {
+            return new EmptyResponse();
+        }
+        if (size == 1) {
+            return new DefaultResponse(instances.get(0));
+        }
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int first = random.nextInt(size);
+        int second = random.nextInt(size - 1);
+        if (second >= first) {
+            second++;
+        }
+        long now = clock.getAsLong();
+        ServiceInstance a = instances.get(first);
+        ServiceInstance b = instances.get(second);
+        return new DefaultResponse(statsRegistry.get(a).cost(now) <= statsRegistry.get(b).cost(now) ? a : b);
+    }
+
+    /**
+     * Pick the owner of a key on the hash ring, rebuilding the ring when the
+     * instance list has changed.
+     *
+     * @param key       the hash key
+     * @param instances the available instances
+     * @param excluded  keys of instances to skip while others are available
+     * @return the chosen instance, or an empty response if there are none
+     */
+    Response<ServiceInstance> locate(String key, List<ServiceInstance> instances, Set<String> excluded) {
+        if (instances.isEmpty()) {
+            return new EmptyResponse();
+        }
+        ConsistentHashRing current = ring;
+        if (current == null || !current.hasMembers(instances)) {
+            current = new ConsistentHashRing(instances, virtualNodes);
+            ring = current;
+        }
+        boolean canExclude = excluded.size() < instances.size();
+        return new DefaultResponse(current.locate(key, hashLoadFactor,
+                instance -> statsRegistry.get(instance).outstanding(),
+                instance -> !canExclude || !excluded.contains(InstanceStatsRegistry.key(instance))));
+    }
+
+    /**
+     * Drop the excluded instances from the list, unless that would leave none.
+     *
+     * @param instances the available instances
+     * @param excluded  keys of instances to skip
+     * @return the instances to choose from
+     */
+    private static List<ServiceInstance> eligible(List<ServiceInstance> instances, Set<String> excluded) {
+        if (excluded.isEmpty()) {
+            return instances;
+        }
+        List<ServiceInstance> eligible = instances.stream()
+                .filter(instance -> !excluded.contains(InstanceStatsRegistry.key(instance)))
+                .collect(Collectors.toList());
+        return eligible.isEmpty() ? instances : eligible;
+    }
+
+    /**
+     * Read the instances the gateway asked the load balancer to avoid, for
+     * example the instance a hedged request is already waiting on.
+     *
+     * @param request the load balancer request
+     * @return keys of the instances to avoid
+     */
+    @SuppressWarnings("rawtypes")
+    private static Set<String> excludedInstances(Request request) {
+        if (!(request.getContext() instanceof RequestDataContext)) {
+            return Collections.emptySet();
+        }
+        RequestData clientRequest = ((RequestDataContext) request.getContext()).getClientRequest();
+        if (clientRequest == null || clientRequest.getHeaders() == null) {
+            return Collections.emptySet();
+        }
+        List<String> values = clientRequest.getHeaders().getValuesAsList(Constants.HEADER_EXCLUDE_INSTANCES);
+        return values.isEmpty() ? Collections.emptySet() : new HashSet<>(values);
+    }
+
+    /**
+     * Extract the id to hash from a request whose path matches a hash path.
+     *
+     * @param request the load balancer request
+     * @return the id, or null if the request is balanced by latency
+     */
+    @SuppressWarnings("rawtypes")
+    private String hashKey(Request request) {
+        if (hashPaths.isEmpty() || !(request.getContext() instanceof RequestDataContext)) {
+            return null;
+        }
+        RequestDataContext context = (RequestDataContext) request.getContext();
+        if (context.getClientRequest() == null || context.getClientRequest().getUrl() == null) {
+            return null;
+        }
+        PathContainer path = PathContainer.parsePath(context.getClientRequest().getUrl().getRawPath());
+        for (PathPattern pattern : hashPaths) {
+            PathPattern.PathMatchInfo match = pattern.matchAndExtract(path);
+            if (match != null) {
+                return match.getUriVariables().get(Constants.HASH_PATH_VARIABLE);
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Get the id of the service this load balancer serves.
+     *
+     * @return the service id
+     */
+    public String getServiceId() {
+        return serviceId;
+    }
+}
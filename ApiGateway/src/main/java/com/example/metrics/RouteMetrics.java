@@ -0,0 +1,174 @@
+package com.example.metrics;
+
+import com.example.utils.Constants;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.ValueAtPercentile;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Records gateway latencies as timers with client-side percentiles and a
+ * percentile histogram, so that p50/p99/p999 are available both from the
+ * metrics endpoint and as Prometheus histogram buckets.
+ * Timers are registered once per name and tag values and then reused, so
+ * recording a latency does not go through the registry.
+ */
+public class RouteMetrics {
+
+    private static final double[] PERCENTILES = {0.5, 0.95, 0.99, 0.999};
+
+    private final MeterRegistry meterRegistry;
+    private final Duration expiry;
+    private final ConcurrentMap<String, ConcurrentMap<List<String>, Timer>> timers = new ConcurrentHashMap<>();
+
+    /**
+     * Constructs the recorder.
+     *
+     * @param meterRegistry the registry receiving the timers
+     * @param expiry        the window over which percentiles are computed
+     */
+    public RouteMetrics(MeterRegistry meterRegistry, Duration expiry) {
+        this.meterRegistry = meterRegistry;
+        this.expiry = expiry;
+    }
+
+    /**
+     * Record the end-to-end latency of a request seen by the gateway.
+     *
+     * @param routeId     the route id
+     * @param status      the response status, or null if none was set
+     * @param elapsedNanos the elapsed time in nanoseconds
+     */
+    public void recordRequest(String routeId, Integer status, long elapsedNanos) {
+        timer(Constants.METRIC_ROUTE_REQUESTS, Constants.TAG_ROUTE_ID, routeId,
+                Constants.TAG_STATUS, statusTag(status), Constants.TAG_OUTCOME, outcome(status))
+                .record(elapsedNanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Record the time a request spent in the gateway before an instance was chosen.
+     *
+     * @param routeId      the route id
+     * @param instance     the chosen instance, as host:port
+     * @param elapsedNanos the elapsed time in nanoseconds
+     */
+    public void recordQueue(String routeId, String instance, long elapsedNanos) {
+        timer(Constants.METRIC_ROUTE_QUEUE, Constants.TAG_ROUTE_ID, routeId, Constants.TAG_INSTANCE, instance)
+                .record(elapsedNanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Record the time from choosing an instance to the end of its response,
+     * which covers connecting and the instance's response time.
+     *
+     * @param routeId      the route id
+     * @param instance     the chosen instance, as host:port
+     * @param status       the response status, or null if none was set
+     * @param elapsedNanos the elapsed time in nanoseconds
+     */
+    public void recordUpstream(String routeId, String instance, Integer status, long elapsedNanos) {
+        timer(Constants.METRIC_ROUTE_UPSTREAM, Constants.TAG_ROUTE_ID, routeId, Constants.TAG_INSTANCE, instance,
+                Constants.TAG_STATUS, statusTag(status))
+                .record(elapsedNanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Record the upstream latency of a completed call for the route as a whole,
+     * whichever instance served it. Calls cancelled before completing are not
+     * recorded, since their latency is unknown.
+     *
+     * @param routeId      the route id
+     * @param elapsedNanos the elapsed time in nanoseconds
+     */
+    public void recordRouteLatency(String routeId, long elapsedNanos) {
+        routeLatency(routeId).record(elapsedNanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Get a percentile of the route's recent upstream latency.
+     *
+     * @param routeId    the route id
+     * @param percentile one of 0.5, 0.95, 0.99 or 0.999
+     * @param minSamples the number of calls the route needs to have completed
+     * @return the latency in nanoseconds, or zero if it is not known yet
+     */
+    public long routeLatencyPercentile(String routeId, double percentile, long minSamples) {
+        Timer timer = routeLatency(routeId);
+        if (timer.count() < minSamples) {
+            return 0L;
+        }
+        for (ValueAtPercentile value : timer.takeSnapshot().percentileValues()) {
+            if (value.percentile() == percentile) {
+                return (long) value.value(TimeUnit.NANOSECONDS);
+            }
+        }
+        return 0L;
+    }
+
+    /**
+     * Look up or create the route-wide upstream latency timer.
+     *
+     * @param routeId the route id
+     * @return the timer
+     */
+    private Timer routeLatency(String routeId) {
+        return timer(Constants.METRIC_ROUTE_LATENCY, Constants.TAG_ROUTE_ID, routeId);
+    }
+
+    /**
+     * Look up a cached timer, registering it with the configured percentiles on first use.
+     *
+     * @param name the meter name
+     * @param tags the tag keys and values
+     * @return the timer
+     */
+    private Timer timer(String name, String... tags) {
+        ConcurrentMap<List<String>, Timer> byTags = timers.get(name);
+        if (byTags == null) {
+            byTags = timers.computeIfAbsent(name, key -> new ConcurrentHashMap<>());
+        }
+        List<String> key = Arrays.asList(tags);
+        Timer timer = byTags.get(key);
+        if (timer == null) {
+            timer = byTags.computeIfAbsent(key, missing -> Timer.builder(name)
+                    .tags(tags)
+                    .publishPercentiles(PERCENTILES)
+                    .publishPercentileHistogram()
+                    .distributionStatisticExpiry(expiry)
+                    .register(meterRegistry));
+        }
+        return timer;
+    }
+
+    /**
+     * Convert a status code to a tag value.
+     *
+     * @param status the status code, or null
+     * @return the tag value
+     */
+    private static String statusTag(Integer status) {
+        return status != null ? status.toString() : Constants.TAG_VALUE_NONE;
+    }
+
+    /**
+     * Classify a status code.
+     *
+     * @param status the status code, or null
+     * @return the outcome tag value
+     */
+    private static String outcome(Integer status) {
+        if (status == null) {
+            return Constants.OUTCOME_UNKNOWN;
+        }
+        if (status >= 500) {
+            return Constants.OUTCOME_SERVER_ERROR;
+        }
+        return status >= 400 ? Constants.OUTCOME_CLIENT_ERROR : Constants.OUTCOME_SUCCESS;
+    }
+}
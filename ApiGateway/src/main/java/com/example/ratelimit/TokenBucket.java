@@ -0,0 +1,59 @@
+package com.example.ratelimit;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A lock-free token bucket.
+ * The whole bucket state is a single theoretical arrival time (the generic cell
+ * rate algorithm), so acquiring a token is one compare-and-set on an {@link AtomicLong}.
+ */
+public class TokenBucket {
+
+    private final long intervalNanos;
+    private final long burstNanos;
+    private final AtomicLong theoreticalArrival;
+
+    /**
+     * Constructs a full bucket.
+     *
+     * @param replenishRate  tokens added per second
+     * @param burstCapacity  maximum number of tokens the bucket holds
+     * @param nowNanos       the current {@link System#nanoTime()}
+     */
+    public TokenBucket(double replenishRate, int burstCapacity, long nowNanos) {
+        this.intervalNanos = (long) (1_000_000_000L / replenishRate);
+        this.burstNanos = intervalNanos * burstCapacity;
+        this.theoreticalArrival = new AtomicLong(nowNanos);
+    }
+
+    /**
+     * Try to take one token.
+     *
+     * @param nowNanos the current {@link System#nanoTime()}
+     * @return zero if a token was taken, otherwise the nanoseconds until one is available
+     */
+    public long tryAcquire(long nowNanos) {
+        while (true) {
+            long current = theoreticalArrival.get();
+            long next = Math.max(current, nowNanos) + intervalNanos;
+            long allowedAt = next - burstNanos;
+            if (allowedAt > nowNanos) {
+                return allowedAt - nowNanos;
+            }
+            if (theoreticalArrival.compareAndSet(current, next)) {
+                return 0L;
+            }
+        }
+    }
+
+    /**
+     * Check whether the bucket has refilled completely, in which case dropping
+     * it is indistinguishable from keeping it.
+     *
+     * @param nowNanos the current {@link System#nanoTime()}
+     * @return true if the bucket is full
+     */
+    public boolean isFull(long nowNanos) {
+        return theoreticalArrival.get() - nowNanos <= 0;
+    }
+}
@@ -0,0 +1,91 @@
+package com.example.ratelimit;
+
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Keeps one {@link TokenBucket} per key entirely in memory.
+ * Once the configured bound is reached, each new key advances a sweep over the
+ * buckets, resuming where the previous one stopped, that drops the full buckets
+ * among the next few it visits, or the last one visited when none is full. A
+ * new key therefore costs the same small amount of work however many buckets
+ * are held. A dropped
+ * bucket is recreated full, so under a flood of new keys an active client may
+ * occasionally get a fresh burst; that is the price of bounded memory.
+ */
+public class TokenBucketRateLimiter {
+
+    private static final int EVICTION_SAMPLE = 8;
+
+    private final ConcurrentMap<String, TokenBucket> buckets = new ConcurrentHashMap<>();
+    private final int maxBuckets;
+    private final Object sweepLock = new Object();
+    private Iterator<TokenBucket> sweep = Collections.emptyIterator();
+
+    /**
+     * Constructs a limiter holding at most roughly the given number of buckets.
+     *
+     * @param maxBuckets the bucket count that triggers eviction
+     */
+    public TokenBucketRateLimiter(int maxBuckets) {
+        this.maxBuckets = maxBuckets;
+    }
+
+    /**
+     * Try to take one token from the bucket for the given key.
+     *
+     * @param key           the bucket key, typically client identity and route id
+     * @param replenishRate tokens added per second for a new bucket
+     * @param burstCapacity maximum number of tokens for a new bucket
+     * @return zero if the request is admitted, otherwise the nanoseconds until it would be
+     */
+    public long tryAcquire(String key, double replenishRate, int burstCapacity) {
+        long now = System.nanoTime();
+        TokenBucket bucket = buckets.get(key);
+        if (bucket == null) {
+            if (buckets.size() >= maxBuckets) {
+                evict(now);
+            }
+            bucket = buckets.computeIfAbsent(key, k -> new TokenBucket(replenishRate, burstCapacity, now));
+        }
+        return bucket.tryAcquire(now);
+    }
+
+    /**
+     * Get the number of buckets currently held.
+     *
+     * @return the bucket count
+     */
+    public int size() {
+        return buckets.size();
+    }
+
+    /**
+     * Advance the sweep by a few buckets, dropping those that have refilled
+     * completely, or the last one visited if none has.
+     *
+     * @param nowNanos the current {@link System#nanoTime()}
+     */
+    private void evict(long nowNanos) {
+        synchronized (sweepLock) {
+            boolean removed = false;
+            for (int i = 0; i < EVICTION_SAMPLE; i++) {
+                if (!sweep.hasNext()) {
+                    sweep = buckets.values().iterator();
+                    if (!sweep.hasNext()) {
+                        return;
+                    }
+                }
+                if (sweep.next().isFull(nowNanos)) {
+                    sweep.remove();
+                    removed = true;
+                }
+            }
+            if (!removed) {
+                sweep.remove();
+            }
+        }
+    }
+}
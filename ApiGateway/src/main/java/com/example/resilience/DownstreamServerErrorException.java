@@ -0,0 +1,18 @@
+package com.example.resilience;
+
+/**
+ * Signals that the downstream service answered with a 5xx status, so that the
+ * circuit breaker records the call as failed even though the response has
+ * already been relayed to the client.
+ */
+public class DownstreamServerErrorException extends RuntimeException {
+
+    /**
+     * Constructs the exception for the given status.
+     *
+     * @param statusCode the downstream status code
+     */
+    public DownstreamServerErrorException(int statusCode) {
+        super("Downstream responded with status " + statusCode, null, false, false);
+    }
+}
@@ -0,0 +1,101 @@
+package com.example.resilience;
+
+import com.example.configs.ResilienceProperties;
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadConfig;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+
+/**
+ * Creates and holds the circuit breaker and bulkhead of every configured route.
+ * Each route gets its own instances so that trouble on one route cannot trip or
+ * exhaust another.
+ */
+public class RouteResilienceRegistry {
+
+    private final ResilienceProperties properties;
+    private final CircuitBreakerRegistry circuitBreakers = CircuitBreakerRegistry.ofDefaults();
+    private final BulkheadRegistry bulkheads = BulkheadRegistry.ofDefaults();
+
+    /**
+     * Constructs the registry and builds the instances of every configured route.
+     *
+     * @param properties the resilience configuration
+     */
+    public RouteResilienceRegistry(ResilienceProperties properties) {
+        this.properties = properties;
+        properties.getRoutes().forEach(this::register);
+    }
+
+    /**
+     * Get the policy configured for a route.
+     *
+     * @param routeId the route id
+     * @return the route policy, or null if the route is not protected
+     */
+    public ResilienceProperties.RoutePolicy policy(String routeId) {
+        return properties.getRoutes().get(routeId);
+    }
+
+    /**
+     * Get the circuit breaker of a configured route.
+     *
+     * @param routeId the route id
+     * @return the circuit breaker
+     */
+    public CircuitBreaker circuitBreaker(String routeId) {
+        return circuitBreakers.circuitBreaker(routeId);
+    }
+
+    /**
+     * Get the bulkhead of a configured route.
+     *
+     * @param routeId the route id
+     * @return the bulkhead
+     */
+    public Bulkhead bulkhead(String routeId) {
+        return bulkheads.bulkhead(routeId);
+    }
+
+    /**
+     * Get the underlying circuit breaker registry, for metrics binding.
+     *
+     * @return the circuit breaker registry
+     */
+    public CircuitBreakerRegistry getCircuitBreakerRegistry() {
+        return circuitBreakers;
+    }
+
+    /**
+     * Get the underlying bulkhead registry, for metrics binding.
+     *
+     * @return the bulkhead registry
+     */
+    public BulkheadRegistry getBulkheadRegistry() {
+        return bulkheads;
+    }
+
+    /**
+     * Build the circuit breaker and bulkhead of one route.
+     *
+     * @param routeId the route id
+     * @param policy  the route policy
+     */
+    private void register(String routeId, ResilienceProperties.RoutePolicy policy) {
+        circuitBreakers.circuitBreaker(routeId, CircuitBreakerConfig.custom()
+                .failureRateThreshold(policy.getFailureRateThreshold())
+                .slowCallRateThreshold(policy.getSlowCallRateThreshold())
+                .slowCallDurationThreshold(policy.getSlowCallDurationThreshold())
+                .slidingWindowSize(policy.getSlidingWindowSize())
+                .minimumNumberOfCalls(policy.getMinimumNumberOfCalls())
+                .waitDurationInOpenState(policy.getWaitDurationInOpenState())
+                .permittedNumberOfCallsInHalfOpenState(policy.getPermittedCallsInHalfOpenState())
+                .build());
+        bulkheads.bulkhead(routeId, BulkheadConfig.custom()
+                .maxConcurrentCalls(policy.getMaxConcurrentCalls())
+                .maxWaitDuration(policy.getMaxWaitDuration())
+                .build());
+    }
+}
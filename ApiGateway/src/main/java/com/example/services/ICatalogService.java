@@ -0,0 +1,16 @@
+package com.example.services;
+
+import com.example.dto.response.CatalogEntry;
+import reactor.core.publisher.Flux;
+
+public interface ICatalogService {
+
+    /**
+     * Retrieve a page of books, each merged with its author.
+     *
+     * @param page the page number
+     * @param size the page size
+     * @return the catalog entries, in book order
+     */
+    Flux<CatalogEntry> getCatalog(int page, int size);
+}
@@ -0,0 +1,130 @@
+package com.example.services.impl;
+
+import com.example.configs.CatalogProperties;
+import com.example.dto.response.AuthorView;
+import com.example.dto.response.BookView;
+import com.example.dto.response.CatalogEntry;
+import com.example.dto.response.PageView;
+import com.example.services.ICatalogService;
+import com.example.utils.Constants;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.core.ResolvableType;
+import org.springframework.stereotype.Service;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@Service
+@Slf4j
+public class CatalogServiceImpl implements ICatalogService {
+
+    // built from the resolved type rather than an anonymous subclass, whose generic
+    // superclass a native image only keeps when the subclass is registered for reflection
+    private static final ParameterizedTypeReference<PageView<BookView>> BOOK_PAGE = ParameterizedTypeReference.forType(
+            ResolvableType.forClassWithGenerics(PageView.class, BookView.class).getType());
+
+    private static final ParameterizedTypeReference<PageView<AuthorView>> AUTHOR_PAGE = ParameterizedTypeReference.forType(
+            ResolvableType.forClassWithGenerics(PageView.class, AuthorView.class).getType());
+
+    private final WebClient webClient;
+    private final CatalogProperties properties;
+
+    public CatalogServiceImpl(WebClient.Builder loadBalancedWebClientBuilder, CatalogProperties properties) {
+        this.webClient = loadBalancedWebClientBuilder.build();
+        this.properties = properties;
+    }
+
+    /**
+     * Retrieve a page of books, each merged with its author.
+     * Books and a page of authors are requested concurrently, so the latency is
+     * that of the slower call. Authors of books that are not on that page are
+     * then fetched by id. If AuthorService fails, books are returned without
+     * authors. Every call carries the catalog timeout as its deadline.
+     *
+     * @param page the page number
+     * @param size the page size
+     * @return the catalog entries, in book order
+     */
+    @Override
+    public Flux<CatalogEntry> getCatalog(int page, int size) {
+        String deadline = Long.toString(System.currentTimeMillis() + properties.getTimeout().toMillis());
+        Mono<List<BookView>> books = webClient.get()
+                .uri(properties.getBookServiceUri() + Constants.CATALOG_BOOKS_PATH, page, size)
+                .header(Constants.HEADER_REQUEST_DEADLINE, deadline)
+                .retrieve()
+                .bodyToMono(BOOK_PAGE)
+                .map(PageView::getContent)
+                .timeout(properties.getTimeout());
+
+        Mono<Map<Long, AuthorView>> authors = webClient.get()
+                .uri(properties.getAuthorServiceUri() + Constants.CATALOG_AUTHORS_PATH, 0,
+                        properties.getAuthorPageSize())
+                .header(Constants.HEADER_REQUEST_DEADLINE, deadline)
+                .retrieve()
+                .bodyToMono(AUTHOR_PAGE)
+                .map(authorPage -> authorPage.getContent().stream()
+                        .collect(Collectors.toMap(AuthorView::getId, Function.identity(), (first, second) -> first)))
+                .timeout(properties.getTimeout());
+
+        Mono<Optional<Map<Long, AuthorView>>> prefetched = authors.map(Optional::of)
+                .onErrorResume(e -> {
+                    log.warn(Constants.LOG_CATALOG_AUTHORS_UNAVAILABLE, e.getMessage());
+                    return Mono.just(Optional.empty());
+                });
+
+        return Mono.zip(books, prefetched)
+                .flatMapMany(result -> {
+                    List<BookView> bookPage = result.getT1();
+                    Mono<Map<Long, AuthorView>> byId = result.getT2()
+                            .map(known -> withMissingAuthors(bookPage, known, deadline))
+                            .orElseGet(() -> Mono.just(Collections.emptyMap()));
+                    return byId.flatMapMany(resolved -> Flux.fromIterable(bookPage)
+                            .map(book -> new CatalogEntry(book, resolved.get(book.getAuthor()))));
+                });
+    }
+
+    /**
+     * Add the authors of the given books that are missing from the prefetched
+     * authors, fetching each of them by id concurrently. An author that cannot
+     * be fetched is left out, so its books are returned without it.
+     *
+     * @param books    the page of books
+     * @param known    the prefetched authors, by id
+     * @param deadline the deadline header value for the calls
+     * @return the authors of the books, by id
+     */
+    private Mono<Map<Long, AuthorView>> withMissingAuthors(List<BookView> books, Map<Long, AuthorView> known,
+                                                            String deadline) {
+        Set<Long> missing = books.stream()
+                .map(BookView::getAuthor)
+                .filter(Objects::nonNull)
+                .filter(id -> !known.containsKey(id))
+                .collect(Collectors.toSet());
+        if (missing.isEmpty()) {
+            return Mono.just(known);
+        }
+        return Flux.fromIterable(missing)
+                .flatMap(id -> webClient.get()
+                        .uri(properties.getAuthorServiceUri() + Constants.CATALOG_AUTHOR_PATH, id)
+                        .header(Constants.HEADER_REQUEST_DEADLINE, deadline)
+                        .retrieve()
+                        .bodyToMono(AuthorView.class)
+                        .timeout(properties.getTimeout())
+                        .onErrorResume(e -> {
+                            log.warn(Constants.LOG_CATALOG_AUTHOR_UNAVAILABLE, id, e.getMessage());
+                            return Mono.empty();
+                        }))
+                .collectMap(AuthorView::getId, Function.identity(), () -> new HashMap<>(known));
+    }
+}
@@ -0,0 +1,48 @@
+package com.example.support;
+
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.ServerWebExchangeDecorator;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * An exchange that shares the client request but records the response in a
+ * {@link DetachedResponse} and works on its own copy of the attributes, so the
+ * remaining filter chain can run for it without touching the client exchange.
+ */
+public class DetachedExchange extends ServerWebExchangeDecorator {
+
+    private final DetachedResponse response;
+    private final Map<String, Object> attributes;
+
+    /**
+     * Constructs a detached copy of the given exchange.
+     *
+     * @param delegate the client exchange
+     */
+    public DetachedExchange(ServerWebExchange delegate) {
+        super(delegate);
+        this.response = new DetachedResponse(delegate.getResponse());
+        this.attributes = new ConcurrentHashMap<>(delegate.getAttributes());
+    }
+
+    @Override
+    public DetachedResponse getResponse() {
+        return response;
+    }
+
+    @Override
+    public Map<String, Object> getAttributes() {
+        return attributes;
+    }
+
+    /**
+     * Copy the attributes set while the chain ran for this exchange back onto the
+     * client exchange, so that outer filters can see routing details such as the
+     * chosen instance.
+     */
+    public void publishAttributes() {
+        getDelegate().getAttributes().putAll(attributes);
+    }
+}
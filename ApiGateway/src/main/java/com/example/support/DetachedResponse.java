@@ -0,0 +1,146 @@
+package com.example.support;
+
+import com.example.cache.CachedResponse;
+import org.reactivestreams.Publisher;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseCookie;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.http.server.reactive.ServerHttpResponseDecorator;
+import org.springframework.util.LinkedMultiValueMap;
+import org.springframework.util.MultiValueMap;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * A response that records status, headers and body in memory instead of
+ * writing them to the client. Used when a downstream call has to be made on
+ * behalf of several clients or repeated before anything reaches the client.
+ */
+public class DetachedResponse extends ServerHttpResponseDecorator {
+
+    private static final byte[] EMPTY = new byte[0];
+
+    private final HttpHeaders headers = new HttpHeaders();
+    private final MultiValueMap<String, ResponseCookie> cookies = new LinkedMultiValueMap<>();
+    private final List<Supplier<? extends Mono<Void>>> commitActions = new ArrayList<>();
+    private volatile Integer statusCode;
+    private volatile byte[] body;
+
+    /**
+     * Constructs a detached response. The delegate only provides the buffer factory.
+     *
+     * @param delegate the client response
+     */
+    public DetachedResponse(ServerHttpResponse delegate) {
+        super(delegate);
+    }
+
+    @Override
+    public boolean setStatusCode(HttpStatus status) {
+        this.statusCode = status != null ? status.value() : null;
+        return true;
+    }
+
+    @Override
+    public HttpStatus getStatusCode() {
+        return statusCode != null ? HttpStatus.resolve(statusCode) : null;
+    }
+
+    @Override
+    public boolean setRawStatusCode(Integer value) {
+        this.statusCode = value;
+        return true;
+    }
+
+    @Override
+    public Integer getRawStatusCode() {
+        return statusCode;
+    }
+
+    @Override
+    public HttpHeaders getHeaders() {
+        return headers;
+    }
+
+    @Override
+    public MultiValueMap<String, ResponseCookie> getCookies() {
+        return cookies;
+    }
+
+    @Override
+    public void addCookie(ResponseCookie cookie) {
+        cookies.add(cookie.getName(), cookie);
+    }
+
+    @Override
+    public void beforeCommit(Supplier<? extends Mono<Void>> action) {
+        commitActions.add(action);
+    }
+
+    @Override
+    public boolean isCommitted() {
+        return body != null;
+    }
+
+    @Override
+    public Mono<Void> writeWith(Publisher<? extends DataBuffer> publisher) {
+        return runCommitActions().then(DataBufferUtils.join(Flux.from(publisher))
+                .map(joined -> {
+                    byte[] bytes = new byte[joined.readableByteCount()];
+                    joined.read(bytes);
+                    DataBufferUtils.release(joined);
+                    return bytes;
+                })
+                .defaultIfEmpty(EMPTY)
+                .doOnNext(bytes -> this.body = bytes)
+                .then());
+    }
+
+    @Override
+    public Mono<Void> writeAndFlushWith(Publisher<? extends Publisher<? extends DataBuffer>> publisher) {
+        return writeWith(Flux.from(publisher).concatMap(Flux::from));
+    }
+
+    @Override
+    public Mono<Void> setComplete() {
+        if (body != null) {
+            return Mono.empty();
+        }
+        return runCommitActions().doOnSuccess(done -> this.body = EMPTY);
+    }
+
+    /**
+     * Take a snapshot of what has been recorded so far.
+     *
+     * @param routeId        the id of the route that produced the response
+     * @param expiresAtNanos the {@link System#nanoTime()} after which the snapshot is stale
+     * @return the recorded response
+     */
+    public CachedResponse snapshot(String routeId, long expiresAtNanos) {
+        int status = statusCode != null ? statusCode : HttpStatus.OK.value();
+        HttpHeaders snapshotHeaders = new HttpHeaders();
+        snapshotHeaders.putAll(headers);
+        cookies.values().forEach(list -> list.forEach(
+                cookie -> snapshotHeaders.add(HttpHeaders.SET_COOKIE, cookie.toString())));
+        return new CachedResponse(routeId, status, snapshotHeaders, body != null ? body : EMPTY,
+                System.nanoTime(), expiresAtNanos);
+    }
+
+    /**
+     * Run the actions registered through {@link #beforeCommit(Supplier)} once.
+     *
+     * @return a Mono that completes when all actions have run
+     */
+    private Mono<Void> runCommitActions() {
+        return Flux.fromIterable(new ArrayList<>(commitActions))
+                .concatMap(Supplier::get)
+                .then(Mono.fromRunnable(commitActions::clear));
+    }
+}
@@ -0,0 +1,65 @@
+package com.example.support;
+
+import com.example.utils.Constants;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.web.server.ServerWebExchange;
+
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Helpers for telling the load balancer which instances to avoid. Exclusions
+ * travel in the {@link Constants#ATTR_EXCLUDED_INSTANCES} exchange attribute,
+ * which only the gateway can set, and are turned into the internal
+ * {@link Constants#HEADER_EXCLUDE_INSTANCES} request header just before the
+ * load balancer runs.
+ */
+public final class InstanceExclusion {
+
+    private InstanceExclusion() {
+    }
+
+    /**
+     * Get the instance the load balancer chose for an exchange.
+     *
+     * @param exchange the exchange
+     * @return the instance as host:port, or null if none has been chosen yet
+     */
+    public static String chosenInstance(ServerWebExchange exchange) {
+        URI url = exchange.getAttribute(ServerWebExchangeUtils.GATEWAY_REQUEST_URL_ATTR);
+        if (url == null || url.getHost() == null || Constants.LB_SCHEME.equals(url.getScheme())) {
+            return null;
+        }
+        return url.getHost() + ':' + url.getPort();
+    }
+
+    /**
+     * Ask the load balancer to avoid the given instances for a detached exchange,
+     * replacing any instances an earlier attempt asked it to avoid.
+     *
+     * @param exchange  the detached exchange of one attempt
+     * @param instances the instances to avoid, as host:port
+     */
+    public static void exclude(DetachedExchange exchange, Collection<String> instances) {
+        if (instances.isEmpty()) {
+            exchange.getAttributes().remove(Constants.ATTR_EXCLUDED_INSTANCES);
+        } else {
+            exchange.getAttributes().put(Constants.ATTR_EXCLUDED_INSTANCES,
+                    Collections.unmodifiableList(new ArrayList<>(instances)));
+        }
+    }
+
+    /**
+     * Get the instances the load balancer must avoid for an exchange.
+     *
+     * @param exchange the exchange
+     * @return the instances as host:port, empty if there are none
+     */
+    public static List<String> excludedInstances(ServerWebExchange exchange) {
+        List<String> instances = exchange.getAttribute(Constants.ATTR_EXCLUDED_INSTANCES);
+        return instances != null ? instances : Collections.emptyList();
+    }
+}
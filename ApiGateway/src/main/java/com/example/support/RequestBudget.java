@@ -0,0 +1,68 @@
+package com.example.support;
+
+import com.example.ratelimit.TokenBucket;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Budget for extra upstream requests, such as hedges or retries, expressed as
+ * a fraction of the original requests. Every original request deposits the
+ * ratio into a capped balance and every extra request withdraws one whole
+ * token, so extra load stays at the ratio however badly the upstream behaves.
+ * An optional minimum rate keeps a few extra requests possible at low traffic.
+ */
+public class RequestBudget {
+
+    private static final long SCALE = 1000L;
+
+    private final long depositPerRequest;
+    private final long maxBalance;
+    private final TokenBucket reserve;
+    private final AtomicLong balance = new AtomicLong();
+
+    /**
+     * Constructs an empty budget.
+     *
+     * @param ratio        extra requests allowed per original request
+     * @param maxBalance   the most extra requests that can be saved up
+     * @param minPerSecond extra requests allowed per second regardless of the ratio, zero for none
+     */
+    public RequestBudget(double ratio, int maxBalance, double minPerSecond) {
+        this.depositPerRequest = Math.round(ratio * SCALE);
+        this.maxBalance = maxBalance * SCALE;
+        this.reserve = minPerSecond > 0
+                ? new TokenBucket(minPerSecond, (int) Math.max(1, Math.ceil(minPerSecond)), System.nanoTime())
+                : null;
+    }
+
+    /**
+     * Record an original request.
+     */
+    public void deposit() {
+        while (true) {
+            long current = balance.get();
+            long next = Math.min(maxBalance, current + depositPerRequest);
+            if (next == current || balance.compareAndSet(current, next)) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Try to spend the budget on one extra request.
+     *
+     * @param nowNanos the current {@link System#nanoTime()}
+     * @return true if the extra request may be sent
+     */
+    public boolean tryWithdraw(long nowNanos) {
+        while (true) {
+            long current = balance.get();
+            if (current < SCALE) {
+                return reserve != null && reserve.tryAcquire(nowNanos) == 0L;
+            }
+            if (balance.compareAndSet(current, current - SCALE)) {
+                return true;
+            }
+        }
+    }
+}
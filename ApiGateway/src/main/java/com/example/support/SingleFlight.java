@@ -0,0 +1,130 @@
+package com.example.support;
+
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Coalesces concurrent calls for the same key into a single upstream subscription
+ * whose result is fanned out to every caller.
+ * The upstream call is cancelled only when every caller waiting on it has cancelled.
+ *
+ * @param <K> the key type
+ * @param <V> the result type
+ */
+public class SingleFlight<K, V> {
+
+    private final ConcurrentMap<K, Call<V>> calls = new ConcurrentHashMap<>();
+    private final LongAdder coalesced = new LongAdder();
+
+    /**
+     * Run the loader for the key, or join the call already in flight for it.
+     *
+     * @param key    the key identifying equivalent calls
+     * @param loader supplies the upstream call; invoked only by the first caller
+     * @return a Mono emitting the shared result
+     */
+    public Mono<V> execute(K key, Supplier<Mono<V>> loader) {
+        return Mono.deferContextual(context -> {
+            while (true) {
+                Call<V> created = new Call<>();
+                Call<V> existing = calls.putIfAbsent(key, created);
+                Call<V> call = existing != null ? existing : created;
+                if (!call.join()) {
+                    calls.remove(key, call);
+                    continue;
+                }
+                if (existing == null) {
+                    call.start(loader.get().contextWrite(context), () -> calls.remove(key, call));
+                } else {
+                    coalesced.increment();
+                }
+                return call.sink.asMono().doOnCancel(() -> call.leave(() -> calls.remove(key, call)));
+            }
+        });
+    }
+
+    /**
+     * Get the number of distinct calls currently in flight.
+     *
+     * @return the in-flight call count
+     */
+    public int inFlight() {
+        return calls.size();
+    }
+
+    /**
+     * Get how many callers joined a call that was already in flight.
+     *
+     * @return the number of coalesced callers
+     */
+    public long coalesced() {
+        return coalesced.sum();
+    }
+
+    /**
+     * A single upstream call and the callers waiting on it.
+     *
+     * @param <V> the result type
+     */
+    private static final class Call<V> {
+
+        private static final int CLOSED = -1;
+
+        private final Sinks.One<V> sink = Sinks.one();
+        private final AtomicInteger waiters = new AtomicInteger();
+        private volatile Disposable upstream;
+
+        /**
+         * Register a caller unless the call has already been abandoned.
+         *
+         * @return true if the caller joined
+         */
+        boolean join() {
+            while (true) {
+                int current = waiters.get();
+                if (current == CLOSED) {
+                    return false;
+                }
+                if (waiters.compareAndSet(current, current + 1)) {
+                    return true;
+                }
+            }
+        }
+
+        /**
+         * Deregister a cancelled caller, cancelling the upstream call if it was the last one.
+         *
+         * @param onAbandoned run when the call is abandoned
+         */
+        void leave(Runnable onAbandoned) {
+            if (waiters.decrementAndGet() == 0 && waiters.compareAndSet(0, CLOSED)) {
+                onAbandoned.run();
+                Disposable subscription = upstream;
+                if (subscription != null) {
+                    subscription.dispose();
+                }
+            }
+        }
+
+        /**
+         * Subscribe to the upstream call and relay its outcome to the waiting callers.
+         * The call is finished before its outcome is relayed, so a caller arriving
+         * after the waiters were answered starts a new call instead of joining this one.
+         *
+         * @param source     the upstream call
+         * @param onFinished run when the upstream call terminates, before the waiters see its outcome
+         */
+        void start(Mono<V> source, Runnable onFinished) {
+            upstream = source
+                    .doOnTerminate(onFinished)
+                    .subscribe(sink::tryEmitValue, sink::tryEmitError, sink::tryEmitEmpty);
+        }
+    }
+}
@@ -0,0 +1,389 @@
+package com.example.utils;
+
+import org.springframework.cloud.gateway.filter.ReactiveLoadBalancerClientFilter;
+import org.springframework.core.Ordered;
+
+/**
+ * A class that holds constant values used throughout the gateway.
+ */
+public class Constants {
+
+    /**
+     * The default page number used in pagination.
+     */
+    public static final String DEFAULT_PAGE_NUMBER = "0";
+
+    /**
+     * The default page size used in pagination.
+     */
+    public static final String DEFAULT_PAGE_SIZE = "10";
+
+    /**
+     * BookService path listing a page of books, with page and size as URI variables.
+     */
+    public static final String CATALOG_BOOKS_PATH = "/books/list?page={page}&size={size}";
+
+    /**
+     * AuthorService path listing a page of authors, with page and size as URI variables.
+     */
+    public static final String CATALOG_AUTHORS_PATH = "/authors?page={page}&size={size}";
+
+    /**
+     * AuthorService path of a single author, with the author id as URI variable.
+     */
+    public static final String CATALOG_AUTHOR_PATH = "/authors/{id}";
+
+    /**
+     * Logging message for a catalog built without authors.
+     */
+    public static final String LOG_CATALOG_AUTHORS_UNAVAILABLE = "Authors unavailable, serving catalog without them: {}";
+
+    /**
+     * Logging message for a catalog built without one of its authors.
+     */
+    public static final String LOG_CATALOG_AUTHOR_UNAVAILABLE = "Author {} unavailable, serving its books without it: {}";
+
+    /**
+     * Order of the filter removing internal headers from client requests. It runs
+     * before every other filter, so that none of them sees a client-supplied value.
+     */
+    public static final int INGRESS_HEADERS_FILTER_ORDER = Ordered.HIGHEST_PRECEDENCE;
+
+    /**
+     * Order of the route metrics filter. It runs first so that the recorded latency
+     * covers everything the gateway does for a request.
+     */
+    public static final int ROUTE_METRICS_FILTER_ORDER = -300;
+
+    /**
+     * Order of the rate limit filter. It runs ahead of the cache so that a
+     * single client cannot monopolise the gateway even with cached responses.
+     */
+    public static final int RATE_LIMIT_FILTER_ORDER = -250;
+
+    /**
+     * Order of the deadline filter. It runs after the rate limiter, which answers
+     * rejected requests itself, and before the filters that may call the route
+     * more than once, so that every attempt carries the same deadline.
+     */
+    public static final int DEADLINE_FILTER_ORDER = -240;
+
+    /**
+     * Order of the response cache filter. It must run before the
+     * NettyWriteResponseFilter so that the response body can be captured.
+     */
+    public static final int RESPONSE_CACHE_FILTER_ORDER = -200;
+
+    /**
+     * Order of the single-flight filter. It runs after the response cache so that
+     * only cache misses are coalesced.
+     */
+    public static final int SINGLE_FLIGHT_FILTER_ORDER = -190;
+
+    /**
+     * Order of the circuit breaker and bulkhead filter. It runs after the cache and
+     * the single-flight filter so that only calls that reach the route are counted.
+     */
+    public static final int ROUTE_RESILIENCE_FILTER_ORDER = -150;
+
+    /**
+     * Order of the retry filter. It runs inside the circuit breaker and bulkhead so
+     * that a retried request counts as one call on its route, and outside hedging
+     * so that every attempt may be hedged.
+     */
+    public static final int RETRY_FILTER_ORDER = -120;
+
+    /**
+     * Order of the hedging filter. It runs inside the circuit breaker and bulkhead
+     * so that a hedged request counts as one call on its route.
+     */
+    public static final int HEDGING_FILTER_ORDER = -110;
+
+    /**
+     * Order of the filter handing instance exclusions to the load balancer. It runs
+     * right before the load balancer, after every filter that may set them.
+     */
+    public static final int INSTANCE_EXCLUSION_FILTER_ORDER = ReactiveLoadBalancerClientFilter.LOAD_BALANCER_CLIENT_FILTER_ORDER - 1;
+
+    /**
+     * Order of the filter removing internal headers. It runs right after the load
+     * balancer, which is the last reader of those headers.
+     */
+    public static final int INTERNAL_HEADERS_FILTER_ORDER = ReactiveLoadBalancerClientFilter.LOAD_BALANCER_CLIENT_FILTER_ORDER + 1;
+
+    /**
+     * Order of the filter reporting cancelled load-balanced calls. It runs right
+     * after the load balancer, so that it sees the instance chosen for the call.
+     */
+    public static final int INSTANCE_STATS_CANCEL_FILTER_ORDER = ReactiveLoadBalancerClientFilter.LOAD_BALANCER_CLIENT_FILTER_ORDER + 1;
+
+    /**
+     * Meter name for response cache lookups, tagged by route and result.
+     */
+    public static final String METRIC_CACHE_REQUESTS = "gateway.cache.requests";
+
+    /**
+     * Meter name for the response cache hit ratio.
+     */
+    public static final String METRIC_CACHE_HIT_RATIO = "gateway.cache.hit.ratio";
+
+    /**
+     * Meter name for the number of entries held by the response cache.
+     */
+    public static final String METRIC_CACHE_SIZE = "gateway.cache.size";
+
+    /**
+     * Meter name for cache entries removed because of a write on the same route.
+     */
+    public static final String METRIC_CACHE_INVALIDATIONS = "gateway.cache.invalidations";
+
+    /**
+     * Meter name for the number of distinct upstream calls shared by the single-flight filter.
+     */
+    public static final String METRIC_SINGLE_FLIGHT_IN_FLIGHT = "gateway.singleflight.inflight";
+
+    /**
+     * Meter name for requests that joined an upstream call already in flight.
+     */
+    public static final String METRIC_SINGLE_FLIGHT_COALESCED = "gateway.singleflight.coalesced";
+
+    /**
+     * Reason reported when a shared upstream call exceeds its timeout.
+     */
+    public static final String SINGLE_FLIGHT_TIMEOUT = "Upstream call shared by concurrent requests timed out";
+
+    /**
+     * Meter name for requests rejected by the rate limiter, tagged by route.
+     */
+    public static final String METRIC_RATE_LIMIT_REJECTED = "gateway.ratelimit.rejected";
+
+    /**
+     * Meter name for the number of token buckets held in memory.
+     */
+    public static final String METRIC_RATE_LIMIT_BUCKETS = "gateway.ratelimit.buckets";
+
+    /**
+     * Meter name for responses served because a route rejected the call, tagged by route and result.
+     */
+    public static final String METRIC_RESILIENCE_FALLBACKS = "gateway.resilience.fallbacks";
+
+    /**
+     * Fallback result for a call answered with a stale cached response.
+     */
+    public static final String FALLBACK_STALE = "stale";
+
+    /**
+     * Fallback result for a call answered with 503.
+     */
+    public static final String FALLBACK_UNAVAILABLE = "unavailable";
+
+    /**
+     * Warning header value attached to stale fallback responses.
+     */
+    public static final String WARNING_RESPONSE_STALE = "110 - \"Response is Stale\"";
+
+    /**
+     * Meter name for the end-to-end latency of routed requests, tagged by route, status and outcome.
+     */
+    public static final String METRIC_ROUTE_REQUESTS = "gateway.route.requests";
+
+    /**
+     * Meter name for the time spent in the gateway before an instance was chosen, tagged by route and instance.
+     */
+    public static final String METRIC_ROUTE_QUEUE = "gateway.route.queue";
+
+    /**
+     * Meter name for the connect and response time of the chosen instance, tagged by route, instance and status.
+     */
+    public static final String METRIC_ROUTE_UPSTREAM = "gateway.route.upstream";
+
+    /**
+     * Meter name for the upstream latency of completed calls per route, across instances.
+     */
+    public static final String METRIC_ROUTE_LATENCY = "gateway.route.latency";
+
+    /**
+     * Meter name for GET requests eligible for hedging, tagged by route.
+     */
+    public static final String METRIC_HEDGE_ELIGIBLE = "gateway.hedge.eligible";
+
+    /**
+     * Meter name for hedge requests sent, tagged by route.
+     */
+    public static final String METRIC_HEDGE_SENT = "gateway.hedge.sent";
+
+    /**
+     * Meter name for hedge requests that answered before the original, tagged by route.
+     */
+    public static final String METRIC_HEDGE_WON = "gateway.hedge.won";
+
+    /**
+     * Meter name for hedges not sent because the route's hedge budget was spent, tagged by route.
+     */
+    public static final String METRIC_HEDGE_SUPPRESSED = "gateway.hedge.suppressed";
+
+    /**
+     * Meter name for retries sent, tagged by route.
+     */
+    public static final String METRIC_RETRY_SENT = "gateway.retry.sent";
+
+    /**
+     * Meter name for retryable failures handed to the client, tagged by route and reason.
+     */
+    public static final String METRIC_RETRY_EXHAUSTED = "gateway.retry.exhausted";
+
+    /**
+     * Retry exhaustion reason when the route's retry budget was spent.
+     */
+    public static final String RETRY_EXHAUSTED_BUDGET = "budget";
+
+    /**
+     * Retry exhaustion reason when the request used all its attempts.
+     */
+    public static final String RETRY_EXHAUSTED_ATTEMPTS = "attempts";
+
+    /**
+     * Internal request header listing instances, as host:port, that the load balancer
+     * must avoid. It is removed from client requests on arrival, set from
+     * {@link #ATTR_EXCLUDED_INSTANCES} right before the load balancer runs and
+     * removed again before the request is forwarded.
+     */
+    public static final String HEADER_EXCLUDE_INSTANCES = "X-Gateway-Exclude-Instances";
+
+    /**
+     * Request header holding the time, in epoch milliseconds, after which the
+     * caller no longer waits for the response.
+     */
+    public static final String HEADER_REQUEST_DEADLINE = "X-Request-Deadline";
+
+    /**
+     * URI scheme of routes whose instance has not been chosen yet.
+     */
+    public static final String LB_SCHEME = "lb";
+
+    /**
+     * Exchange attribute holding the instances, as host:port, that the load balancer
+     * must avoid for the current attempt.
+     */
+    public static final String ATTR_EXCLUDED_INSTANCES = "gateway.excludedInstances";
+
+    /**
+     * Exchange attribute holding the {@link System#nanoTime()} at which the gateway received the request.
+     */
+    public static final String ATTR_ARRIVAL_NANOS = "gateway.arrivalNanos";
+
+    /**
+     * Header carrying the chain of client addresses added by proxies.
+     */
+    public static final String HEADER_FORWARDED_FOR = "X-Forwarded-For";
+
+    /**
+     * Client identity used when no address can be determined.
+     */
+    public static final String UNKNOWN_CLIENT = "unknown";
+
+    /**
+     * Header telling the client whether the response came from the gateway cache.
+     */
+    public static final String HEADER_CACHE_STATUS = "X-Gateway-Cache";
+
+    /**
+     * Cache status value for a response served from the cache.
+     */
+    public static final String CACHE_STATUS_HIT = "HIT";
+
+    /**
+     * Cache status value for a response fetched from the downstream service.
+     */
+    public static final String CACHE_STATUS_MISS = "MISS";
+
+    /**
+     * Cache status value for a request that skipped the cache.
+     */
+    public static final String CACHE_STATUS_BYPASS = "BYPASS";
+
+    /**
+     * Cache status value for an expired response served because the route rejected the call.
+     */
+    public static final String CACHE_STATUS_STALE = "STALE";
+
+    /**
+     * Tag name used for the route id on gateway meters.
+     */
+    public static final String TAG_ROUTE_ID = "routeId";
+
+    /**
+     * Tag name used for the outcome of an operation on gateway meters.
+     */
+    public static final String TAG_RESULT = "result";
+
+    /**
+     * Tag name used for the reason of an outcome on gateway meters.
+     */
+    public static final String TAG_REASON = "reason";
+
+    /**
+     * Tag name used for the upstream instance, as host:port, on gateway meters.
+     */
+    public static final String TAG_INSTANCE = "instance";
+
+    /**
+     * Tag name used for the response status on gateway meters.
+     */
+    public static final String TAG_STATUS = "status";
+
+    /**
+     * Tag name used for the status class of a response on gateway meters.
+     */
+    public static final String TAG_OUTCOME = "outcome";
+
+    /**
+     * Tag value used when a tag has no value.
+     */
+    public static final String TAG_VALUE_NONE = "none";
+
+    /**
+     * Outcome of a request answered with a 1xx, 2xx or 3xx status.
+     */
+    public static final String OUTCOME_SUCCESS = "SUCCESS";
+
+    /**
+     * Outcome of a request answered with a 4xx status.
+     */
+    public static final String OUTCOME_CLIENT_ERROR = "CLIENT_ERROR";
+
+    /**
+     * Outcome of a request answered with a 5xx status.
+     */
+    public static final String OUTCOME_SERVER_ERROR = "SERVER_ERROR";
+
+    /**
+     * Outcome of a request that ended without a status.
+     */
+    public static final String OUTCOME_UNKNOWN = "UNKNOWN";
+
+    /**
+     * Path variable holding the entity id in the load balancer's hash paths.
+     */
+    public static final String HASH_PATH_VARIABLE = "id";
+
+    /**
+     * File holding the last known Eureka registry when no location is configured.
+     */
+    public static final String DEFAULT_REGISTRY_SNAPSHOT_FILE = "eureka-registry.json";
+
+    /**
+     * Logging message for a registry restored from the snapshot file.
+     */
+    public static final String LOG_REGISTRY_SNAPSHOT_LOADED = "Loaded Eureka registry snapshot with {} applications from {}";
+
+    /**
+     * Logging message for a snapshot file that could not be read.
+     */
+    public static final String LOG_REGISTRY_SNAPSHOT_UNREADABLE = "Ignoring unreadable Eureka registry snapshot {}: {}";
+
+    /**
+     * Logging message for a snapshot that could not be written.
+     */
+    public static final String LOG_REGISTRY_SNAPSHOT_NOT_SAVED = "Could not save Eureka registry snapshot {}: {}";
+}
@@ -0,0 +1,26 @@
+package com.example.configs;
+
+import com.example.discovery.SnapshotBackupRegistry;
+import com.example.dto.response.AuthorView;
+import com.example.dto.response.BookView;
+import com.example.dto.response.CatalogEntry;
+import com.example.dto.response.PageView;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.nativex.hint.NativeHint;
+import org.springframework.nativex.hint.TypeAccess;
+import org.springframework.nativex.hint.TypeHint;
+
+/**
+ * Configuration class for the native image, compiled only by the {@code native}
+ * Maven profile. It names what the build-time analysis cannot find on its own:
+ * the catalog DTOs Jackson binds and the backup registry Eureka creates by
+ * name.
+ */
+@Configuration(proxyBeanMethods = false)
+@NativeHint(types = {
+        @TypeHint(types = {PageView.class, BookView.class, AuthorView.class, CatalogEntry.class},
+                access = {TypeAccess.DECLARED_CONSTRUCTORS, TypeAccess.DECLARED_FIELDS, TypeAccess.PUBLIC_METHODS}),
+        @TypeHint(types = SnapshotBackupRegistry.class, access = TypeAccess.DECLARED_CONSTRUCTORS)
+})
+public class NativeHintsConfig {
+}
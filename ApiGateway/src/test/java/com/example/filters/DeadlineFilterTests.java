@@ -0,0 +1,110 @@
+package com.example.filters;
+
+import com.example.configs.DeadlineProperties;
+import com.example.utils.Constants;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.gateway.config.HttpClientProperties;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.RouteMetadataUtils;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Verifies that the gateway stamps each proxied request with the deadline of
+ * its route's response timeout, and that a client deadline can only shorten it.
+ */
+class DeadlineFilterTests {
+
+	private static final long ROUTE_TIMEOUT_MILLIS = 2000;
+
+	private final Route route = Route.async().id("BookService").uri("lb://BookService")
+			.predicate(exchange -> true)
+			.metadata(RouteMetadataUtils.RESPONSE_TIMEOUT_ATTR, ROUTE_TIMEOUT_MILLIS)
+			.build();
+
+	private final AtomicReference<String> forwardedDeadline = new AtomicReference<>();
+	private final GatewayFilterChain chain = exchange -> {
+		forwardedDeadline.set(exchange.getRequest().getHeaders().getFirst(Constants.HEADER_REQUEST_DEADLINE));
+		return Mono.empty();
+	};
+
+	private HttpClientProperties httpClientProperties;
+	private DeadlineFilter filter;
+
+	@BeforeEach
+	void setUp() {
+		httpClientProperties = new HttpClientProperties();
+		filter = new DeadlineFilter(new DeadlineProperties(), httpClientProperties);
+	}
+
+	@Test
+	void stampsRouteTimeoutLessMargin() {
+		long before = System.currentTimeMillis();
+
+		filter(MockServerHttpRequest.get("/books/list"), route);
+
+		long deadline = Long.parseLong(forwardedDeadline.get());
+		assertThat(deadline).isBetween(before + ROUTE_TIMEOUT_MILLIS - 100,
+				System.currentTimeMillis() + ROUTE_TIMEOUT_MILLIS - 100);
+	}
+
+	@Test
+	void earlierClientDeadlineIsKept() {
+		long clientDeadline = System.currentTimeMillis() + 500;
+
+		filter(MockServerHttpRequest.get("/books/list")
+				.header(Constants.HEADER_REQUEST_DEADLINE, Long.toString(clientDeadline)), route);
+
+		assertThat(forwardedDeadline).hasValue(Long.toString(clientDeadline));
+	}
+
+	@Test
+	void laterOrUnreadableClientDeadlineIsReplacedByTheGateways() {
+		long clientDeadline = System.currentTimeMillis() + 60_000;
+
+		filter(MockServerHttpRequest.get("/books/list")
+				.header(Constants.HEADER_REQUEST_DEADLINE, Long.toString(clientDeadline)), route);
+		assertThat(Long.parseLong(forwardedDeadline.get()))
+				.isLessThanOrEqualTo(System.currentTimeMillis() + ROUTE_TIMEOUT_MILLIS);
+
+		filter(MockServerHttpRequest.get("/books/list")
+				.header(Constants.HEADER_REQUEST_DEADLINE, "later"), route);
+		assertThat(Long.parseLong(forwardedDeadline.get()))
+				.isLessThanOrEqualTo(System.currentTimeMillis() + ROUTE_TIMEOUT_MILLIS);
+	}
+
+	@Test
+	void globalResponseTimeoutAppliesToRoutesWithoutOne() {
+		httpClientProperties.setResponseTimeout(Duration.ofSeconds(5));
+		Route plain = Route.async().id("AuthorService").uri("lb://AuthorService").predicate(exchange -> true).build();
+		long before = System.currentTimeMillis();
+
+		filter(MockServerHttpRequest.get("/authors/list"), plain);
+
+		assertThat(Long.parseLong(forwardedDeadline.get())).isGreaterThanOrEqualTo(before + 4900);
+	}
+
+	@Test
+	void requestsWithoutTimeoutPassUnchanged() {
+		Route plain = Route.async().id("AuthorService").uri("lb://AuthorService").predicate(exchange -> true).build();
+
+		filter(MockServerHttpRequest.get("/authors/list").header(Constants.HEADER_REQUEST_DEADLINE, "later"), plain);
+
+		assertThat(forwardedDeadline).hasValue("later");
+	}
+
+	private void filter(MockServerHttpRequest.BaseBuilder<?> request, Route matched) {
+		MockServerWebExchange exchange = MockServerWebExchange.from(request);
+		exchange.getAttributes().put(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR, matched);
+		filter.filter(exchange, chain).block(Duration.ofSeconds(5));
+	}
+}
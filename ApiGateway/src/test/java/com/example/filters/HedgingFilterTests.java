@@ -0,0 +1,160 @@
+package com.example.filters;
+
+import com.example.configs.HedgingProperties;
+import com.example.metrics.RouteMetrics;
+import com.example.support.InstanceExclusion;
+import com.example.utils.Constants;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Verifies that a slow GET is hedged on another instance, that the losing
+ * request is cancelled, and that hedges stay within the route's budget.
+ */
+class HedgingFilterTests {
+
+	private static final String SLOW = "10.0.0.1:8081";
+	private static final String FAST = "10.0.0.2:8081";
+	private static final Duration TYPICAL_LATENCY = Duration.ofMillis(50);
+	private static final Duration SLOW_LATENCY = Duration.ofMillis(300);
+
+	private final Route route = Route.async().id("BookService").uri("lb://BookService")
+			.predicate(exchange -> true).build();
+
+	private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+	private final AtomicInteger slowCalls = new AtomicInteger();
+	private final AtomicInteger slowCancelled = new AtomicInteger();
+
+	/**
+	 * Stands in for the load balancer and the instances: the slow instance is
+	 * chosen unless the attempt excludes it.
+	 */
+	private final GatewayFilterChain instances = exchange -> {
+		boolean avoidSlow = InstanceExclusion.excludedInstances(exchange).contains(SLOW);
+		String instance = avoidSlow ? FAST : SLOW;
+		exchange.getAttributes().put(ServerWebExchangeUtils.GATEWAY_REQUEST_URL_ATTR,
+				URI.create("http://" + instance + "/books/list"));
+		if (avoidSlow) {
+			return respond(exchange, instance);
+		}
+		slowCalls.incrementAndGet();
+		return Mono.delay(SLOW_LATENCY)
+				.then(Mono.defer(() -> respond(exchange, instance)))
+				.doOnCancel(slowCancelled::incrementAndGet);
+	};
+
+	@Test
+	void slowRequestIsHedgedOnAnotherInstanceAndLoserCancelled() {
+		HedgingFilter filter = filter(1.0, 10);
+		MockServerWebExchange exchange = exchange();
+
+		long start = System.nanoTime();
+		filter.filter(exchange, instances).block(Duration.ofSeconds(5));
+		long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+		assertThat(exchange.getResponse().getBodyAsString().block()).isEqualTo(FAST);
+		assertThat(elapsedMillis).isLessThan(SLOW_LATENCY.toMillis());
+		assertThat(slowCalls).hasValue(1);
+		assertThat(slowCancelled).hasValue(1);
+		assertThat(count(Constants.METRIC_HEDGE_ELIGIBLE)).isEqualTo(1.0);
+		assertThat(count(Constants.METRIC_HEDGE_SENT)).isEqualTo(1.0);
+		assertThat(count(Constants.METRIC_HEDGE_WON)).isEqualTo(1.0);
+		assertThat(count(Constants.METRIC_HEDGE_SUPPRESSED)).isZero();
+	}
+
+	@Test
+	void hedgesStayWithinExtraLoadRatio() {
+		HedgingFilter filter = filter(0.05, 10);
+
+		filterConcurrently(filter, 100);
+
+		assertThat(count(Constants.METRIC_HEDGE_ELIGIBLE)).isEqualTo(100.0);
+		assertThat(count(Constants.METRIC_HEDGE_SENT)).isEqualTo(5.0);
+		assertThat(count(Constants.METRIC_HEDGE_WON)).isEqualTo(5.0);
+		assertThat(count(Constants.METRIC_HEDGE_SUPPRESSED)).isEqualTo(95.0);
+		assertThat(slowCancelled).hasValue(5);
+	}
+
+	@Test
+	void hedgesStayWithinBurstCap() {
+		HedgingFilter filter = filter(0.5, 3);
+
+		filterConcurrently(filter, 100);
+
+		assertThat(count(Constants.METRIC_HEDGE_SENT)).isEqualTo(3.0);
+		assertThat(count(Constants.METRIC_HEDGE_SUPPRESSED)).isEqualTo(97.0);
+	}
+
+	@Test
+	void routeWithTooFewSamplesIsNotHedged() {
+		HedgingProperties properties = new HedgingProperties();
+		HedgingFilter filter = new HedgingFilter(new RouteMetrics(meterRegistry, Duration.ofMinutes(1)), properties,
+				meterRegistry);
+
+		filter.filter(exchange(), instances).block(Duration.ofSeconds(5));
+
+		assertThat(meterRegistry.find(Constants.METRIC_HEDGE_ELIGIBLE).counter()).isNull();
+		assertThat(slowCancelled).hasValue(0);
+	}
+
+	private HedgingFilter filter(double maxExtraLoad, int maxBurst) {
+		RouteMetrics routeMetrics = new RouteMetrics(meterRegistry, Duration.ofMinutes(1));
+		for (int i = 0; i < 100; i++) {
+			routeMetrics.recordRouteLatency(route.getId(), TYPICAL_LATENCY.toNanos());
+		}
+		HedgingProperties properties = new HedgingProperties();
+		properties.setMinSamples(100);
+		properties.setMaxExtraLoad(maxExtraLoad);
+		properties.setMaxBurst(maxBurst);
+		return new HedgingFilter(routeMetrics, properties, meterRegistry);
+	}
+
+	/**
+	 * Send the requests at once. Every call is assembled, depositing into the
+	 * route's budget, before any is subscribed and starts its hedge timer, so
+	 * the budget does not depend on how quickly the calls are subscribed.
+	 */
+	private void filterConcurrently(HedgingFilter filter, int requests) {
+		List<Mono<Void>> calls = new ArrayList<>();
+		for (int i = 0; i < requests; i++) {
+			calls.add(filter.filter(exchange(), instances));
+		}
+		Flux.merge(calls).blockLast(Duration.ofSeconds(10));
+	}
+
+	private double count(String name) {
+		return meterRegistry.counter(name, Constants.TAG_ROUTE_ID, route.getId()).count();
+	}
+
+	private static Mono<Void> respond(ServerWebExchange exchange, String instance) {
+		exchange.getResponse().setStatusCode(HttpStatus.OK);
+		return exchange.getResponse().writeWith(Mono.just(
+				DefaultDataBufferFactory.sharedInstance.wrap(instance.getBytes(StandardCharsets.UTF_8))));
+	}
+
+	private MockServerWebExchange exchange() {
+		MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/books/list"));
+		exchange.getAttributes().put(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR, route);
+		return exchange;
+	}
+}
@@ -0,0 +1,77 @@
+package com.example.filters;
+
+import com.example.support.DetachedExchange;
+import com.example.support.InstanceExclusion;
+import com.example.utils.Constants;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Verifies that only the gateway decides which instances the load balancer
+ * avoids: a client-supplied exclusion header is dropped on arrival, and
+ * exclusions set by the gateway's filters reach the load balancer.
+ */
+class InstanceExclusionTests {
+
+	private final IngressHeadersFilter ingressHeadersFilter = new IngressHeadersFilter();
+	private final InstanceExclusionFilter instanceExclusionFilter = new InstanceExclusionFilter();
+	private final AtomicReference<HttpHeaders> seenByLoadBalancer = new AtomicReference<>();
+
+	private final GatewayFilterChain loadBalancer = exchange -> {
+		seenByLoadBalancer.set(exchange.getRequest().getHeaders());
+		return Mono.empty();
+	};
+
+	@Test
+	void clientCannotExcludeInstances() {
+		MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/books/list")
+				.header(Constants.HEADER_EXCLUDE_INSTANCES, "10.0.0.1:8081", "10.0.0.2:8081"));
+
+		route(exchange, forwarded -> instanceExclusionFilter.filter(forwarded, loadBalancer));
+
+		assertThat(seenByLoadBalancer.get().containsKey(Constants.HEADER_EXCLUDE_INSTANCES)).isFalse();
+	}
+
+	@Test
+	void gatewayExclusionsReachLoadBalancer() {
+		MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/books/list")
+				.header(Constants.HEADER_EXCLUDE_INSTANCES, "10.0.0.9:8081"));
+
+		route(exchange, forwarded -> {
+			DetachedExchange attempt = new DetachedExchange(forwarded);
+			InstanceExclusion.exclude(attempt, List.of("10.0.0.1:8081"));
+			return instanceExclusionFilter.filter(attempt, loadBalancer);
+		});
+
+		assertThat(seenByLoadBalancer.get().get(Constants.HEADER_EXCLUDE_INSTANCES))
+				.containsExactly("10.0.0.1:8081");
+		assertThat(InstanceExclusion.excludedInstances(exchange)).isEmpty();
+	}
+
+	@Test
+	void laterAttemptReplacesExclusions() {
+		DetachedExchange attempt = new DetachedExchange(
+				MockServerWebExchange.from(MockServerHttpRequest.get("/books/list")));
+		InstanceExclusion.exclude(attempt, List.of("10.0.0.1:8081"));
+		InstanceExclusion.exclude(attempt, List.of());
+
+		instanceExclusionFilter.filter(attempt, loadBalancer).block(Duration.ofSeconds(5));
+
+		assertThat(seenByLoadBalancer.get().containsKey(Constants.HEADER_EXCLUDE_INSTANCES)).isFalse();
+	}
+
+	private void route(ServerWebExchange exchange, GatewayFilterChain rest) {
+		ingressHeadersFilter.filter(exchange, rest).block(Duration.ofSeconds(5));
+	}
+}
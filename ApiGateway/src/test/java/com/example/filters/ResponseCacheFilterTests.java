@@ -0,0 +1,263 @@
+package com.example.filters;
+
+import com.example.cache.ResponseCache;
+import com.example.configs.ResponseCacheConfig;
+import com.example.configs.ResponseCacheProperties;
+import com.example.utils.Constants;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Verifies that the response cache filter serves repeated GETs within the
+ * route's TTL, honours Cache-Control and validators, leaves requests with
+ * cookies or credentials alone, and drops a route's entries after a
+ * successful write, including responses still loading when it lands.
+ */
+class ResponseCacheFilterTests {
+
+	private static final String BODY = "[{\"id\":1}]";
+
+	private final Route route = Route.async().id("BookService").uri("lb://BookService")
+			.predicate(exchange -> true).build();
+
+	private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+	private final AtomicInteger downstreamCalls = new AtomicInteger();
+
+	private ResponseCacheProperties properties;
+	private ResponseCache cache;
+	private ResponseCacheFilter filter;
+
+	@BeforeEach
+	void setUp() {
+		properties = new ResponseCacheProperties();
+		properties.getRoutes().put(route.getId(), Duration.ofMillis(200));
+		cache = new ResponseCacheConfig().responseCache(properties, meterRegistry);
+		filter = new ResponseCacheFilter(cache, properties, meterRegistry);
+	}
+
+	@Test
+	void servesRepeatedGetFromCacheUntilRouteTtlExpires() throws InterruptedException {
+		MockServerWebExchange first = get("/books/list", downstream(null));
+		MockServerWebExchange second = get("/books/list", downstream(null));
+
+		assertThat(first.getResponse().getHeaders().getFirst(Constants.HEADER_CACHE_STATUS))
+				.isEqualTo(Constants.CACHE_STATUS_MISS);
+		assertThat(second.getResponse().getHeaders().getFirst(Constants.HEADER_CACHE_STATUS))
+				.isEqualTo(Constants.CACHE_STATUS_HIT);
+		assertThat(second.getResponse().getBodyAsString().block()).isEqualTo(BODY);
+		assertThat(downstreamCalls).hasValue(1);
+
+		Thread.sleep(300);
+		MockServerWebExchange expired = get("/books/list", downstream(null));
+
+		assertThat(expired.getResponse().getHeaders().getFirst(Constants.HEADER_CACHE_STATUS))
+				.isEqualTo(Constants.CACHE_STATUS_MISS);
+		assertThat(downstreamCalls).hasValue(2);
+	}
+
+	@Test
+	void routesWithoutTtlAreNotCached() {
+		MockServerWebExchange first = exchange(MockServerHttpRequest.get("/authors/1"));
+		first.getAttributes().put(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR,
+				Route.async().id("AuthorService").uri("lb://AuthorService").predicate(exchange -> true).build());
+		filter.filter(first, downstream(null)).block(Duration.ofSeconds(5));
+
+		assertThat(first.getResponse().getHeaders().getFirst(Constants.HEADER_CACHE_STATUS)).isNull();
+		assertThat(cache.size()).isZero();
+	}
+
+	@Test
+	void downstreamNoStoreIsNotCached() {
+		get("/books/list", downstream("no-store"));
+		get("/books/list", downstream("no-store"));
+
+		assertThat(downstreamCalls).hasValue(2);
+		assertThat(cache.size()).isZero();
+	}
+
+	@Test
+	void downstreamMaxAgeShortensRouteTtl() {
+		properties.getRoutes().put(route.getId(), Duration.ofMinutes(10));
+
+		get("/books/list", downstream("max-age=0"));
+		get("/books/list", downstream("max-age=0"));
+		assertThat(downstreamCalls).hasValue(2);
+
+		get("/books/list?page=1", downstream("public, max-age=60"));
+		get("/books/list?page=1", downstream("public, max-age=60"));
+		assertThat(downstreamCalls).hasValue(3);
+	}
+
+	@Test
+	void requestNoStoreBypassesCache() {
+		get("/books/list", downstream(null));
+
+		MockServerWebExchange bypass = exchange(MockServerHttpRequest.get("/books/list")
+				.header(HttpHeaders.CACHE_CONTROL, "no-store"));
+		filter.filter(bypass, downstream(null)).block(Duration.ofSeconds(5));
+
+		assertThat(bypass.getResponse().getHeaders().getFirst(Constants.HEADER_CACHE_STATUS))
+				.isEqualTo(Constants.CACHE_STATUS_BYPASS);
+		assertThat(downstreamCalls).hasValue(2);
+	}
+
+	@Test
+	void matchingIfNoneMatchIsAnsweredWithNotModified() {
+		MockServerWebExchange first = get("/books/list", downstream(null));
+		String etag = first.getResponse().getHeaders().getETag();
+		assertThat(etag).startsWith("W/\"");
+
+		MockServerWebExchange conditional = exchange(MockServerHttpRequest.get("/books/list")
+				.ifNoneMatch(etag));
+		filter.filter(conditional, downstream(null)).block(Duration.ofSeconds(5));
+
+		assertThat(conditional.getResponse().getStatusCode()).isEqualTo(HttpStatus.NOT_MODIFIED);
+		assertThat(conditional.getResponse().getHeaders().getETag()).isEqualTo(etag);
+		assertThat(conditional.getResponse().getBodyAsString().block()).isEmpty();
+
+		MockServerWebExchange stale = exchange(MockServerHttpRequest.get("/books/list")
+				.ifNoneMatch("W/\"other\""));
+		filter.filter(stale, downstream(null)).block(Duration.ofSeconds(5));
+
+		assertThat(stale.getResponse().getStatusCode()).isEqualTo(HttpStatus.OK);
+		assertThat(stale.getResponse().getBodyAsString().block()).isEqualTo(BODY);
+		assertThat(downstreamCalls).hasValue(1);
+	}
+
+	@Test
+	void keepsAtMostMaxEntriesEvictingLeastRecentlyUsed() {
+		properties.setMaxEntries(2);
+		cache = new ResponseCacheConfig().responseCache(properties, new SimpleMeterRegistry());
+		filter = new ResponseCacheFilter(cache, properties, meterRegistry);
+
+		get("/books/1", downstream(null));
+		get("/books/2", downstream(null));
+		get("/books/1", downstream(null));
+		get("/books/3", downstream(null));
+		assertThat(cache.size()).isEqualTo(2);
+		assertThat(downstreamCalls).hasValue(3);
+
+		get("/books/1", downstream(null));
+		assertThat(downstreamCalls).hasValue(3);
+		get("/books/2", downstream(null));
+		assertThat(downstreamCalls).hasValue(4);
+	}
+
+	@Test
+	void successfulWriteInvalidatesRoute() {
+		get("/books/list", downstream(null));
+		get("/books/7", downstream(null));
+
+		write(MockServerHttpRequest.post("/books/add"), HttpStatus.BAD_REQUEST);
+		assertThat(cache.size()).isEqualTo(2);
+
+		write(MockServerHttpRequest.put("/books/update/7"), HttpStatus.OK);
+		assertThat(cache.size()).isZero();
+		assertThat(meterRegistry.counter(Constants.METRIC_CACHE_INVALIDATIONS, Constants.TAG_ROUTE_ID,
+				route.getId()).count()).isEqualTo(2.0);
+
+		get("/books/list", downstream(null));
+		write(MockServerHttpRequest.delete("/books/delete/7"), HttpStatus.NO_CONTENT);
+		assertThat(cache.size()).isZero();
+
+		get("/books/list", downstream(null));
+		write(MockServerHttpRequest.post("/books/add"), HttpStatus.CREATED);
+		assertThat(cache.size()).isZero();
+		assertThat(downstreamCalls).hasValue(4);
+	}
+
+	@Test
+	void getLoadedAcrossWriteIsNotStored() {
+		GatewayFilterChain overtakenByWrite = exchange -> {
+			write(MockServerHttpRequest.put("/books/update/1"), HttpStatus.OK);
+			return downstream(null).filter(exchange);
+		};
+
+		get("/books/list", overtakenByWrite);
+		assertThat(cache.size()).isZero();
+
+		MockServerWebExchange next = get("/books/list", downstream(null));
+		assertThat(next.getResponse().getHeaders().getFirst(Constants.HEADER_CACHE_STATUS))
+				.isEqualTo(Constants.CACHE_STATUS_MISS);
+		assertThat(cache.size()).isEqualTo(1);
+		assertThat(downstreamCalls).hasValue(2);
+	}
+
+	@Test
+	void requestsWithCookiesOrCredentialsBypassCache() {
+		get("/books/list", downstream(null));
+
+		String[][] credentials = {
+				{HttpHeaders.COOKIE, "read-primary-until=1792368000000"},
+				{HttpHeaders.AUTHORIZATION, "Bearer token"}};
+		for (String[] credential : credentials) {
+			MockServerWebExchange exchange = exchange(MockServerHttpRequest.get("/books/list")
+					.header(credential[0], credential[1]));
+			filter.filter(exchange, downstream(null)).block(Duration.ofSeconds(5));
+
+			assertThat(exchange.getResponse().getHeaders().getFirst(Constants.HEADER_CACHE_STATUS))
+					.isEqualTo(Constants.CACHE_STATUS_BYPASS);
+		}
+		assertThat(downstreamCalls).hasValue(3);
+	}
+
+	@Test
+	void hitRatioGaugeTracksLookups() {
+		get("/books/list", downstream(null));
+		get("/books/list", downstream(null));
+		get("/books/list", downstream(null));
+		get("/books/7", downstream(null));
+
+		assertThat(meterRegistry.get(Constants.METRIC_CACHE_HIT_RATIO).gauge().value()).isEqualTo(0.5);
+		assertThat(meterRegistry.get(Constants.METRIC_CACHE_SIZE).gauge().value()).isEqualTo(2.0);
+		assertThat(meterRegistry.get(Constants.METRIC_CACHE_REQUESTS)
+				.tags(Constants.TAG_ROUTE_ID, route.getId(), Constants.TAG_RESULT, Constants.CACHE_STATUS_HIT)
+				.counter().count()).isEqualTo(2.0);
+	}
+
+	private MockServerWebExchange get(String path, GatewayFilterChain chain) {
+		MockServerWebExchange exchange = exchange(MockServerHttpRequest.get(path));
+		filter.filter(exchange, chain).block(Duration.ofSeconds(5));
+		return exchange;
+	}
+
+	private void write(MockServerHttpRequest.BaseBuilder<?> request, HttpStatus status) {
+		MockServerWebExchange exchange = exchange(request);
+		filter.filter(exchange, written -> Mono.fromRunnable(() -> written.getResponse().setStatusCode(status)))
+				.block(Duration.ofSeconds(5));
+	}
+
+	private GatewayFilterChain downstream(String cacheControl) {
+		return exchange -> {
+			downstreamCalls.incrementAndGet();
+			exchange.getResponse().setStatusCode(HttpStatus.OK);
+			if (cacheControl != null) {
+				exchange.getResponse().getHeaders().setCacheControl(cacheControl);
+			}
+			return exchange.getResponse().writeWith(Mono.just(
+					DefaultDataBufferFactory.sharedInstance.wrap(BODY.getBytes(StandardCharsets.UTF_8))));
+		};
+	}
+
+	private MockServerWebExchange exchange(MockServerHttpRequest.BaseBuilder<?> request) {
+		MockServerWebExchange exchange = MockServerWebExchange.from(request);
+		exchange.getAttributes().put(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR, route);
+		return exchange;
+	}
+}
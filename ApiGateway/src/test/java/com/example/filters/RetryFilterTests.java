@@ -0,0 +1,124 @@
+package com.example.filters;
+
+import com.example.configs.RetryProperties;
+import com.example.utils.Constants;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.io.IOException;
+import java.net.ConnectException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Verifies that the retry filter recovers from connection failures, never
+ * resends a request the instance may already have run, and stops retrying
+ * once the route's retry budget is spent.
+ */
+class RetryFilterTests {
+
+	private final Route route = Route.async().id("BookService").uri("lb://BookService")
+			.predicate(exchange -> true).build();
+
+	private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+	@Test
+	void retriesConnectionFailureAndReturnsLaterResponse() {
+		RetryFilter filter = new RetryFilter(properties(10), meterRegistry);
+		AtomicInteger calls = new AtomicInteger();
+		GatewayFilterChain flaky = exchange -> {
+			if (calls.incrementAndGet() == 1) {
+				return Mono.error(new ConnectException("Connection refused"));
+			}
+			exchange.getResponse().setStatusCode(HttpStatus.OK);
+			return exchange.getResponse().writeWith(Mono.just(
+					DefaultDataBufferFactory.sharedInstance.wrap("book".getBytes(StandardCharsets.UTF_8))));
+		};
+
+		MockServerWebExchange exchange = exchange();
+		filter.filter(exchange, flaky).block(Duration.ofSeconds(5));
+
+		assertThat(calls).hasValue(2);
+		assertThat(exchange.getResponse().getStatusCode()).isEqualTo(HttpStatus.OK);
+		assertThat(exchange.getResponse().getBodyAsString().block()).isEqualTo("book");
+		assertThat(meterRegistry.counter(Constants.METRIC_RETRY_SENT, Constants.TAG_ROUTE_ID, "BookService")
+				.count()).isEqualTo(1.0);
+	}
+
+	@Test
+	void doesNotRetryFailureAfterRequestWasSent() {
+		RetryFilter filter = new RetryFilter(properties(10), meterRegistry);
+		AtomicInteger calls = new AtomicInteger();
+		GatewayFilterChain reset = exchange -> {
+			calls.incrementAndGet();
+			return Mono.error(new IOException("Connection reset by peer"));
+		};
+
+		assertThatThrownBy(() -> filter.filter(exchange(), reset).block(Duration.ofSeconds(5)))
+				.hasRootCauseInstanceOf(IOException.class);
+		assertThat(calls).hasValue(1);
+	}
+
+	@Test
+	void doesNotRetryDeleteByDefault() {
+		RetryFilter filter = new RetryFilter(properties(10), meterRegistry);
+		AtomicInteger calls = new AtomicInteger();
+		GatewayFilterChain unavailable = exchange -> {
+			calls.incrementAndGet();
+			exchange.getResponse().setStatusCode(HttpStatus.SERVICE_UNAVAILABLE);
+			return exchange.getResponse().setComplete();
+		};
+
+		MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.delete("/books/delete/1"));
+		exchange.getAttributes().put(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR, route);
+		filter.filter(exchange, unavailable).block(Duration.ofSeconds(5));
+
+		assertThat(calls).hasValue(1);
+		assertThat(exchange.getResponse().getStatusCode()).isEqualTo(HttpStatus.SERVICE_UNAVAILABLE);
+	}
+
+	@Test
+	void stopsRetryingOnceBudgetIsSpent() {
+		RetryFilter filter = new RetryFilter(properties(0), meterRegistry);
+		GatewayFilterChain unavailable = exchange -> {
+			exchange.getResponse().setStatusCode(HttpStatus.SERVICE_UNAVAILABLE);
+			return exchange.getResponse().setComplete();
+		};
+
+		for (int i = 0; i < 5; i++) {
+			MockServerWebExchange exchange = exchange();
+			filter.filter(exchange, unavailable).block(Duration.ofSeconds(5));
+			assertThat(exchange.getResponse().getStatusCode()).isEqualTo(HttpStatus.SERVICE_UNAVAILABLE);
+		}
+
+		assertThat(meterRegistry.counter(Constants.METRIC_RETRY_SENT, Constants.TAG_ROUTE_ID, "BookService")
+				.count()).isZero();
+		assertThat(meterRegistry.counter(Constants.METRIC_RETRY_EXHAUSTED, Constants.TAG_ROUTE_ID, "BookService",
+				Constants.TAG_REASON, Constants.RETRY_EXHAUSTED_BUDGET).count()).isEqualTo(5.0);
+	}
+
+	private RetryProperties properties(double minRetriesPerSecond) {
+		RetryProperties properties = new RetryProperties();
+		properties.setFirstBackoff(Duration.ofMillis(1));
+		properties.setMinRetriesPerSecond(minRetriesPerSecond);
+		return properties;
+	}
+
+	private MockServerWebExchange exchange() {
+		MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/books/list"));
+		exchange.getAttributes().put(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR, route);
+		return exchange;
+	}
+}
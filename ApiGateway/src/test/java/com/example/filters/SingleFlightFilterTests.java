@@ -0,0 +1,177 @@
+package com.example.filters;
+
+import com.example.cache.CachedResponse;
+import com.example.configs.SingleFlightProperties;
+import com.example.support.SingleFlight;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.web.server.ResponseStatusException;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Verifies that concurrent identical GETs share one upstream call, that
+ * requests answered per client are never shared, and that cancellation and
+ * the shared call timeout leave the other waiters and the flight map intact.
+ */
+class SingleFlightFilterTests {
+
+	private static final String BODY = "[{\"id\":1}]";
+
+	private final Route route = Route.async().id("BookService").uri("lb://BookService")
+			.predicate(exchange -> true).build();
+
+	private final AtomicInteger upstreamCalls = new AtomicInteger();
+	private final AtomicBoolean upstreamCancelled = new AtomicBoolean();
+
+	private SingleFlightProperties properties;
+	private SingleFlight<String, CachedResponse> singleFlight;
+	private SingleFlightFilter filter;
+
+	@BeforeEach
+	void setUp() {
+		properties = new SingleFlightProperties();
+		singleFlight = new SingleFlight<>();
+		filter = new SingleFlightFilter(singleFlight, properties);
+	}
+
+	@Test
+	void concurrentIdenticalGetsShareOneUpstreamCall() throws Exception {
+		GatewayFilterChain chain = slowUpstream(Duration.ofMillis(100));
+		MockServerWebExchange first = exchange(MockServerHttpRequest.get("/books/list"));
+		MockServerWebExchange second = exchange(MockServerHttpRequest.get("/books/list"));
+
+		CompletableFuture<Void> firstDone = filter.filter(first, chain).toFuture();
+		CompletableFuture<Void> secondDone = filter.filter(second, chain).toFuture();
+		CompletableFuture.allOf(firstDone, secondDone).get(5, TimeUnit.SECONDS);
+
+		assertThat(upstreamCalls).hasValue(1);
+		assertThat(singleFlight.coalesced()).isEqualTo(1);
+		assertThat(first.getResponse().getBodyAsString().block()).isEqualTo(BODY);
+		assertThat(second.getResponse().getBodyAsString().block()).isEqualTo(BODY);
+		assertThat(singleFlight.inFlight()).isZero();
+	}
+
+	@Test
+	void requestsAnsweredPerClientAreNotShared() throws Exception {
+		GatewayFilterChain chain = slowUpstream(Duration.ofMillis(100));
+		CompletableFuture<Void> plain = filter.filter(exchange(MockServerHttpRequest.get("/books/list")), chain)
+				.toFuture();
+
+		CompletableFuture.allOf(plain,
+				filter.filter(exchange(MockServerHttpRequest.get("/books/list").ifNoneMatch("W/\"1\"")), chain)
+						.toFuture(),
+				filter.filter(exchange(MockServerHttpRequest.get("/books/list")
+						.header(HttpHeaders.IF_MODIFIED_SINCE, "Mon, 19 Oct 2026 00:00:00 GMT")), chain).toFuture(),
+				filter.filter(exchange(MockServerHttpRequest.get("/books/list")
+						.header(HttpHeaders.COOKIE, "read-primary-until=1792368000000")), chain).toFuture(),
+				filter.filter(exchange(MockServerHttpRequest.get("/books/list")
+						.header(HttpHeaders.AUTHORIZATION, "Bearer token")), chain).toFuture(),
+				filter.filter(exchange(MockServerHttpRequest.get("/books/list")
+						.header(HttpHeaders.ACCEPT_LANGUAGE, "vi")), chain).toFuture())
+				.get(5, TimeUnit.SECONDS);
+
+		assertThat(upstreamCalls).hasValue(6);
+		assertThat(singleFlight.coalesced()).isZero();
+	}
+
+	@Test
+	void cancellingLeaderDoesNotFailFollowers() throws Exception {
+		GatewayFilterChain chain = slowUpstream(Duration.ofMillis(100));
+		MockServerWebExchange follower = exchange(MockServerHttpRequest.get("/books/list"));
+
+		Disposable leader = filter.filter(exchange(MockServerHttpRequest.get("/books/list")), chain).subscribe();
+		CompletableFuture<Void> followerDone = filter.filter(follower, chain).toFuture();
+		leader.dispose();
+		followerDone.get(5, TimeUnit.SECONDS);
+
+		assertThat(upstreamCalls).hasValue(1);
+		assertThat(upstreamCancelled).isFalse();
+		assertThat(follower.getResponse().getStatusCode()).isEqualTo(HttpStatus.OK);
+		assertThat(follower.getResponse().getBodyAsString().block()).isEqualTo(BODY);
+		assertThat(singleFlight.inFlight()).isZero();
+	}
+
+	@Test
+	void cancellingEveryWaiterCancelsUpstreamCall() {
+		GatewayFilterChain chain = slowUpstream(Duration.ofSeconds(10));
+
+		Disposable first = filter.filter(exchange(MockServerHttpRequest.get("/books/list")), chain).subscribe();
+		Disposable second = filter.filter(exchange(MockServerHttpRequest.get("/books/list")), chain).subscribe();
+		first.dispose();
+		assertThat(upstreamCancelled).isFalse();
+		second.dispose();
+
+		assertThat(upstreamCancelled).isTrue();
+		assertThat(singleFlight.inFlight()).isZero();
+	}
+
+	@Test
+	void timedOutFlightAnswersGatewayTimeoutAndIsRemoved() throws Exception {
+		properties.setTimeout(Duration.ofMillis(50));
+		GatewayFilterChain hanging = exchange -> {
+			upstreamCalls.incrementAndGet();
+			return Mono.<Void>never().doOnCancel(() -> upstreamCancelled.set(true));
+		};
+
+		CompletableFuture<Void> leader = filter.filter(exchange(MockServerHttpRequest.get("/books/list")), hanging)
+				.toFuture();
+		CompletableFuture<Void> follower = filter.filter(exchange(MockServerHttpRequest.get("/books/list")), hanging)
+				.toFuture();
+
+		for (CompletableFuture<Void> waiter : List.of(leader, follower)) {
+			assertThatThrownBy(() -> waiter.get(5, TimeUnit.SECONDS))
+					.isInstanceOf(ExecutionException.class)
+					.hasCauseInstanceOf(ResponseStatusException.class)
+					.satisfies(e -> assertThat(((ResponseStatusException) e.getCause()).getStatus())
+							.isEqualTo(HttpStatus.GATEWAY_TIMEOUT));
+		}
+		assertThat(upstreamCalls).hasValue(1);
+		assertThat(upstreamCancelled).isTrue();
+		assertThat(singleFlight.inFlight()).isZero();
+
+		MockServerWebExchange retry = exchange(MockServerHttpRequest.get("/books/list"));
+		filter.filter(retry, slowUpstream(Duration.ZERO)).block(Duration.ofSeconds(5));
+		assertThat(upstreamCalls).hasValue(2);
+		assertThat(retry.getResponse().getBodyAsString().block()).isEqualTo(BODY);
+	}
+
+	private GatewayFilterChain slowUpstream(Duration latency) {
+		return exchange -> {
+			upstreamCalls.incrementAndGet();
+			return Mono.delay(latency)
+					.then(Mono.defer(() -> {
+						exchange.getResponse().setStatusCode(HttpStatus.OK);
+						return exchange.getResponse().writeWith(Mono.just(
+								DefaultDataBufferFactory.sharedInstance.wrap(BODY.getBytes(StandardCharsets.UTF_8))));
+					}))
+					.doOnCancel(() -> upstreamCancelled.set(true));
+		};
+	}
+
+	private MockServerWebExchange exchange(MockServerHttpRequest.BaseBuilder<?> request) {
+		MockServerWebExchange exchange = MockServerWebExchange.from(request);
+		exchange.getAttributes().put(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR, route);
+		return exchange;
+	}
+}
@@ -0,0 +1,69 @@
+package com.example.loadbalancer;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.client.DefaultServiceInstance;
+import org.springframework.cloud.client.ServiceInstance;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Verifies that the hash ring moves few keys when an instance joins and that
+ * the load bound diverts keys away from a saturated instance.
+ */
+class ConsistentHashRingTests {
+
+	private static final int KEYS = 10_000;
+
+	@Test
+	void addingAnInstanceOnlyMovesItsShareOfKeys() {
+		List<ServiceInstance> instances = instances(4);
+		ConsistentHashRing before = new ConsistentHashRing(instances, 160);
+		Map<String, ServiceInstance> owners = new HashMap<>();
+		for (int id = 0; id < KEYS; id++) {
+			owners.put(Integer.toString(id), before.locate(Integer.toString(id), 1.25, instance -> 0));
+		}
+
+		List<ServiceInstance> grown = new ArrayList<>(instances);
+		grown.add(instance(5));
+		ConsistentHashRing after = new ConsistentHashRing(grown, 160);
+		int moved = 0;
+		for (int id = 0; id < KEYS; id++) {
+			ServiceInstance owner = after.locate(Integer.toString(id), 1.25, instance -> 0);
+			if (owner != owners.get(Integer.toString(id))) {
+				moved++;
+				assertThat(owner).isSameAs(grown.get(4));
+			}
+		}
+		assertThat(moved).isBetween(KEYS / 5 - KEYS / 20, KEYS / 5 + KEYS / 20);
+	}
+
+	@Test
+	void saturatedOwnerSpillsOverToNextInstance() {
+		List<ServiceInstance> instances = instances(3);
+		ConsistentHashRing ring = new ConsistentHashRing(instances, 160);
+		ServiceInstance owner = ring.locate("42", 1.25, instance -> 0);
+
+		ServiceInstance spilled = ring.locate("42", 1.25, instance -> instance == owner ? 10 : 0);
+
+		assertThat(spilled).isNotSameAs(owner);
+		assertThat(ring.hasMembers(instances)).isTrue();
+		assertThat(ring.hasMembers(instances.subList(0, 2))).isFalse();
+	}
+
+	private static List<ServiceInstance> instances(int count) {
+		List<ServiceInstance> instances = new ArrayList<>();
+		for (int i = 1; i <= count; i++) {
+			instances.add(instance(i));
+		}
+		return instances;
+	}
+
+	private static ServiceInstance instance(int index) {
+		return new DefaultServiceInstance("book-" + index, "BookService", "10.0.0." + index, 8081, false);
+	}
+}
@@ -0,0 +1,81 @@
+package com.example.loadbalancer;
+
+import com.example.filters.InstanceStatsCancelFilter;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.client.DefaultServiceInstance;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.loadbalancer.CompletionContext;
+import org.springframework.cloud.client.loadbalancer.DefaultRequest;
+import org.springframework.cloud.client.loadbalancer.DefaultResponse;
+import org.springframework.cloud.client.loadbalancer.Request;
+import org.springframework.cloud.client.loadbalancer.RequestData;
+import org.springframework.cloud.client.loadbalancer.RequestDataContext;
+import org.springframework.cloud.client.loadbalancer.Response;
+import org.springframework.cloud.client.loadbalancer.ResponseData;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Verifies that every load-balanced call leaves the outstanding count of its
+ * instance once, whether it completes or is cancelled.
+ */
+class InstanceStatsLifecycleTests {
+
+	private final InstanceStatsRegistry registry =
+			new InstanceStatsRegistry(Duration.ofSeconds(10), Duration.ofMillis(50));
+	private final InstanceStatsLifecycle lifecycle = new InstanceStatsLifecycle(registry, Duration.ofSeconds(1));
+	private final ServiceInstance instance =
+			new DefaultServiceInstance("BookService-1", "BookService", "10.0.0.1", 8081, false);
+
+	@Test
+	void cancelledCallIsNoLongerOutstanding() {
+		MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/books/1"));
+		Response<ServiceInstance> lbResponse = new DefaultResponse(instance);
+		exchange.getAttributes().put(ServerWebExchangeUtils.GATEWAY_LOADBALANCER_RESPONSE_ATTR, lbResponse);
+		Request<RequestDataContext> request = request();
+		lifecycle.onStartRequest(request, lbResponse);
+		assertThat(registry.get(instance).outstanding()).isEqualTo(1);
+
+		Disposable call = new InstanceStatsCancelFilter(lifecycle).filter(exchange, forwarded -> Mono.never())
+				.subscribe();
+		call.dispose();
+
+		assertThat(registry.get(instance).outstanding()).isZero();
+
+		lifecycle.onComplete(new CompletionContext<ResponseData, ServiceInstance, RequestDataContext>(
+				CompletionContext.Status.SUCCESS, request, lbResponse));
+
+		assertThat(registry.get(instance).outstanding()).isZero();
+	}
+
+	@Test
+	void completedCallIsNotEndedAgainByCancel() {
+		Response<ServiceInstance> first = new DefaultResponse(instance);
+		Response<ServiceInstance> second = new DefaultResponse(instance);
+		Request<RequestDataContext> request = request();
+		lifecycle.onStartRequest(request, first);
+		lifecycle.onStartRequest(request(), second);
+
+		lifecycle.onComplete(new CompletionContext<ResponseData, ServiceInstance, RequestDataContext>(
+				CompletionContext.Status.SUCCESS, request, first));
+		lifecycle.onCancel(first);
+
+		assertThat(registry.get(instance).outstanding()).isEqualTo(1);
+
+		lifecycle.onCancel(second);
+
+		assertThat(registry.get(instance).outstanding()).isZero();
+	}
+
+	private static Request<RequestDataContext> request() {
+		return new DefaultRequest<>(new RequestDataContext(
+				new RequestData(MockServerHttpRequest.get("/books/1").build()), "default"));
+	}
+}
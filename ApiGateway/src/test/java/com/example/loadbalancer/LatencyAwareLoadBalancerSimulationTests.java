@@ -0,0 +1,105 @@
+package com.example.loadbalancer;
+
+import com.example.configs.GatewayLoadBalancerProperties;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.cloud.client.DefaultServiceInstance;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.loadbalancer.DefaultRequest;
+import org.springframework.cloud.loadbalancer.core.ServiceInstanceListSupplier;
+import org.springframework.cloud.loadbalancer.support.ServiceInstanceListSuppliers;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Simulates three BookService stub instances, one of them stuck in a long GC
+ * pause, on a virtual clock and compares the p99 latency seen by clients under
+ * round robin and under the latency-aware load balancer.
+ */
+class LatencyAwareLoadBalancerSimulationTests {
+
+	private static final int REQUESTS = 20_000;
+	private static final long ARRIVAL_INTERVAL_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+	private static final long FAST_NANOS = TimeUnit.MILLISECONDS.toNanos(5);
+	private static final long SLOW_NANOS = TimeUnit.MILLISECONDS.toNanos(250);
+
+	private final List<ServiceInstance> instances = Arrays.asList(
+			new DefaultServiceInstance("book-1", "BookService", "10.0.0.1", 8081, false),
+			new DefaultServiceInstance("book-2", "BookService", "10.0.0.2", 8081, false),
+			new DefaultServiceInstance("book-3", "BookService", "10.0.0.3", 8081, false));
+
+	private final ServiceInstance slowInstance = instances.get(2);
+
+	@Test
+	void latencyAwareBalancingCutsTailLatencyCausedByOneSlowInstance() {
+		long[] roundRobin = simulate(new InstanceStatsRegistry(Duration.ofSeconds(10), Duration.ofMillis(100)),
+				new AtomicLong(), index -> instances.get(index % instances.size()));
+
+		InstanceStatsRegistry registry = new InstanceStatsRegistry(Duration.ofSeconds(10), Duration.ofMillis(100));
+		AtomicLong clock = new AtomicLong();
+		StaticListableBeanFactory beanFactory = new StaticListableBeanFactory();
+		beanFactory.addBean("supplier", ServiceInstanceListSuppliers.from("BookService",
+				instances.toArray(new ServiceInstance[0])));
+		LatencyAwareLoadBalancer loadBalancer = new LatencyAwareLoadBalancer(
+				beanFactory.getBeanProvider(ServiceInstanceListSupplier.class), "BookService", registry,
+				new GatewayLoadBalancerProperties(), clock::get);
+		long[] latencyAware = simulate(registry, clock,
+				index -> loadBalancer.choose(new DefaultRequest<>()).block().getServer());
+
+		long roundRobinP99 = percentile(roundRobin, 0.99);
+		long latencyAwareP99 = percentile(latencyAware, 0.99);
+		System.out.printf("p99 with round robin: %d ms, latency-aware: %d ms%n",
+				TimeUnit.NANOSECONDS.toMillis(roundRobinP99), TimeUnit.NANOSECONDS.toMillis(latencyAwareP99));
+		assertThat(roundRobinP99).isEqualTo(SLOW_NANOS);
+		assertThat(latencyAwareP99).isEqualTo(FAST_NANOS);
+	}
+
+	/**
+	 * Run the simulation with one request arriving per millisecond.
+	 *
+	 * @param registry the statistics fed with each completion
+	 * @param clock    the virtual clock
+	 * @param chooser  picks the instance for the request with the given index
+	 * @return the latency of every request
+	 */
+	private long[] simulate(InstanceStatsRegistry registry, AtomicLong clock,
+							Function<Integer, ServiceInstance> chooser) {
+		PriorityQueue<long[]> completions = new PriorityQueue<>((a, b) -> Long.compare(a[0], b[0]));
+		long[] latencies = new long[REQUESTS];
+		for (int i = 0; i < REQUESTS; i++) {
+			long now = i * ARRIVAL_INTERVAL_NANOS;
+			while (!completions.isEmpty() && completions.peek()[0] <= now) {
+				long[] completion = completions.poll();
+				registry.get(instances.get((int) completion[1])).end(completion[0], completion[2]);
+			}
+			clock.set(now);
+			ServiceInstance instance = chooser.apply(i);
+			long latency = instance == slowInstance ? SLOW_NANOS : FAST_NANOS;
+			registry.get(instance).begin();
+			completions.add(new long[]{now + latency, instances.indexOf(instance), latency});
+			latencies[i] = latency;
+		}
+		return latencies;
+	}
+
+	/**
+	 * Compute a percentile of the recorded latencies.
+	 *
+	 * @param latencies the latencies
+	 * @param quantile  the quantile, between 0 and 1
+	 * @return the latency at that quantile
+	 */
+	private static long percentile(long[] latencies, double quantile) {
+		long[] sorted = latencies.clone();
+		Arrays.sort(sorted);
+		return sorted[(int) Math.ceil(quantile * sorted.length) - 1];
+	}
+}
@@ -0,0 +1,170 @@
+package com.example.loadtest;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Benchmark of the time from launching the gateway to its first successful
+ * request, started from the jar and, when built with
+ * {@code mvn -Pnative package}, as a native executable. Next to the time it
+ * reports the resident set size of the gateway after that request, read from
+ * {@code /proc} on Linux.
+ * <p>
+ * It only runs when given the packaged gateway, with no other instance on its
+ * port: {@code mvn package -DskipTests && mvn test -Dtest=StartupBenchmarkTests
+ * -Dstartup.jar=target/ApiGateway-0.0.1-SNAPSHOT.jar
+ * -Dstartup.native=target/native/ApiGateway}. The request, the number of
+ * starts per variant and the timeout can be changed with {@code startup.url},
+ * {@code startup.runs} and {@code startup.timeout-seconds}. The gateway's
+ * output goes to {@code target/startup-benchmark.log}.
+ */
+@EnabledIfSystemProperty(named = "startup.jar", matches = ".+")
+class StartupBenchmarkTests {
+
+	private static final String JAR = System.getProperty("startup.jar");
+	private static final String NATIVE = System.getProperty("startup.native");
+	private static final String URL = System.getProperty("startup.url", "http://localhost:8762/actuator/health");
+	private static final int RUNS = Integer.getInteger("startup.runs", 5);
+	private static final Duration TIMEOUT = Duration.ofSeconds(Long.getLong("startup.timeout-seconds", 120));
+	private static final File LOG = new File("target/startup-benchmark.log");
+
+	private final HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(1)).build();
+
+	@Test
+	void timeToFirstSuccessfulRequest() throws Exception {
+		List<Result> results = new ArrayList<>();
+		results.add(run("jvm", java("-jar", JAR)));
+		if (NATIVE != null) {
+			results.add(run("native", Collections.singletonList(new File(NATIVE).getAbsolutePath())));
+		}
+
+		System.out.printf("%-9s %8s %8s %8s %8s%n", "start", "min ms", "p50 ms", "max ms", "p50 MB");
+		for (Result result : results) {
+			result.print();
+			assertThat(result.millis).hasSize(RUNS);
+		}
+	}
+
+	private static List<String> java(String... arguments) {
+		List<String> command = new ArrayList<>();
+		command.add(Paths.get(System.getProperty("java.home"), "bin", "java").toString());
+		command.addAll(Arrays.asList(arguments));
+		return command;
+	}
+
+	/**
+	 * Start the gateway the configured number of times with the given command.
+	 *
+	 * @param name    the variant name used in the report
+	 * @param command the command starting the gateway
+	 * @return the measurements
+	 * @throws Exception if a start fails or is interrupted
+	 */
+	private Result run(String name, List<String> command) throws Exception {
+		Result result = new Result(name);
+		for (int i = 0; i < RUNS; i++) {
+			start(command, result);
+		}
+		return result;
+	}
+
+	/**
+	 * Launch the gateway, wait for its first successful request, record the
+	 * time taken and the memory in use, and stop it.
+	 *
+	 * @param command the command starting the gateway
+	 * @param result  the measurements to add to
+	 * @throws Exception if the gateway stops or times out before serving, or the wait is interrupted
+	 */
+	private void start(List<String> command, Result result) throws Exception {
+		HttpRequest request = HttpRequest.newBuilder(URI.create(URL)).timeout(Duration.ofSeconds(5)).GET().build();
+		long start = System.nanoTime();
+		Process process = new ProcessBuilder(command)
+				.redirectErrorStream(true)
+				.redirectOutput(ProcessBuilder.Redirect.appendTo(LOG))
+				.start();
+		try {
+			while (System.nanoTime() - start < TIMEOUT.toNanos()) {
+				assertThat(process.isAlive()).as("gateway running, see %s", LOG).isTrue();
+				if (succeeds(request)) {
+					result.millis.add(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+					result.megabytes.add(residentMegabytes(process.pid()));
+					return;
+				}
+				Thread.sleep(50);
+			}
+			throw new AssertionError("No successful request to " + URL + " within " + TIMEOUT);
+		} finally {
+			process.destroy();
+			if (!process.waitFor(30, TimeUnit.SECONDS)) {
+				process.destroyForcibly().waitFor();
+			}
+		}
+	}
+
+	private boolean succeeds(HttpRequest request) throws InterruptedException {
+		try {
+			return client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode() / 100 == 2;
+		} catch (IOException e) {
+			return false;
+		}
+	}
+
+	/**
+	 * Read the resident set size of a process.
+	 *
+	 * @param pid the process id
+	 * @return the resident memory in megabytes, or -1 without {@code /proc}
+	 * @throws IOException if the process status cannot be read
+	 */
+	private static long residentMegabytes(long pid) throws IOException {
+		Path status = Paths.get("/proc", Long.toString(pid), "status");
+		if (!Files.exists(status)) {
+			return -1;
+		}
+		return Files.readAllLines(status).stream()
+				.filter(line -> line.startsWith("VmRSS:"))
+				.mapToLong(line -> Long.parseLong(line.replaceAll("\\D", "")) / 1024)
+				.findFirst()
+				.orElse(-1);
+	}
+
+	/**
+	 * Measurements of one variant.
+	 */
+	private static final class Result {
+
+		private final String name;
+		private final List<Long> millis = new ArrayList<>();
+		private final List<Long> megabytes = new ArrayList<>();
+
+		Result(String name) {
+			this.name = name;
+		}
+
+		void print() {
+			long[] sorted = millis.stream().mapToLong(Long::longValue).sorted().toArray();
+			long[] memory = megabytes.stream().mapToLong(Long::longValue).sorted().toArray();
+			System.out.printf("%-9s %8d %8d %8d %8d%n", name, sorted[0], sorted[sorted.length / 2],
+					sorted[sorted.length - 1], memory[memory.length / 2]);
+		}
+	}
+}
@@ -0,0 +1,128 @@
+package com.example.metrics;
+
+import com.example.filters.RouteMetricsFilter;
+import com.example.filters.UpstreamMetricsFilter;
+import com.example.utils.Constants;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Verifies that a request's latency is split into the time queued in the
+ * gateway before an instance is chosen and the time the instance took, and
+ * that timers are registered once and reused.
+ */
+class RouteMetricsTests {
+
+	private static final Duration QUEUE = Duration.ofMillis(100);
+	private static final Duration RESPONSE = Duration.ofMillis(200);
+	private static final String INSTANCE = "10.0.0.1:8081";
+
+	private final Route route = Route.async().id("BookService").uri("lb://BookService")
+			.predicate(exchange -> true).build();
+
+	private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+	private final RouteMetrics routeMetrics = new RouteMetrics(meterRegistry, Duration.ofMinutes(1));
+	private final RouteMetricsFilter routeMetricsFilter = new RouteMetricsFilter(routeMetrics);
+	private final UpstreamMetricsFilter upstreamMetricsFilter = new UpstreamMetricsFilter(routeMetrics);
+
+	private final GatewayFilterChain instance = exchange -> Mono.fromRunnable(() -> {
+		pause(RESPONSE);
+		exchange.getResponse().setStatusCode(HttpStatus.OK);
+	});
+
+	@Test
+	void splitsQueueingFromUpstreamTime() {
+		routeMetricsFilter.filter(exchange(), loadBalancedAfter(QUEUE, instance)).block(Duration.ofSeconds(5));
+
+		Timer queue = meterRegistry.get(Constants.METRIC_ROUTE_QUEUE)
+				.tags(Constants.TAG_ROUTE_ID, route.getId(), Constants.TAG_INSTANCE, INSTANCE).timer();
+		Timer upstream = meterRegistry.get(Constants.METRIC_ROUTE_UPSTREAM)
+				.tags(Constants.TAG_ROUTE_ID, route.getId(), Constants.TAG_INSTANCE, INSTANCE,
+						Constants.TAG_STATUS, "200").timer();
+		Timer request = meterRegistry.get(Constants.METRIC_ROUTE_REQUESTS)
+				.tags(Constants.TAG_ROUTE_ID, route.getId(), Constants.TAG_STATUS, "200",
+						Constants.TAG_OUTCOME, Constants.OUTCOME_SUCCESS).timer();
+
+		assertThat(millis(queue)).isBetween(QUEUE.toMillis(), RESPONSE.toMillis() - 1);
+		assertThat(millis(upstream)).isBetween(RESPONSE.toMillis(), RESPONSE.plus(QUEUE).toMillis() - 1);
+		assertThat(millis(request)).isGreaterThanOrEqualTo(QUEUE.plus(RESPONSE).toMillis());
+		assertThat(meterRegistry.get(Constants.METRIC_ROUTE_LATENCY).timer().count()).isEqualTo(1);
+	}
+
+	@Test
+	void cancelledCallIsNotCountedInRouteLatency() {
+		Disposable call = routeMetricsFilter.filter(exchange(), loadBalancedAfter(Duration.ZERO, exchange -> Mono.never()))
+				.subscribe();
+		call.dispose();
+
+		assertThat(meterRegistry.get(Constants.METRIC_ROUTE_UPSTREAM)
+				.tags(Constants.TAG_STATUS, Constants.TAG_VALUE_NONE).timer().count()).isEqualTo(1);
+		assertThat(meterRegistry.get(Constants.METRIC_ROUTE_REQUESTS)
+				.tags(Constants.TAG_OUTCOME, Constants.OUTCOME_UNKNOWN).timer().count()).isEqualTo(1);
+		assertThat(meterRegistry.find(Constants.METRIC_ROUTE_LATENCY).timer()).isNull();
+	}
+
+	@Test
+	void reusesTimersAcrossRequests() {
+		for (int i = 0; i < 1_000; i++) {
+			routeMetrics.recordQueue(route.getId(), INSTANCE, 1_000);
+			routeMetrics.recordUpstream(route.getId(), INSTANCE, 200, 2_000);
+			routeMetrics.recordRequest(route.getId(), 200, 3_000);
+			routeMetrics.recordRouteLatency(route.getId(), 2_000);
+		}
+
+		assertThat(meterRegistry.getMeters()).filteredOn(Timer.class::isInstance).hasSize(4);
+		assertThat(meterRegistry.get(Constants.METRIC_ROUTE_QUEUE).timer().count()).isEqualTo(1_000);
+		assertThat(routeMetrics.routeLatencyPercentile(route.getId(), 0.5, 1_000)).isPositive();
+		assertThat(routeMetrics.routeLatencyPercentile(route.getId(), 0.5, 1_001)).isZero();
+	}
+
+	/**
+	 * Stand in for the load balancer: wait, pick the instance and continue
+	 * through the upstream metrics filter. The chain runs on the subscribing
+	 * thread, so the filters' completion hooks have run once it returns.
+	 */
+	private GatewayFilterChain loadBalancedAfter(Duration delay, GatewayFilterChain upstream) {
+		return exchange -> Mono.defer(() -> {
+			pause(delay);
+			exchange.getAttributes().put(ServerWebExchangeUtils.GATEWAY_REQUEST_URL_ATTR,
+					URI.create("http://" + INSTANCE + "/books/list"));
+			return upstreamMetricsFilter.filter(exchange, upstream);
+		});
+	}
+
+	private MockServerWebExchange exchange() {
+		MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/books/list"));
+		exchange.getAttributes().put(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR, route);
+		return exchange;
+	}
+
+	private static void pause(Duration duration) {
+		try {
+			Thread.sleep(duration.toMillis());
+		}
+		catch (InterruptedException ex) {
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException(ex);
+		}
+	}
+
+	private static long millis(Timer timer) {
+		return (long) timer.totalTime(TimeUnit.MILLISECONDS);
+	}
+}
@@ -0,0 +1,142 @@
+package com.example.ratelimit;
+
+import com.example.configs.RateLimitProperties;
+import com.example.filters.RateLimitFilter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.net.InetSocketAddress;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Verifies the admission behaviour of the rate limit filter, including that
+ * client-supplied headers cannot buy a fresh bucket, and reports its per-request
+ * overhead.
+ */
+class RateLimitFilterBenchmarkTests {
+
+	private static final int WARMUP_ITERATIONS = 200_000;
+	private static final int MEASURED_ITERATIONS = 1_000_000;
+
+	private final Route route = Route.async().id("BookService").uri("lb://BookService")
+			.predicate(exchange -> true).build();
+
+	private final GatewayFilterChain passThrough = exchange -> Mono.empty();
+
+	@Test
+	void rejectsWithRetryAfterOnceBurstIsSpent() {
+		RateLimitFilter filter = filter(1, 3);
+
+		for (int i = 0; i < 3; i++) {
+			MockServerWebExchange admitted = exchange("10.0.0.1");
+			filter.filter(admitted, passThrough).block();
+			assertThat(admitted.getResponse().getStatusCode()).isNull();
+		}
+
+		MockServerWebExchange rejected = exchange("10.0.0.1");
+		filter.filter(rejected, passThrough).block();
+		assertThat(rejected.getResponse().getStatusCode()).isEqualTo(HttpStatus.TOO_MANY_REQUESTS);
+		assertThat(rejected.getResponse().getHeaders().getFirst(HttpHeaders.RETRY_AFTER)).isEqualTo("1");
+
+		MockServerWebExchange otherClient = exchange("10.0.0.2");
+		filter.filter(otherClient, passThrough).block();
+		assertThat(otherClient.getResponse().getStatusCode()).isNull();
+	}
+
+	@Test
+	void clientHeadersDoNotBypassLimit() {
+		RateLimitFilter filter = filter(1, 1);
+		filter.filter(exchange("10.0.0.1"), passThrough).block();
+
+		for (int i = 0; i < 5; i++) {
+			MockServerWebExchange spoofed = exchange(MockServerHttpRequest.get("/books/list")
+					.header("X-Client-Id", "client-" + i)
+					.header("X-Forwarded-For", "192.168.0." + i), "10.0.0.1");
+			filter.filter(spoofed, passThrough).block();
+			assertThat(spoofed.getResponse().getStatusCode()).isEqualTo(HttpStatus.TOO_MANY_REQUESTS);
+		}
+	}
+
+	@Test
+	void trustedProxyForwardsClientAddress() {
+		RateLimitFilter filter = filter(1, 1, "10.0.0.100", "10.0.0.101");
+
+		MockServerWebExchange first = forwarded("192.168.0.1, 10.0.0.101");
+		filter.filter(first, passThrough).block();
+		assertThat(first.getResponse().getStatusCode()).isNull();
+
+		MockServerWebExchange sameClient = forwarded("203.0.113.9, 192.168.0.1");
+		filter.filter(sameClient, passThrough).block();
+		assertThat(sameClient.getResponse().getStatusCode()).isEqualTo(HttpStatus.TOO_MANY_REQUESTS);
+
+		MockServerWebExchange otherClient = forwarded("192.168.0.2");
+		filter.filter(otherClient, passThrough).block();
+		assertThat(otherClient.getResponse().getStatusCode()).isNull();
+	}
+
+	@Test
+	void reportsFilterOverheadPerRequest() {
+		RateLimitFilter filter = filter(1_000_000_000, 1_000_000_000);
+		MockServerWebExchange[] exchanges = new MockServerWebExchange[1024];
+		for (int i = 0; i < exchanges.length; i++) {
+			exchanges[i] = exchange("10.0." + (i >> 8) + "." + (i & 255));
+		}
+
+		for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+			filter.filter(exchanges[i & 1023], passThrough).block();
+		}
+		long start = System.nanoTime();
+		for (int i = 0; i < MEASURED_ITERATIONS; i++) {
+			filter.filter(exchanges[i & 1023], passThrough).block();
+		}
+		long withFilter = System.nanoTime() - start;
+
+		start = System.nanoTime();
+		for (int i = 0; i < MEASURED_ITERATIONS; i++) {
+			passThrough.filter(exchanges[i & 1023]).block();
+		}
+		long baseline = System.nanoTime() - start;
+
+		double overheadNanos = (double) (withFilter - baseline) / MEASURED_ITERATIONS;
+		System.out.printf("Rate limit filter overhead: %.1f ns/request (%.1f ns with filter, %.1f ns baseline)%n",
+				overheadNanos, (double) withFilter / MEASURED_ITERATIONS, (double) baseline / MEASURED_ITERATIONS);
+		assertThat(overheadNanos).isLessThan(50_000.0);
+	}
+
+	private RateLimitFilter filter(double replenishRate, int burstCapacity, String... trustedProxies) {
+		RateLimitProperties properties = new RateLimitProperties();
+		properties.getTrustedProxies().addAll(List.of(trustedProxies));
+		RateLimitProperties.Limit limit = new RateLimitProperties.Limit();
+		limit.setReplenishRate(replenishRate);
+		limit.setBurstCapacity(burstCapacity);
+		properties.getRoutes().put(route.getId(), limit);
+		return new RateLimitFilter(new TokenBucketRateLimiter(properties.getMaxBuckets()), properties,
+				new SimpleMeterRegistry());
+	}
+
+	private MockServerWebExchange exchange(String clientAddress) {
+		return exchange(MockServerHttpRequest.get("/books/list"), clientAddress);
+	}
+
+	private MockServerWebExchange forwarded(String forwardedFor) {
+		return exchange(MockServerHttpRequest.get("/books/list").header("X-Forwarded-For", forwardedFor),
+				"10.0.0.100");
+	}
+
+	private MockServerWebExchange exchange(MockServerHttpRequest.BaseBuilder<?> request, String remoteAddress) {
+		MockServerWebExchange exchange = MockServerWebExchange.from(
+				request.remoteAddress(new InetSocketAddress(remoteAddress, 40_000)));
+		exchange.getAttributes().put(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR, route);
+		return exchange;
+	}
+}
@@ -0,0 +1,41 @@
+package com.example.ratelimit;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Verifies that the bucket store stays bounded under a flood of new keys and
+ * that it drops idle buckets before active ones.
+ */
+class TokenBucketRateLimiterTests {
+
+	@Test
+	void floodOfNewKeysStaysWithinBound() {
+		TokenBucketRateLimiter rateLimiter = new TokenBucketRateLimiter(1_000);
+
+		for (int i = 0; i < 200_000; i++) {
+			assertThat(rateLimiter.tryAcquire("client-" + i, 1, 10)).isZero();
+			assertThat(rateLimiter.size()).isLessThanOrEqualTo(1_000);
+		}
+	}
+
+	@Test
+	void idleBucketsAreDroppedBeforeActiveOnes() throws InterruptedException {
+		TokenBucketRateLimiter rateLimiter = new TokenBucketRateLimiter(64);
+		for (int i = 0; i < 60; i++) {
+			rateLimiter.tryAcquire("idle-" + i, 1_000, 1);
+		}
+		for (int i = 0; i < 4; i++) {
+			rateLimiter.tryAcquire("active-" + i, 0.001, 1);
+		}
+		Thread.sleep(10);
+
+		rateLimiter.tryAcquire("new", 1, 1);
+
+		assertThat(rateLimiter.size()).isLessThanOrEqualTo(61);
+		for (int i = 0; i < 4; i++) {
+			assertThat(rateLimiter.tryAcquire("active-" + i, 0.001, 1)).isPositive();
+		}
+	}
+}
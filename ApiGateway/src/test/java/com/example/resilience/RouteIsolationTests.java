@@ -0,0 +1,133 @@
+package com.example.resilience;
+
+import com.example.cache.CachedResponse;
+import com.example.cache.RequestKey;
+import com.example.cache.ResponseCache;
+import com.example.configs.ResilienceProperties;
+import com.example.filters.RouteResilienceFilter;
+import com.example.utils.Constants;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Injects latency into the BookService route and checks that its bulkhead and
+ * circuit breaker contain the damage while AuthorService keeps answering.
+ */
+class RouteIsolationTests {
+
+	private static final Duration BOOK_LATENCY = Duration.ofMillis(300);
+
+	private final Route bookRoute = route("BookService");
+	private final Route authorRoute = route("AuthorService");
+
+	private final GatewayFilterChain downstream = exchange -> {
+		Route route = exchange.getRequiredAttribute(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR);
+		Mono<Void> respond = Mono.fromRunnable(() -> exchange.getResponse().setStatusCode(HttpStatus.OK));
+		return route == bookRoute ? Mono.delay(BOOK_LATENCY).then(respond) : respond;
+	};
+
+	private ResponseCache responseCache;
+	private RouteResilienceFilter filter;
+
+	@BeforeEach
+	void setUp() {
+		ResilienceProperties properties = new ResilienceProperties();
+		ResilienceProperties.RoutePolicy books = new ResilienceProperties.RoutePolicy();
+		books.setMaxConcurrentCalls(4);
+		books.setSlowCallDurationThreshold(Duration.ofMillis(100));
+		books.setSlowCallRateThreshold(50);
+		books.setSlidingWindowSize(4);
+		books.setMinimumNumberOfCalls(4);
+		books.setWaitDurationInOpenState(Duration.ofSeconds(30));
+		properties.getRoutes().put(bookRoute.getId(), books);
+		properties.getRoutes().put(authorRoute.getId(), new ResilienceProperties.RoutePolicy());
+
+		responseCache = new ResponseCache(100);
+		filter = new RouteResilienceFilter(new RouteResilienceRegistry(properties), responseCache,
+				new SimpleMeterRegistry());
+	}
+
+	@Test
+	void slowBookRouteDoesNotDelayAuthorRoute() throws Exception {
+		CompletableFuture<List<MockServerWebExchange>> books = Flux.range(0, 20)
+				.flatMap(i -> call(bookRoute, "/books/list?page=" + i))
+				.collectList()
+				.toFuture();
+
+		long start = System.nanoTime();
+		List<MockServerWebExchange> authors = Flux.range(0, 20)
+				.flatMap(i -> call(authorRoute, "/authors/" + i))
+				.collectList()
+				.block();
+		Duration authorElapsed = Duration.ofNanos(System.nanoTime() - start);
+
+		assertThat(authors).allMatch(exchange -> exchange.getResponse().getStatusCode() == HttpStatus.OK);
+		assertThat(authorElapsed).isLessThan(BOOK_LATENCY);
+
+		List<MockServerWebExchange> bookResults = books.get();
+		assertThat(bookResults).filteredOn(exchange -> exchange.getResponse().getStatusCode() == HttpStatus.OK)
+				.hasSize(4);
+		assertThat(bookResults)
+				.filteredOn(exchange -> exchange.getResponse().getStatusCode() == HttpStatus.SERVICE_UNAVAILABLE)
+				.hasSize(16);
+	}
+
+	@Test
+	void openCircuitServesStaleResponseOrUnavailable() {
+		MockServerWebExchange cachedRequest = exchange(bookRoute, "/books/list");
+		byte[] body = "[{\"id\":1}]".getBytes(StandardCharsets.UTF_8);
+		long expired = System.nanoTime() - 1;
+		responseCache.put(RequestKey.of(cachedRequest.getRequest()),
+				new CachedResponse(bookRoute.getId(), 200, new HttpHeaders(), body, expired, expired),
+				responseCache.generation(bookRoute.getId()));
+
+		for (int i = 0; i < 4; i++) {
+			call(bookRoute, "/books/title?title=slow-" + i).block();
+		}
+
+		filter.filter(cachedRequest, downstream).block(Duration.ofMillis(100));
+		assertThat(cachedRequest.getResponse().getStatusCode()).isEqualTo(HttpStatus.OK);
+		assertThat(cachedRequest.getResponse().getHeaders().getFirst(Constants.HEADER_CACHE_STATUS))
+				.isEqualTo(Constants.CACHE_STATUS_STALE);
+		assertThat(cachedRequest.getResponse().getBodyAsString().block()).isEqualTo("[{\"id\":1}]");
+
+		MockServerWebExchange uncached = call(bookRoute, "/books/title?title=other").block(Duration.ofMillis(100));
+		assertThat(uncached.getResponse().getStatusCode()).isEqualTo(HttpStatus.SERVICE_UNAVAILABLE);
+		assertThat(uncached.getResponse().getHeaders().getFirst(HttpHeaders.RETRY_AFTER)).isEqualTo("30");
+
+		MockServerWebExchange author = call(authorRoute, "/authors/1").block(Duration.ofMillis(100));
+		assertThat(author.getResponse().getStatusCode()).isEqualTo(HttpStatus.OK);
+	}
+
+	private Mono<MockServerWebExchange> call(Route route, String path) {
+		MockServerWebExchange exchange = exchange(route, path);
+		return filter.filter(exchange, downstream).thenReturn(exchange);
+	}
+
+	private static MockServerWebExchange exchange(Route route, String path) {
+		MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get(path));
+		exchange.getAttributes().put(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR, route);
+		return exchange;
+	}
+
+	private static Route route(String id) {
+		return Route.async().id(id).uri("lb://" + id).predicate(exchange -> true).build();
+	}
+}
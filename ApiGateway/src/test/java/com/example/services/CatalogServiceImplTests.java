@@ -0,0 +1,86 @@
+package com.example.services;
+
+import com.example.configs.CatalogProperties;
+import com.example.dto.response.CatalogEntry;
+import com.example.services.impl.CatalogServiceImpl;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Verifies that the catalog requests books and authors concurrently and that
+ * authors missing from the prefetched page are still resolved.
+ */
+class CatalogServiceImplTests {
+
+	private static final Duration LATENCY = Duration.ofMillis(300);
+
+	private static final String BOOKS = "{\"content\":[{\"id\":1,\"title\":\"First\",\"author\":1},"
+			+ "{\"id\":2,\"title\":\"Second\",\"author\":2}]}";
+
+	private final Map<String, String> responses = new ConcurrentHashMap<>();
+	private final List<String> requested = new CopyOnWriteArrayList<>();
+
+	private final ICatalogService catalogService = new CatalogServiceImpl(WebClient.builder()
+			.exchangeFunction(request -> {
+				String path = request.url().getPath();
+				requested.add(path);
+				String body = responses.get(path);
+				if (body == null) {
+					return Mono.delay(LATENCY).thenReturn(ClientResponse.create(HttpStatus.SERVICE_UNAVAILABLE).build());
+				}
+				return Mono.delay(LATENCY).thenReturn(ClientResponse.create(HttpStatus.OK)
+						.header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+						.body(body)
+						.build());
+			}), new CatalogProperties());
+
+	@Test
+	void latencyIsThatOfSlowerCallNotTheSum() {
+		responses.put("/books/list", BOOKS);
+		responses.put("/authors", "{\"content\":[{\"id\":1,\"authorName\":\"Ann\"},{\"id\":2,\"authorName\":\"Bob\"}]}");
+
+		long start = System.nanoTime();
+		List<CatalogEntry> catalog = catalogService.getCatalog(0, 10).collectList().block(Duration.ofSeconds(5));
+		Duration elapsed = Duration.ofNanos(System.nanoTime() - start);
+
+		assertThat(catalog).extracting(entry -> entry.getAuthor().getAuthorName()).containsExactly("Ann", "Bob");
+		assertThat(requested).containsExactlyInAnyOrder("/books/list", "/authors");
+		assertThat(elapsed).isGreaterThanOrEqualTo(LATENCY).isLessThan(LATENCY.multipliedBy(2));
+	}
+
+	@Test
+	void authorsMissingFromPrefetchedPageAreFetchedById() {
+		responses.put("/books/list", BOOKS);
+		responses.put("/authors", "{\"content\":[{\"id\":1,\"authorName\":\"Ann\"}]}");
+		responses.put("/authors/2", "{\"id\":2,\"authorName\":\"Bob\"}");
+
+		List<CatalogEntry> catalog = catalogService.getCatalog(0, 10).collectList().block(Duration.ofSeconds(5));
+
+		assertThat(catalog).extracting(entry -> entry.getAuthor().getAuthorName()).containsExactly("Ann", "Bob");
+		assertThat(requested).containsExactlyInAnyOrder("/books/list", "/authors", "/authors/2");
+	}
+
+	@Test
+	void booksAreServedWithoutAuthorsWhenAuthorServiceFails() {
+		responses.put("/books/list", BOOKS);
+
+		List<CatalogEntry> catalog = catalogService.getCatalog(0, 10).collectList().block(Duration.ofSeconds(5));
+
+		assertThat(catalog).extracting(entry -> entry.getBook().getTitle()).containsExactly("First", "Second");
+		assertThat(catalog).allMatch(entry -> entry.getAuthor() == null);
+		assertThat(requested).containsExactlyInAnyOrder("/books/list", "/authors");
+	}
+}
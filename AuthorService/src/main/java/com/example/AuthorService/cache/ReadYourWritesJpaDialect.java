@@ -0,0 +1,39 @@
+package com.example.AuthorService.cache;
+
+import com.example.AuthorService.replication.ReadYourWrites;
+import org.hibernate.CacheMode;
+import org.hibernate.Session;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.orm.jpa.vendor.HibernateJpaDialect;
+import org.springframework.transaction.TransactionDefinition;
+
+import javax.persistence.CacheRetrieveMode;
+import javax.persistence.CacheStoreMode;
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceException;
+import java.sql.SQLException;
+
+/**
+ * Hibernate JPA dialect reading past the second-level and query caches in
+ * the transactions of a request bound to the primary by
+ * {@link ReadYourWrites}. The caches of an instance do not see writes made
+ * through other instances until their entries expire, so a client that has
+ * just written reads from the database instead, for as long as it is bound
+ * to the primary. Hibernate takes the cache mode of {@code find} from the
+ * entity manager's JPA cache properties and that of queries from the session,
+ * so both are set.
+ */
+public class ReadYourWritesJpaDialect extends HibernateJpaDialect {
+
+    @Override
+    public Object beginTransaction(EntityManager entityManager, TransactionDefinition definition)
+            throws PersistenceException, SQLException {
+        boolean bypass = ReadYourWrites.isPrimaryRequired();
+        entityManager.setProperty(AvailableSettings.JPA_SHARED_CACHE_RETRIEVE_MODE,
+                bypass ? CacheRetrieveMode.BYPASS : CacheRetrieveMode.USE);
+        entityManager.setProperty(AvailableSettings.JPA_SHARED_CACHE_STORE_MODE,
+                bypass ? CacheStoreMode.BYPASS : CacheStoreMode.USE);
+        entityManager.unwrap(Session.class).setCacheMode(bypass ? CacheMode.IGNORE : CacheMode.NORMAL);
+        return super.beginTransaction(entityManager, definition);
+    }
+}
@@ -0,0 +1,95 @@
+package com.example.AuthorService.cache;
+
+import com.example.AuthorService.utils.Constants;
+import org.ehcache.config.builders.CacheConfigurationBuilder;
+import org.ehcache.config.builders.ExpiryPolicyBuilder;
+import org.ehcache.config.builders.ResourcePoolsBuilder;
+import org.ehcache.core.config.DefaultConfiguration;
+import org.ehcache.expiry.ExpiryPolicy;
+import org.ehcache.jsr107.Eh107Configuration;
+import org.ehcache.jsr107.EhcacheCachingProvider;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.cache.jcache.MissingCacheStrategy;
+import org.hibernate.cache.spi.RegionFactory;
+import org.hibernate.cfg.AvailableSettings;
+
+import javax.cache.CacheManager;
+import java.net.URI;
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * Sets up Hibernate's second-level and query caches on an in-process Ehcache
+ * through JCache. Every region is created up front with a bounded heap and a
+ * time to live, so that Hibernate never falls back to unbounded defaults.
+ * <p>
+ * The update timestamps region, which tells Hibernate whether a cached query
+ * result is older than the last write to its tables, holds one entry per table
+ * and never expires: losing an entry would let stale query results through.
+ */
+public final class SecondLevelCaches {
+
+    private SecondLevelCaches() {
+    }
+
+    /**
+     * Create a cache manager holding the given entity regions, the query
+     * results region and the update timestamps region, with statistics
+     * enabled.
+     *
+     * @param uri              identifies the cache manager, e.g. in its JMX statistics
+     * @param entityMaxEntries the number of entities each entity region holds before evicting
+     * @param entityTimeToLive how long a cached entity is served
+     * @param queryMaxEntries  the number of query results held before evicting
+     * @param queryTimeToLive  how long a cached query result is served
+     * @param entityRegions    the regions named by the cached entities
+     * @return the cache manager, to be closed with the application
+     */
+    public static CacheManager createCacheManager(String uri, long entityMaxEntries, Duration entityTimeToLive,
+                                                  long queryMaxEntries, Duration queryTimeToLive,
+                                                  String... entityRegions) {
+        EhcacheCachingProvider provider = new EhcacheCachingProvider();
+        CacheManager cacheManager = provider.getCacheManager(URI.create(uri),
+                new DefaultConfiguration(provider.getDefaultClassLoader()));
+        for (String region : entityRegions) {
+            createCache(cacheManager, region, entityMaxEntries,
+                    ExpiryPolicyBuilder.timeToLiveExpiration(entityTimeToLive));
+        }
+        createCache(cacheManager, RegionFactory.DEFAULT_QUERY_RESULTS_REGION_UNQUALIFIED_NAME, queryMaxEntries,
+                ExpiryPolicyBuilder.timeToLiveExpiration(queryTimeToLive));
+        createCache(cacheManager, RegionFactory.DEFAULT_UPDATE_TIMESTAMPS_REGION_UNQUALIFIED_NAME,
+                Constants.SECOND_LEVEL_CACHE_TIMESTAMPS_MAX_ENTRIES, ExpiryPolicyBuilder.noExpiration());
+        return cacheManager;
+    }
+
+    /**
+     * Point Hibernate at the cache manager, or turn its caches off.
+     *
+     * @param hibernateProperties the Hibernate properties to complete
+     * @param cacheManager        the cache manager holding every region, or null to disable caching
+     * @param queryCache          whether the results of cacheable queries are cached as well
+     */
+    public static void configure(Map<String, Object> hibernateProperties, CacheManager cacheManager,
+                                 boolean queryCache) {
+        boolean enabled = cacheManager != null;
+        hibernateProperties.put(AvailableSettings.USE_SECOND_LEVEL_CACHE, enabled);
+        hibernateProperties.put(AvailableSettings.USE_QUERY_CACHE, enabled && queryCache);
+        if (!enabled) {
+            return;
+        }
+        hibernateProperties.put(AvailableSettings.CACHE_REGION_FACTORY, Constants.HIBERNATE_JCACHE_REGION_FACTORY);
+        hibernateProperties.put(ConfigSettings.CACHE_MANAGER, cacheManager);
+        hibernateProperties.put(ConfigSettings.MISSING_CACHE_STRATEGY,
+                MissingCacheStrategy.FAIL.getExternalRepresentation());
+        hibernateProperties.put(AvailableSettings.GENERATE_STATISTICS, true);
+    }
+
+    private static void createCache(CacheManager cacheManager, String name, long maxEntries,
+                                    ExpiryPolicy<Object, Object> expiry) {
+        cacheManager.createCache(name, Eh107Configuration.fromEhcacheCacheConfiguration(
+                CacheConfigurationBuilder.newCacheConfigurationBuilder(Object.class, Object.class,
+                                ResourcePoolsBuilder.heap(maxEntries))
+                        .withExpiry(expiry)));
+        cacheManager.enableStatistics(name, true);
+    }
+}
@@ -0,0 +1,98 @@
+package com.example.AuthorService.concurrency;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Admits requests while fewer than the learned limit are in flight and
+ * rejects the others straight away, so that excess load is shed before it
+ * queues up for threads and connections.
+ */
+public class AdaptiveConcurrencyLimiter {
+
+    private final LimitAlgorithm algorithm;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicLong rejected = new AtomicLong();
+
+    /**
+     * Constructs the limiter.
+     *
+     * @param algorithm learns the limit from completed requests
+     */
+    public AdaptiveConcurrencyLimiter(LimitAlgorithm algorithm) {
+        this.algorithm = algorithm;
+    }
+
+    /**
+     * Admit a request if the limit allows it.
+     *
+     * @return the permit to release when the request completes, or null if the request must be rejected
+     */
+    public Permit tryAcquire() {
+        while (true) {
+            int current = inFlight.get();
+            if (current >= algorithm.getLimit()) {
+                rejected.incrementAndGet();
+                return null;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return new Permit(current + 1);
+            }
+        }
+    }
+
+    /**
+     * Get the current concurrency limit.
+     *
+     * @return the number of requests allowed in flight
+     */
+    public int getLimit() {
+        return algorithm.getLimit();
+    }
+
+    /**
+     * Get the number of requests in flight.
+     *
+     * @return the number of admitted requests not yet completed
+     */
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    /**
+     * Get the number of requests rejected since startup.
+     *
+     * @return the rejected request count
+     */
+    public long getRejected() {
+        return rejected.get();
+    }
+
+    /**
+     * An admitted request. Releasing it reports the request's latency to the
+     * limit algorithm; only the first release counts.
+     */
+    public final class Permit {
+
+        private final int inFlightAtStart;
+        private final long startNanos = System.nanoTime();
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        private Permit(int inFlightAtStart) {
+            this.inFlightAtStart = inFlightAtStart;
+        }
+
+        /**
+         * Release the permit once the request completed.
+         *
+         * @param dropped whether the request failed in a way that points at overload
+         */
+        public void release(boolean dropped) {
+            if (released.compareAndSet(false, true)) {
+                inFlight.decrementAndGet();
+                algorithm.onSample(System.nanoTime() - startNanos, inFlightAtStart, dropped);
+            }
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package com.example.AuthorService.concurrency;
+
+/**
+ * Additive increase, multiplicative decrease: the limit grows by one after
+ * each request that completed in time while the service was busy, and is cut
+ * by the backoff ratio after a request that failed or took longer than the
+ * timeout.
+ */
+public class AimdLimit implements LimitAlgorithm {
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final double backoffRatio;
+    private final long timeoutNanos;
+    private volatile int limit;
+
+    /**
+     * Constructs the algorithm.
+     *
+     * @param initialLimit the limit to start with
+     * @param minLimit     the lowest limit
+     * @param maxLimit     the highest limit
+     * @param backoffRatio the factor the limit is multiplied with on overload, below 1
+     * @param timeoutNanos the latency above which a request counts as dropped, in nanoseconds
+     */
+    public AimdLimit(int initialLimit, int minLimit, int maxLimit, double backoffRatio, long timeoutNanos) {
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.backoffRatio = backoffRatio;
+        this.timeoutNanos = timeoutNanos;
+        this.limit = initialLimit;
+    }
+
+    @Override
+    public int getLimit() {
+        return limit;
+    }
+
+    @Override
+    public synchronized void onSample(long rttNanos, int inFlight, boolean dropped) {
+        if (dropped || rttNanos > timeoutNanos) {
+            limit = Math.max(minLimit, (int) (limit * backoffRatio));
+        } else if (inFlight * 2 >= limit) {
+            limit = Math.min(maxLimit, limit + 1);
+        }
+    }
+}
@@ -0,0 +1,111 @@
+package com.example.AuthorService.concurrency;
+
+import com.example.AuthorService.exception.ErrorResponses;
+import com.example.AuthorService.utils.Constants;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import javax.servlet.AsyncEvent;
+import javax.servlet.AsyncListener;
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+
+/**
+ * Sheds the requests the {@link AdaptiveConcurrencyLimiter} does not admit
+ * with 503, before they reach a controller. Admitted requests hold their
+ * permit until the response is complete, including asynchronous ones; a 5xx
+ * response, an error or an async timeout counts as a drop.
+ */
+public class ConcurrencyLimitFilter extends OncePerRequestFilter {
+
+    private final AdaptiveConcurrencyLimiter limiter;
+    private final ObjectMapper objectMapper;
+
+    /**
+     * Constructs the filter.
+     *
+     * @param limiter      the concurrency limiter
+     * @param objectMapper writes the error body of rejected requests
+     */
+    public ConcurrencyLimitFilter(AdaptiveConcurrencyLimiter limiter, ObjectMapper objectMapper) {
+        this.limiter = limiter;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        AdaptiveConcurrencyLimiter.Permit permit = limiter.tryAcquire();
+        if (permit == null) {
+            reject(request, response);
+            return;
+        }
+        try {
+            chain.doFilter(request, response);
+        } catch (IOException | ServletException | RuntimeException e) {
+            permit.release(true);
+            throw e;
+        }
+        if (request.isAsyncStarted()) {
+            request.getAsyncContext().addListener(new PermitReleasingListener(permit, response));
+        } else {
+            permit.release(isServerError(response));
+        }
+    }
+
+    /**
+     * Answer a rejected request with 503 and the usual error body.
+     *
+     * @param request  the rejected request
+     * @param response the response
+     * @throws IOException if the body cannot be written
+     */
+    private void reject(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        response.setHeader(HttpHeaders.RETRY_AFTER, Constants.CONCURRENCY_LIMIT_RETRY_AFTER_SECONDS);
+        ErrorResponses.write(request, response, objectMapper, HttpStatus.SERVICE_UNAVAILABLE,
+                Constants.CONCURRENCY_LIMIT_EXCEEDED);
+    }
+
+    private static boolean isServerError(HttpServletResponse response) {
+        return response.getStatus() >= HttpStatus.INTERNAL_SERVER_ERROR.value();
+    }
+
+    /**
+     * Releases the permit of an asynchronous request once its response is complete.
+     */
+    private static final class PermitReleasingListener implements AsyncListener {
+
+        private final AdaptiveConcurrencyLimiter.Permit permit;
+        private final HttpServletResponse response;
+
+        PermitReleasingListener(AdaptiveConcurrencyLimiter.Permit permit, HttpServletResponse response) {
+            this.permit = permit;
+            this.response = response;
+        }
+
+        @Override
+        public void onComplete(AsyncEvent event) {
+            permit.release(isServerError(response));
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+            permit.release(true);
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+            permit.release(true);
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+            event.getAsyncContext().addListener(this);
+        }
+    }
+}
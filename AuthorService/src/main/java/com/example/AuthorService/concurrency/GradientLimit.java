@@ -0,0 +1,71 @@
+package com.example.AuthorService.concurrency;
+
+/**
+ * Adjusts the limit by the ratio between the long-term and the current
+ * latency, as Netflix's gradient limit does. While requests are as fast as
+ * usual the limit grows by a small queue allowance; when they slow down,
+ * because requests queue up for the database, the limit shrinks in
+ * proportion, down to half per sample. Samples taken while the service was
+ * far below its limit are ignored, so that an idle period does not inflate
+ * the limit.
+ */
+public class GradientLimit implements LimitAlgorithm {
+
+    private static final double MIN_GRADIENT = 0.5;
+    private static final double DRIFT_RATIO = 2.0;
+    private static final double DRIFT_DECAY = 0.95;
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final double smoothing;
+    private final double tolerance;
+    private final int longWindow;
+    private double estimatedLimit;
+    private double longRttNanos;
+    private volatile int limit;
+
+    /**
+     * Constructs the algorithm.
+     *
+     * @param initialLimit the limit to start with
+     * @param minLimit     the lowest limit
+     * @param maxLimit     the highest limit
+     * @param smoothing    the weight of each new estimate, from 0 to 1
+     * @param tolerance    how much slower than the long-term latency requests may get before the limit shrinks
+     * @param longWindow   the number of samples the long-term latency is averaged over
+     */
+    public GradientLimit(int initialLimit, int minLimit, int maxLimit, double smoothing, double tolerance,
+                         int longWindow) {
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.smoothing = smoothing;
+        this.tolerance = tolerance;
+        this.longWindow = longWindow;
+        this.estimatedLimit = initialLimit;
+        this.limit = initialLimit;
+    }
+
+    @Override
+    public int getLimit() {
+        return limit;
+    }
+
+    @Override
+    public synchronized void onSample(long rttNanos, int inFlight, boolean dropped) {
+        double shortRtt = Math.max(1, rttNanos);
+        longRttNanos = longRttNanos == 0 ? shortRtt : longRttNanos + (shortRtt - longRttNanos) / longWindow;
+        if (longRttNanos / shortRtt > DRIFT_RATIO) {
+            longRttNanos *= DRIFT_DECAY;
+        }
+        if (!dropped && inFlight < estimatedLimit / 2) {
+            return;
+        }
+        double gradient = dropped
+                ? MIN_GRADIENT
+                : Math.max(MIN_GRADIENT, Math.min(1.0, tolerance * longRttNanos / shortRtt));
+        double newLimit = estimatedLimit * gradient + Math.sqrt(estimatedLimit);
+        estimatedLimit = Math.max(minLimit, Math.min(maxLimit,
+                estimatedLimit * (1 - smoothing) + newLimit * smoothing));
+        limit = (int) estimatedLimit;
+    }
+}
@@ -0,0 +1,24 @@
+package com.example.AuthorService.concurrency;
+
+/**
+ * Learns how many requests the service can handle at once from the latency
+ * and the failures of the requests it lets through.
+ */
+public interface LimitAlgorithm {
+
+    /**
+     * Get the current concurrency limit.
+     *
+     * @return the number of requests allowed in flight
+     */
+    int getLimit();
+
+    /**
+     * Adjust the limit after a request completed.
+     *
+     * @param rttNanos the request's round trip time, in nanoseconds
+     * @param inFlight the number of requests in flight when the request started, itself included
+     * @param dropped  whether the request failed in a way that points at overload
+     */
+    void onSample(long rttNanos, int inFlight, boolean dropped);
+}
@@ -0,0 +1,81 @@
+package com.example.AuthorService.concurrency;
+
+import com.example.AuthorService.utils.Constants;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Access to virtual threads. The service is compiled for Java 11, so the JDK 21
+ * methods are looked up reflectively and the service still runs on older JDKs
+ * as long as virtual threads are not enabled.
+ */
+public final class VirtualThreads {
+
+    private static final Method NEW_EXECUTOR = find(Executors.class, "newVirtualThreadPerTaskExecutor");
+    private static final Method IS_VIRTUAL = find(Thread.class, "isVirtual");
+
+    private VirtualThreads() {
+    }
+
+    /**
+     * Check whether the running JDK supports virtual threads.
+     *
+     * @return true on JDK 21 or later
+     */
+    public static boolean isSupported() {
+        return NEW_EXECUTOR != null;
+    }
+
+    /**
+     * Create an executor that starts a new virtual thread for each task.
+     *
+     * @return the executor
+     * @throws IllegalStateException if the running JDK has no virtual threads
+     */
+    public static ExecutorService newExecutor() {
+        if (!isSupported()) {
+            throw new IllegalStateException(String.format(Constants.VIRTUAL_THREADS_UNSUPPORTED,
+                    System.getProperty("java.version")));
+        }
+        try {
+            return (ExecutorService) NEW_EXECUTOR.invoke(null);
+        } catch (IllegalAccessException | InvocationTargetException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Check whether the given thread is a virtual thread.
+     *
+     * @param thread the thread
+     * @return true if the thread is virtual
+     */
+    public static boolean isVirtual(Thread thread) {
+        if (IS_VIRTUAL == null) {
+            return false;
+        }
+        try {
+            return (Boolean) IS_VIRTUAL.invoke(thread);
+        } catch (IllegalAccessException | InvocationTargetException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Look up a public method without parameters.
+     *
+     * @param type the declaring class
+     * @param name the method name
+     * @return the method, or null if the running JDK does not have it
+     */
+    private static Method find(Class<?> type, String name) {
+        try {
+            return type.getMethod(name);
+        } catch (NoSuchMethodException e) {
+            return null;
+        }
+    }
+}
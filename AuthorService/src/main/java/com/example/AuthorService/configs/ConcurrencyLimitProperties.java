@@ -0,0 +1,229 @@
+package com.example.AuthorService.configs;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Configuration properties for the adaptive concurrency limit in front of the
+ * controllers, bound from the {@code concurrency-limit} prefix.
+ */
+@ConfigurationProperties(prefix = "concurrency-limit")
+public class ConcurrencyLimitProperties {
+
+    /**
+     * How the limit is learned.
+     */
+    public enum Algorithm {
+
+        /**
+         * Scale the limit by the ratio between the long-term and the current latency.
+         */
+        GRADIENT,
+
+        /**
+         * Grow the limit by one while requests are fast, cut it on failures and slow requests.
+         */
+        AIMD
+    }
+
+    private boolean enabled = true;
+
+    private Algorithm algorithm = Algorithm.GRADIENT;
+
+    private int initialLimit = 20;
+
+    private int minLimit = 5;
+
+    private int maxLimit = 200;
+
+    private double smoothing = 0.2;
+
+    private double tolerance = 1.5;
+
+    private int longWindow = 600;
+
+    private double backoffRatio = 0.9;
+
+    private Duration timeout = Duration.ofSeconds(2);
+
+    /**
+     * Whether requests beyond the concurrency limit are rejected.
+     *
+     * @return true if the limit is active
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Set whether requests beyond the concurrency limit are rejected.
+     *
+     * @param enabled true to limit concurrency
+     */
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    /**
+     * Get how the limit is learned.
+     *
+     * @return the limit algorithm
+     */
+    public Algorithm getAlgorithm() {
+        return algorithm;
+    }
+
+    /**
+     * Set how the limit is learned.
+     *
+     * @param algorithm the limit algorithm
+     */
+    public void setAlgorithm(Algorithm algorithm) {
+        this.algorithm = algorithm;
+    }
+
+    /**
+     * Get the limit used until the first requests complete.
+     *
+     * @return the initial limit
+     */
+    public int getInitialLimit() {
+        return initialLimit;
+    }
+
+    /**
+     * Set the limit used until the first requests complete.
+     *
+     * @param initialLimit the initial limit
+     */
+    public void setInitialLimit(int initialLimit) {
+        this.initialLimit = initialLimit;
+    }
+
+    /**
+     * Get the lowest limit.
+     *
+     * @return the minimum limit
+     */
+    public int getMinLimit() {
+        return minLimit;
+    }
+
+    /**
+     * Set the lowest limit.
+     *
+     * @param minLimit the minimum limit
+     */
+    public void setMinLimit(int minLimit) {
+        this.minLimit = minLimit;
+    }
+
+    /**
+     * Get the highest limit.
+     *
+     * @return the maximum limit
+     */
+    public int getMaxLimit() {
+        return maxLimit;
+    }
+
+    /**
+     * Set the highest limit.
+     *
+     * @param maxLimit the maximum limit
+     */
+    public void setMaxLimit(int maxLimit) {
+        this.maxLimit = maxLimit;
+    }
+
+    /**
+     * Get the weight of each new estimate of the gradient algorithm, from 0 to 1.
+     *
+     * @return the smoothing factor
+     */
+    public double getSmoothing() {
+        return smoothing;
+    }
+
+    /**
+     * Set the weight of each new estimate of the gradient algorithm, from 0 to 1.
+     *
+     * @param smoothing the smoothing factor
+     */
+    public void setSmoothing(double smoothing) {
+        this.smoothing = smoothing;
+    }
+
+    /**
+     * Get how much slower than usual requests may get before the gradient algorithm lowers the limit.
+     *
+     * @return the latency tolerance, at least 1
+     */
+    public double getTolerance() {
+        return tolerance;
+    }
+
+    /**
+     * Set how much slower than usual requests may get before the gradient algorithm lowers the limit.
+     *
+     * @param tolerance the latency tolerance, at least 1
+     */
+    public void setTolerance(double tolerance) {
+        this.tolerance = tolerance;
+    }
+
+    /**
+     * Get the number of requests the gradient algorithm averages the usual latency over.
+     *
+     * @return the long window
+     */
+    public int getLongWindow() {
+        return longWindow;
+    }
+
+    /**
+     * Set the number of requests the gradient algorithm averages the usual latency over.
+     *
+     * @param longWindow the long window
+     */
+    public void setLongWindow(int longWindow) {
+        this.longWindow = longWindow;
+    }
+
+    /**
+     * Get the factor the AIMD algorithm multiplies the limit with on overload.
+     *
+     * @return the backoff ratio, below 1
+     */
+    public double getBackoffRatio() {
+        return backoffRatio;
+    }
+
+    /**
+     * Set the factor the AIMD algorithm multiplies the limit with on overload.
+     *
+     * @param backoffRatio the backoff ratio, below 1
+     */
+    public void setBackoffRatio(double backoffRatio) {
+        this.backoffRatio = backoffRatio;
+    }
+
+    /**
+     * Get the latency above which the AIMD algorithm treats a request as a sign of overload.
+     *
+     * @return the timeout
+     */
+    public Duration getTimeout() {
+        return timeout;
+    }
+
+    /**
+     * Set the latency above which the AIMD algorithm treats a request as a sign of overload.
+     *
+     * @param timeout the timeout
+     */
+    public void setTimeout(Duration timeout) {
+        this.timeout = timeout;
+    }
+}
@@ -0,0 +1,64 @@
+package com.example.AuthorService.configs;
+
+import com.example.AuthorService.deadline.Deadline;
+import com.example.AuthorService.deadline.DeadlineFilter;
+import com.example.AuthorService.deadline.DeadlineJpaTransactionManager;
+import com.example.AuthorService.utils.Constants;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.transaction.TransactionManagerCustomizers;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.TaskDecorator;
+import org.springframework.transaction.PlatformTransactionManager;
+
+/**
+ * Configuration class for honouring the caller's deadline. The deadline
+ * header, stamped by the gateway, bounds the transactions run for a request,
+ * so that queries stop once nobody waits for their result. Deadlines can be
+ * ignored with {@code deadline.enabled=false}.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "deadline", name = "enabled", matchIfMissing = true)
+public class DeadlineConfig {
+
+    /**
+     * Registers the filter reading the deadline header of API requests.
+     *
+     * @return the filter registration
+     */
+    @Bean
+    public FilterRegistrationBean<DeadlineFilter> deadlineFilter() {
+        FilterRegistrationBean<DeadlineFilter> registration =
+                new FilterRegistrationBean<>(new DeadlineFilter(WebMvcConfig.objectMapper()));
+        registration.addUrlPatterns(Constants.API_URL_PATTERN);
+        registration.setOrder(Constants.DEADLINE_FILTER_ORDER);
+        return registration;
+    }
+
+    /**
+     * Creates the transaction manager bounding transactions by the request's
+     * deadline, in place of the default JPA transaction manager.
+     *
+     * @param transactionManagerCustomizers the customizers applied to the default one
+     * @return the transaction manager
+     */
+    @Bean
+    public PlatformTransactionManager transactionManager(
+            ObjectProvider<TransactionManagerCustomizers> transactionManagerCustomizers) {
+        DeadlineJpaTransactionManager transactionManager = new DeadlineJpaTransactionManager();
+        transactionManagerCustomizers.ifAvailable(customizers -> customizers.customize(transactionManager));
+        return transactionManager;
+    }
+
+    /**
+     * Carries the deadline over to tasks run on other threads.
+     *
+     * @return the task decorator
+     */
+    @Bean
+    public TaskDecorator deadlineTaskDecorator() {
+        return Deadline.taskDecorator();
+    }
+}
@@ -0,0 +1,49 @@
+package com.example.AuthorService.configs;
+
+import com.example.AuthorService.discovery.RegistrySnapshot;
+import com.example.AuthorService.discovery.RegistrySnapshotWriter;
+import com.example.AuthorService.discovery.SnapshotBackupRegistry;
+import com.netflix.discovery.EurekaClient;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.nio.file.Paths;
+
+/**
+ * Configuration class for the on-disk copy of the Eureka registry.
+ * The snapshot is read by {@link SnapshotBackupRegistry}, which Eureka uses
+ * when it is named in {@code eureka.client.backup-registry-impl}.
+ */
+@Configuration
+public class RegistrySnapshotConfig {
+
+    /**
+     * Creates the registry snapshot and hands it to the backup registry. This
+     * configuration does not depend on the Eureka client, so the snapshot is in
+     * place before the client makes its first fetch.
+     *
+     * @param file the snapshot file
+     * @return the registry snapshot
+     */
+    @Bean
+    public RegistrySnapshot registrySnapshot(@Value("${registry-snapshot.file:eureka-registry.json}") String file) {
+        RegistrySnapshot snapshot = new RegistrySnapshot(Paths.get(file));
+        SnapshotBackupRegistry.use(snapshot);
+        return snapshot;
+    }
+
+    /**
+     * Creates the listener keeping the snapshot up to date.
+     *
+     * @param snapshot     the registry snapshot
+     * @param eurekaClient provides the Eureka client
+     * @return the snapshot writer
+     */
+    @Bean
+    public RegistrySnapshotWriter registrySnapshotWriter(RegistrySnapshot snapshot,
+                                                         ObjectProvider<EurekaClient> eurekaClient) {
+        return new RegistrySnapshotWriter(snapshot, eurekaClient);
+    }
+}
@@ -0,0 +1,99 @@
+package com.example.AuthorService.configs;
+
+import com.example.AuthorService.replication.ReadYourWrites;
+import com.example.AuthorService.replication.ReadYourWritesFilter;
+import com.example.AuthorService.replication.ReplicaPools;
+import com.example.AuthorService.replication.ReplicationRoutingDataSource;
+import com.example.AuthorService.utils.Constants;
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.TaskDecorator;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Configuration class for sending {@code @Transactional(readOnly = true)}
+ * service methods to the database replicas and everything else to the primary.
+ */
+@Configuration
+@EnableConfigurationProperties(ReplicationProperties.class)
+@ConditionalOnProperty(prefix = "replication", name = "enabled", havingValue = "true")
+public class ReplicationConfig {
+
+    /**
+     * Creates a connection pool for each replica.
+     *
+     * @param properties           the replication configuration
+     * @param dataSourceProperties the primary's connection settings, used for unset replica credentials
+     * @return the replica connection pools
+     */
+    @Bean(destroyMethod = "close")
+    public ReplicaPools replicaPools(ReplicationProperties properties, DataSourceProperties dataSourceProperties) {
+        List<HikariDataSource> pools = new ArrayList<>();
+        for (ReplicationProperties.Replica replica : properties.getReplicas()) {
+            HikariDataSource pool = new HikariDataSource();
+            pool.setPoolName(Constants.REPLICA_POOL_PREFIX + pools.size());
+            pool.setJdbcUrl(replica.getUrl());
+            pool.setUsername(replica.getUsername() != null
+                    ? replica.getUsername() : dataSourceProperties.determineUsername());
+            pool.setPassword(replica.getPassword() != null
+                    ? replica.getPassword() : dataSourceProperties.determinePassword());
+            pool.setMaximumPoolSize(replica.getMaximumPoolSize());
+            pool.setReadOnly(true);
+            pools.add(pool);
+        }
+        return new ReplicaPools(pools);
+    }
+
+    /**
+     * Routes the primary data source's connections between the primary and the
+     * replicas. The routing data source is fetched lazily, once the transaction
+     * has begun and its read-only flag is known.
+     *
+     * @param replicaPools the replica connection pools
+     * @return the post processor wrapping the primary data source
+     */
+    @Bean
+    public static BeanPostProcessor replicationDataSourcePostProcessor(ObjectProvider<ReplicaPools> replicaPools) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (!(bean instanceof DataSource) || !Constants.PRIMARY_DATA_SOURCE_BEAN.equals(beanName)) {
+                    return bean;
+                }
+                return new LazyConnectionDataSourceProxy(new ReplicationRoutingDataSource((DataSource) bean,
+                        replicaPools.getObject().getPools()));
+            }
+        };
+    }
+
+    /**
+     * Creates the filter keeping a client on the primary after it writes.
+     *
+     * @param properties the replication configuration
+     * @return the read-your-writes filter
+     */
+    @Bean
+    public ReadYourWritesFilter readYourWritesFilter(ReplicationProperties properties) {
+        return new ReadYourWritesFilter(properties.getReadYourWritesWindow());
+    }
+
+    /**
+     * Carries the read-your-writes choice over to tasks run on other threads.
+     *
+     * @return the task decorator
+     */
+    @Bean
+    public TaskDecorator readYourWritesTaskDecorator() {
+        return ReadYourWrites.taskDecorator();
+    }
+}
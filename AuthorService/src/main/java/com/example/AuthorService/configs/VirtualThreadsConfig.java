@@ -0,0 +1,102 @@
+package com.example.AuthorService.configs;
+
+import com.example.AuthorService.concurrency.ConnectionPermitDataSource;
+import com.example.AuthorService.concurrency.PinningCheck;
+import com.example.AuthorService.concurrency.VirtualThreads;
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.embedded.tomcat.TomcatProtocolHandlerCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+import javax.sql.DataSource;
+import java.util.concurrent.ExecutorService;
+
+/**
+ * Configuration class for handling Tomcat requests, and the blocking JPA calls
+ * they make, on virtual threads instead of the Tomcat thread pool.
+ */
+@Configuration
+@EnableConfigurationProperties(VirtualThreadsProperties.class)
+@ConditionalOnProperty(prefix = "virtual-threads", name = "enabled", havingValue = "true")
+public class VirtualThreadsConfig {
+
+    /**
+     * Creates the executor starting one virtual thread per request.
+     *
+     * @return the executor
+     */
+    @Bean
+    public ExecutorService virtualThreadExecutor() {
+        return VirtualThreads.newExecutor();
+    }
+
+    /**
+     * Hands Tomcat's request processing to the virtual thread executor.
+     *
+     * @param virtualThreadExecutor the executor
+     * @return the Tomcat customizer
+     */
+    @Bean
+    public TomcatProtocolHandlerCustomizer<?> virtualThreadProtocolHandlerCustomizer(
+            ExecutorService virtualThreadExecutor) {
+        return protocolHandler -> protocolHandler.setExecutor(virtualThreadExecutor);
+    }
+
+    /**
+     * Limits the threads holding a database connection to the size of the pool.
+     *
+     * @param properties the virtual thread configuration
+     * @return the post processor wrapping the pooled data source
+     */
+    @Bean
+    public static BeanPostProcessor connectionPermitDataSourcePostProcessor(
+            ObjectProvider<VirtualThreadsProperties> properties) {
+        return new ConnectionPermitPostProcessor(properties);
+    }
+
+    /**
+     * Creates the startup check for calls pinning virtual threads.
+     *
+     * @param dataSource the data source whose driver is checked
+     * @return the pinning check
+     */
+    @Bean
+    public PinningCheck pinningCheck(DataSource dataSource) {
+        return new PinningCheck(dataSource);
+    }
+
+    /**
+     * Wraps each connection pool in a {@link ConnectionPermitDataSource}. It is
+     * ordered so that it sees the pools before other post processors wrap them.
+     */
+    private static final class ConnectionPermitPostProcessor implements BeanPostProcessor, Ordered {
+
+        private final ObjectProvider<VirtualThreadsProperties> properties;
+
+        ConnectionPermitPostProcessor(ObjectProvider<VirtualThreadsProperties> properties) {
+            this.properties = properties;
+        }
+
+        @Override
+        public Object postProcessAfterInitialization(Object bean, String beanName) {
+            if (!(bean instanceof HikariDataSource)) {
+                return bean;
+            }
+            VirtualThreadsProperties config = properties.getObject();
+            int permits = config.getMaxConnections() > 0
+                    ? config.getMaxConnections()
+                    : ((HikariDataSource) bean).getMaximumPoolSize();
+            return new ConnectionPermitDataSource((DataSource) bean, permits, config.getConnectionTimeout());
+        }
+
+        @Override
+        public int getOrder() {
+            return Ordered.HIGHEST_PRECEDENCE;
+        }
+    }
+}
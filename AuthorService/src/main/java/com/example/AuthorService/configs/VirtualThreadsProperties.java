@@ -0,0 +1,74 @@
+package com.example.AuthorService.configs;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Configuration properties for handling requests on virtual threads, bound
+ * from the {@code virtual-threads} prefix.
+ */
+@ConfigurationProperties(prefix = "virtual-threads")
+public class VirtualThreadsProperties {
+
+    private boolean enabled;
+
+    private int maxConnections;
+
+    private Duration connectionTimeout = Duration.ofSeconds(30);
+
+    /**
+     * Whether requests are handled on virtual threads. Needs JDK 21 or later.
+     *
+     * @return true if virtual threads are used
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Set whether requests are handled on virtual threads.
+     *
+     * @param enabled true to use virtual threads
+     */
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    /**
+     * Get the number of threads that may hold a database connection at once.
+     * Zero means the maximum size of the connection pool.
+     *
+     * @return the connection limit
+     */
+    public int getMaxConnections() {
+        return maxConnections;
+    }
+
+    /**
+     * Set the number of threads that may hold a database connection at once.
+     *
+     * @param maxConnections the connection limit
+     */
+    public void setMaxConnections(int maxConnections) {
+        this.maxConnections = maxConnections;
+    }
+
+    /**
+     * Get how long a thread waits for a database connection before the request fails.
+     *
+     * @return the connection timeout
+     */
+    public Duration getConnectionTimeout() {
+        return connectionTimeout;
+    }
+
+    /**
+     * Set how long a thread waits for a database connection before the request fails.
+     *
+     * @param connectionTimeout the connection timeout
+     */
+    public void setConnectionTimeout(Duration connectionTimeout) {
+        this.connectionTimeout = connectionTimeout;
+    }
+}
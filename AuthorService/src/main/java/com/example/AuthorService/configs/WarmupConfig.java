@@ -0,0 +1,40 @@
+package com.example.AuthorService.configs;
+
+import com.example.AuthorService.warmup.WarmupRunner;
+import com.netflix.appinfo.ApplicationInfoManager;
+import org.modelmapper.ModelMapper;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+/**
+ * Configuration class for the warm-up run before the instance takes traffic.
+ */
+@Configuration
+@EnableConfigurationProperties(WarmupProperties.class)
+public class WarmupConfig {
+
+    /**
+     * Creates the warm-up runner.
+     *
+     * @param properties             the warm-up configuration
+     * @param dataSource             the data source whose pool is filled
+     * @param applicationInfoManager the Eureka instance status holder
+     * @param restTemplateBuilder    builds the client for the warm-up requests
+     * @param modelMapper            the mapper whose type maps are built
+     * @return the warm-up runner
+     */
+    @Bean
+    public WarmupRunner warmupRunner(WarmupProperties properties, DataSource dataSource,
+                                     ApplicationInfoManager applicationInfoManager,
+                                     RestTemplateBuilder restTemplateBuilder, ModelMapper modelMapper) {
+        return new WarmupRunner(properties, dataSource, applicationInfoManager, restTemplateBuilder
+                .setConnectTimeout(Duration.ofSeconds(1))
+                .setReadTimeout(Duration.ofSeconds(5))
+                .build(), modelMapper);
+    }
+}
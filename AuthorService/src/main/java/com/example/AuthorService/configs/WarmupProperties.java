@@ -0,0 +1,116 @@
+package com.example.AuthorService.configs;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Configuration properties for the warm-up run before the instance is marked
+ * UP in Eureka, bound from the {@code warmup} prefix.
+ */
+@ConfigurationProperties(prefix = "warmup")
+public class WarmupProperties {
+
+    private boolean enabled = true;
+
+    private List<String> requests = new ArrayList<>();
+
+    private int iterations = 100;
+
+    private int connections;
+
+    private Duration timeout = Duration.ofSeconds(60);
+
+    /**
+     * Whether the instance warms up before taking traffic.
+     *
+     * @return true if warm-up is active
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Set whether the instance warms up before taking traffic.
+     *
+     * @param enabled true to warm up
+     */
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    /**
+     * Get the paths, with query strings, requested from the instance itself during warm-up.
+     *
+     * @return the warm-up request paths
+     */
+    public List<String> getRequests() {
+        return requests;
+    }
+
+    /**
+     * Set the paths, with query strings, requested from the instance itself during warm-up.
+     *
+     * @param requests the warm-up request paths
+     */
+    public void setRequests(List<String> requests) {
+        this.requests = requests;
+    }
+
+    /**
+     * Get how many times each warm-up request is sent.
+     *
+     * @return the iteration count
+     */
+    public int getIterations() {
+        return iterations;
+    }
+
+    /**
+     * Set how many times each warm-up request is sent.
+     *
+     * @param iterations the iteration count
+     */
+    public void setIterations(int iterations) {
+        this.iterations = iterations;
+    }
+
+    /**
+     * Get the number of database connections opened up front. Zero means the
+     * maximum size of the connection pool.
+     *
+     * @return the connection count
+     */
+    public int getConnections() {
+        return connections;
+    }
+
+    /**
+     * Set the number of database connections opened up front.
+     *
+     * @param connections the connection count
+     */
+    public void setConnections(int connections) {
+        this.connections = connections;
+    }
+
+    /**
+     * Get the longest the warm-up may run before the instance is marked UP anyway.
+     *
+     * @return the warm-up timeout
+     */
+    public Duration getTimeout() {
+        return timeout;
+    }
+
+    /**
+     * Set the longest the warm-up may run before the instance is marked UP anyway.
+     *
+     * @param timeout the warm-up timeout
+     */
+    public void setTimeout(Duration timeout) {
+        this.timeout = timeout;
+    }
+}
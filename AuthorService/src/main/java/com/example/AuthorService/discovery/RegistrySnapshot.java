@@ -0,0 +1,95 @@
+package com.example.AuthorService.discovery;
+
+import com.example.AuthorService.utils.Constants;
+import com.netflix.appinfo.InstanceInfo;
+import com.netflix.discovery.converters.wrappers.CodecWrappers;
+import com.netflix.discovery.shared.Application;
+import com.netflix.discovery.shared.Applications;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * The last known Eureka registry, kept in a JSON file so that a restarted
+ * instance can locate its peers before the Eureka server answers.
+ */
+@Slf4j
+public class RegistrySnapshot {
+
+    private final Path file;
+    private final CodecWrappers.JacksonJson codec = new CodecWrappers.JacksonJson();
+
+    /**
+     * Constructs a snapshot stored in the given file.
+     *
+     * @param file the snapshot file
+     */
+    public RegistrySnapshot(Path file) {
+        this.file = file;
+    }
+
+    /**
+     * Read the registry from the snapshot file.
+     *
+     * @return the registry, or null if there is no readable snapshot
+     */
+    public Applications load() {
+        if (!Files.isReadable(file)) {
+            return null;
+        }
+        try {
+            Applications applications = codec.decode(Files.readString(file, StandardCharsets.UTF_8), Applications.class);
+            log.info(Constants.LOG_REGISTRY_SNAPSHOT_LOADED, applications.size(), file);
+            return applications;
+        } catch (IOException | RuntimeException e) {
+            log.warn(Constants.LOG_REGISTRY_SNAPSHOT_UNREADABLE, file, e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Replace the snapshot file with the given registry. The file is written
+     * next to the old one and moved into place, so a crash never leaves half a snapshot.
+     *
+     * @param applications the registry to store
+     */
+    public void save(Applications applications) {
+        try {
+            Path directory = file.toAbsolutePath().getParent();
+            Files.createDirectories(directory);
+            Path temp = Files.createTempFile(directory, file.getFileName().toString(), ".tmp");
+            Files.writeString(temp, codec.encode(applications), StandardCharsets.UTF_8);
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            log.warn(Constants.LOG_REGISTRY_SNAPSHOT_NOT_SAVED, file, e.getMessage());
+        }
+    }
+
+    /**
+     * Describe the instances of a registry by application, id, address and
+     * status, in a stable order. Unlike {@link Applications#getAppsHashCode()},
+     * which only counts the instances per status, it changes when an instance
+     * is replaced by one at another address.
+     *
+     * @param applications the registry
+     * @return the description, equal for registries holding the same instances
+     */
+    public static String fingerprint(Applications applications) {
+        List<String> instances = new ArrayList<>();
+        for (Application application : applications.getRegisteredApplications()) {
+            for (InstanceInfo instance : application.getInstances()) {
+                instances.add(application.getName() + '/' + instance.getId() + '@' + instance.getHostName() + '/'
+                        + instance.getIPAddr() + ':' + instance.getPort() + '/' + instance.getStatus());
+            }
+        }
+        Collections.sort(instances);
+        return String.join(",", instances);
+    }
+}
@@ -0,0 +1,49 @@
+package com.example.AuthorService.discovery;
+
+import com.netflix.discovery.EurekaClient;
+import com.netflix.discovery.shared.Applications;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.cloud.client.discovery.event.HeartbeatEvent;
+import org.springframework.context.event.EventListener;
+
+/**
+ * Stores the registry in the {@link RegistrySnapshot} each time the Eureka
+ * client has refreshed it and it has changed. An empty registry, as served by
+ * a freshly restarted Eureka server, never overwrites a snapshot.
+ */
+public class RegistrySnapshotWriter {
+
+    private final RegistrySnapshot snapshot;
+    private final ObjectProvider<EurekaClient> eurekaClient;
+    private volatile String savedFingerprint;
+
+    /**
+     * Constructs the writer.
+     *
+     * @param snapshot     the snapshot to keep up to date
+     * @param eurekaClient provides the Eureka client once it exists
+     */
+    public RegistrySnapshotWriter(RegistrySnapshot snapshot, ObjectProvider<EurekaClient> eurekaClient) {
+        this.snapshot = snapshot;
+        this.eurekaClient = eurekaClient;
+    }
+
+    /**
+     * Save the registry after a refresh if it has changed.
+     *
+     * @param event the refresh notification
+     */
+    @EventListener(HeartbeatEvent.class)
+    public void onRegistryRefreshed(HeartbeatEvent event) {
+        Applications applications = eurekaClient.getObject().getApplications();
+        if (applications == null || applications.size() == 0) {
+            return;
+        }
+        String fingerprint = RegistrySnapshot.fingerprint(applications);
+        if (fingerprint.equals(savedFingerprint)) {
+            return;
+        }
+        snapshot.save(applications);
+        savedFingerprint = fingerprint;
+    }
+}
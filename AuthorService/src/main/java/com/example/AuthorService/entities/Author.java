@@ -3,6 +3,8 @@ package com.example.AuthorService.entities;
 import com.example.AuthorService.utils.Constants;
 import com.example.AuthorService.utils.TableConstants;
 import com.fasterxml.jackson.annotation.JsonFormat;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import javax.persistence.*;
 import java.util.Date;
@@ -12,6 +14,8 @@ import java.util.Date;
  */
 @Entity
 @Table(name = TableConstants.TABLE_AUTHOR_NAME)
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = Constants.CACHE_REGION_AUTHOR)
 public class Author {
 
     @Id
@@ -0,0 +1,40 @@
+package com.example.AuthorService.exception;
+
+import com.example.AuthorService.utils.Constants;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.Date;
+
+/**
+ * Writes {@link ErrorDetails} responses from servlet filters, which answer
+ * before the {@link GlobalExceptionHandler} can.
+ */
+public final class ErrorResponses {
+
+    private ErrorResponses() {
+    }
+
+    /**
+     * Answer a request with the given status and the usual error body.
+     *
+     * @param request      the request
+     * @param response     the response
+     * @param objectMapper writes the error body
+     * @param status       the response status
+     * @param message      the error message
+     * @throws IOException if the body cannot be written
+     */
+    public static void write(HttpServletRequest request, HttpServletResponse response, ObjectMapper objectMapper,
+                             HttpStatus status, String message) throws IOException {
+        ErrorDetails errorDetails = new ErrorDetails(new Date(), message,
+                Constants.REQUEST_DESCRIPTION_PREFIX + request.getRequestURI());
+        response.setStatus(status.value());
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), errorDetails);
+    }
+}
@@ -5,8 +5,10 @@ import com.example.AuthorService.utils.Constants;
 import com.example.AuthorService.utils.MessagesConstants;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.dao.DataAccessException;
+import org.springframework.dao.QueryTimeoutException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.transaction.TransactionTimedOutException;
 import org.springframework.validation.FieldError;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
@@ -92,4 +94,23 @@ public class GlobalExceptionHandler {
         return new ResponseEntity<>(errorDetails, HttpStatus.NOT_FOUND);
     }
 
+    /**
+     * Exception handler for work stopped because the caller's deadline passed,
+     * either before it started or by a query or transaction timeout.
+     *
+     * @param exception   The exception to handle.
+     * @param webRequest  The current web request.
+     * @return ResponseEntity containing an ErrorDetails object and HTTP status 504 (Gateway Timeout).
+     */
+    @ExceptionHandler({DeadlineExceededException.class, QueryTimeoutException.class,
+            TransactionTimedOutException.class})
+    public ResponseEntity<ErrorDetails> handleDeadlineExceededException(Exception exception,
+                                                                        WebRequest webRequest) {
+        log.warn(Constants.LOG_DEADLINE_EXCEEDED, exception.getMessage());
+
+        ErrorDetails errorDetails = new ErrorDetails(new Date(), Constants.DEADLINE_EXCEEDED,
+                webRequest.getDescription(false));
+        return new ResponseEntity<>(errorDetails, HttpStatus.GATEWAY_TIMEOUT);
+    }
+
 }
@@ -0,0 +1,82 @@
+package com.example.AuthorService.replication;
+
+import com.example.AuthorService.utils.Constants;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.Cookie;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Keeps a client on the primary database for a while after it writes. A write
+ * request sets a cookie holding the time until which the client's reads must
+ * not be served by a replica; requests carrying an unexpired cookie run with
+ * {@link ReadYourWrites#requirePrimary()}. The cookie lives on the client, so
+ * it holds whichever instance serves the next request.
+ */
+public class ReadYourWritesFilter extends OncePerRequestFilter {
+
+    private static final List<String> READ_METHODS = Arrays.asList("GET", "HEAD", "OPTIONS", "TRACE");
+
+    private final Duration window;
+
+    /**
+     * Constructs the filter.
+     *
+     * @param window how long after a write the client reads from the primary; at least the replication lag
+     */
+    public ReadYourWritesFilter(Duration window) {
+        this.window = window;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        long now = System.currentTimeMillis();
+        boolean write = !READ_METHODS.contains(request.getMethod());
+        if (write) {
+            Cookie cookie = new Cookie(Constants.COOKIE_READ_PRIMARY_UNTIL, Long.toString(now + window.toMillis()));
+            cookie.setPath("/");
+            cookie.setHttpOnly(true);
+            cookie.setMaxAge((int) window.getSeconds() + 1);
+            response.addCookie(cookie);
+        }
+        if (write || primaryUntil(request) > now) {
+            ReadYourWrites.requirePrimary();
+        }
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            ReadYourWrites.clear();
+        }
+    }
+
+    /**
+     * Read the time until which the client must read from the primary.
+     *
+     * @param request the current request
+     * @return the time in epoch milliseconds, or zero if the client has not written recently
+     */
+    private static long primaryUntil(HttpServletRequest request) {
+        Cookie[] cookies = request.getCookies();
+        if (cookies == null) {
+            return 0;
+        }
+        for (Cookie cookie : cookies) {
+            if (Constants.COOKIE_READ_PRIMARY_UNTIL.equals(cookie.getName())) {
+                try {
+                    return Long.parseLong(cookie.getValue());
+                } catch (NumberFormatException e) {
+                    return 0;
+                }
+            }
+        }
+        return 0;
+    }
+}
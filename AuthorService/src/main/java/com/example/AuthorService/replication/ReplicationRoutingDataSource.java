@@ -0,0 +1,88 @@
+package com.example.AuthorService.replication;
+
+import com.example.AuthorService.utils.Constants;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Data source sending read-only transactions to the replicas, in turn, and
+ * everything else to the primary. Reads also go to the primary when
+ * {@link ReadYourWrites} asks for it, and when no replica connection can be
+ * obtained. It must be wrapped in a
+ * {@link org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy},
+ * because the read-only flag of a transaction is only known once the
+ * transaction has begun.
+ */
+@Slf4j
+public class ReplicationRoutingDataSource extends AbstractRoutingDataSource {
+
+    private final DataSource primary;
+    private final int replicaCount;
+    private final AtomicInteger next = new AtomicInteger();
+
+    /**
+     * Constructs the data source.
+     *
+     * @param primary  the data source of the primary
+     * @param replicas the data sources of the replicas
+     */
+    public ReplicationRoutingDataSource(DataSource primary, List<? extends DataSource> replicas) {
+        this.primary = primary;
+        this.replicaCount = replicas.size();
+        Map<Object, Object> targets = new HashMap<>();
+        targets.put(Constants.REPLICATION_PRIMARY, primary);
+        for (int i = 0; i < replicas.size(); i++) {
+            targets.put(i, replicas.get(i));
+        }
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(primary);
+        afterPropertiesSet();
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (replicaCount == 0
+                || !TransactionSynchronizationManager.isCurrentTransactionReadOnly()
+                || ReadYourWrites.isPrimaryRequired()) {
+            return Constants.REPLICATION_PRIMARY;
+        }
+        return Math.floorMod(next.getAndIncrement(), replicaCount);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        DataSource target = determineTargetDataSource();
+        try {
+            return target.getConnection();
+        } catch (SQLException e) {
+            if (target == primary) {
+                throw e;
+            }
+            log.warn(Constants.LOG_REPLICA_UNAVAILABLE, e.getMessage());
+            return primary.getConnection();
+        }
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        DataSource target = determineTargetDataSource();
+        try {
+            return target.getConnection(username, password);
+        } catch (SQLException e) {
+            if (target == primary) {
+                throw e;
+            }
+            log.warn(Constants.LOG_REPLICA_UNAVAILABLE, e.getMessage());
+            return primary.getConnection(username, password);
+        }
+    }
+}
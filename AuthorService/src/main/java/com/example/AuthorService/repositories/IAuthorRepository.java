@@ -1,25 +1,43 @@
-package com.example.AuthorService.repositories;
-
-import com.example.AuthorService.entities.Author;
-import org.springframework.data.jpa.repository.JpaRepository;
-import org.springframework.data.jpa.repository.Query;
-
-import java.util.List;
-
-/**
- * Repository interface for managing Author entities.
- */
-public interface IAuthorRepository extends JpaRepository<Author, Long> {
-
-    /**
-     * Find authors by their name containing the specified keyword.
-     *
-     * @param keyword the keyword to search for in author names
-     * @return a list of authors whose names contain the keyword
-     */
-    List<Author> findByAuthorNameContaining(String keyword);
-
-    @Query(value = "CALL GetAuthorsWithBooks()", nativeQuery = true)
-    List<Author> getAuthorsWithBooks();
-
-}
+package com.example.AuthorService.repositories;
+
+import com.example.AuthorService.entities.Author;
+import com.example.AuthorService.utils.Constants;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+
+import javax.persistence.QueryHint;
+import java.util.List;
+
+/**
+ * Repository interface for managing Author entities.
+ */
+public interface IAuthorRepository extends JpaRepository<Author, Long> {
+
+    /**
+     * Find authors by their name containing the specified keyword. The result
+     * is kept in the query cache until the author table changes.
+     *
+     * @param keyword the keyword to search for in author names
+     * @return a list of authors whose names contain the keyword
+     */
+    @QueryHints(@QueryHint(name = Constants.HIBERNATE_HINT_CACHEABLE, value = "true"))
+    List<Author> findByAuthorNameContaining(String keyword);
+
+    /**
+     * Find a page of authors. The page is kept in the query cache until the
+     * author table changes; its count is queried each time.
+     *
+     * @param pageable the pagination information
+     * @return the page of authors
+     */
+    @Override
+    @QueryHints(@QueryHint(name = Constants.HIBERNATE_HINT_CACHEABLE, value = "true"))
+    Page<Author> findAll(Pageable pageable);
+
+    @Query(value = "CALL GetAuthorsWithBooks()", nativeQuery = true)
+    List<Author> getAuthorsWithBooks();
+
+}
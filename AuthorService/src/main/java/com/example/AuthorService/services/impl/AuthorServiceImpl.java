@@ -37,6 +37,7 @@ public class AuthorServiceImpl implements IAuthorService {
      * @return a list of AuthorResponse objects matching the search criteria
      */
     @Override
+    @Transactional(readOnly = true)
     public List<AuthorResponse> search(String keyword) {
         List<Author> authors = authorRepository.findByAuthorNameContaining(keyword);
         return authors.stream()
@@ -51,6 +52,7 @@ public class AuthorServiceImpl implements IAuthorService {
      * @return a page of AuthorResponse objects
      */
     @Override
+    @Transactional(readOnly = true)
     public Page<AuthorResponse> findAll(Pageable pageable) {
         Page<Author> authors = authorRepository.findAll(pageable);
         return authors.map(author -> modelMapper.map(author, AuthorResponse.class));
@@ -64,6 +66,7 @@ public class AuthorServiceImpl implements IAuthorService {
      * @throws IllegalArgumentException if no author is found with the given ID
      */
     @Override
+    @Transactional(readOnly = true)
     public AuthorResponse get(Long id) {
         Optional<Author> author = authorRepository.findById(id);
         if (author.isPresent()) {
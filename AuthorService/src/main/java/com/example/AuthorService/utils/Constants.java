@@ -1,73 +1,279 @@
-package com.example.AuthorService.utils;
-
-/**
- * A class that holds constant values used throughout the application.
- */
-public class Constants {
-
-    /**
-     * The default page number used in pagination.
-     */
-    public static final String DEFAULT_PAGE_NUMBER = "0";
-
-    /**
-     * The default page size used in pagination.
-     */
-    public static final String DEFAULT_PAGE_SIZE = "10";
-
-    /**
-     * The date format pattern used for date parsing and formatting.
-     */
-    public static final String DATE_FORMAT = "dd-MM-yyyy";
-
-    /**
-     * Logging message for data access exceptions.
-     */
-    public static final String LOG_DATA_ACCESS_EXCEPTION = "Data access exception occurred: {}";
-
-    /**
-     * Logging message for general exceptions.
-     */
-    public static final String LOG_EXCEPTION = "Exception occurred: {}";
-
-    /**
-     * Logging message for resource not found exceptions.
-     */
-    public static final String LOG_RESOURCE_NOT_FOUND_EXCEPTION="Resource not found occurred: {}";
-
-      /**
-     * Basename for the resource bundle message source.
-     */
-    public static final String MESSAGE_SOURCE_BASENAME = "i18n.messages";
-
-    /**
-     * Default encoding for the resource bundle message source.
-     */
-    public static final String MESSAGE_SOURCE_DEFAULT_ENCODING = "UTF-8";
-
-        /**
-     * The base package to scan for API controllers.
-     */
-    public static final String BASE_PACKAGE = "com.example.controllers";
-
-    /**
-     * The regex pattern to match API paths.
-     */
-    public static final String PATH_REGEX = "/.*";
-
-    /**
-     * The title for the API documentation.
-     */
-    public static final String API_TITLE = "Author Service API";
-
-    /**
-     * The description for the API documentation.
-     */
-    public static final String API_DESCRIPTION = "API documentation for the Author Service application.";
-
-    /**
-     * The version of the API.
-     */
-    public static final String API_VERSION = "1.0.0";
-
-}
+package com.example.AuthorService.utils;
+
+import org.springframework.core.Ordered;
+
+/**
+ * A class that holds constant values used throughout the application.
+ */
+public class Constants {
+
+    /**
+     * The default page number used in pagination.
+     */
+    public static final String DEFAULT_PAGE_NUMBER = "0";
+
+    /**
+     * The default page size used in pagination.
+     */
+    public static final String DEFAULT_PAGE_SIZE = "10";
+
+    /**
+     * The date format pattern used for date parsing and formatting.
+     */
+    public static final String DATE_FORMAT = "dd-MM-yyyy";
+
+    /**
+     * Logging message for data access exceptions.
+     */
+    public static final String LOG_DATA_ACCESS_EXCEPTION = "Data access exception occurred: {}";
+
+    /**
+     * Logging message for general exceptions.
+     */
+    public static final String LOG_EXCEPTION = "Exception occurred: {}";
+
+    /**
+     * Logging message for resource not found exceptions.
+     */
+    public static final String LOG_RESOURCE_NOT_FOUND_EXCEPTION="Resource not found occurred: {}";
+
+      /**
+     * Basename for the resource bundle message source.
+     */
+    public static final String MESSAGE_SOURCE_BASENAME = "i18n.messages";
+
+    /**
+     * Default encoding for the resource bundle message source.
+     */
+    public static final String MESSAGE_SOURCE_DEFAULT_ENCODING = "UTF-8";
+
+        /**
+     * The base package to scan for API controllers.
+     */
+    public static final String BASE_PACKAGE = "com.example.controllers";
+
+    /**
+     * The regex pattern to match API paths.
+     */
+    public static final String PATH_REGEX = "/.*";
+
+    /**
+     * The title for the API documentation.
+     */
+    public static final String API_TITLE = "Author Service API";
+
+    /**
+     * The description for the API documentation.
+     */
+    public static final String API_DESCRIPTION = "API documentation for the Author Service application.";
+
+    /**
+     * The version of the API.
+     */
+    public static final String API_VERSION = "1.0.0";
+
+    /**
+     * File holding the last known Eureka registry when no location is configured.
+     */
+    public static final String DEFAULT_REGISTRY_SNAPSHOT_FILE = "eureka-registry.json";
+
+    /**
+     * Logging message for a registry restored from the snapshot file.
+     */
+    public static final String LOG_REGISTRY_SNAPSHOT_LOADED = "Loaded Eureka registry snapshot with {} applications from {}";
+
+    /**
+     * Logging message for a snapshot file that could not be read.
+     */
+    public static final String LOG_REGISTRY_SNAPSHOT_UNREADABLE = "Ignoring unreadable Eureka registry snapshot {}: {}";
+
+    /**
+     * Logging message for a snapshot that could not be written.
+     */
+    public static final String LOG_REGISTRY_SNAPSHOT_NOT_SAVED = "Could not save Eureka registry snapshot {}: {}";
+
+    /**
+     * Name of the thread running the warm-up.
+     */
+    public static final String WARMUP_THREAD_NAME = "warmup";
+
+    /**
+     * Base URL of the instance's own endpoints, followed by the port.
+     */
+    public static final String WARMUP_BASE_URL = "http://localhost:";
+
+    /**
+     * Eureka metadata key holding the warm-up duration in milliseconds.
+     */
+    public static final String WARMUP_METADATA_KEY = "warmup-ms";
+
+    /**
+     * Logging message for a finished warm-up.
+     */
+    public static final String LOG_WARMUP_FINISHED = "Warm-up finished in {} ms, instance marked UP";
+
+    /**
+     * Logging message for a warm-up step that failed.
+     */
+    public static final String LOG_WARMUP_FAILED = "Warm-up interrupted: {}";
+
+    /**
+     * Logging message for a connection pool that could not be filled.
+     */
+    public static final String LOG_WARMUP_POOL_NOT_FILLED = "Connection pool warm-up stopped after {} connections: {}";
+
+    /**
+     * Logging message for a warm-up request that failed.
+     */
+    public static final String LOG_WARMUP_REQUEST_FAILED = "Warm-up request {} failed: {}";
+
+    /**
+     * Reason reported when virtual threads are enabled on a JDK without them, followed by the JDK version.
+     */
+    public static final String VIRTUAL_THREADS_UNSUPPORTED = "Virtual threads need JDK 21 or later, running on %s";
+
+    /**
+     * Reason reported when no database connection became free in time, with the timeout in milliseconds.
+     */
+    public static final String CONNECTION_PERMIT_TIMEOUT = "No database connection available within %d ms";
+
+    /**
+     * First MySQL Connector/J major version whose blocking calls do not pin virtual threads.
+     */
+    public static final int VIRTUAL_THREADS_MIN_DRIVER_VERSION = 9;
+
+    /**
+     * System property making the JDK print a stack trace when a virtual thread blocks while pinned.
+     */
+    public static final String TRACE_PINNED_THREADS_PROPERTY = "jdk.tracePinnedThreads";
+
+    /**
+     * Logging message for a JDBC driver that pins virtual threads while it waits on the database.
+     */
+    public static final String LOG_VIRTUAL_THREADS_DRIVER_PINS = "{} {} blocks inside synchronized blocks and pins virtual threads; use version 9 or later";
+
+    /**
+     * Logging message for a JDBC driver whose version could not be read.
+     */
+    public static final String LOG_VIRTUAL_THREADS_DRIVER_UNKNOWN = "Could not check the JDBC driver for virtual thread pinning: {}";
+
+    /**
+     * Logging message suggesting how to find calls that pin virtual threads.
+     */
+    public static final String LOG_VIRTUAL_THREADS_TRACE_PINNING = "Run with -D{}=short to log calls that pin virtual threads";
+
+    /**
+     * Name of the data source bean that replicas are added to.
+     */
+    public static final String PRIMARY_DATA_SOURCE_BEAN = "dataSource";
+
+    /**
+     * Routing key of the primary database.
+     */
+    public static final String REPLICATION_PRIMARY = "primary";
+
+    /**
+     * Prefix of the replica connection pool names, followed by the replica index.
+     */
+    public static final String REPLICA_POOL_PREFIX = "replica-";
+
+    /**
+     * Cookie holding the time, in epoch milliseconds, until which the client reads from the primary.
+     */
+    public static final String COOKIE_READ_PRIMARY_UNTIL = "read-primary-until";
+
+    /**
+     * Logging message for a read sent to the primary because no replica connection could be obtained.
+     */
+    public static final String LOG_REPLICA_UNAVAILABLE = "Replica unavailable, reading from the primary: {}";
+
+    /**
+     * URL pattern of the API requests, which the concurrency limit and request deadlines apply to.
+     */
+    public static final String API_URL_PATTERN = "/authors/*";
+
+    /**
+     * Order of the concurrency limit filter. It runs right after the character
+     * encoding and request metrics filters, so that rejected requests are
+     * still recorded, and ahead of everything else.
+     */
+    public static final int CONCURRENCY_LIMIT_FILTER_ORDER = Ordered.HIGHEST_PRECEDENCE + 10;
+
+    /**
+     * Reason reported when a request is rejected by the concurrency limit.
+     */
+    public static final String CONCURRENCY_LIMIT_EXCEEDED = "Too many concurrent requests, try again later";
+
+    /**
+     * Seconds a client is asked to wait before retrying a request rejected by the concurrency limit.
+     */
+    public static final String CONCURRENCY_LIMIT_RETRY_AFTER_SECONDS = "1";
+
+    /**
+     * Prefix of the request description in error details, followed by the request URI.
+     */
+    public static final String REQUEST_DESCRIPTION_PREFIX = "uri=";
+
+    /**
+     * Meter name for the current adaptive concurrency limit.
+     */
+    public static final String METRIC_CONCURRENCY_LIMIT = "concurrency.limit";
+
+    /**
+     * Meter name for the requests admitted by the concurrency limit and not yet completed.
+     */
+    public static final String METRIC_CONCURRENCY_IN_FLIGHT = "concurrency.inflight";
+
+    /**
+     * Meter name for requests rejected by the concurrency limit.
+     */
+    public static final String METRIC_CONCURRENCY_REJECTED = "concurrency.rejected";
+
+    /**
+     * Request header holding the time, in epoch milliseconds, after which the
+     * caller no longer waits for the response.
+     */
+    public static final String HEADER_REQUEST_DEADLINE = "X-Request-Deadline";
+
+    /**
+     * Order of the deadline filter. It runs before the concurrency limit, so
+     * that expired requests do not take up a place there.
+     */
+    public static final int DEADLINE_FILTER_ORDER = Ordered.HIGHEST_PRECEDENCE + 5;
+
+    /**
+     * Reason reported when the caller's deadline passed before the request was served.
+     */
+    public static final String DEADLINE_EXCEEDED = "Request deadline exceeded";
+
+    /**
+     * Logging message for requests stopped because their deadline passed.
+     */
+    public static final String LOG_DEADLINE_EXCEEDED = "Deadline exceeded: {}";
+
+    /**
+     * URI of the cache manager behind Hibernate's second-level and query caches.
+     */
+    public static final String SECOND_LEVEL_CACHE_URI = "urn:authorservice:second-level-cache";
+
+    /**
+     * Hibernate short name of the JCache region factory.
+     */
+    public static final String HIBERNATE_JCACHE_REGION_FACTORY = "jcache";
+
+    /**
+     * Second-level cache region of authors.
+     */
+    public static final String CACHE_REGION_AUTHOR = "author";
+
+    /**
+     * Size of the update timestamps region, which holds one entry per table.
+     */
+    public static final long SECOND_LEVEL_CACHE_TIMESTAMPS_MAX_ENTRIES = 100;
+
+    /**
+     * JPA query hint keeping the results of a query in Hibernate's query cache.
+     */
+    public static final String HIBERNATE_HINT_CACHEABLE = "org.hibernate.cacheable";
+
+}
@@ -0,0 +1,10 @@
+-- The author table as spring.jpa.hibernate.ddl-auto=update created it. Existing
+-- databases are baselined at this version, so this script only runs on new ones.
+CREATE TABLE author (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    author_name VARCHAR(255) NOT NULL,
+    birth_date DATE,
+    nationality VARCHAR(255),
+    description TEXT,
+    PRIMARY KEY (id)
+);
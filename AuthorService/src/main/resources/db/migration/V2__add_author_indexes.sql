@@ -0,0 +1,3 @@
+-- Lookups, prefix searches and sorting by name. A search for names containing a
+-- keyword (LIKE '%keyword%') cannot seek on this index and still reads the table.
+CREATE INDEX idx_author_name ON author (author_name);
@@ -0,0 +1,166 @@
+package com.example.AuthorService.deadline;
+
+import com.example.AuthorService.exception.DeadlineExceededException;
+import com.example.AuthorService.utils.Constants;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.orm.jpa.EntityManagerFactoryUtils;
+import org.springframework.orm.jpa.EntityManagerHolder;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.DefaultTransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+import javax.persistence.EntityTransaction;
+import javax.persistence.Query;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Verifies that the caller's deadline rejects expired requests before any
+ * transaction starts, bounds the transactions and queries of the others, and
+ * follows the request onto threads running work for it.
+ */
+class DeadlineTests {
+
+	private final ObjectMapper objectMapper = new ObjectMapper();
+	private final EntityManagerFactory entityManagerFactory = mock(EntityManagerFactory.class);
+	private final EntityManager entityManager = mock(EntityManager.class);
+
+	private DeadlineJpaTransactionManager transactionManager;
+
+	@BeforeEach
+	void setUp() {
+		when(entityManagerFactory.createEntityManager()).thenReturn(entityManager);
+		when(entityManager.getTransaction()).thenReturn(mock(EntityTransaction.class));
+		transactionManager = new DeadlineJpaTransactionManager();
+		transactionManager.setEntityManagerFactory(entityManagerFactory);
+	}
+
+	@AfterEach
+	void tearDown() {
+		Deadline.clear();
+	}
+
+	@Test
+	void expiredDeadlineIsAnsweredWithGatewayTimeoutBeforeTheController() throws Exception {
+		MockHttpServletRequest request = new MockHttpServletRequest("GET", "/authors/list");
+		request.addHeader(Constants.HEADER_REQUEST_DEADLINE, Long.toString(System.currentTimeMillis() - 1));
+		MockHttpServletResponse response = new MockHttpServletResponse();
+		MockFilterChain chain = new MockFilterChain();
+
+		new DeadlineFilter(objectMapper).doFilter(request, response, chain);
+
+		assertThat(response.getStatus()).isEqualTo(HttpStatus.GATEWAY_TIMEOUT.value());
+		assertThat(response.getContentAsString()).contains(Constants.DEADLINE_EXCEEDED);
+		assertThat(chain.getRequest()).isNull();
+	}
+
+	@Test
+	void deadlineHeaderIsSetForTheRequestOnly() throws Exception {
+		long deadline = System.currentTimeMillis() + 5000;
+		MockHttpServletRequest request = new MockHttpServletRequest("GET", "/authors/list");
+		request.addHeader(Constants.HEADER_REQUEST_DEADLINE, Long.toString(deadline));
+		AtomicReference<Long> seen = new AtomicReference<>();
+
+		new DeadlineFilter(objectMapper).doFilter(request, new MockHttpServletResponse(),
+				(servletRequest, servletResponse) -> seen.set(Deadline.get()));
+
+		assertThat(seen).hasValue(deadline);
+		assertThat(Deadline.get()).isNull();
+
+		MockHttpServletRequest unreadable = new MockHttpServletRequest("GET", "/authors/list");
+		unreadable.addHeader(Constants.HEADER_REQUEST_DEADLINE, "soon");
+		new DeadlineFilter(objectMapper).doFilter(unreadable, new MockHttpServletResponse(),
+				(servletRequest, servletResponse) -> seen.set(Deadline.get()));
+
+		assertThat(seen).hasValue(null);
+	}
+
+	@Test
+	void noTransactionStartsAfterTheDeadline() {
+		Deadline.set(System.currentTimeMillis() - 1);
+
+		assertThatThrownBy(() -> transactionManager.getTransaction(new DefaultTransactionDefinition()))
+				.isInstanceOf(DeadlineExceededException.class);
+		verify(entityManagerFactory, never()).createEntityManager();
+	}
+
+	@Test
+	void remainingBudgetBecomesTransactionTimeout() {
+		DefaultTransactionDefinition shorter = new DefaultTransactionDefinition();
+		shorter.setTimeout(1);
+		DefaultTransactionDefinition longer = new DefaultTransactionDefinition();
+		longer.setTimeout(60);
+
+		assertThat(transactionManager.determineTimeout(new DefaultTransactionDefinition()))
+				.isEqualTo(TransactionDefinition.TIMEOUT_DEFAULT);
+
+		Deadline.set(System.currentTimeMillis() + 2500);
+
+		assertThat(transactionManager.determineTimeout(new DefaultTransactionDefinition())).isEqualTo(3);
+		assertThat(transactionManager.determineTimeout(shorter)).isEqualTo(1);
+		assertThat(transactionManager.determineTimeout(longer)).isEqualTo(3);
+
+		Deadline.set(System.currentTimeMillis() + 10);
+
+		assertThat(transactionManager.determineTimeout(new DefaultTransactionDefinition())).isEqualTo(1);
+	}
+
+	@Test
+	void remainingBudgetBecomesQueryTimeout() {
+		Deadline.set(System.currentTimeMillis() + 2500);
+		TransactionStatus status = transactionManager.getTransaction(new DefaultTransactionDefinition());
+		try {
+			EntityManagerHolder holder =
+					(EntityManagerHolder) TransactionSynchronizationManager.getResource(entityManagerFactory);
+			assertThat(holder.getTimeToLiveInSeconds()).isBetween(1, 3);
+
+			Query query = mock(Query.class);
+			EntityManagerFactoryUtils.applyTransactionTimeout(query, entityManagerFactory);
+
+			verify(query).setHint(eq("javax.persistence.query.timeout"),
+					argThat(millis -> (Integer) millis > 0 && (Integer) millis <= 3000));
+		} finally {
+			transactionManager.rollback(status);
+		}
+	}
+
+	@Test
+	void deadlineFollowsTheRequestOntoDecoratedThreads() throws Exception {
+		ExecutorService executor = Executors.newSingleThreadExecutor();
+		try {
+			long deadline = System.currentTimeMillis() + 5000;
+			Deadline.set(deadline);
+			CompletableFuture<Long> carried = new CompletableFuture<>();
+			executor.execute(Deadline.taskDecorator().decorate(() -> carried.complete(Deadline.get())));
+			assertThat(carried.get(5, TimeUnit.SECONDS)).isEqualTo(deadline);
+
+			CompletableFuture<Long> afterTask = new CompletableFuture<>();
+			executor.execute(() -> afterTask.complete(Deadline.get()));
+			assertThat(afterTask.get(5, TimeUnit.SECONDS)).isNull();
+		} finally {
+			executor.shutdown();
+		}
+	}
+}
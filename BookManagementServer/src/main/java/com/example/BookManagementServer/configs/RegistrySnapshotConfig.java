@@ -0,0 +1,43 @@
+package com.example.BookManagementServer.configs;
+
+import com.example.BookManagementServer.registry.RegistrySnapshot;
+import com.example.BookManagementServer.registry.RegistrySnapshotManager;
+import com.netflix.eureka.registry.PeerAwareInstanceRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+import java.nio.file.Paths;
+
+/**
+ * Configuration class persisting the Eureka server registry across restarts.
+ */
+@Configuration
+@EnableScheduling
+public class RegistrySnapshotConfig {
+
+    /**
+     * Creates the registry snapshot.
+     *
+     * @param file the snapshot file
+     * @return the registry snapshot
+     */
+    @Bean
+    public RegistrySnapshot registrySnapshot(@Value("${registry-snapshot.file:eureka-server-registry.json}") String file) {
+        return new RegistrySnapshot(Paths.get(file));
+    }
+
+    /**
+     * Creates the component restoring and saving the registry.
+     *
+     * @param registry the server's instance registry
+     * @param snapshot the registry snapshot
+     * @return the snapshot manager
+     */
+    @Bean
+    public RegistrySnapshotManager registrySnapshotManager(PeerAwareInstanceRegistry registry,
+                                                           RegistrySnapshot snapshot) {
+        return new RegistrySnapshotManager(registry, snapshot);
+    }
+}
@@ -0,0 +1,83 @@
+package com.example.BookManagementServer.registry;
+
+import com.netflix.appinfo.InstanceInfo;
+import com.netflix.discovery.shared.Application;
+import com.netflix.discovery.shared.Applications;
+import com.netflix.eureka.registry.PeerAwareInstanceRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.cloud.netflix.eureka.server.event.EurekaRegistryAvailableEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+
+/**
+ * Restores the registry from the {@link RegistrySnapshot} once the server is up
+ * and persists it periodically whenever it has changed. Restored instances keep
+ * their lease only if they renew it, so instances that died while the server
+ * was down expire as usual.
+ */
+public class RegistrySnapshotManager {
+
+    private static final Logger log = LoggerFactory.getLogger(RegistrySnapshotManager.class);
+
+    private final PeerAwareInstanceRegistry registry;
+    private final RegistrySnapshot snapshot;
+    private volatile boolean restored;
+    private volatile String savedFingerprint;
+
+    /**
+     * Constructs the manager.
+     *
+     * @param registry the server's instance registry
+     * @param snapshot the snapshot to restore from and save to
+     */
+    public RegistrySnapshotManager(PeerAwareInstanceRegistry registry, RegistrySnapshot snapshot) {
+        this.registry = registry;
+        this.snapshot = snapshot;
+    }
+
+    /**
+     * Register the instances from the snapshot that have not registered yet.
+     *
+     * @param event the notification that the registry accepts registrations
+     */
+    @EventListener(EurekaRegistryAvailableEvent.class)
+    public void restore(EurekaRegistryAvailableEvent event) {
+        Applications applications = snapshot.load();
+        int count = 0;
+        if (applications != null) {
+            for (Application application : applications.getRegisteredApplications()) {
+                for (InstanceInfo instance : application.getInstances()) {
+                    if (registry.getInstanceByAppAndId(application.getName(), instance.getId()) == null) {
+                        registry.register(instance, true);
+                        count++;
+                    }
+                }
+            }
+        }
+        restored = true;
+        log.info("Restored {} instances from the registry snapshot", count);
+    }
+
+    /**
+     * Save the registry if it has changed since the last save. Nothing is saved
+     * before the snapshot has been restored, so an empty registry at startup
+     * never replaces it.
+     */
+    @Scheduled(fixedDelayString = "${registry-snapshot.interval-ms:30000}")
+    public void saveIfChanged() {
+        if (!restored) {
+            return;
+        }
+        Applications applications = registry.getApplications();
+        if (applications.size() == 0) {
+            return;
+        }
+        String fingerprint = RegistrySnapshot.fingerprint(applications);
+        if (fingerprint.equals(savedFingerprint)) {
+            return;
+        }
+        snapshot.save(applications);
+        savedFingerprint = fingerprint;
+    }
+}
@@ -0,0 +1,124 @@
+package com.example.BookManagementServer.registry;
+
+import com.netflix.appinfo.DataCenterInfo;
+import com.netflix.appinfo.InstanceInfo;
+import com.netflix.appinfo.MyDataCenterInfo;
+import com.netflix.discovery.shared.Application;
+import com.netflix.discovery.shared.Applications;
+import com.netflix.eureka.EurekaServerConfig;
+import com.netflix.eureka.registry.PeerAwareInstanceRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+import org.springframework.cloud.netflix.eureka.server.event.EurekaRegistryAvailableEvent;
+
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Verifies that a restarted server registers the instances it knew before the
+ * restart, leaves alone those that registered again first, and does not replace
+ * the snapshot with the empty registry it starts with.
+ */
+class RegistrySnapshotManagerTests {
+
+	@TempDir
+	Path directory;
+
+	private RegistrySnapshot snapshot;
+
+	@BeforeEach
+	void setUp() {
+		snapshot = new RegistrySnapshot(directory.resolve("eureka-server-registry.json"));
+	}
+
+	@Test
+	void restartedServerRestoresInstancesFromSnapshot() {
+		InstanceInfo first = instance("BOOKSERVICE", "10.0.0.1", 8081);
+		InstanceInfo second = instance("BOOKSERVICE", "10.0.0.2", 8081);
+		InstanceInfo author = instance("AUTHORSERVICE", "10.0.0.3", 8082);
+		PeerAwareInstanceRegistry before = mock(PeerAwareInstanceRegistry.class);
+		when(before.getApplications()).thenReturn(registry(first, second, author));
+		RegistrySnapshotManager running = new RegistrySnapshotManager(before, snapshot);
+		running.restore(availableEvent());
+		running.saveIfChanged();
+
+		PeerAwareInstanceRegistry after = mock(PeerAwareInstanceRegistry.class);
+		when(after.getApplications()).thenReturn(registry());
+		when(after.getInstanceByAppAndId("BOOKSERVICE", second.getId())).thenReturn(second);
+		RegistrySnapshotManager restarted = new RegistrySnapshotManager(after, snapshot);
+		restarted.saveIfChanged();
+		restarted.restore(availableEvent());
+
+		ArgumentCaptor<InstanceInfo> registered = ArgumentCaptor.forClass(InstanceInfo.class);
+		verify(after, times(2)).register(registered.capture(), eq(true));
+		assertThat(registered.getAllValues()).extracting(InstanceInfo::getId)
+				.containsExactlyInAnyOrder(first.getId(), author.getId());
+		assertThat(registered.getAllValues()).extracting(InstanceInfo::getIPAddr, InstanceInfo::getPort)
+				.contains(tuple("10.0.0.1", 8081));
+	}
+
+	@Test
+	void emptyRegistryNeverReplacesSnapshot() {
+		snapshot.save(registry(instance("BOOKSERVICE", "10.0.0.1", 8081)));
+		PeerAwareInstanceRegistry registry = mock(PeerAwareInstanceRegistry.class);
+		when(registry.getApplications()).thenReturn(registry());
+		RegistrySnapshotManager manager = new RegistrySnapshotManager(registry, snapshot);
+
+		manager.saveIfChanged();
+		manager.restore(availableEvent());
+		manager.saveIfChanged();
+
+		assertThat(snapshot.load().size()).isEqualTo(1);
+	}
+
+	@Test
+	void missingSnapshotRestoresNothing() {
+		PeerAwareInstanceRegistry registry = mock(PeerAwareInstanceRegistry.class);
+
+		new RegistrySnapshotManager(registry, snapshot).restore(availableEvent());
+
+		verify(registry, never()).register(any(InstanceInfo.class), anyBoolean());
+	}
+
+	private static EurekaRegistryAvailableEvent availableEvent() {
+		return new EurekaRegistryAvailableEvent(mock(EurekaServerConfig.class));
+	}
+
+	private static Applications registry(InstanceInfo... instances) {
+		Applications applications = new Applications();
+		for (InstanceInfo instance : instances) {
+			Application application = applications.getRegisteredApplications(instance.getAppName());
+			if (application == null) {
+				application = new Application(instance.getAppName());
+				applications.addApplication(application);
+			}
+			application.addInstance(instance);
+		}
+		applications.setAppsHashCode(applications.getReconcileHashCode());
+		return applications;
+	}
+
+	private static InstanceInfo instance(String appName, String ipAddress, int port) {
+		return InstanceInfo.Builder.newBuilder()
+				.setAppName(appName)
+				.setInstanceId(ipAddress + ":" + appName + ":" + port)
+				.setHostName(ipAddress)
+				.setIPAddr(ipAddress)
+				.setPort(port)
+				.setStatus(InstanceInfo.InstanceStatus.UP)
+				.setDataCenterInfo(new MyDataCenterInfo(DataCenterInfo.Name.MyOwn))
+				.build();
+	}
+}
@@ -0,0 +1,146 @@
+package com.example.cache;
+
+import com.example.dto.request.BookFilter;
+import com.example.entities.Book;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * A small, least-recently-used store of book listing pages, keyed by the
+ * normalised filter and the requested page. A page is only stored once its
+ * key has been asked for a given number of times, so one-off filter
+ * combinations do not push the frequent ones out. Any write through this
+ * instance empties the store; writes by other instances show after the time
+ * to live.
+ */
+public class BookResultCache {
+
+    private final int maxEntries;
+    private final long timeToLiveNanos;
+    private final int admissionThreshold;
+    private final Map<String, Entry> entries;
+    private final Map<String, Integer> candidates;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private long generation;
+
+    /**
+     * Constructs the cache.
+     *
+     * @param maxEntries         the maximum number of pages held
+     * @param timeToLiveNanos    how long a page is served, in nanoseconds
+     * @param admissionThreshold the number of requests for a key before its page is stored
+     */
+    public BookResultCache(int maxEntries, long timeToLiveNanos, int admissionThreshold) {
+        this.maxEntries = maxEntries;
+        this.timeToLiveNanos = timeToLiveNanos;
+        this.admissionThreshold = admissionThreshold;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                return size() > BookResultCache.this.maxEntries;
+            }
+        };
+        // request counts of keys not stored yet, bounded so that rare keys are forgotten
+        this.candidates = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Integer> eldest) {
+                return size() > 4 * BookResultCache.this.maxEntries;
+            }
+        };
+    }
+
+    /**
+     * Get the key of a listing page.
+     *
+     * @param filter   the normalised filter
+     * @param pageable the requested page
+     * @return the cache key
+     */
+    public static String key(BookFilter filter, Pageable pageable) {
+        return filter.toKey() + "&page=" + pageable.getPageNumber() + "&size=" + pageable.getPageSize()
+                + "&sort=" + pageable.getSort();
+    }
+
+    /**
+     * Get a fresh page from the store, or load it and store it if its key is
+     * asked for often enough. A page loaded while a write invalidated the
+     * store is returned but not stored.
+     *
+     * @param key    the cache key
+     * @param loader loads the page from the database
+     * @return the page
+     */
+    public Page<Book> get(String key, Supplier<Page<Book>> loader) {
+        long now = System.nanoTime();
+        boolean admit;
+        long loadGeneration;
+        synchronized (this) {
+            Entry entry = entries.get(key);
+            if (entry != null && now - entry.expiresAt < 0) {
+                hits.increment();
+                return entry.page;
+            }
+            admit = entry != null || candidates.merge(key, 1, Integer::sum) >= admissionThreshold;
+            loadGeneration = generation;
+        }
+        misses.increment();
+        Page<Book> page = loader.get();
+        if (admit) {
+            synchronized (this) {
+                if (generation == loadGeneration) {
+                    candidates.remove(key);
+                    entries.put(key, new Entry(page, now + timeToLiveNanos));
+                }
+            }
+        }
+        return page;
+    }
+
+    /**
+     * Remove every page, after a write.
+     */
+    public synchronized void invalidateAll() {
+        generation++;
+        entries.clear();
+    }
+
+    /**
+     * Get the number of pages currently held.
+     *
+     * @return the entry count
+     */
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    /**
+     * Get the ratio of lookups that were served from the store.
+     *
+     * @return the hit ratio between 0 and 1, or 0 before the first lookup
+     */
+    public double hitRatio() {
+        long hitCount = hits.sum();
+        long total = hitCount + misses.sum();
+        return total == 0 ? 0.0 : (double) hitCount / total;
+    }
+
+    /**
+     * A stored page and the time it expires at.
+     */
+    private static final class Entry {
+
+        private final Page<Book> page;
+        private final long expiresAt;
+
+        Entry(Page<Book> page, long expiresAt) {
+            this.page = page;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
@@ -0,0 +1,145 @@
+package com.example.concurrency;
+
+import com.example.exception.BulkheadFullException;
+import com.example.utils.Constants;
+import org.springframework.core.task.TaskDecorator;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * A fixed set of threads with a bounded queue in front of it, reserved for one
+ * kind of work. Tasks submitted while every thread is busy and the queue is
+ * full are rejected rather than queued. While a task runs, the bulkhead's name
+ * is available from {@link #current()} so that it uses the bulkhead's own
+ * connection pool. The threads are platform threads unless another thread
+ * factory, such as one making virtual threads, is given.
+ */
+public class Bulkhead {
+
+    private static final ThreadLocal<String> CURRENT = new ThreadLocal<>();
+
+    private final String name;
+    private final ThreadPoolExecutor executor;
+    private final TaskDecorator taskDecorator;
+    private final LongAdder rejected = new LongAdder();
+
+    /**
+     * Constructs the bulkhead and starts its threads.
+     *
+     * @param name          the bulkhead name
+     * @param threads       the number of threads
+     * @param queueCapacity the number of tasks that may wait for a thread
+     * @param taskDecorator carries the submitting thread's context over to the task
+     */
+    public Bulkhead(String name, int threads, int queueCapacity, TaskDecorator taskDecorator) {
+        this(name, threads, queueCapacity, platformThreadFactory(name), taskDecorator);
+    }
+
+    /**
+     * Constructs the bulkhead with threads made by the given factory and starts them.
+     *
+     * @param name          the bulkhead name
+     * @param threads       the number of threads
+     * @param queueCapacity the number of tasks that may wait for a thread
+     * @param threadFactory makes the bulkhead's threads
+     * @param taskDecorator carries the submitting thread's context over to the task
+     */
+    public Bulkhead(String name, int threads, int queueCapacity, ThreadFactory threadFactory,
+                    TaskDecorator taskDecorator) {
+        this.name = name;
+        this.taskDecorator = taskDecorator;
+        this.executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), threadFactory, new ThreadPoolExecutor.AbortPolicy());
+        this.executor.prestartAllCoreThreads();
+    }
+
+    /**
+     * Get the name of the bulkhead running the current task.
+     *
+     * @return the bulkhead name, or null outside of a bulkhead
+     */
+    public static String current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * Run the task on the bulkhead.
+     *
+     * @param task the task
+     * @param <T>  the result type
+     * @return a future completing with the task's result
+     * @throws BulkheadFullException if every thread is busy and the queue is full
+     */
+    public <T> CompletableFuture<T> submit(Supplier<T> task) {
+        try {
+            return CompletableFuture.supplyAsync(() -> {
+                CURRENT.set(name);
+                try {
+                    return task.get();
+                } finally {
+                    CURRENT.remove();
+                }
+            }, runnable -> executor.execute(taskDecorator.decorate(runnable)));
+        } catch (RejectedExecutionException e) {
+            rejected.increment();
+            throw new BulkheadFullException(String.format(Constants.BULKHEAD_FULL, name));
+        }
+    }
+
+    /**
+     * Get the bulkhead name.
+     *
+     * @return the name
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Get the executor running the bulkhead's tasks.
+     *
+     * @return the executor
+     */
+    public ThreadPoolExecutor getExecutor() {
+        return executor;
+    }
+
+    /**
+     * Get how many tasks were rejected because the bulkhead was full.
+     *
+     * @return the rejected task count
+     */
+    public long getRejected() {
+        return rejected.sum();
+    }
+
+    /**
+     * Stop the threads once the queued tasks have run.
+     */
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    /**
+     * Create a factory of daemon platform threads named after the bulkhead.
+     *
+     * @param name the bulkhead name
+     * @return the thread factory
+     */
+    public static ThreadFactory platformThreadFactory(String name) {
+        AtomicInteger count = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, name + "-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
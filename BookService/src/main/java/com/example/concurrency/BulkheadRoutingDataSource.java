@@ -0,0 +1,16 @@
+package com.example.concurrency;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+
+/**
+ * Data source handing out connections from the pool of the bulkhead running
+ * the current task. Work done outside of a bulkhead, such as schema updates at
+ * startup, uses the default pool.
+ */
+public class BulkheadRoutingDataSource extends AbstractRoutingDataSource {
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        return Bulkhead.current();
+    }
+}
@@ -0,0 +1,48 @@
+package com.example.concurrency;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
+
+/**
+ * The read and write bulkheads of the book operations. Reads and writes run on
+ * separate threads with separate connection pools, so a burst of writes cannot
+ * hold up {@code getBooks} or {@code getBookByTitle}.
+ */
+public class Bulkheads {
+
+    private final Bulkhead read;
+    private final Bulkhead write;
+
+    /**
+     * Constructs the bulkheads.
+     *
+     * @param read  the bulkhead for queries
+     * @param write the bulkhead for inserts, updates and deletes
+     */
+    public Bulkheads(Bulkhead read, Bulkhead write) {
+        this.read = read;
+        this.write = write;
+    }
+
+    /**
+     * Run a query on the read bulkhead.
+     *
+     * @param task the query
+     * @param <T>  the result type
+     * @return a future completing with the query's result
+     */
+    public <T> CompletableFuture<T> read(Supplier<T> task) {
+        return read.submit(task);
+    }
+
+    /**
+     * Run a change on the write bulkhead.
+     *
+     * @param task the change
+     * @param <T>  the result type
+     * @return a future completing with the change's result
+     */
+    public <T> CompletableFuture<T> write(Supplier<T> task) {
+        return write.submit(task);
+    }
+}
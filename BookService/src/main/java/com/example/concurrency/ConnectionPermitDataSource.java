@@ -0,0 +1,140 @@
+package com.example.concurrency;
+
+import com.example.utils.Constants;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Data source that lets at most as many threads hold a connection as the pool
+ * has connections. With virtual threads there is no request thread pool left to
+ * cap concurrency, so thousands of threads would otherwise queue inside the
+ * connection pool. Here they wait in a fair semaphore instead, which parks a
+ * virtual thread without holding its carrier, and fail after the timeout.
+ */
+public class ConnectionPermitDataSource extends DelegatingDataSource {
+
+    private final Semaphore permits;
+    private final int maxPermits;
+    private final Duration timeout;
+
+    /**
+     * Constructs the data source.
+     *
+     * @param targetDataSource the pooled data source
+     * @param maxPermits       the number of connections that may be held at once
+     * @param timeout          how long a thread waits for a permit
+     */
+    public ConnectionPermitDataSource(DataSource targetDataSource, int maxPermits, Duration timeout) {
+        super(targetDataSource);
+        this.permits = new Semaphore(maxPermits, true);
+        this.maxPermits = maxPermits;
+        this.timeout = timeout;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        acquire();
+        try {
+            return guard(super.getConnection());
+        } catch (SQLException | RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        acquire();
+        try {
+            return guard(super.getConnection(username, password));
+        } catch (SQLException | RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    /**
+     * Get the number of connections that may be held at once.
+     *
+     * @return the permit count
+     */
+    public int getMaxPermits() {
+        return maxPermits;
+    }
+
+    /**
+     * Get the number of threads currently holding a connection.
+     *
+     * @return the permits in use
+     */
+    public int getActivePermits() {
+        return maxPermits - permits.availablePermits();
+    }
+
+    /**
+     * Get an estimate of the number of threads waiting for a connection.
+     *
+     * @return the waiting thread count
+     */
+    public int getWaitingThreads() {
+        return permits.getQueueLength();
+    }
+
+    /**
+     * Wait for a permit.
+     *
+     * @throws SQLTransientConnectionException if no permit became free within the timeout
+     */
+    private void acquire() throws SQLTransientConnectionException {
+        try {
+            if (!permits.tryAcquire(timeout.toNanos(), TimeUnit.NANOSECONDS)) {
+                throw new SQLTransientConnectionException(
+                        String.format(Constants.CONNECTION_PERMIT_TIMEOUT, timeout.toMillis()));
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLTransientConnectionException(
+                    String.format(Constants.CONNECTION_PERMIT_TIMEOUT, timeout.toMillis()), e);
+        }
+    }
+
+    /**
+     * Wrap a connection so that closing it returns the permit, exactly once.
+     *
+     * @param connection the pooled connection
+     * @return the wrapped connection
+     */
+    private Connection guard(Connection connection) {
+        AtomicBoolean released = new AtomicBoolean();
+        return (Connection) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[]{Connection.class},
+                (proxy, method, args) -> {
+                    switch (method.getName()) {
+                        case "equals":
+                            return proxy == args[0];
+                        case "hashCode":
+                            return System.identityHashCode(proxy);
+                        default:
+                            break;
+                    }
+                    try {
+                        return method.invoke(connection, args);
+                    } catch (InvocationTargetException e) {
+                        throw e.getTargetException();
+                    } finally {
+                        if ("close".equals(method.getName()) && released.compareAndSet(false, true)) {
+                            permits.release();
+                        }
+                    }
+                });
+    }
+}
@@ -0,0 +1,52 @@
+package com.example.concurrency;
+
+import com.example.utils.Constants;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.SQLException;
+
+/**
+ * Warns at startup about blocking calls that would pin virtual threads to their
+ * carrier. A virtual thread blocking inside a {@code synchronized} block keeps
+ * its carrier thread, so a JDBC driver that guards socket reads that way caps
+ * the number of concurrent queries at the number of carriers. MySQL
+ * Connector/J uses locks instead of {@code synchronized} from version 9.
+ */
+@Slf4j
+public class PinningCheck {
+
+    private final DataSource dataSource;
+
+    /**
+     * Constructs the check.
+     *
+     * @param dataSource the data source whose driver is checked
+     */
+    public PinningCheck(DataSource dataSource) {
+        this.dataSource = dataSource;
+    }
+
+    /**
+     * Check the JDBC driver and the pinning diagnostics once the application is ready.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void check() {
+        try (Connection connection = dataSource.getConnection()) {
+            DatabaseMetaData metaData = connection.getMetaData();
+            if (metaData.getDriverMajorVersion() < Constants.VIRTUAL_THREADS_MIN_DRIVER_VERSION) {
+                log.warn(Constants.LOG_VIRTUAL_THREADS_DRIVER_PINS, metaData.getDriverName(),
+                        metaData.getDriverVersion());
+            }
+        } catch (SQLException e) {
+            log.warn(Constants.LOG_VIRTUAL_THREADS_DRIVER_UNKNOWN, e.getMessage());
+        }
+        if (System.getProperty(Constants.TRACE_PINNED_THREADS_PROPERTY) == null) {
+            log.info(Constants.LOG_VIRTUAL_THREADS_TRACE_PINNING, Constants.TRACE_PINNED_THREADS_PROPERTY);
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package com.example.concurrency;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.core.task.TaskDecorator;
+
+/**
+ * Combines the task decorators in the application context, which carry the
+ * request's context over to the threads doing its work.
+ */
+public final class TaskDecorators {
+
+    private TaskDecorators() {
+    }
+
+    /**
+     * Chain the given task decorators into one.
+     *
+     * @param taskDecorators the task decorators
+     * @return the combined decorator
+     */
+    public static TaskDecorator combine(ObjectProvider<TaskDecorator> taskDecorators) {
+        TaskDecorator combined = task -> task;
+        for (TaskDecorator decorator : (Iterable<TaskDecorator>) taskDecorators.orderedStream()::iterator) {
+            TaskDecorator inner = combined;
+            combined = task -> decorator.decorate(inner.decorate(task));
+        }
+        return combined;
+    }
+}
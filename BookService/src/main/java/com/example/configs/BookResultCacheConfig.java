@@ -0,0 +1,39 @@
+package com.example.configs;
+
+import com.example.cache.BookResultCache;
+import com.example.utils.Constants;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Configuration class for the cache of book listing pages in front of the
+ * book service. The cache can be turned off with
+ * {@code book-result-cache.enabled=false}.
+ */
+@Configuration
+@EnableConfigurationProperties(BookResultCacheProperties.class)
+@ConditionalOnProperty(prefix = "book-result-cache", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class BookResultCacheConfig {
+
+    /**
+     * Creates the page store and registers its size and hit-ratio gauges.
+     *
+     * @param properties    the cache configuration
+     * @param meterRegistry the registry receiving cache meters
+     * @return the book result cache
+     */
+    @Bean
+    public BookResultCache bookResultCache(BookResultCacheProperties properties, MeterRegistry meterRegistry) {
+        BookResultCache cache = new BookResultCache(properties.getMaxEntries(),
+                properties.getTimeToLive().toNanos(), properties.getAdmissionThreshold());
+        Gauge.builder(Constants.METRIC_BOOK_RESULT_CACHE_SIZE, cache, BookResultCache::size)
+                .register(meterRegistry);
+        Gauge.builder(Constants.METRIC_BOOK_RESULT_CACHE_HIT_RATIO, cache, BookResultCache::hitRatio)
+                .register(meterRegistry);
+        return cache;
+    }
+}
@@ -0,0 +1,96 @@
+package com.example.configs;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Configuration properties for the cache of filtered book listing pages,
+ * bound from the {@code book-result-cache} prefix.
+ */
+@ConfigurationProperties(prefix = "book-result-cache")
+public class BookResultCacheProperties {
+
+    private boolean enabled = true;
+
+    private int maxEntries = 256;
+
+    private Duration timeToLive = Duration.ofSeconds(30);
+
+    private int admissionThreshold = 2;
+
+    /**
+     * Whether listing pages are cached.
+     *
+     * @return true if the cache is active
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Set whether listing pages are cached.
+     *
+     * @param enabled true to cache
+     */
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    /**
+     * Get the number of pages held before the least recently used is evicted.
+     *
+     * @return the maximum number of entries
+     */
+    public int getMaxEntries() {
+        return maxEntries;
+    }
+
+    /**
+     * Set the number of pages held before the least recently used is evicted.
+     *
+     * @param maxEntries the maximum number of entries
+     */
+    public void setMaxEntries(int maxEntries) {
+        this.maxEntries = maxEntries;
+    }
+
+    /**
+     * Get how long a cached page is served. It bounds how long writes by other
+     * instances stay unseen.
+     *
+     * @return the time to live
+     */
+    public Duration getTimeToLive() {
+        return timeToLive;
+    }
+
+    /**
+     * Set how long a cached page is served.
+     *
+     * @param timeToLive the time to live
+     */
+    public void setTimeToLive(Duration timeToLive) {
+        this.timeToLive = timeToLive;
+    }
+
+    /**
+     * Get the number of requests for a filter and page before the page is
+     * cached.
+     *
+     * @return the admission threshold
+     */
+    public int getAdmissionThreshold() {
+        return admissionThreshold;
+    }
+
+    /**
+     * Set the number of requests for a filter and page before the page is
+     * cached.
+     *
+     * @param admissionThreshold the admission threshold
+     */
+    public void setAdmissionThreshold(int admissionThreshold) {
+        this.admissionThreshold = admissionThreshold;
+    }
+}
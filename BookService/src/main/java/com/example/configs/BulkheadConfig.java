@@ -0,0 +1,188 @@
+package com.example.configs;
+
+import com.example.concurrency.Bulkhead;
+import com.example.concurrency.BulkheadRoutingDataSource;
+import com.example.concurrency.Bulkheads;
+import com.example.concurrency.TaskDecorators;
+import com.example.concurrency.VirtualThreads;
+import com.example.utils.Constants;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.task.TaskDecorator;
+
+import javax.sql.DataSource;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * Configuration class for the read and write bulkheads. Each bulkhead has its
+ * own threads and its own connection pool; the primary data source hands out
+ * connections from the pool of the bulkhead running the current task. With
+ * {@code virtual-threads.enabled=true} the bulkhead threads are virtual
+ * threads, so that the blocking JPA calls do not hold platform threads; the
+ * thread count and queue still bound each bulkhead.
+ */
+@Configuration
+@EnableConfigurationProperties(BulkheadProperties.class)
+public class BulkheadConfig {
+
+    /**
+     * Creates the connection pool used by queries.
+     *
+     * @param dataSourceProperties the connection settings
+     * @param properties           the bulkhead configuration
+     * @return the read connection pool
+     */
+    @Bean
+    public HikariDataSource readDataSource(DataSourceProperties dataSourceProperties, BulkheadProperties properties) {
+        return pool(dataSourceProperties, Constants.BULKHEAD_READ, properties.getRead());
+    }
+
+    /**
+     * Creates the connection pool used by inserts, updates and deletes, and by
+     * work done outside of a bulkhead.
+     *
+     * @param dataSourceProperties the connection settings
+     * @param properties           the bulkhead configuration
+     * @return the write connection pool
+     */
+    @Bean
+    public HikariDataSource writeDataSource(DataSourceProperties dataSourceProperties, BulkheadProperties properties) {
+        return pool(dataSourceProperties, Constants.BULKHEAD_WRITE, properties.getWrite());
+    }
+
+    /**
+     * Creates the data source routing each connection request to the pool of the current bulkhead.
+     *
+     * @param readDataSource  the read connection pool
+     * @param writeDataSource the write connection pool
+     * @return the routing data source
+     */
+    @Bean
+    @Primary
+    public DataSource dataSource(@Qualifier("readDataSource") DataSource readDataSource,
+                                 @Qualifier("writeDataSource") DataSource writeDataSource) {
+        Map<Object, Object> targets = new HashMap<>();
+        targets.put(Constants.BULKHEAD_READ, readDataSource);
+        targets.put(Constants.BULKHEAD_WRITE, writeDataSource);
+        BulkheadRoutingDataSource dataSource = new BulkheadRoutingDataSource();
+        dataSource.setTargetDataSources(targets);
+        dataSource.setDefaultTargetDataSource(writeDataSource);
+        return dataSource;
+    }
+
+    /**
+     * Creates the bulkhead running queries.
+     *
+     * @param properties     the bulkhead configuration
+     * @param virtualThreads whether the bulkhead runs on virtual threads
+     * @param taskDecorators carry request context over to the bulkhead's threads
+     * @return the read bulkhead
+     */
+    @Bean(destroyMethod = "shutdown")
+    public Bulkhead readBulkhead(BulkheadProperties properties,
+                                 @Value("${virtual-threads.enabled:false}") boolean virtualThreads,
+                                 ObjectProvider<TaskDecorator> taskDecorators) {
+        return new Bulkhead(Constants.BULKHEAD_READ, properties.getRead().getThreads(),
+                properties.getRead().getQueueCapacity(), threadFactory(Constants.BULKHEAD_READ, virtualThreads),
+                TaskDecorators.combine(taskDecorators));
+    }
+
+    /**
+     * Creates the bulkhead running inserts, updates and deletes.
+     *
+     * @param properties     the bulkhead configuration
+     * @param virtualThreads whether the bulkhead runs on virtual threads
+     * @param taskDecorators carry request context over to the bulkhead's threads
+     * @return the write bulkhead
+     */
+    @Bean(destroyMethod = "shutdown")
+    public Bulkhead writeBulkhead(BulkheadProperties properties,
+                                  @Value("${virtual-threads.enabled:false}") boolean virtualThreads,
+                                  ObjectProvider<TaskDecorator> taskDecorators) {
+        return new Bulkhead(Constants.BULKHEAD_WRITE, properties.getWrite().getThreads(),
+                properties.getWrite().getQueueCapacity(), threadFactory(Constants.BULKHEAD_WRITE, virtualThreads),
+                TaskDecorators.combine(taskDecorators));
+    }
+
+    /**
+     * Creates the pair of bulkheads used by the controllers.
+     *
+     * @param readBulkhead  the read bulkhead
+     * @param writeBulkhead the write bulkhead
+     * @return the bulkheads
+     */
+    @Bean
+    public Bulkheads bulkheads(@Qualifier("readBulkhead") Bulkhead readBulkhead,
+                               @Qualifier("writeBulkhead") Bulkhead writeBulkhead) {
+        return new Bulkheads(readBulkhead, writeBulkhead);
+    }
+
+    /**
+     * Publishes the thread, queue and rejection meters of each bulkhead. The
+     * connection pools publish their own meters, tagged with the same names.
+     *
+     * @param readBulkhead  the read bulkhead
+     * @param writeBulkhead the write bulkhead
+     * @return the meter binder
+     */
+    @Bean
+    public MeterBinder bulkheadMetrics(@Qualifier("readBulkhead") Bulkhead readBulkhead,
+                                       @Qualifier("writeBulkhead") Bulkhead writeBulkhead) {
+        return registry -> {
+            for (Bulkhead bulkhead : new Bulkhead[]{readBulkhead, writeBulkhead}) {
+                new ExecutorServiceMetrics(bulkhead.getExecutor(), bulkhead.getName(), Constants.METRIC_BULKHEAD_PREFIX,
+                        Tags.empty()).bindTo(registry);
+                Gauge.builder(Constants.METRIC_BULKHEAD_UTILISATION, bulkhead.getExecutor(),
+                                executor -> (double) executor.getActiveCount() / executor.getMaximumPoolSize())
+                        .tag(Constants.TAG_BULKHEAD, bulkhead.getName())
+                        .register(registry);
+                FunctionCounter.builder(Constants.METRIC_BULKHEAD_REJECTED, bulkhead, Bulkhead::getRejected)
+                        .tag(Constants.TAG_BULKHEAD, bulkhead.getName())
+                        .register(registry);
+            }
+        };
+    }
+
+    /**
+     * Create the factory of a bulkhead's threads.
+     *
+     * @param name           the bulkhead name, used as thread name prefix
+     * @param virtualThreads whether to make virtual threads
+     * @return the thread factory
+     */
+    private static ThreadFactory threadFactory(String name, boolean virtualThreads) {
+        return virtualThreads ? VirtualThreads.newThreadFactory(name + "-") : Bulkhead.platformThreadFactory(name);
+    }
+
+    /**
+     * Build a connection pool with the configured connection settings.
+     *
+     * @param dataSourceProperties the connection settings
+     * @param name                 the bulkhead name, used as pool name
+     * @param pool                 the bulkhead sizes
+     * @return the connection pool
+     */
+    private static HikariDataSource pool(DataSourceProperties dataSourceProperties, String name,
+                                         BulkheadProperties.Pool pool) {
+        HikariDataSource dataSource = dataSourceProperties.initializeDataSourceBuilder()
+                .type(HikariDataSource.class)
+                .build();
+        dataSource.setPoolName(Constants.BULKHEAD_POOL_PREFIX + name);
+        dataSource.setMaximumPoolSize(pool.getConnections());
+        return dataSource;
+    }
+}
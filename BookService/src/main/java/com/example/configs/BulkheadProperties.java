@@ -0,0 +1,137 @@
+package com.example.configs;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Configuration properties for the read and write bulkheads of the book
+ * operations, bound from the {@code bulkhead} prefix.
+ */
+@ConfigurationProperties(prefix = "bulkhead")
+public class BulkheadProperties {
+
+    private Pool read = new Pool(10, 200, 10);
+
+    private Pool write = new Pool(4, 50, 4);
+
+    /**
+     * Get the sizes of the bulkhead running queries.
+     *
+     * @return the read pool sizes
+     */
+    public Pool getRead() {
+        return read;
+    }
+
+    /**
+     * Set the sizes of the bulkhead running queries.
+     *
+     * @param read the read pool sizes
+     */
+    public void setRead(Pool read) {
+        this.read = read;
+    }
+
+    /**
+     * Get the sizes of the bulkhead running inserts, updates and deletes.
+     *
+     * @return the write pool sizes
+     */
+    public Pool getWrite() {
+        return write;
+    }
+
+    /**
+     * Set the sizes of the bulkhead running inserts, updates and deletes.
+     *
+     * @param write the write pool sizes
+     */
+    public void setWrite(Pool write) {
+        this.write = write;
+    }
+
+    /**
+     * Thread, queue and connection pool sizes of one bulkhead.
+     */
+    public static class Pool {
+
+        private int threads;
+
+        private int queueCapacity;
+
+        private int connections;
+
+        /**
+         * Constructs pool sizes with no threads, queue or connections.
+         */
+        public Pool() {
+        }
+
+        /**
+         * Constructs pool sizes.
+         *
+         * @param threads       the number of threads
+         * @param queueCapacity the number of requests that may wait for a thread
+         * @param connections   the size of the connection pool
+         */
+        public Pool(int threads, int queueCapacity, int connections) {
+            this.threads = threads;
+            this.queueCapacity = queueCapacity;
+            this.connections = connections;
+        }
+
+        /**
+         * Get the number of threads.
+         *
+         * @return the thread count
+         */
+        public int getThreads() {
+            return threads;
+        }
+
+        /**
+         * Set the number of threads.
+         *
+         * @param threads the thread count
+         */
+        public void setThreads(int threads) {
+            this.threads = threads;
+        }
+
+        /**
+         * Get the number of requests that may wait for a thread before further
+         * requests are rejected with 503.
+         *
+         * @return the queue capacity
+         */
+        public int getQueueCapacity() {
+            return queueCapacity;
+        }
+
+        /**
+         * Set the number of requests that may wait for a thread.
+         *
+         * @param queueCapacity the queue capacity
+         */
+        public void setQueueCapacity(int queueCapacity) {
+            this.queueCapacity = queueCapacity;
+        }
+
+        /**
+         * Get the size of the bulkhead's database connection pool.
+         *
+         * @return the connection count
+         */
+        public int getConnections() {
+            return connections;
+        }
+
+        /**
+         * Set the size of the bulkhead's database connection pool.
+         *
+         * @param connections the connection count
+         */
+        public void setConnections(int connections) {
+            this.connections = connections;
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package com.example.configs;
+
+import com.example.concurrency.AdaptiveConcurrencyLimiter;
+import com.example.concurrency.AimdLimit;
+import com.example.concurrency.ConcurrencyLimitFilter;
+import com.example.concurrency.GradientLimit;
+import com.example.concurrency.LimitAlgorithm;
+import com.example.utils.Constants;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Configuration class for the adaptive concurrency limit. Requests to the
+ * controllers beyond the learned limit are rejected with 503 before any
+ * database work is done.
+ */
+@Configuration
+@EnableConfigurationProperties(ConcurrencyLimitProperties.class)
+@ConditionalOnProperty(prefix = "concurrency-limit", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class ConcurrencyLimitConfig {
+
+    /**
+     * Creates the limiter with the configured algorithm.
+     *
+     * @param properties the concurrency limit configuration
+     * @return the limiter
+     */
+    @Bean
+    public AdaptiveConcurrencyLimiter concurrencyLimiter(ConcurrencyLimitProperties properties) {
+        LimitAlgorithm algorithm = properties.getAlgorithm() == ConcurrencyLimitProperties.Algorithm.AIMD
+                ? new AimdLimit(properties.getInitialLimit(), properties.getMinLimit(), properties.getMaxLimit(),
+                        properties.getBackoffRatio(), properties.getTimeout().toNanos())
+                : new GradientLimit(properties.getInitialLimit(), properties.getMinLimit(), properties.getMaxLimit(),
+                        properties.getSmoothing(), properties.getTolerance(), properties.getLongWindow());
+        return new AdaptiveConcurrencyLimiter(algorithm);
+    }
+
+    /**
+     * Registers the filter shedding load in front of the controllers.
+     *
+     * @param concurrencyLimiter the limiter
+     * @return the filter registration
+     */
+    @Bean
+    public FilterRegistrationBean<ConcurrencyLimitFilter> concurrencyLimitFilter(
+            AdaptiveConcurrencyLimiter concurrencyLimiter) {
+        FilterRegistrationBean<ConcurrencyLimitFilter> registration =
+                new FilterRegistrationBean<>(new ConcurrencyLimitFilter(concurrencyLimiter, WebMvcConfig.objectMapper()));
+        registration.addUrlPatterns(Constants.API_URL_PATTERN);
+        registration.setOrder(Constants.CONCURRENCY_LIMIT_FILTER_ORDER);
+        return registration;
+    }
+
+    /**
+     * Publishes the current limit, the requests in flight and the rejected requests.
+     *
+     * @param concurrencyLimiter the limiter
+     * @return the meter binder
+     */
+    @Bean
+    public MeterBinder concurrencyLimitMetrics(AdaptiveConcurrencyLimiter concurrencyLimiter) {
+        return registry -> {
+            Gauge.builder(Constants.METRIC_CONCURRENCY_LIMIT, concurrencyLimiter,
+                            AdaptiveConcurrencyLimiter::getLimit)
+                    .register(registry);
+            Gauge.builder(Constants.METRIC_CONCURRENCY_IN_FLIGHT, concurrencyLimiter,
+                            AdaptiveConcurrencyLimiter::getInFlight)
+                    .register(registry);
+            FunctionCounter.builder(Constants.METRIC_CONCURRENCY_REJECTED, concurrencyLimiter,
+                            AdaptiveConcurrencyLimiter::getRejected)
+                    .register(registry);
+        };
+    }
+}
@@ -1,9 +1,12 @@
 package com.example.configs;
 
 import com.example.utils.Constants;
+import org.springframework.context.i18n.LocaleContext;
+import org.springframework.context.i18n.LocaleContextHolder;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.support.ResourceBundleMessageSource;
+import org.springframework.core.task.TaskDecorator;
 
 
 @Configuration
@@ -15,4 +18,26 @@ public class MessageConfig {
         source.setDefaultEncoding(Constants.MESSAGE_SOURCE_DEFAULT_ENCODING);
         return source;
     }
+
+    /**
+     * Carries the request's locale over to tasks run on other threads, so that
+     * {@link Translator} answers in the client's language there too.
+     *
+     * @return the task decorator
+     */
+    @Bean
+    public TaskDecorator localeContextTaskDecorator() {
+        return task -> {
+            LocaleContext localeContext = LocaleContextHolder.getLocaleContext();
+            return () -> {
+                LocaleContext previous = LocaleContextHolder.getLocaleContext();
+                LocaleContextHolder.setLocaleContext(localeContext);
+                try {
+                    task.run();
+                } finally {
+                    LocaleContextHolder.setLocaleContext(previous);
+                }
+            };
+        };
+    }
 }
@@ -0,0 +1,162 @@
+package com.example.configs;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Configuration properties for sending read-only transactions to database
+ * replicas, bound from the {@code replication} prefix.
+ */
+@ConfigurationProperties(prefix = "replication")
+public class ReplicationProperties {
+
+    private boolean enabled;
+
+    private List<Replica> replicas = new ArrayList<>();
+
+    private Duration readYourWritesWindow = Duration.ofSeconds(5);
+
+    /**
+     * Whether read-only transactions are sent to the replicas.
+     *
+     * @return true if replicas are used
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Set whether read-only transactions are sent to the replicas.
+     *
+     * @param enabled true to use replicas
+     */
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    /**
+     * Get the replicas of the primary database.
+     *
+     * @return the replicas
+     */
+    public List<Replica> getReplicas() {
+        return replicas;
+    }
+
+    /**
+     * Set the replicas of the primary database.
+     *
+     * @param replicas the replicas
+     */
+    public void setReplicas(List<Replica> replicas) {
+        this.replicas = replicas;
+    }
+
+    /**
+     * Get how long after a write a client reads from the primary. It should be
+     * longer than the replication lag.
+     *
+     * @return the read-your-writes window
+     */
+    public Duration getReadYourWritesWindow() {
+        return readYourWritesWindow;
+    }
+
+    /**
+     * Set how long after a write a client reads from the primary.
+     *
+     * @param readYourWritesWindow the read-your-writes window
+     */
+    public void setReadYourWritesWindow(Duration readYourWritesWindow) {
+        this.readYourWritesWindow = readYourWritesWindow;
+    }
+
+    /**
+     * Connection settings of one replica. Unset credentials are taken from the primary.
+     */
+    public static class Replica {
+
+        private String url;
+
+        private String username;
+
+        private String password;
+
+        private int maximumPoolSize = 10;
+
+        /**
+         * Get the JDBC URL of the replica.
+         *
+         * @return the JDBC URL
+         */
+        public String getUrl() {
+            return url;
+        }
+
+        /**
+         * Set the JDBC URL of the replica.
+         *
+         * @param url the JDBC URL
+         */
+        public void setUrl(String url) {
+            this.url = url;
+        }
+
+        /**
+         * Get the user name for the replica.
+         *
+         * @return the user name
+         */
+        public String getUsername() {
+            return username;
+        }
+
+        /**
+         * Set the user name for the replica.
+         *
+         * @param username the user name
+         */
+        public void setUsername(String username) {
+            this.username = username;
+        }
+
+        /**
+         * Get the password for the replica.
+         *
+         * @return the password
+         */
+        public String getPassword() {
+            return password;
+        }
+
+        /**
+         * Set the password for the replica.
+         *
+         * @param password the password
+         */
+        public void setPassword(String password) {
+            this.password = password;
+        }
+
+        /**
+         * Get the size of the replica's connection pool.
+         *
+         * @return the maximum pool size
+         */
+        public int getMaximumPoolSize() {
+            return maximumPoolSize;
+        }
+
+        /**
+         * Set the size of the replica's connection pool.
+         *
+         * @param maximumPoolSize the maximum pool size
+         */
+        public void setMaximumPoolSize(int maximumPoolSize) {
+            this.maximumPoolSize = maximumPoolSize;
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package com.example.configs;
+
+import com.example.cache.ReadYourWritesJpaDialect;
+import com.example.cache.SecondLevelCaches;
+import com.example.sharding.ShardingStrategy;
+import com.example.utils.Constants;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.JCacheMetrics;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.orm.jpa.AbstractEntityManagerFactoryBean;
+
+import javax.cache.CacheManager;
+
+/**
+ * Configuration class for Hibernate's second-level and query caches. Books
+ * read by id come from the entity cache and cacheable queries from the query
+ * cache, without a database round trip. Writes through this instance keep the
+ * caches current; writes by other instances show after the time to live,
+ * except to a client bound to the primary after its own write, whose reads
+ * skip the caches.
+ * Hit, miss and eviction counts are published as {@code hibernate.*} and
+ * {@code cache.*} meters. Caching can be turned off with
+ * {@code second-level-cache.enabled=false}.
+ */
+@Configuration
+@EnableConfigurationProperties(SecondLevelCacheProperties.class)
+public class SecondLevelCacheConfig {
+
+    /**
+     * Creates the cache manager holding the cache regions.
+     *
+     * @param properties the cache configuration
+     * @return the cache manager
+     */
+    @Bean(destroyMethod = "close")
+    @ConditionalOnProperty(prefix = "second-level-cache", name = "enabled", havingValue = "true", matchIfMissing = true)
+    public CacheManager secondLevelCacheManager(SecondLevelCacheProperties properties) {
+        return SecondLevelCaches.createCacheManager(Constants.SECOND_LEVEL_CACHE_URI,
+                properties.getEntityMaxEntries(), properties.getEntityTimeToLive(),
+                properties.getQueryMaxEntries(), properties.getQueryTimeToLive(),
+                Constants.CACHE_REGION_BOOK);
+    }
+
+    /**
+     * Points Hibernate at the cache manager, or turns its caches off when
+     * caching is disabled. The query cache stays off when the books are
+     * sharded: it does not know which shard a result came from, and would
+     * answer the query on one shard with the result of another.
+     *
+     * @param secondLevelCacheManager the cache manager, if caching is enabled
+     * @param shardingStrategy        the sharding strategy, if the books are sharded
+     * @return the Hibernate properties customizer
+     */
+    @Bean
+    public HibernatePropertiesCustomizer secondLevelCacheCustomizer(
+            ObjectProvider<CacheManager> secondLevelCacheManager, ObjectProvider<ShardingStrategy> shardingStrategy) {
+        CacheManager cacheManager = secondLevelCacheManager.getIfAvailable();
+        boolean queryCache = shardingStrategy.getIfAvailable() == null;
+        return hibernateProperties -> SecondLevelCaches.configure(hibernateProperties, cacheManager, queryCache);
+    }
+
+    /**
+     * Gives the entity manager factory the dialect that skips the caches for
+     * requests bound to the primary. The transaction manager takes its dialect
+     * from the factory, so it applies whichever transaction manager is used.
+     *
+     * @return the post processor setting the dialect
+     */
+    @Bean
+    @ConditionalOnProperty(prefix = "second-level-cache", name = "enabled", havingValue = "true", matchIfMissing = true)
+    public static BeanPostProcessor readYourWritesJpaDialectPostProcessor() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessBeforeInitialization(Object bean, String beanName) {
+                if (bean instanceof AbstractEntityManagerFactoryBean) {
+                    ((AbstractEntityManagerFactoryBean) bean).setJpaDialect(new ReadYourWritesJpaDialect());
+                }
+                return bean;
+            }
+        };
+    }
+
+    /**
+     * Publishes the size, hits, misses and evictions of each cache region.
+     *
+     * @param secondLevelCacheManager the cache manager
+     * @return the meter binder
+     */
+    @Bean
+    @ConditionalOnProperty(prefix = "second-level-cache", name = "enabled", havingValue = "true", matchIfMissing = true)
+    public MeterBinder secondLevelCacheMetrics(CacheManager secondLevelCacheManager) {
+        return registry -> {
+            for (String name : secondLevelCacheManager.getCacheNames()) {
+                JCacheMetrics.monitor(registry, secondLevelCacheManager.getCache(name));
+            }
+        };
+    }
+}
@@ -0,0 +1,114 @@
+package com.example.configs;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Configuration properties for Hibernate's in-process second-level and query
+ * caches, bound from the {@code second-level-cache} prefix.
+ */
+@ConfigurationProperties(prefix = "second-level-cache")
+public class SecondLevelCacheProperties {
+
+    private boolean enabled = true;
+
+    private long entityMaxEntries = 10_000;
+
+    private Duration entityTimeToLive = Duration.ofMinutes(1);
+
+    private long queryMaxEntries = 1_000;
+
+    private Duration queryTimeToLive = Duration.ofSeconds(30);
+
+    /**
+     * Whether entities and cacheable query results are cached.
+     *
+     * @return true if the caches are active
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Set whether entities and cacheable query results are cached.
+     *
+     * @param enabled true to cache
+     */
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    /**
+     * Get the number of entities each entity region holds before evicting.
+     *
+     * @return the maximum number of entries
+     */
+    public long getEntityMaxEntries() {
+        return entityMaxEntries;
+    }
+
+    /**
+     * Set the number of entities each entity region holds before evicting.
+     *
+     * @param entityMaxEntries the maximum number of entries
+     */
+    public void setEntityMaxEntries(long entityMaxEntries) {
+        this.entityMaxEntries = entityMaxEntries;
+    }
+
+    /**
+     * Get how long a cached entity is served. It bounds how long changes made
+     * by other instances stay unseen.
+     *
+     * @return the time to live
+     */
+    public Duration getEntityTimeToLive() {
+        return entityTimeToLive;
+    }
+
+    /**
+     * Set how long a cached entity is served.
+     *
+     * @param entityTimeToLive the time to live
+     */
+    public void setEntityTimeToLive(Duration entityTimeToLive) {
+        this.entityTimeToLive = entityTimeToLive;
+    }
+
+    /**
+     * Get the number of query results the query region holds before evicting.
+     *
+     * @return the maximum number of entries
+     */
+    public long getQueryMaxEntries() {
+        return queryMaxEntries;
+    }
+
+    /**
+     * Set the number of query results the query region holds before evicting.
+     *
+     * @param queryMaxEntries the maximum number of entries
+     */
+    public void setQueryMaxEntries(long queryMaxEntries) {
+        this.queryMaxEntries = queryMaxEntries;
+    }
+
+    /**
+     * Get how long a cached query result is served.
+     *
+     * @return the time to live
+     */
+    public Duration getQueryTimeToLive() {
+        return queryTimeToLive;
+    }
+
+    /**
+     * Set how long a cached query result is served.
+     *
+     * @param queryTimeToLive the time to live
+     */
+    public void setQueryTimeToLive(Duration queryTimeToLive) {
+        this.queryTimeToLive = queryTimeToLive;
+    }
+}
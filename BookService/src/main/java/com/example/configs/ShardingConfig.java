@@ -0,0 +1,198 @@
+package com.example.configs;
+
+import com.example.concurrency.TaskDecorators;
+import com.example.concurrency.VirtualThreads;
+import com.example.services.IBookService;
+import com.example.services.impl.ShardedBookServiceImpl;
+import com.example.sharding.ModuloShardingStrategy;
+import com.example.sharding.RangeShardingStrategy;
+import com.example.sharding.ShardBackfill;
+import com.example.sharding.ShardBackfillRunner;
+import com.example.sharding.ShardPools;
+import com.example.sharding.ShardRoutingDataSource;
+import com.example.sharding.ShardingStrategy;
+import com.example.utils.Constants;
+import com.zaxxer.hikari.HikariDataSource;
+import org.flywaydb.core.Flyway;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.flyway.FlywayMigrationStrategy;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.task.TaskDecorator;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Configuration class for spreading the books over several databases. The
+ * book service runs each operation on the shard of the book; the primary data
+ * source hands out connections to that shard and keeps the unsharded database
+ * for everything else.
+ */
+@Configuration
+@EnableConfigurationProperties(ShardingProperties.class)
+@ConditionalOnProperty(prefix = "sharding", name = "enabled", havingValue = "true")
+public class ShardingConfig {
+
+    /**
+     * Creates the strategy mapping book ids to shards.
+     *
+     * @param properties the sharding configuration
+     * @return the sharding strategy
+     */
+    @Bean
+    public ShardingStrategy shardingStrategy(ShardingProperties properties) {
+        int shardCount = properties.getShards().size();
+        if (properties.getStrategy() == ShardingProperties.Strategy.RANGE) {
+            return new RangeShardingStrategy(shardCount, properties.getRangeSize(), properties.getInsertShard());
+        }
+        return new ModuloShardingStrategy(shardCount, properties.isCoLocateByAuthor());
+    }
+
+    /**
+     * Creates a connection pool for each shard. With the modulo strategy, MySQL
+     * shards generate only their own ids through the session's auto-increment
+     * step and offset.
+     *
+     * @param properties           the sharding configuration
+     * @param dataSourceProperties the primary's connection settings, used for unset shard credentials
+     * @return the shard connection pools
+     */
+    @Bean(destroyMethod = "close")
+    public ShardPools shardPools(ShardingProperties properties, DataSourceProperties dataSourceProperties) {
+        List<ShardingProperties.Shard> shards = properties.getShards();
+        List<HikariDataSource> pools = new ArrayList<>();
+        for (ShardingProperties.Shard shard : shards) {
+            HikariDataSource pool = new HikariDataSource();
+            pool.setPoolName(Constants.SHARD_NAME_PREFIX + pools.size());
+            pool.setJdbcUrl(shard.getUrl());
+            pool.setUsername(shard.getUsername() != null
+                    ? shard.getUsername() : dataSourceProperties.determineUsername());
+            pool.setPassword(shard.getPassword() != null
+                    ? shard.getPassword() : dataSourceProperties.determinePassword());
+            pool.setMaximumPoolSize(shard.getMaximumPoolSize());
+            if (shard.getConnectionInitSql() != null) {
+                pool.setConnectionInitSql(shard.getConnectionInitSql());
+            } else if (properties.getStrategy() == ShardingProperties.Strategy.MODULO
+                    && shard.getUrl().startsWith(Constants.MYSQL_URL_PREFIX)) {
+                pool.setConnectionInitSql(String.format(Constants.SHARD_MYSQL_AUTO_INCREMENT_SQL,
+                        shards.size(), pools.size() + 1));
+            }
+            pools.add(pool);
+        }
+        return new ShardPools(pools);
+    }
+
+    /**
+     * Routes the primary data source's connections to the shard of the current
+     * operation. Outside of a shard the primary data source is used as before.
+     *
+     * @param shardPools the shard connection pools
+     * @return the post processor wrapping the primary data source
+     */
+    @Bean
+    public static BeanPostProcessor shardingDataSourcePostProcessor(ObjectProvider<ShardPools> shardPools) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (!(bean instanceof DataSource) || !Constants.PRIMARY_DATA_SOURCE_BEAN.equals(beanName)) {
+                    return bean;
+                }
+                return new ShardRoutingDataSource((DataSource) bean, shardPools.getObject().getPools());
+            }
+        };
+    }
+
+    /**
+     * Migrates the schema of every shard along with the primary database's.
+     * With the range strategy, MySQL shards then start generating ids at the
+     * first id of their range.
+     *
+     * @param shardPools the shard connection pools
+     * @param strategy   decides which shard holds a book
+     * @return the migration strategy
+     */
+    @Bean
+    public FlywayMigrationStrategy shardingMigrationStrategy(ShardPools shardPools, ShardingStrategy strategy) {
+        return flyway -> {
+            flyway.migrate();
+            List<HikariDataSource> shards = shardPools.getPools();
+            for (int i = 0; i < shards.size(); i++) {
+                HikariDataSource shard = shards.get(i);
+                Flyway.configure().configuration(flyway.getConfiguration()).dataSource(shard).load().migrate();
+                if (strategy instanceof RangeShardingStrategy
+                        && shard.getJdbcUrl().startsWith(Constants.MYSQL_URL_PREFIX)) {
+                    new JdbcTemplate(shard).execute(String.format(Constants.SHARD_MYSQL_RANGE_START_SQL,
+                            ((RangeShardingStrategy) strategy).firstIdOf(i)));
+                }
+            }
+        };
+    }
+
+    /**
+     * Creates the book service used by the controllers, running the book
+     * service on the shard of each operation.
+     *
+     * @param bookServiceImpl the book service run against one shard at a time
+     * @param strategy        decides which shard holds a book
+     * @param properties      the sharding configuration
+     * @param virtualThreads  whether the shards are queried on virtual threads
+     * @param taskDecorators  carry request context over to the threads querying the shards
+     * @return the sharded book service
+     */
+    @Bean(destroyMethod = "shutdown")
+    @Primary
+    public ShardedBookServiceImpl shardedBookService(@Qualifier("bookServiceImpl") IBookService bookServiceImpl,
+                                                     ShardingStrategy strategy, ShardingProperties properties,
+                                                     @Value("${virtual-threads.enabled:false}") boolean virtualThreads,
+                                                     ObjectProvider<TaskDecorator> taskDecorators) {
+        if (!virtualThreads) {
+            return new ShardedBookServiceImpl(bookServiceImpl, strategy, properties.getFanOutThreads(),
+                    TaskDecorators.combine(taskDecorators));
+        }
+        return new ShardedBookServiceImpl(bookServiceImpl, strategy, properties.getFanOutThreads(),
+                VirtualThreads.newThreadFactory(Constants.SHARD_FAN_OUT_THREAD_PREFIX),
+                TaskDecorators.combine(taskDecorators));
+    }
+
+    /**
+     * Creates the tool moving books to the shard they belong to.
+     *
+     * @param strategy   decides which shard holds a book
+     * @param shardPools the shard connection pools
+     * @param properties the sharding configuration
+     * @return the backfill
+     */
+    @Bean
+    public ShardBackfill shardBackfill(ShardingStrategy strategy, ShardPools shardPools,
+                                       ShardingProperties properties) {
+        return new ShardBackfill(strategy, shardPools.getPools(), properties.getBackfillBatchSize());
+    }
+
+    /**
+     * Runs the backfill at startup and stops the application, when asked to.
+     *
+     * @param backfill   the backfill
+     * @param dataSource the sharded primary data source
+     * @param context    the application context
+     * @return the backfill runner
+     * @throws SQLException if the primary data source is not sharded
+     */
+    @Bean
+    @ConditionalOnProperty(prefix = "sharding", name = "backfill", havingValue = "true")
+    public ShardBackfillRunner shardBackfillRunner(ShardBackfill backfill, DataSource dataSource,
+                                                   ConfigurableApplicationContext context) throws SQLException {
+        return new ShardBackfillRunner(backfill, dataSource.unwrap(ShardRoutingDataSource.class), context);
+    }
+}
@@ -0,0 +1,318 @@
+package com.example.configs;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Configuration properties for spreading the book table over several
+ * databases, bound from the {@code sharding} prefix.
+ */
+@ConfigurationProperties(prefix = "sharding")
+public class ShardingProperties {
+
+    /**
+     * How book ids are mapped to shards.
+     */
+    public enum Strategy {
+
+        /**
+         * Shard {@code k} of {@code n} holds the ids equal to {@code k + 1} modulo {@code n}.
+         */
+        MODULO,
+
+        /**
+         * Shard {@code k} holds the {@code k}-th range of {@code range-size} ids.
+         */
+        RANGE
+    }
+
+    private boolean enabled;
+
+    private Strategy strategy = Strategy.MODULO;
+
+    private boolean coLocateByAuthor;
+
+    private long rangeSize = 1_000_000;
+
+    private int insertShard;
+
+    private int fanOutThreads = 16;
+
+    private boolean backfill;
+
+    private int backfillBatchSize = 500;
+
+    private List<Shard> shards = new ArrayList<>();
+
+    /**
+     * Whether books are stored on the shards.
+     *
+     * @return true if sharding is active
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Set whether books are stored on the shards.
+     *
+     * @param enabled true to shard the books
+     */
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    /**
+     * Get how book ids are mapped to shards.
+     *
+     * @return the sharding strategy
+     */
+    public Strategy getStrategy() {
+        return strategy;
+    }
+
+    /**
+     * Set how book ids are mapped to shards.
+     *
+     * @param strategy the sharding strategy
+     */
+    public void setStrategy(Strategy strategy) {
+        this.strategy = strategy;
+    }
+
+    /**
+     * Whether new books are written to the shard of their author, with the modulo strategy.
+     *
+     * @return true if an author's books are kept together
+     */
+    public boolean isCoLocateByAuthor() {
+        return coLocateByAuthor;
+    }
+
+    /**
+     * Set whether new books are written to the shard of their author, with the modulo strategy.
+     *
+     * @param coLocateByAuthor true to keep an author's books together
+     */
+    public void setCoLocateByAuthor(boolean coLocateByAuthor) {
+        this.coLocateByAuthor = coLocateByAuthor;
+    }
+
+    /**
+     * Get the number of ids per shard, with the range strategy.
+     *
+     * @return the range size
+     */
+    public long getRangeSize() {
+        return rangeSize;
+    }
+
+    /**
+     * Set the number of ids per shard, with the range strategy.
+     *
+     * @param rangeSize the range size
+     */
+    public void setRangeSize(long rangeSize) {
+        this.rangeSize = rangeSize;
+    }
+
+    /**
+     * Get the shard new books are written to, with the range strategy.
+     *
+     * @return the shard index
+     */
+    public int getInsertShard() {
+        return insertShard;
+    }
+
+    /**
+     * Set the shard new books are written to, with the range strategy.
+     *
+     * @param insertShard the shard index
+     */
+    public void setInsertShard(int insertShard) {
+        this.insertShard = insertShard;
+    }
+
+    /**
+     * Get the number of threads querying the shards in parallel for list queries.
+     *
+     * @return the number of threads
+     */
+    public int getFanOutThreads() {
+        return fanOutThreads;
+    }
+
+    /**
+     * Set the number of threads querying the shards in parallel for list queries.
+     *
+     * @param fanOutThreads the number of threads
+     */
+    public void setFanOutThreads(int fanOutThreads) {
+        this.fanOutThreads = fanOutThreads;
+    }
+
+    /**
+     * Whether the application moves the books to their shards at startup and then stops.
+     *
+     * @return true to run the backfill
+     */
+    public boolean isBackfill() {
+        return backfill;
+    }
+
+    /**
+     * Set whether the application moves the books to their shards at startup and then stops.
+     *
+     * @param backfill true to run the backfill
+     */
+    public void setBackfill(boolean backfill) {
+        this.backfill = backfill;
+    }
+
+    /**
+     * Get the number of books the backfill reads at a time.
+     *
+     * @return the batch size
+     */
+    public int getBackfillBatchSize() {
+        return backfillBatchSize;
+    }
+
+    /**
+     * Set the number of books the backfill reads at a time.
+     *
+     * @param backfillBatchSize the batch size
+     */
+    public void setBackfillBatchSize(int backfillBatchSize) {
+        this.backfillBatchSize = backfillBatchSize;
+    }
+
+    /**
+     * Get the shards, by index.
+     *
+     * @return the shards
+     */
+    public List<Shard> getShards() {
+        return shards;
+    }
+
+    /**
+     * Set the shards, by index.
+     *
+     * @param shards the shards
+     */
+    public void setShards(List<Shard> shards) {
+        this.shards = shards;
+    }
+
+    /**
+     * Connection settings of one shard. Unset credentials are taken from the primary.
+     */
+    public static class Shard {
+
+        private String url;
+
+        private String username;
+
+        private String password;
+
+        private int maximumPoolSize = 10;
+
+        private String connectionInitSql;
+
+        /**
+         * Get the JDBC URL of the shard.
+         *
+         * @return the JDBC URL
+         */
+        public String getUrl() {
+            return url;
+        }
+
+        /**
+         * Set the JDBC URL of the shard.
+         *
+         * @param url the JDBC URL
+         */
+        public void setUrl(String url) {
+            this.url = url;
+        }
+
+        /**
+         * Get the user name for the shard.
+         *
+         * @return the user name
+         */
+        public String getUsername() {
+            return username;
+        }
+
+        /**
+         * Set the user name for the shard.
+         *
+         * @param username the user name
+         */
+        public void setUsername(String username) {
+            this.username = username;
+        }
+
+        /**
+         * Get the password for the shard.
+         *
+         * @return the password
+         */
+        public String getPassword() {
+            return password;
+        }
+
+        /**
+         * Set the password for the shard.
+         *
+         * @param password the password
+         */
+        public void setPassword(String password) {
+            this.password = password;
+        }
+
+        /**
+         * Get the size of the shard's connection pool.
+         *
+         * @return the maximum pool size
+         */
+        public int getMaximumPoolSize() {
+            return maximumPoolSize;
+        }
+
+        /**
+         * Set the size of the shard's connection pool.
+         *
+         * @param maximumPoolSize the maximum pool size
+         */
+        public void setMaximumPoolSize(int maximumPoolSize) {
+            this.maximumPoolSize = maximumPoolSize;
+        }
+
+        /**
+         * Get the statement run on each new connection. With the modulo strategy
+         * on MySQL it defaults to setting the session's auto-increment step and
+         * offset to the shard's.
+         *
+         * @return the SQL statement, or null
+         */
+        public String getConnectionInitSql() {
+            return connectionInitSql;
+        }
+
+        /**
+         * Set the statement run on each new connection.
+         *
+         * @param connectionInitSql the SQL statement
+         */
+        public void setConnectionInitSql(String connectionInitSql) {
+            this.connectionInitSql = connectionInitSql;
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package com.example.configs;
+
+import org.springframework.boot.LazyInitializationExcludeFilter;
+import org.springframework.boot.autoconfigure.flyway.FlywayMigrationInitializer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.persistence.EntityManagerFactory;
+import javax.sql.DataSource;
+
+/**
+ * Configuration class for starting quickly. In the {@code prod} profile beans
+ * are created on first use, and the warm-up run creates most of them before
+ * the instance takes traffic. The persistence beans stay eager: the schema is
+ * migrated and Hibernate bootstraps, on a background thread, while the rest of
+ * the context starts, and a broken schema still stops the instance at startup.
+ */
+@Configuration
+public class StartupConfig {
+
+    /**
+     * Keeps the data sources, the schema migration and the entity manager
+     * factory out of lazy initialization.
+     *
+     * @return the exclude filter
+     */
+    @Bean
+    public static LazyInitializationExcludeFilter eagerPersistenceBeans() {
+        return LazyInitializationExcludeFilter.forBeanTypes(DataSource.class, FlywayMigrationInitializer.class,
+                EntityManagerFactory.class);
+    }
+}
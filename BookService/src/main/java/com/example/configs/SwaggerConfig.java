@@ -1,9 +1,9 @@
 package com.example.configs;
 
 import com.example.utils.Constants;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
-import org.springframework.web.servlet.config.annotation.EnableWebMvc;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 import springfox.documentation.builders.ApiInfoBuilder;
 import springfox.documentation.builders.PathSelectors;
@@ -15,9 +15,11 @@ import springfox.documentation.spring.web.plugins.Docket;
 /**
  * Configuration class for Swagger.
  * This class configures Swagger for API documentation in the application.
+ * It is left out with {@code springfox.documentation.enabled=false}, as in the
+ * {@code prod} profile, which spares the startup its handler scanning.
  */
 @Configuration
-@EnableWebMvc
+@ConditionalOnProperty(prefix = "springfox.documentation", name = "enabled", havingValue = "true", matchIfMissing = true)
 public class SwaggerConfig implements WebMvcConfigurer {
 
     /**
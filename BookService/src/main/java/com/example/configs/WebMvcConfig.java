@@ -0,0 +1,26 @@
+package com.example.configs;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.web.servlet.config.annotation.EnableWebMvc;
+
+/**
+ * Configuration class for Spring MVC. MVC is set up by {@link EnableWebMvc}
+ * rather than Spring Boot's auto-configuration, with or without the Swagger
+ * documentation, so that every profile serves the same wire format.
+ */
+@Configuration
+@EnableWebMvc
+public class WebMvcConfig {
+
+    /**
+     * Create a mapper writing JSON as the MVC message converters do, for the
+     * error bodies that filters write before a request reaches the controllers.
+     *
+     * @return the object mapper
+     */
+    public static ObjectMapper objectMapper() {
+        return Jackson2ObjectMapperBuilder.json().build();
+    }
+}
@@ -1,6 +1,13 @@
 package com.example.controllers;
 
+import com.example.cache.BookResultCache;
+import com.example.concurrency.Bulkheads;
+import com.example.dto.request.BookFilter;
+import com.example.dto.response.BookSummary;
+import com.example.dto.response.CursorPage;
 import com.example.entities.Book;
+import com.example.pagination.Cursors;
+import com.example.replication.ReadYourWrites;
 import com.example.services.IBookService;
 import com.example.utils.Constants;
 import io.swagger.annotations.*;
@@ -8,16 +15,22 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import javax.validation.Valid;
-import java.util.Optional;
+import java.util.Date;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * Controller class for handling operations related to books.
  * All endpoints in this controller are mapped under "/books".
+ * Reads and writes run on separate bulkheads and do not hold a Tomcat thread
+ * while they wait for one. Frequently requested listing pages are served from
+ * the book result cache, which every write empties, except to a client bound
+ * to the primary after its own write.
  */
 @RestController
 @RequestMapping("/books")
@@ -27,25 +40,32 @@ public class BookController {
     @Autowired
     private IBookService bookService;
 
+    @Autowired
+    private Bulkheads bulkheads;
+
+    @Autowired(required = false)
+    private BookResultCache bookResultCache;
+
     /**
      * Create a new book.
      *
      * @param book the book to be created
-     * @return a {@link ResponseEntity} containing the created {@link Book}
+     * @return a future completing with a {@link ResponseEntity} containing the created {@link Book}
      */
     @ApiOperation(value = "Create a new book")
     @ApiResponses(value = {
             @ApiResponse(code = 201, message = "Book successfully created"),
             @ApiResponse(code = 400, message = "Invalid input data"),
-            @ApiResponse(code = 500, message = "Internal server error")
+            @ApiResponse(code = 500, message = "Internal server error"),
+            @ApiResponse(code = 503, message = "Too many concurrent writes")
     })
 
 
     @PostMapping
-    public ResponseEntity<Book> createBook(
+    public CompletableFuture<ResponseEntity<Book>> createBook(
             @ApiParam(value = "Book data to create", required = true) @Valid @RequestBody Book book) {
-        Book savedBook = bookService.saveBook(book);
-        return new ResponseEntity<>(savedBook, HttpStatus.CREATED);
+        return bulkheads.write(() -> afterWrite(bookService.saveBook(book)))
+                .thenApply(savedBook -> new ResponseEntity<>(savedBook, HttpStatus.CREATED));
     }
 
     /**
@@ -53,70 +73,86 @@ public class BookController {
      *
      * @param id          the ID of the book to update
      * @param bookDetails the updated details of the book
-     * @return a {@link ResponseEntity} containing the updated {@link Book}
+     * @return a future completing with a {@link ResponseEntity} containing the updated {@link Book}
      */
     @ApiOperation(value = "Update an existing book")
     @ApiResponses(value = {
             @ApiResponse(code = 200, message = "Book successfully updated"),
             @ApiResponse(code = 400, message = "Invalid input data"),
             @ApiResponse(code = 404, message = "Book not found"),
-            @ApiResponse(code = 500, message = "Internal server error")
+            @ApiResponse(code = 500, message = "Internal server error"),
+            @ApiResponse(code = 503, message = "Too many concurrent writes")
     })
     @PutMapping("/{id}")
-    public ResponseEntity<Book> updateBook(
+    public CompletableFuture<ResponseEntity<Book>> updateBook(
             @ApiParam(value = "ID of the book to update", required = true) @PathVariable Long id,
             @ApiParam(value = "Updated book details", required = true) @Valid @RequestBody Book bookDetails) {
-        Book updatedBook = bookService.updateBook(id, bookDetails);
-        return ResponseEntity.ok(updatedBook);
+        return bulkheads.write(() -> afterWrite(bookService.updateBook(id, bookDetails)))
+                .thenApply(ResponseEntity::ok);
     }
 
     /**
      * Delete a book by ID.
      *
      * @param id the ID of the book to delete
-     * @return a {@link ResponseEntity} with an empty body
+     * @return a future completing with a {@link ResponseEntity} with an empty body
      */
     @ApiOperation(value = "Delete a book by ID")
     @ApiResponses(value = {
             @ApiResponse(code = 204, message = "Book successfully deleted"),
             @ApiResponse(code = 404, message = "Book not found"),
-            @ApiResponse(code = 500, message = "Internal server error")
+            @ApiResponse(code = 500, message = "Internal server error"),
+            @ApiResponse(code = 503, message = "Too many concurrent writes")
     })
     @DeleteMapping("/{id}")
-    public ResponseEntity<Void> deleteBook(
+    public CompletableFuture<ResponseEntity<Void>> deleteBook(
             @ApiParam(value = "ID of the book to delete", required = true) @PathVariable Long id) {
-        bookService.deleteBook(id);
-        return ResponseEntity.noContent().build();
+        return bulkheads.write(() -> {
+            bookService.deleteBook(id);
+            return afterWrite(ResponseEntity.noContent().<Void>build());
+        });
     }
 
     /**
-     * Get all books with pagination.
+     * Get all books, or the books matching the given filters, with pagination.
      *
-     * @param page the page number, default is
-     *             {@value Constants#DEFAULT_PAGE_NUMBER}
-     * @param size the page size, default is {@value Constants#DEFAULT_PAGE_SIZE}
-     * @return a {@link ResponseEntity} containing a page of {@link Book}
+     * @param page          the page number, default is
+     *                      {@value Constants#DEFAULT_PAGE_NUMBER}
+     * @param size          the page size, default is {@value Constants#DEFAULT_PAGE_SIZE}
+     * @param genre         the genre of the books, optional
+     * @param publishedFrom the earliest published date, inclusive, optional
+     * @param publishedTo   the latest published date, inclusive, optional
+     * @param author        the ID of the author, optional
+     * @return a future completing with a {@link ResponseEntity} containing a page of {@link Book}
      */
-    @ApiOperation(value = "Get all books with pagination")
+    @ApiOperation(value = "Get all books, optionally filtered, with pagination")
     @ApiResponses(value = {
             @ApiResponse(code = 200, message = "Successfully retrieved books"),
             @ApiResponse(code = 400, message = "Invalid pagination parameters"),
-            @ApiResponse(code = 500, message = "Internal server error")
+            @ApiResponse(code = 500, message = "Internal server error"),
+            @ApiResponse(code = 503, message = "Too many concurrent reads")
     })
     @GetMapping("/list")
-    public ResponseEntity<Page<Book>> getAllBooks(
+    public CompletableFuture<ResponseEntity<Page<Book>>> getAllBooks(
             @RequestParam(defaultValue = Constants.DEFAULT_PAGE_NUMBER) int page,
-            @RequestParam(defaultValue = Constants.DEFAULT_PAGE_SIZE) int size) {
+            @RequestParam(defaultValue = Constants.DEFAULT_PAGE_SIZE) int size,
+            @ApiParam(value = "Genre of the books") @RequestParam(required = false) String genre,
+            @ApiParam(value = "Earliest published date, " + Constants.DATE_FORMAT)
+            @RequestParam(required = false) @DateTimeFormat(pattern = Constants.DATE_FORMAT) Date publishedFrom,
+            @ApiParam(value = "Latest published date, " + Constants.DATE_FORMAT)
+            @RequestParam(required = false) @DateTimeFormat(pattern = Constants.DATE_FORMAT) Date publishedTo,
+            @ApiParam(value = "ID of the author") @RequestParam(required = false) Long author) {
         Pageable pageable = PageRequest.of(page, size);
-        Page<Book> books = bookService.getBooks(pageable);
-        return ResponseEntity.ok(books);
+        BookFilter filter = BookFilter.of(genre, publishedFrom, publishedTo, author);
+        return bulkheads.read(() -> getBooks(filter, pageable))
+                .thenApply(ResponseEntity::ok);
     }
 
     /**
      * Get a book by title.
      *
      * @param title the title of the book to retrieve
-     * @return a {@link ResponseEntity} containing the {@link Book} with the
+     * @return a future completing with a {@link ResponseEntity} containing the {@link Book} with the
      *         specified title,
      *         or a not found response if no book is found
      */
@@ -124,13 +160,73 @@ public class BookController {
     @ApiResponses(value = {
             @ApiResponse(code = 200, message = "Successfully retrieved book"),
             @ApiResponse(code = 404, message = "Book not found"),
-            @ApiResponse(code = 500, message = "Internal server error")
+            @ApiResponse(code = 500, message = "Internal server error"),
+            @ApiResponse(code = 503, message = "Too many concurrent reads")
     })
     @GetMapping("/title")
-    public ResponseEntity<Book> getBookByTitle(
+    public CompletableFuture<ResponseEntity<Book>> getBookByTitle(
             @ApiParam(value = "Title of the book to retrieve", required = true) @RequestParam String title) {
-        Optional<Book> book = bookService.getBookByTitle(title);
-        return book.map(ResponseEntity::ok).orElseGet(() -> ResponseEntity.notFound().build());
+        return bulkheads.read(() -> bookService.getBookByTitle(title))
+                .thenApply(book -> book.map(ResponseEntity::ok).orElseGet(() -> ResponseEntity.notFound().build()));
+    }
+
+    /**
+     * Get the books of an author in id order, one page after another.
+     *
+     * @param authorId the ID of the author
+     * @param cursor   the cursor returned with the previous page, absent for the first page
+     * @param size     the page size, default is {@value Constants#DEFAULT_PAGE_SIZE} and at most
+     *                 {@value Constants#MAX_CURSOR_PAGE_SIZE}
+     * @return a future completing with a {@link ResponseEntity} containing a page of {@link BookSummary}
+     */
+    @ApiOperation(value = "Get the books of an author with cursor pagination")
+    @ApiResponses(value = {
+            @ApiResponse(code = 200, message = "Successfully retrieved books"),
+            @ApiResponse(code = 400, message = "Invalid cursor"),
+            @ApiResponse(code = 500, message = "Internal server error"),
+            @ApiResponse(code = 503, message = "Too many concurrent reads")
+    })
+    @GetMapping("/by-author/{authorId}")
+    public CompletableFuture<ResponseEntity<CursorPage<BookSummary>>> getBooksByAuthor(
+            @ApiParam(value = "ID of the author", required = true) @PathVariable Long authorId,
+            @ApiParam(value = "Cursor of the next page, as returned with the previous page")
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = Constants.DEFAULT_PAGE_SIZE) int size) {
+        long afterId = Cursors.decode(cursor);
+        int pageSize = Math.max(1, Math.min(size, Constants.MAX_CURSOR_PAGE_SIZE));
+        return bulkheads.read(() -> bookService.getBooksByAuthor(authorId, afterId, pageSize))
+                .thenApply(ResponseEntity::ok);
+    }
+
+    /**
+     * Get a listing page from the book result cache, or from the book service
+     * when the cache is turned off. A client bound to the primary after a write
+     * skips the cache, which misses writes made through other instances.
+     *
+     * @param filter   the normalised filter
+     * @param pageable the requested page
+     * @return the page of books
+     */
+    private Page<Book> getBooks(BookFilter filter, Pageable pageable) {
+        if (bookResultCache == null || ReadYourWrites.isPrimaryRequired()) {
+            return bookService.getBooks(filter, pageable);
+        }
+        return bookResultCache.get(BookResultCache.key(filter, pageable),
+                () -> bookService.getBooks(filter, pageable));
+    }
+
+    /**
+     * Empty the book result cache once a write has committed.
+     *
+     * @param result the result of the write
+     * @param <T>    the result type
+     * @return the result
+     */
+    private <T> T afterWrite(T result) {
+        if (bookResultCache != null) {
+            bookResultCache.invalidateAll();
+        }
+        return result;
     }
 
 }
@@ -0,0 +1,87 @@
+package com.example.deadline;
+
+import com.example.exception.DeadlineExceededException;
+import com.example.utils.Constants;
+import org.springframework.core.task.TaskDecorator;
+
+/**
+ * The time, in epoch milliseconds, after which nobody waits for the current
+ * request any more. It is set from the caller's deadline header and bounds
+ * the transactions, and with them the queries, run for the request.
+ */
+public final class Deadline {
+
+    private static final ThreadLocal<Long> DEADLINE = new ThreadLocal<>();
+
+    private Deadline() {
+    }
+
+    /**
+     * Set the deadline of the current thread's work.
+     *
+     * @param epochMillis the deadline, in epoch milliseconds
+     */
+    public static void set(long epochMillis) {
+        DEADLINE.set(epochMillis);
+    }
+
+    /**
+     * Get the deadline of the current thread's work.
+     *
+     * @return the deadline in epoch milliseconds, or null if the work has none
+     */
+    public static Long get() {
+        return DEADLINE.get();
+    }
+
+    /**
+     * Get the time left until the deadline.
+     *
+     * @return the remaining milliseconds, negative once expired, or null if the work has no deadline
+     */
+    public static Long remainingMillis() {
+        Long deadline = DEADLINE.get();
+        return deadline == null ? null : deadline - System.currentTimeMillis();
+    }
+
+    /**
+     * Fail if the deadline of the current thread's work has passed.
+     *
+     * @throws DeadlineExceededException if the deadline has passed
+     */
+    public static void checkNotExpired() {
+        Long remaining = remainingMillis();
+        if (remaining != null && remaining <= 0) {
+            throw new DeadlineExceededException(Constants.DEADLINE_EXCEEDED);
+        }
+    }
+
+    /**
+     * Remove the deadline of the current thread's work.
+     */
+    public static void clear() {
+        DEADLINE.remove();
+    }
+
+    /**
+     * Create a decorator carrying the submitting thread's deadline over to the
+     * thread that runs the task.
+     *
+     * @return the task decorator
+     */
+    public static TaskDecorator taskDecorator() {
+        return task -> {
+            Long deadline = get();
+            return () -> {
+                if (deadline != null) {
+                    set(deadline);
+                }
+                try {
+                    task.run();
+                } finally {
+                    clear();
+                }
+            };
+        };
+    }
+}
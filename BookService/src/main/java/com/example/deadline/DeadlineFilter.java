@@ -0,0 +1,65 @@
+package com.example.deadline;
+
+import com.example.exception.ErrorResponses;
+import com.example.utils.Constants;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+
+/**
+ * Reads the caller's deadline header into {@link Deadline} for the duration of
+ * the request. Requests whose deadline has already passed are answered with
+ * 504 straight away; a missing or unreadable header leaves the request
+ * without a deadline.
+ */
+public class DeadlineFilter extends OncePerRequestFilter {
+
+    private final ObjectMapper objectMapper;
+
+    /**
+     * Constructs the filter.
+     *
+     * @param objectMapper writes the error body of expired requests
+     */
+    public DeadlineFilter(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        Long deadline = parse(request.getHeader(Constants.HEADER_REQUEST_DEADLINE));
+        if (deadline == null) {
+            chain.doFilter(request, response);
+            return;
+        }
+        if (deadline <= System.currentTimeMillis()) {
+            ErrorResponses.write(request, response, objectMapper, HttpStatus.GATEWAY_TIMEOUT,
+                    Constants.DEADLINE_EXCEEDED);
+            return;
+        }
+        Deadline.set(deadline);
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            Deadline.clear();
+        }
+    }
+
+    private static Long parse(String header) {
+        if (header == null) {
+            return null;
+        }
+        try {
+            return Long.parseLong(header.trim());
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+}
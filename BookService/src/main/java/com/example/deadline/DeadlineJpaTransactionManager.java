@@ -0,0 +1,31 @@
+package com.example.deadline;
+
+import org.springframework.orm.jpa.JpaTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+
+/**
+ * JPA transaction manager bounding each transaction by the request's
+ * {@link Deadline}. Hibernate applies the transaction timeout as the JDBC
+ * query timeout of every statement, so a query stops once the caller has
+ * given up. The timeout is rounded up to whole seconds, the unit of JDBC
+ * query timeouts; a transaction is not started at all after the deadline.
+ */
+public class DeadlineJpaTransactionManager extends JpaTransactionManager {
+
+    @Override
+    protected void doBegin(Object transaction, TransactionDefinition definition) {
+        Deadline.checkNotExpired();
+        super.doBegin(transaction, definition);
+    }
+
+    @Override
+    protected int determineTimeout(TransactionDefinition definition) {
+        int timeout = super.determineTimeout(definition);
+        Long remaining = Deadline.remainingMillis();
+        if (remaining == null) {
+            return timeout;
+        }
+        int remainingSeconds = (int) Math.max(1, (remaining + 999) / 1000);
+        return timeout == TransactionDefinition.TIMEOUT_DEFAULT ? remainingSeconds : Math.min(timeout, remainingSeconds);
+    }
+}
@@ -0,0 +1,43 @@
+package com.example.discovery;
+
+import com.example.utils.Constants;
+import com.netflix.discovery.BackupRegistry;
+import com.netflix.discovery.shared.Applications;
+
+import java.nio.file.Paths;
+
+/**
+ * Eureka backup registry serving the on-disk {@link RegistrySnapshot} when the
+ * first registry fetch fails. Eureka creates it reflectively from
+ * {@code eureka.client.backup-registry-impl}, so the snapshot location is
+ * handed over through {@link #use(RegistrySnapshot)}; the next successful fetch
+ * replaces the restored registry.
+ */
+public class SnapshotBackupRegistry implements BackupRegistry {
+
+    private static volatile RegistrySnapshot snapshot;
+
+    /**
+     * Set the snapshot served by every backup registry instance.
+     *
+     * @param registrySnapshot the snapshot
+     */
+    public static void use(RegistrySnapshot registrySnapshot) {
+        snapshot = registrySnapshot;
+    }
+
+    @Override
+    public Applications fetchRegistry() {
+        RegistrySnapshot current = snapshot;
+        if (current == null) {
+            current = new RegistrySnapshot(Paths.get(Constants.DEFAULT_REGISTRY_SNAPSHOT_FILE));
+        }
+        Applications applications = current.load();
+        return applications != null ? applications : new Applications();
+    }
+
+    @Override
+    public Applications fetchRegistry(String[] includeRemoteRegions) {
+        return fetchRegistry();
+    }
+}
@@ -0,0 +1,102 @@
+package com.example.dto.request;
+
+import java.util.Date;
+
+/**
+ * DTO class representing the filters of a book listing. Every filter is
+ * optional; blank genres count as absent, so equivalent requests share one
+ * normalised filter.
+ */
+public class BookFilter {
+
+    /**
+     * The filter matching every book.
+     */
+    public static final BookFilter NONE = new BookFilter(null, null, null, null);
+
+    private final String genre;
+    private final Date publishedFrom;
+    private final Date publishedTo;
+    private final Long author;
+
+    private BookFilter(String genre, Date publishedFrom, Date publishedTo, Long author) {
+        this.genre = genre;
+        this.publishedFrom = publishedFrom;
+        this.publishedTo = publishedTo;
+        this.author = author;
+    }
+
+    /**
+     * Creates a normalised filter.
+     *
+     * @param genre         the genre of the books, or null
+     * @param publishedFrom the earliest published date, inclusive, or null
+     * @param publishedTo   the latest published date, inclusive, or null
+     * @param author        the ID of the author, or null
+     * @return the filter
+     */
+    public static BookFilter of(String genre, Date publishedFrom, Date publishedTo, Long author) {
+        String trimmedGenre = genre == null || genre.trim().isEmpty() ? null : genre.trim();
+        if (trimmedGenre == null && publishedFrom == null && publishedTo == null && author == null) {
+            return NONE;
+        }
+        return new BookFilter(trimmedGenre, publishedFrom, publishedTo, author);
+    }
+
+    /**
+     * Get the genre of the books.
+     *
+     * @return the genre, or null for any genre
+     */
+    public String getGenre() {
+        return genre;
+    }
+
+    /**
+     * Get the earliest published date, inclusive.
+     *
+     * @return the date, or null for no lower bound
+     */
+    public Date getPublishedFrom() {
+        return publishedFrom;
+    }
+
+    /**
+     * Get the latest published date, inclusive.
+     *
+     * @return the date, or null for no upper bound
+     */
+    public Date getPublishedTo() {
+        return publishedTo;
+    }
+
+    /**
+     * Get the ID of the author.
+     *
+     * @return the author ID, or null for any author
+     */
+    public Long getAuthor() {
+        return author;
+    }
+
+    /**
+     * Whether the filter matches every book.
+     *
+     * @return true if no filter is set
+     */
+    public boolean isEmpty() {
+        return this == NONE;
+    }
+
+    /**
+     * Get a key identifying the normalised filter, equal for equal filters.
+     *
+     * @return the key
+     */
+    public String toKey() {
+        return "genre=" + (genre == null ? "" : genre)
+                + "&from=" + (publishedFrom == null ? "" : publishedFrom.getTime())
+                + "&to=" + (publishedTo == null ? "" : publishedTo.getTime())
+                + "&author=" + (author == null ? "" : author);
+    }
+}
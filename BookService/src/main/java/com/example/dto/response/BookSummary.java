@@ -0,0 +1,72 @@
+package com.example.dto.response;
+
+import com.example.utils.Constants;
+import com.fasterxml.jackson.annotation.JsonFormat;
+
+import java.util.Date;
+
+/**
+ * DTO class representing a book in a listing, without its description and
+ * author. It holds only columns of the author listing index, so it is read
+ * from the index without visiting the table.
+ */
+public class BookSummary {
+    private final Long id;
+    private final String title;
+
+    @JsonFormat(shape = JsonFormat.Shape.STRING, pattern = Constants.DATE_FORMAT)
+    private final Date publishedDate;
+
+    private final String genre;
+
+    /**
+     * Constructs the summary, used by the repository's projection queries.
+     *
+     * @param id            the ID of the book
+     * @param title         the title of the book
+     * @param publishedDate the published date of the book
+     * @param genre         the genre of the book
+     */
+    public BookSummary(Long id, String title, Date publishedDate, String genre) {
+        this.id = id;
+        this.title = title;
+        this.publishedDate = publishedDate;
+        this.genre = genre;
+    }
+
+    /**
+     * Get the ID of the book.
+     *
+     * @return the ID of the book
+     */
+    public Long getId() {
+        return id;
+    }
+
+    /**
+     * Get the title of the book.
+     *
+     * @return the title of the book
+     */
+    public String getTitle() {
+        return title;
+    }
+
+    /**
+     * Get the published date of the book.
+     *
+     * @return the published date of the book
+     */
+    public Date getPublishedDate() {
+        return publishedDate;
+    }
+
+    /**
+     * Get the genre of the book.
+     *
+     * @return the genre of the book
+     */
+    public String getGenre() {
+        return genre;
+    }
+}
@@ -0,0 +1,44 @@
+package com.example.dto.response;
+
+import java.util.List;
+
+/**
+ * DTO class representing one page of a keyset-paginated listing. The next page
+ * is requested with the cursor of this one; there is no total, which would
+ * cost a count over all matching rows.
+ *
+ * @param <T> the element type
+ */
+public class CursorPage<T> {
+    private final List<T> content;
+    private final String nextCursor;
+
+    /**
+     * Constructs the page.
+     *
+     * @param content    the elements of the page
+     * @param nextCursor the cursor of the next page, or null on the last page
+     */
+    public CursorPage(List<T> content, String nextCursor) {
+        this.content = content;
+        this.nextCursor = nextCursor;
+    }
+
+    /**
+     * Get the elements of the page.
+     *
+     * @return the page content
+     */
+    public List<T> getContent() {
+        return content;
+    }
+
+    /**
+     * Get the cursor to pass to get the next page.
+     *
+     * @return the cursor, or null on the last page
+     */
+    public String getNextCursor() {
+        return nextCursor;
+    }
+}
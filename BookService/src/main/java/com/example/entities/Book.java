@@ -4,6 +4,8 @@ import com.example.utils.Constants;
 import com.example.utils.MessagesConstants;
 import com.example.utils.TableConstants;
 import com.fasterxml.jackson.annotation.JsonFormat;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import javax.persistence.*;
 import javax.validation.constraints.NotBlank;
@@ -13,6 +15,8 @@ import java.util.Date;
 
 @Entity
 @Table(name = TableConstants.TABLE_BOOK_NAME)
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = Constants.CACHE_REGION_BOOK)
 public class Book {
 
     @Id
@@ -0,0 +1,74 @@
+package com.example.pagination;
+
+import com.example.configs.Translator;
+import com.example.dto.response.CursorPage;
+import com.example.exception.InvalidCursorException;
+import com.example.utils.MessagesConstants;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+import java.util.function.ToLongFunction;
+
+/**
+ * Encodes the position of keyset-paginated listings. A cursor holds the id of
+ * the last element returned, and the next page is read from the index
+ * starting after it, so every page costs the same however deep the client
+ * pages. Cursors are opaque to clients so that the key can change later.
+ */
+public final class Cursors {
+
+    private Cursors() {
+    }
+
+    /**
+     * Encode the position after the given id.
+     *
+     * @param id the id of the last element returned
+     * @return the cursor
+     */
+    public static String encode(long id) {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(Long.toString(id).getBytes(StandardCharsets.US_ASCII));
+    }
+
+    /**
+     * Decode a cursor into the id to continue after.
+     *
+     * @param cursor the cursor, or null for the first page
+     * @return the id to continue after, 0 for the first page
+     * @throws InvalidCursorException if the cursor was not returned by a listing
+     */
+    public static long decode(String cursor) {
+        if (cursor == null || cursor.isEmpty()) {
+            return 0;
+        }
+        try {
+            long id = Long.parseLong(new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.US_ASCII));
+            if (id < 0) {
+                throw new NumberFormatException();
+            }
+            return id;
+        } catch (IllegalArgumentException e) {
+            throw new InvalidCursorException(Translator.toLocale(MessagesConstants.CURSOR_INVALID_ERROR) + cursor);
+        }
+    }
+
+    /**
+     * Cut a page out of the elements read after a cursor, ordered by id.
+     *
+     * @param elements the elements, up to one more than the page size
+     * @param size     the page size
+     * @param more     whether more elements follow even if no more than the page size were read
+     * @param id       the id of an element
+     * @param <T>      the element type
+     * @return the page, with a cursor when more elements follow
+     */
+    public static <T> CursorPage<T> page(List<T> elements, int size, boolean more, ToLongFunction<T> id) {
+        List<T> content = elements.size() > size ? List.copyOf(elements.subList(0, size)) : elements;
+        if ((elements.size() <= size && !more) || content.isEmpty()) {
+            return new CursorPage<>(content, null);
+        }
+        return new CursorPage<>(content, encode(id.applyAsLong(content.get(content.size() - 1))));
+    }
+}
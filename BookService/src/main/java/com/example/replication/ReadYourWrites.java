@@ -0,0 +1,61 @@
+package com.example.replication;
+
+import org.springframework.core.task.TaskDecorator;
+
+/**
+ * Marks the work of the current request as bound to the primary database. A
+ * client that has just written may otherwise read from a replica that has not
+ * applied its write yet.
+ */
+public final class ReadYourWrites {
+
+    private static final ThreadLocal<Boolean> PRIMARY_REQUIRED = new ThreadLocal<>();
+
+    private ReadYourWrites() {
+    }
+
+    /**
+     * Send every query of the current thread to the primary.
+     */
+    public static void requirePrimary() {
+        PRIMARY_REQUIRED.set(Boolean.TRUE);
+    }
+
+    /**
+     * Check whether queries of the current thread must go to the primary.
+     *
+     * @return true if replicas must not be used
+     */
+    public static boolean isPrimaryRequired() {
+        return Boolean.TRUE.equals(PRIMARY_REQUIRED.get());
+    }
+
+    /**
+     * Allow queries of the current thread to use replicas again.
+     */
+    public static void clear() {
+        PRIMARY_REQUIRED.remove();
+    }
+
+    /**
+     * Create a decorator carrying the submitting thread's choice over to the
+     * thread that runs the task.
+     *
+     * @return the task decorator
+     */
+    public static TaskDecorator taskDecorator() {
+        return task -> {
+            boolean primaryRequired = isPrimaryRequired();
+            return () -> {
+                if (primaryRequired) {
+                    requirePrimary();
+                }
+                try {
+                    task.run();
+                } finally {
+                    clear();
+                }
+            };
+        };
+    }
+}
@@ -0,0 +1,40 @@
+package com.example.replication;
+
+import com.zaxxer.hikari.HikariDataSource;
+
+import java.util.List;
+
+/**
+ * The connection pools of the replicas. They are kept out of the application
+ * context as data sources, so that the primary stays the only data source bean.
+ */
+public class ReplicaPools implements AutoCloseable {
+
+    private final List<HikariDataSource> pools;
+
+    /**
+     * Constructs the holder.
+     *
+     * @param pools the replica connection pools
+     */
+    public ReplicaPools(List<HikariDataSource> pools) {
+        this.pools = pools;
+    }
+
+    /**
+     * Get the replica connection pools.
+     *
+     * @return the pools
+     */
+    public List<HikariDataSource> getPools() {
+        return pools;
+    }
+
+    /**
+     * Close every replica connection pool.
+     */
+    @Override
+    public void close() {
+        pools.forEach(HikariDataSource::close);
+    }
+}
@@ -1,21 +1,60 @@
-package com.example.repositories;
-
-
-import com.example.entities.Book;
-import org.springframework.data.jpa.repository.JpaRepository;
-
-import java.util.Optional;
-
-/**
- * Repository interface for managing Book entities.
- */
-public interface IBookRepository extends JpaRepository<Book, Long> {
-
-    /**
-     * Find a book by its title.
-     *
-     * @param title the title of the book to search for
-     * @return an Optional containing the book with the specified title, or empty if not found
-     */
-    Optional<Book> findByTitle(String title);
-}
+package com.example.repositories;
+
+
+import com.example.dto.response.BookSummary;
+import com.example.entities.Book;
+import com.example.utils.Constants;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+
+import javax.persistence.QueryHint;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Repository interface for managing Book entities. Filtered listings are
+ * queried with the {@link BookSpecifications}.
+ */
+public interface IBookRepository extends JpaRepository<Book, Long>, JpaSpecificationExecutor<Book> {
+
+    /**
+     * Find a book by its title. The result is kept in the query cache until
+     * the book table changes.
+     *
+     * @param title the title of the book to search for
+     * @return an Optional containing the book with the specified title, or empty if not found
+     */
+    @QueryHints(@QueryHint(name = Constants.HIBERNATE_HINT_CACHEABLE, value = "true"))
+    Optional<Book> findByTitle(String title);
+
+    /**
+     * Find a page of books. The page is kept in the query cache until the book
+     * table changes; its count is queried each time.
+     *
+     * @param pageable the pagination information
+     * @return the page of books
+     */
+    @Override
+    @QueryHints(@QueryHint(name = Constants.HIBERNATE_HINT_CACHEABLE, value = "true"))
+    Page<Book> findAll(Pageable pageable);
+
+    /**
+     * Find the books of an author following the given id, in id order. The
+     * query seeks into the author listing index on (author, id) and reads the
+     * selected columns from it, so a page costs the same at any depth.
+     *
+     * @param author   the ID of the author
+     * @param afterId  the id to continue after, 0 for the first books
+     * @param pageable the number of books to read, unsorted
+     * @return the summaries of the books
+     */
+    @Query("SELECT new com.example.dto.response.BookSummary(b.id, b.title, b.publishedDate, b.genre) FROM Book b"
+            + " WHERE b.author = :author AND b.id > :afterId ORDER BY b.id")
+    List<BookSummary> findSummariesByAuthor(@Param("author") Long author, @Param("afterId") long afterId,
+                                            Pageable pageable);
+}
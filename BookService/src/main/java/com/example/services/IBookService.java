@@ -1,6 +1,9 @@
 package com.example.services;
 
 
+import com.example.dto.request.BookFilter;
+import com.example.dto.response.BookSummary;
+import com.example.dto.response.CursorPage;
 import com.example.entities.Book;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
@@ -41,6 +44,15 @@ public interface IBookService {
      */
     Page<Book> getBooks(Pageable pageable);
 
+    /**
+     * Retrieves the books matching a filter with pagination support.
+     *
+     * @param filter   the normalised filter
+     * @param pageable pagination information
+     * @return a page of the matching books
+     */
+    Page<Book> getBooks(BookFilter filter, Pageable pageable);
+
     /**
      * Retrieves a book by its title.
      *
@@ -49,4 +61,14 @@ public interface IBookService {
      */
     Optional<Book> getBookByTitle(String title);
 
+    /**
+     * Retrieves the books of an author in id order, one page after another.
+     *
+     * @param author  the ID of the author
+     * @param afterId the id to continue after, 0 for the first page
+     * @param size    the page size
+     * @return the page of book summaries, with the cursor of the next page if there is one
+     */
+    CursorPage<BookSummary> getBooksByAuthor(Long author, long afterId, int size);
+
 }
\ No newline at end of file
@@ -2,16 +2,24 @@ package com.example.services.impl;
 
 
 import com.example.configs.Translator;
+import com.example.dto.request.BookFilter;
+import com.example.dto.response.BookSummary;
+import com.example.dto.response.CursorPage;
 import com.example.entities.Book;
 import com.example.exception.ResourceNotFoundException;
+import com.example.pagination.Cursors;
+import com.example.repositories.BookSpecifications;
 import com.example.repositories.IBookRepository;
 import com.example.services.IBookService;
 import com.example.utils.MessagesConstants;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.List;
 import java.util.Optional;
 
 @Service
@@ -27,6 +35,7 @@ public class BookServiceImpl implements IBookService {
      * @return the saved or updated book
      */
     @Override
+    @Transactional
     public Book saveBook(Book book) {
         return bookRepository.save(book);
     }
@@ -40,6 +49,7 @@ public class BookServiceImpl implements IBookService {
      * @throws ResourceNotFoundException if no book is found with the given ID
      */
     @Override
+    @Transactional
     public Book updateBook(Long id, Book bookDetails) {
         Book book = bookRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException(Translator.toLocale(MessagesConstants.BOOK_NOT_FOUND_ERROR) + id));
@@ -60,6 +70,7 @@ public class BookServiceImpl implements IBookService {
      * @throws ResourceNotFoundException if no book is found with the given ID
      */
     @Override
+    @Transactional
     public void deleteBook(Long id) {
         Book book = bookRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException(Translator.toLocale(MessagesConstants.BOOK_NOT_FOUND_ERROR) + id));
@@ -73,10 +84,28 @@ public class BookServiceImpl implements IBookService {
      * @return a page of books
      */
     @Override
+    @Transactional(readOnly = true)
     public Page<Book> getBooks(Pageable pageable) {
         return bookRepository.findAll(pageable);
     }
 
+    /**
+     * Retrieve the books matching a filter with pagination. Without filters
+     * the unfiltered, cacheable query is used.
+     *
+     * @param filter   the normalised filter
+     * @param pageable pagination information
+     * @return a page of the matching books
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public Page<Book> getBooks(BookFilter filter, Pageable pageable) {
+        if (filter.isEmpty()) {
+            return bookRepository.findAll(pageable);
+        }
+        return bookRepository.findAll(BookSpecifications.matching(filter), pageable);
+    }
+
     /**
      * Retrieve a book by title.
      *
@@ -84,7 +113,24 @@ public class BookServiceImpl implements IBookService {
      * @return an optional containing the book, or empty if not found
      */
     @Override
+    @Transactional(readOnly = true)
     public Optional<Book> getBookByTitle(String title) {
         return bookRepository.findByTitle(title);
     }
+
+    /**
+     * Retrieve a page of an author's books, reading one book more than the
+     * page size to know whether another page follows.
+     *
+     * @param author  the ID of the author
+     * @param afterId the id to continue after, 0 for the first page
+     * @param size    the page size
+     * @return the page of book summaries
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPage<BookSummary> getBooksByAuthor(Long author, long afterId, int size) {
+        List<BookSummary> books = bookRepository.findSummariesByAuthor(author, afterId, PageRequest.of(0, size + 1));
+        return Cursors.page(books, size, false, BookSummary::getId);
+    }
 }
\ No newline at end of file
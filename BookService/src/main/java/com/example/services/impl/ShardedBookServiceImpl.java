@@ -0,0 +1,322 @@
+package com.example.services.impl;
+
+import com.example.dto.request.BookFilter;
+import com.example.dto.response.BookSummary;
+import com.example.dto.response.CursorPage;
+import com.example.entities.Book;
+import com.example.pagination.Cursors;
+import com.example.services.IBookService;
+import com.example.sharding.BookComparators;
+import com.example.sharding.ShardContext;
+import com.example.sharding.ShardingStrategy;
+import com.example.utils.Constants;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.core.task.TaskDecorator;
+import org.springframework.data.domain.Sort;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Optional;
+import java.util.PriorityQueue;
+import java.util.stream.Collectors;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.function.Function;
+import java.util.function.IntFunction;
+
+/**
+ * Book service spread over several shards. Operations on one book run on the
+ * shard its id maps to; list queries run on every shard in parallel and the
+ * sorted results are merged. Each shard is served by the unsharded service,
+ * whose transactions then take their connections from that shard.
+ */
+@Slf4j
+public class ShardedBookServiceImpl implements IBookService {
+
+    private final IBookService shardService;
+    private final ShardingStrategy strategy;
+    private final ExecutorService fanOutExecutor;
+    private final TaskDecorator taskDecorator;
+
+    /**
+     * Constructs the service.
+     *
+     * @param shardService  the service run against one shard at a time
+     * @param strategy      decides which shard holds a book
+     * @param fanOutThreads the number of threads querying the shards in parallel
+     * @param taskDecorator carries request context over to the threads querying the shards
+     */
+    public ShardedBookServiceImpl(IBookService shardService, ShardingStrategy strategy, int fanOutThreads,
+                                  TaskDecorator taskDecorator) {
+        this(shardService, strategy, fanOutThreads,
+                new CustomizableThreadFactory(Constants.SHARD_FAN_OUT_THREAD_PREFIX), taskDecorator);
+    }
+
+    /**
+     * Constructs the service querying the shards on threads made by the given factory.
+     *
+     * @param shardService  the service run against one shard at a time
+     * @param strategy      decides which shard holds a book
+     * @param fanOutThreads the number of threads querying the shards in parallel
+     * @param threadFactory makes the threads querying the shards
+     * @param taskDecorator carries request context over to the threads querying the shards
+     */
+    public ShardedBookServiceImpl(IBookService shardService, ShardingStrategy strategy, int fanOutThreads,
+                                  ThreadFactory threadFactory, TaskDecorator taskDecorator) {
+        this.shardService = shardService;
+        this.strategy = strategy;
+        this.fanOutExecutor = Executors.newFixedThreadPool(fanOutThreads, threadFactory);
+        this.taskDecorator = taskDecorator;
+    }
+
+    /**
+     * Save a new book on the shard chosen by the sharding strategy, or an
+     * existing one on the shard holding it. A new book whose generated id maps
+     * to another shard would not be found by its id, so it is removed again and
+     * either written anew where the strategy now sends new books or rejected.
+     *
+     * @param book the book to save or update
+     * @return the saved or updated book
+     * @throws IllegalStateException if the shard generated an id of another shard
+     */
+    @Override
+    public Book saveBook(Book book) {
+        if (book.getId() != null) {
+            return ShardContext.on(strategy.shardOf(book.getId()), () -> shardService.saveBook(book));
+        }
+        int shard = strategy.shardForNewBook(book);
+        Book saved = ShardContext.on(shard, () -> shardService.saveBook(book));
+        long id = saved.getId();
+        int owner = strategy.shardOf(id);
+        if (owner == shard) {
+            return saved;
+        }
+        ShardContext.on(shard, () -> {
+            shardService.deleteBook(id);
+            return null;
+        });
+        if (!strategy.idOutsideShard(shard, id)) {
+            throw new IllegalStateException(String.format(Constants.SHARD_ID_OUTSIDE_SHARD, shard, id, owner));
+        }
+        log.warn(Constants.LOG_SHARD_RANGE_USED_UP, shard, strategy.shardForNewBook(book));
+        return saveBook(unsaved(saved));
+    }
+
+    /**
+     * Update an existing book on the shard holding it.
+     *
+     * @param id          the ID of the book to update
+     * @param bookDetails the updated details of the book
+     * @return the updated book
+     */
+    @Override
+    public Book updateBook(Long id, Book bookDetails) {
+        return ShardContext.on(strategy.shardOf(id), () -> shardService.updateBook(id, bookDetails));
+    }
+
+    /**
+     * Delete a book on the shard holding it.
+     *
+     * @param id the ID of the book to delete
+     */
+    @Override
+    public void deleteBook(Long id) {
+        ShardContext.on(strategy.shardOf(id), () -> {
+            shardService.deleteBook(id);
+            return null;
+        });
+    }
+
+    /**
+     * Retrieve a page of books from all shards.
+     *
+     * @param pageable pagination information
+     * @return a page of books, with the total over all shards
+     */
+    @Override
+    public Page<Book> getBooks(Pageable pageable) {
+        return getMergedPage(pageable, shardService::getBooks);
+    }
+
+    /**
+     * Retrieve a page of the books matching a filter from all shards, merged
+     * as for the unfiltered listing.
+     *
+     * @param filter   the normalised filter
+     * @param pageable pagination information
+     * @return a page of the matching books, with the total over all shards
+     */
+    @Override
+    public Page<Book> getBooks(BookFilter filter, Pageable pageable) {
+        return getMergedPage(pageable, shardPage -> shardService.getBooks(filter, shardPage));
+    }
+
+    /**
+     * Retrieve a page from all shards. Each shard returns its first
+     * {@code offset + size} books in the requested order, by id when none is
+     * given; the shards' lists are merged and the requested page cut out.
+     *
+     * @param pageable   pagination information
+     * @param shardQuery queries one shard for a page
+     * @return a page of books, with the total over all shards
+     */
+    private Page<Book> getMergedPage(Pageable pageable, Function<Pageable, Page<Book>> shardQuery) {
+        Sort sort = pageable.getSort().isSorted() ? pageable.getSort() : Sort.by(Constants.BOOK_ID_PROPERTY);
+        long offset = pageable.isPaged() ? pageable.getOffset() : 0;
+        int limit = pageable.isPaged() ? pageable.getPageSize() : Integer.MAX_VALUE;
+        Pageable shardPage = PageRequest.of(0, (int) Math.min(offset + limit, Integer.MAX_VALUE), sort);
+
+        List<Page<Book>> pages = fanOut(shard -> shardQuery.apply(shardPage));
+        long total = pages.stream().mapToLong(Page::getTotalElements).sum();
+        List<Book> content = merge(pages, BookComparators.by(sort).thenComparing(Book::getId), offset, limit);
+        return new PageImpl<>(content, pageable, total);
+    }
+
+    /**
+     * Retrieve a book by title from whichever shard holds it.
+     *
+     * @param title the title of the book to retrieve
+     * @return an optional containing the book, or empty if no shard has it
+     */
+    @Override
+    public Optional<Book> getBookByTitle(String title) {
+        return fanOut(shard -> shardService.getBookByTitle(title)).stream()
+                .filter(Optional::isPresent)
+                .map(Optional::get)
+                .findFirst();
+    }
+
+    /**
+     * Retrieve a page of an author's books from all shards. Each shard returns
+     * its next page after the cursor; the smallest ids of all pages make up
+     * the merged page, and another page follows if any shard has more.
+     *
+     * @param author  the ID of the author
+     * @param afterId the id to continue after, 0 for the first page
+     * @param size    the page size
+     * @return the page of book summaries
+     */
+    @Override
+    public CursorPage<BookSummary> getBooksByAuthor(Long author, long afterId, int size) {
+        List<CursorPage<BookSummary>> pages = fanOut(shard -> shardService.getBooksByAuthor(author, afterId, size));
+        List<BookSummary> books = pages.stream()
+                .flatMap(page -> page.getContent().stream())
+                .sorted(Comparator.comparing(BookSummary::getId))
+                .collect(Collectors.toList());
+        boolean more = pages.stream().anyMatch(page -> page.getNextCursor() != null);
+        return Cursors.page(books, size, more, BookSummary::getId);
+    }
+
+    /**
+     * Stop the threads querying the shards.
+     */
+    public void shutdown() {
+        fanOutExecutor.shutdown();
+    }
+
+    /**
+     * Run a query on every shard in parallel and wait for all of them.
+     *
+     * @param query the query, given the shard index
+     * @param <T>   the result type
+     * @return the results, by shard index
+     */
+    private <T> List<T> fanOut(IntFunction<T> query) {
+        List<CompletableFuture<T>> futures = new ArrayList<>(strategy.getShardCount());
+        for (int i = 0; i < strategy.getShardCount(); i++) {
+            int shard = i;
+            futures.add(CompletableFuture.supplyAsync(() -> ShardContext.on(shard, () -> query.apply(shard)),
+                    runnable -> fanOutExecutor.execute(taskDecorator.decorate(runnable))));
+        }
+        List<T> results = new ArrayList<>(futures.size());
+        try {
+            for (CompletableFuture<T> future : futures) {
+                results.add(future.join());
+            }
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw e;
+        }
+        return results;
+    }
+
+    /**
+     * Copy a book without its id, to be written as a new book.
+     *
+     * @param book the book
+     * @return the copy
+     */
+    private static Book unsaved(Book book) {
+        Book copy = new Book();
+        copy.setTitle(book.getTitle());
+        copy.setPublishedDate(book.getPublishedDate());
+        copy.setGenre(book.getGenre());
+        copy.setDescription(book.getDescription());
+        copy.setAuthor(book.getAuthor());
+        return copy;
+    }
+
+    /**
+     * Merge the shards' sorted lists, skip the given number of books and keep at most the limit.
+     *
+     * @param pages the sorted books of each shard
+     * @param order the order of the books
+     * @param skip  the number of books to skip
+     * @param limit the maximum number of books to keep
+     * @return the merged books
+     */
+    private static List<Book> merge(List<Page<Book>> pages, Comparator<Book> order, long skip, int limit) {
+        PriorityQueue<Cursor> heads = new PriorityQueue<>((left, right) -> order.compare(left.head, right.head));
+        for (Page<Book> page : pages) {
+            Cursor cursor = new Cursor(page.iterator());
+            if (cursor.advance()) {
+                heads.add(cursor);
+            }
+        }
+        List<Book> merged = new ArrayList<>();
+        long position = 0;
+        while (!heads.isEmpty() && merged.size() < limit) {
+            Cursor cursor = heads.poll();
+            if (position++ >= skip) {
+                merged.add(cursor.head);
+            }
+            if (cursor.advance()) {
+                heads.add(cursor);
+            }
+        }
+        return merged;
+    }
+
+    /**
+     * The next book of one shard's sorted list.
+     */
+    private static final class Cursor {
+
+        private final Iterator<Book> books;
+        private Book head;
+
+        Cursor(Iterator<Book> books) {
+            this.books = books;
+        }
+
+        boolean advance() {
+            if (!books.hasNext()) {
+                return false;
+            }
+            head = books.next();
+            return true;
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package com.example.sharding;
+
+import com.example.entities.Book;
+import org.springframework.beans.BeanWrapperImpl;
+import org.springframework.data.domain.Sort;
+
+import java.util.Comparator;
+
+/**
+ * Orders books in memory the way the database orders them for a {@link Sort},
+ * so that sorted pages from several shards can be merged. Nulls come first in
+ * ascending order and text is compared without regard to case, as with
+ * MySQL's default collation.
+ */
+public final class BookComparators {
+
+    private BookComparators() {
+    }
+
+    /**
+     * Build the comparator for the given sort.
+     *
+     * @param sort the sort, by book property
+     * @return the comparator
+     */
+    public static Comparator<Book> by(Sort sort) {
+        Comparator<Book> comparator = (left, right) -> 0;
+        for (Sort.Order order : sort) {
+            Comparator<Book> byProperty = (left, right) -> compareValues(
+                    new BeanWrapperImpl(left).getPropertyValue(order.getProperty()),
+                    new BeanWrapperImpl(right).getPropertyValue(order.getProperty()));
+            comparator = comparator.thenComparing(order.isAscending() ? byProperty : byProperty.reversed());
+        }
+        return comparator;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static int compareValues(Object left, Object right) {
+        if (left == right) {
+            return 0;
+        }
+        if (left == null) {
+            return -1;
+        }
+        if (right == null) {
+            return 1;
+        }
+        if (left instanceof String && right instanceof String) {
+            return String.CASE_INSENSITIVE_ORDER.compare((String) left, (String) right);
+        }
+        return ((Comparable<Object>) left).compareTo(right);
+    }
+}
@@ -0,0 +1,53 @@
+package com.example.sharding;
+
+import com.example.entities.Book;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Spreads books over the shards by id: shard {@code k} of {@code n} holds the
+ * ids {@code k + 1}, {@code k + 1 + n}, {@code k + 1 + 2n} and so on. Each
+ * shard generates only its own ids, which on MySQL means running its
+ * connections with {@code auto_increment_increment = n} and
+ * {@code auto_increment_offset = k + 1}.
+ * <p>
+ * New books go to the shards in turn or, with author co-location, to the
+ * shard chosen by their author id, so that an author's books can be read from
+ * one shard. Co-location only decides where a book is created: a book keeps
+ * its shard, and its id, when its author changes.
+ */
+public class ModuloShardingStrategy implements ShardingStrategy {
+
+    private final int shardCount;
+    private final boolean coLocateByAuthor;
+    private final AtomicInteger next = new AtomicInteger();
+
+    /**
+     * Constructs the strategy.
+     *
+     * @param shardCount       the number of shards
+     * @param coLocateByAuthor whether new books are written to their author's shard
+     */
+    public ModuloShardingStrategy(int shardCount, boolean coLocateByAuthor) {
+        this.shardCount = shardCount;
+        this.coLocateByAuthor = coLocateByAuthor;
+    }
+
+    @Override
+    public int getShardCount() {
+        return shardCount;
+    }
+
+    @Override
+    public int shardOf(long id) {
+        return (int) Math.floorMod(id - 1, (long) shardCount);
+    }
+
+    @Override
+    public int shardForNewBook(Book book) {
+        if (coLocateByAuthor && book.getAuthor() != null) {
+            return (int) Math.floorMod(book.getAuthor(), (long) shardCount);
+        }
+        return Math.floorMod(next.getAndIncrement(), shardCount);
+    }
+}
@@ -0,0 +1,80 @@
+package com.example.sharding;
+
+import com.example.entities.Book;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Splits the ids into consecutive ranges: shard {@code k} holds the ids from
+ * {@code k * rangeSize + 1} to {@code (k + 1) * rangeSize}, and the last shard
+ * everything above. New books go to one shard at a time, whose
+ * {@code AUTO_INCREMENT} must start at {@link #firstIdOf(int) the first id of
+ * its range}; once the shard generates an id beyond its range, the shard
+ * owning that id takes over.
+ * <p>
+ * Author co-location does not apply: the id alone decides the shard.
+ */
+public class RangeShardingStrategy implements ShardingStrategy {
+
+    private final int shardCount;
+    private final long rangeSize;
+    private final AtomicInteger insertShard;
+
+    /**
+     * Constructs the strategy.
+     *
+     * @param shardCount  the number of shards
+     * @param rangeSize   the number of ids per shard
+     * @param insertShard the shard new books are written to
+     */
+    public RangeShardingStrategy(int shardCount, long rangeSize, int insertShard) {
+        this.shardCount = shardCount;
+        this.rangeSize = rangeSize;
+        this.insertShard = new AtomicInteger(insertShard);
+    }
+
+    @Override
+    public int getShardCount() {
+        return shardCount;
+    }
+
+    @Override
+    public int shardOf(long id) {
+        return (int) Math.min(shardCount - 1, Math.max(0, (id - 1) / rangeSize));
+    }
+
+    @Override
+    public int shardForNewBook(Book book) {
+        return insertShard.get();
+    }
+
+    /**
+     * Move new books on to the shard owning the generated id when it lies
+     * beyond the range of the shard that generated it. An id below the range
+     * means the shard's {@code AUTO_INCREMENT} was never set, which moving on
+     * would not fix.
+     *
+     * @param shard the shard the book was written to
+     * @param id    the id the shard generated
+     * @return true if the id lies beyond the shard's range
+     */
+    @Override
+    public boolean idOutsideShard(int shard, long id) {
+        int owner = shardOf(id);
+        if (owner <= shard) {
+            return false;
+        }
+        insertShard.accumulateAndGet(owner, Math::max);
+        return true;
+    }
+
+    /**
+     * Get the first id of a shard's range, where its {@code AUTO_INCREMENT} starts.
+     *
+     * @param shard the shard index
+     * @return the first id of the shard
+     */
+    public long firstIdOf(int shard) {
+        return shard * rangeSize + 1;
+    }
+}
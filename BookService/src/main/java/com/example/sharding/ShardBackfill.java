@@ -0,0 +1,138 @@
+package com.example.sharding;
+
+import com.example.utils.Constants;
+import com.example.utils.TableConstants;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Moves books to the shard the sharding strategy assigns them to. It fills the
+ * shards from the unsharded database and, after the number of shards or the
+ * strategy changed, moves books between shards.
+ * <p>
+ * Books keep their id. Each book is copied before it is deleted from its old
+ * place and copies that already exist are skipped, so an interrupted run can
+ * simply be started again. A book whose target already holds a different book
+ * with the same id, as happens when the unsharded database and a shard both
+ * generated it, is logged and left in place for an operator to resolve.
+ * Instances still writing to the unsharded database must be stopped first, or
+ * their changes to books already copied are lost.
+ */
+@Slf4j
+public class ShardBackfill {
+
+    private static final String COLUMNS = String.join(", ", TableConstants.COLUMN_ID, TableConstants.COLUMN_TITLE,
+            TableConstants.COLUMN_PUBLISHED_DATE, TableConstants.COLUMN_GENRE, TableConstants.COLUMN_DESCRIPTION,
+            TableConstants.COLUMN_AUTHOR);
+
+    private static final String SELECT_BATCH = "SELECT " + COLUMNS + " FROM " + TableConstants.TABLE_BOOK_NAME
+            + " WHERE " + TableConstants.COLUMN_ID + " > ? ORDER BY " + TableConstants.COLUMN_ID + " LIMIT ?";
+
+    private static final String SELECT_BY_ID = "SELECT " + COLUMNS + " FROM " + TableConstants.TABLE_BOOK_NAME
+            + " WHERE " + TableConstants.COLUMN_ID + " = ?";
+
+    private static final String[] COMPARED_COLUMNS = {TableConstants.COLUMN_TITLE,
+            TableConstants.COLUMN_PUBLISHED_DATE, TableConstants.COLUMN_GENRE, TableConstants.COLUMN_DESCRIPTION,
+            TableConstants.COLUMN_AUTHOR};
+
+    private static final String INSERT = "INSERT INTO " + TableConstants.TABLE_BOOK_NAME + " (" + COLUMNS
+            + ") VALUES (?, ?, ?, ?, ?, ?)";
+
+    private static final String DELETE_BY_ID = "DELETE FROM " + TableConstants.TABLE_BOOK_NAME
+            + " WHERE " + TableConstants.COLUMN_ID + " = ?";
+
+    private final ShardingStrategy strategy;
+    private final List<JdbcTemplate> shards;
+    private final int batchSize;
+
+    /**
+     * Constructs the backfill.
+     *
+     * @param strategy  decides which shard holds a book
+     * @param shards    the shards, by index
+     * @param batchSize the number of books read at a time
+     */
+    public ShardBackfill(ShardingStrategy strategy, List<? extends DataSource> shards, int batchSize) {
+        this.strategy = strategy;
+        this.shards = new ArrayList<>(shards.size());
+        for (DataSource shard : shards) {
+            this.shards.add(new JdbcTemplate(shard));
+        }
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * Move the books of the unsharded database and of every shard to their shard.
+     *
+     * @param unsharded the unsharded database
+     * @return the number of books moved
+     */
+    public long backfill(DataSource unsharded) {
+        long moved = move(new JdbcTemplate(unsharded), null);
+        for (int i = 0; i < shards.size(); i++) {
+            moved += move(shards.get(i), i);
+        }
+        return moved;
+    }
+
+    /**
+     * Move the books of one database that belong to another shard.
+     *
+     * @param source      the database to move books from
+     * @param sourceShard the source's shard index, or null for the unsharded database
+     * @return the number of books moved, not counting books left in place because of a conflicting copy
+     */
+    private long move(JdbcTemplate source, Integer sourceShard) {
+        String sourceName = sourceShard == null ? Constants.SHARD_UNSHARDED : Constants.SHARD_NAME_PREFIX + sourceShard;
+        long moved = 0;
+        long lastId = 0;
+        List<Map<String, Object>> batch;
+        do {
+            batch = source.queryForList(SELECT_BATCH, lastId, batchSize);
+            for (Map<String, Object> book : batch) {
+                long id = ((Number) book.get(TableConstants.COLUMN_ID)).longValue();
+                lastId = id;
+                int shard = strategy.shardOf(id);
+                if (sourceShard != null && shard == sourceShard) {
+                    continue;
+                }
+                JdbcTemplate target = shards.get(shard);
+                List<Map<String, Object>> copies = target.queryForList(SELECT_BY_ID, id);
+                if (copies.isEmpty()) {
+                    target.update(INSERT, id, book.get(TableConstants.COLUMN_TITLE),
+                            book.get(TableConstants.COLUMN_PUBLISHED_DATE), book.get(TableConstants.COLUMN_GENRE),
+                            book.get(TableConstants.COLUMN_DESCRIPTION), book.get(TableConstants.COLUMN_AUTHOR));
+                } else if (!isSameBook(book, copies.get(0))) {
+                    log.error(Constants.LOG_SHARD_BACKFILL_CONFLICT, id, sourceName, Constants.SHARD_NAME_PREFIX + shard);
+                    continue;
+                }
+                source.update(DELETE_BY_ID, id);
+                moved++;
+            }
+            log.info(Constants.LOG_SHARD_BACKFILL_PROGRESS, moved, sourceName, lastId);
+        } while (batch.size() == batchSize);
+        return moved;
+    }
+
+    /**
+     * Check whether two rows hold the same book.
+     *
+     * @param book the book to move
+     * @param copy the row with the same id on the target shard
+     * @return true if every column is equal
+     */
+    private static boolean isSameBook(Map<String, Object> book, Map<String, Object> copy) {
+        for (String column : COMPARED_COLUMNS) {
+            if (!Objects.equals(book.get(column), copy.get(column))) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
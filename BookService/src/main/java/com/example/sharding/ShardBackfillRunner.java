@@ -0,0 +1,45 @@
+package com.example.sharding;
+
+import com.example.utils.Constants;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+
+/**
+ * Runs the {@link ShardBackfill} at startup and then stops the application,
+ * so that the service doubles as the resharding tool:
+ * {@code java -jar BookService.jar --sharding.enabled=true --sharding.backfill=true
+ * --eureka.client.enabled=false --warmup.enabled=false --server.port=0}, with
+ * the shards and the strategy the service will run with.
+ */
+@Slf4j
+public class ShardBackfillRunner implements ApplicationRunner {
+
+    private final ShardBackfill backfill;
+    private final ShardRoutingDataSource dataSource;
+    private final ConfigurableApplicationContext context;
+
+    /**
+     * Constructs the runner.
+     *
+     * @param backfill   the backfill to run
+     * @param dataSource the sharded data source, whose unsharded database is drained
+     * @param context    the application context, closed once the backfill is done
+     */
+    public ShardBackfillRunner(ShardBackfill backfill, ShardRoutingDataSource dataSource,
+                               ConfigurableApplicationContext context) {
+        this.backfill = backfill;
+        this.dataSource = dataSource;
+        this.context = context;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        long start = System.nanoTime();
+        long moved = backfill.backfill(dataSource.getUnsharded());
+        log.info(Constants.LOG_SHARD_BACKFILL_DONE, moved, (System.nanoTime() - start) / 1_000_000);
+        System.exit(SpringApplication.exit(context));
+    }
+}
@@ -0,0 +1,47 @@
+package com.example.sharding;
+
+import java.util.function.Supplier;
+
+/**
+ * The shard the current thread works on. The sharded data source hands out
+ * connections to that shard; without one it uses the unsharded database.
+ */
+public final class ShardContext {
+
+    private static final ThreadLocal<Integer> CURRENT = new ThreadLocal<>();
+
+    private ShardContext() {
+    }
+
+    /**
+     * Get the shard the current thread works on.
+     *
+     * @return the shard index, or null outside of {@link #on(int, Supplier)}
+     */
+    public static Integer current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * Run a task against one shard. The task must open its transaction itself,
+     * so that the connection is taken from that shard.
+     *
+     * @param shard the shard index
+     * @param task  the task
+     * @param <T>   the result type
+     * @return the task's result
+     */
+    public static <T> T on(int shard, Supplier<T> task) {
+        Integer previous = CURRENT.get();
+        CURRENT.set(shard);
+        try {
+            return task.get();
+        } finally {
+            if (previous == null) {
+                CURRENT.remove();
+            } else {
+                CURRENT.set(previous);
+            }
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package com.example.sharding;
+
+import com.zaxxer.hikari.HikariDataSource;
+
+import java.util.List;
+
+/**
+ * The connection pools of the shards. They are kept out of the application
+ * context as data sources, so that the primary stays the only data source bean.
+ */
+public class ShardPools implements AutoCloseable {
+
+    private final List<HikariDataSource> pools;
+
+    /**
+     * Constructs the holder.
+     *
+     * @param pools the shard connection pools, by shard index
+     */
+    public ShardPools(List<HikariDataSource> pools) {
+        this.pools = pools;
+    }
+
+    /**
+     * Get the shard connection pools.
+     *
+     * @return the pools, by shard index
+     */
+    public List<HikariDataSource> getPools() {
+        return pools;
+    }
+
+    /**
+     * Close every shard connection pool.
+     */
+    @Override
+    public void close() {
+        pools.forEach(HikariDataSource::close);
+    }
+}
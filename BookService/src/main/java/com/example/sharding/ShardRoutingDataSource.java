@@ -0,0 +1,61 @@
+package com.example.sharding;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+
+import javax.sql.DataSource;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Data source handing out connections to the shard of the current thread, as
+ * set by {@link ShardContext}. Work done outside of a shard, such as schema
+ * updates at startup, uses the unsharded database.
+ */
+public class ShardRoutingDataSource extends AbstractRoutingDataSource {
+
+    private final DataSource unsharded;
+    private final List<? extends DataSource> shards;
+
+    /**
+     * Constructs the routing data source.
+     *
+     * @param unsharded the database used outside of a shard
+     * @param shards    the shards, by index
+     */
+    public ShardRoutingDataSource(DataSource unsharded, List<? extends DataSource> shards) {
+        this.unsharded = unsharded;
+        this.shards = shards;
+        Map<Object, Object> targets = new HashMap<>();
+        for (int i = 0; i < shards.size(); i++) {
+            targets.put(i, shards.get(i));
+        }
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(unsharded);
+        setLenientFallback(false);
+        afterPropertiesSet();
+    }
+
+    /**
+     * Get the database used outside of a shard.
+     *
+     * @return the unsharded data source
+     */
+    public DataSource getUnsharded() {
+        return unsharded;
+    }
+
+    /**
+     * Get the shards.
+     *
+     * @return the shard data sources, by index
+     */
+    public List<? extends DataSource> getShards() {
+        return shards;
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        return ShardContext.current();
+    }
+}
@@ -0,0 +1,48 @@
+package com.example.sharding;
+
+import com.example.entities.Book;
+
+/**
+ * Decides which shard holds a book. A book is always found by its id, so the
+ * shard must be derivable from the id alone; where a new book is written is
+ * up to the strategy, as long as the id the shard generates for it maps back
+ * to that shard.
+ */
+public interface ShardingStrategy {
+
+    /**
+     * Get the number of shards.
+     *
+     * @return the shard count
+     */
+    int getShardCount();
+
+    /**
+     * Get the shard holding the book with the given id.
+     *
+     * @param id the book id
+     * @return the shard index, from 0 to {@link #getShardCount()} - 1
+     */
+    int shardOf(long id);
+
+    /**
+     * Choose the shard a new book is written to.
+     *
+     * @param book the book, without an id yet
+     * @return the shard index, from 0 to {@link #getShardCount()} - 1
+     */
+    int shardForNewBook(Book book);
+
+    /**
+     * Handle a new book written to a shard that generated an id of another
+     * shard. The book has already been removed from the shard again.
+     *
+     * @param shard the shard the book was written to
+     * @param id    the id the shard generated
+     * @return true if new books now go to a shard where the write can be repeated,
+     *         false if the shard is misconfigured and the write must fail
+     */
+    default boolean idOutsideShard(int shard, long id) {
+        return false;
+    }
+}
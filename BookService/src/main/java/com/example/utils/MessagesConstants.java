@@ -98,4 +98,9 @@ public class MessagesConstants {
      */
     public static final String BOOK_GENRE_MANDATORY = "book.genre.mandatory";
 
-}
\ No newline at end of file
+    /**
+     * Key for the error message indicating that a listing cursor is not valid.
+     */
+    public static final String CURSOR_INVALID_ERROR = "cursor.invalid";
+
+}
@@ -60,4 +60,9 @@ public class TableConstants {
      * Constant for the column 'nationality' in the various table.
      */
     public static final String COLUMN_NATIONALITY = "nationality";
+
+    /**
+     * Constant for the column 'author' in the 'book' table.
+     */
+    public static final String COLUMN_AUTHOR = "author";
 }
\ No newline at end of file
@@ -0,0 +1,147 @@
+package com.example.warmup;
+
+import com.example.configs.WarmupProperties;
+import com.example.utils.Constants;
+import com.netflix.appinfo.ApplicationInfoManager;
+import com.netflix.appinfo.InstanceInfo;
+import com.zaxxer.hikari.HikariDataSource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.event.EventListener;
+import org.springframework.web.client.RestClientException;
+import org.springframework.web.client.RestTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Warms the instance up once the application is ready and only then marks it UP
+ * in Eureka, which registers it as {@code STARTING}. The warm-up opens the
+ * connection pool and
+ * sends the configured requests to the instance's own endpoints so that the JIT,
+ * Hibernate's query plans and the web stack have seen real traffic.
+ * The time taken is logged and published in the instance metadata.
+ */
+@Slf4j
+public class WarmupRunner {
+
+    private final WarmupProperties properties;
+    private final DataSource dataSource;
+    private final ApplicationInfoManager applicationInfoManager;
+    private final RestTemplate restTemplate;
+
+    /**
+     * Constructs the runner.
+     *
+     * @param properties             the warm-up configuration
+     * @param dataSource             the data source whose pool is filled
+     * @param applicationInfoManager the Eureka instance status holder
+     * @param restTemplate           the client for the warm-up requests
+     */
+    public WarmupRunner(WarmupProperties properties, DataSource dataSource,
+                        ApplicationInfoManager applicationInfoManager, RestTemplate restTemplate) {
+        this.properties = properties;
+        this.dataSource = dataSource;
+        this.applicationInfoManager = applicationInfoManager;
+        this.restTemplate = restTemplate;
+    }
+
+    /**
+     * Start the warm-up in the background once the web server is listening.
+     *
+     * @param event the application ready notification
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady(ApplicationReadyEvent event) {
+        if (!properties.isEnabled()) {
+            markUp(0L);
+            return;
+        }
+        int port = ((WebServerApplicationContext) event.getApplicationContext()).getWebServer().getPort();
+        Thread thread = new Thread(() -> warmUp(port), Constants.WARMUP_THREAD_NAME);
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * Run every warm-up step, then mark the instance UP whatever the outcome.
+     *
+     * @param port the port the instance listens on
+     */
+    void warmUp(int port) {
+        long start = System.nanoTime();
+        try {
+            fillConnectionPool();
+            sendRequests(port, start + properties.getTimeout().toNanos());
+        } catch (RuntimeException e) {
+            log.warn(Constants.LOG_WARMUP_FAILED, e.getMessage());
+        } finally {
+            markUp(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        }
+    }
+
+    /**
+     * Open connections up to the pool size at once, so that no request waits for
+     * a connection to be established.
+     */
+    private void fillConnectionPool() {
+        int count = properties.getConnections();
+        List<Connection> connections = new ArrayList<>();
+        try {
+            if (count <= 0 && dataSource.isWrapperFor(HikariDataSource.class)) {
+                count = dataSource.unwrap(HikariDataSource.class).getMaximumPoolSize();
+            }
+            for (int i = 0; i < count; i++) {
+                connections.add(dataSource.getConnection());
+            }
+        } catch (SQLException e) {
+            log.warn(Constants.LOG_WARMUP_POOL_NOT_FILLED, connections.size(), e.getMessage());
+        } finally {
+            for (Connection connection : connections) {
+                try {
+                    connection.close();
+                } catch (SQLException e) {
+                    log.warn(Constants.LOG_WARMUP_POOL_NOT_FILLED, connections.size(), e.getMessage());
+                }
+            }
+        }
+    }
+
+    /**
+     * Send the warm-up requests to the instance's own endpoints. Error responses
+     * are expected for some requests and are ignored.
+     *
+     * @param port          the port the instance listens on
+     * @param deadlineNanos the {@link System#nanoTime()} at which to stop
+     */
+    private void sendRequests(int port, long deadlineNanos) {
+        String baseUrl = Constants.WARMUP_BASE_URL + port;
+        for (int i = 0; i < properties.getIterations() && System.nanoTime() < deadlineNanos; i++) {
+            for (String path : properties.getRequests()) {
+                try {
+                    restTemplate.getForEntity(baseUrl + path, String.class);
+                } catch (RestClientException e) {
+                    log.trace(Constants.LOG_WARMUP_REQUEST_FAILED, path, e.getMessage());
+                }
+            }
+        }
+    }
+
+    /**
+     * Publish the warm-up duration and mark the instance UP in Eureka.
+     *
+     * @param elapsedMillis the warm-up duration in milliseconds
+     */
+    private void markUp(long elapsedMillis) {
+        applicationInfoManager.registerAppMetadata(
+                Collections.singletonMap(Constants.WARMUP_METADATA_KEY, Long.toString(elapsedMillis)));
+        applicationInfoManager.setInstanceStatus(InstanceInfo.InstanceStatus.UP);
+        log.info(Constants.LOG_WARMUP_FINISHED, elapsedMillis);
+    }
+}
@@ -0,0 +1,11 @@
+-- The book table as spring.jpa.hibernate.ddl-auto=update created it. Existing
+-- databases are baselined at this version, so this script only runs on new ones.
+CREATE TABLE book (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    title VARCHAR(255) NOT NULL,
+    published_date DATE,
+    genre VARCHAR(255),
+    description TEXT,
+    author BIGINT,
+    PRIMARY KEY (id)
+);
@@ -0,0 +1,8 @@
+-- Lookups by title and filters by genre.
+CREATE INDEX idx_book_title ON book (title);
+CREATE INDEX idx_book_genre ON book (genre);
+
+-- Books of an author, in id order. The listing columns are part of the index, so
+-- listing an author's books is answered from the index alone; it also serves any
+-- other lookup by author.
+CREATE INDEX idx_book_author_listing ON book (author, id, title, published_date, genre);
@@ -0,0 +1,11 @@
+-- Filtered listings. Genre and date filters are served by an index starting with the
+-- genre, if filtered, and ending with the published date, which takes the date range:
+--   genre, with or without dates  idx_book_genre_published_date
+--   dates only                    idx_book_published_date
+-- Any filter by author is served by idx_book_author_listing: an author has few books,
+-- so the other filters are checked on those rows.
+CREATE INDEX idx_book_genre_published_date ON book (genre, published_date);
+CREATE INDEX idx_book_published_date ON book (published_date);
+
+-- genre lookups are served by the leading column of idx_book_genre_published_date
+DROP INDEX idx_book_genre ON book;
@@ -0,0 +1,40 @@
+package com.example.configs;
+
+import com.example.discovery.SnapshotBackupRegistry;
+import com.example.dto.response.BookSummary;
+import com.example.dto.response.CursorPage;
+import com.example.entities.Book;
+import com.example.exception.ErrorDetails;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.nativex.hint.JdkProxyHint;
+import org.springframework.nativex.hint.NativeHint;
+import org.springframework.nativex.hint.ResourceHint;
+import org.springframework.nativex.hint.TypeAccess;
+import org.springframework.nativex.hint.TypeHint;
+
+import java.sql.Connection;
+
+/**
+ * Configuration class for the native image, compiled only by the {@code native}
+ * Maven profile. It names what the build-time analysis cannot find on its own:
+ * the types Jackson and the validator read through their Lombok-generated
+ * accessors, the backup registry Eureka creates by name, the connection proxy
+ * of the permit-holding data source, and the migrations and message bundles
+ * read from the class path. Hibernate's entity proxies are replaced by the
+ * build-time enhancement of the profile.
+ */
+@Configuration(proxyBeanMethods = false)
+@NativeHint(
+        types = {
+                @TypeHint(types = {Book.class, BookSummary.class, CursorPage.class, ErrorDetails.class},
+                        access = {TypeAccess.DECLARED_CONSTRUCTORS, TypeAccess.DECLARED_FIELDS,
+                                TypeAccess.PUBLIC_METHODS}),
+                @TypeHint(types = SnapshotBackupRegistry.class, access = TypeAccess.DECLARED_CONSTRUCTORS)
+        },
+        jdkProxies = @JdkProxyHint(types = Connection.class),
+        resources = {
+                @ResourceHint(patterns = "db/migration/.*\\.sql"),
+                @ResourceHint(patterns = "i18n.messages", isBundle = true)
+        })
+public class NativeHintsConfig {
+}
@@ -0,0 +1,170 @@
+package com.example.cache;
+
+import com.example.concurrency.Bulkhead;
+import com.example.concurrency.Bulkheads;
+import com.example.controllers.BookController;
+import com.example.dto.request.BookFilter;
+import com.example.entities.Book;
+import com.example.replication.ReadYourWrites;
+import com.example.services.IBookService;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.util.Collections;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+
+/**
+ * Checks which listing pages the book result cache admits, that writes and the
+ * time to live take them out again, and that a client bound to the primary
+ * after its own write is not served from it.
+ */
+class BookResultCacheTests {
+
+	private static final long TTL = TimeUnit.MINUTES.toNanos(1);
+
+	private final AtomicInteger loads = new AtomicInteger();
+
+	@Test
+	void pagesAreCachedOnceTheirKeyIsFrequent() {
+		BookResultCache cache = new BookResultCache(10, TTL, 2);
+		String key = key("Drama", 0);
+
+		cache.get(key, loader());
+		cache.get(key, loader());
+		Page<Book> cached = cache.get(key, loader());
+		cache.get(key, loader());
+
+		assertThat(loads).hasValue(2);
+		assertThat(cached.getTotalElements()).isEqualTo(2);
+		assertThat(cache.size()).isEqualTo(1);
+		assertThat(cache.hitRatio()).isEqualTo(0.5);
+	}
+
+	@Test
+	void equivalentFiltersShareOneEntry() {
+		Date from = new Date(0);
+		String spaced = BookResultCache.key(BookFilter.of(" Drama ", from, null, null), PageRequest.of(1, 10));
+		String trimmed = BookResultCache.key(BookFilter.of("Drama", from, null, null), PageRequest.of(1, 10));
+		String blank = BookResultCache.key(BookFilter.of(" ", null, null, null), PageRequest.of(1, 10));
+		String none = BookResultCache.key(BookFilter.NONE, PageRequest.of(1, 10));
+
+		assertThat(spaced).isEqualTo(trimmed);
+		assertThat(blank).isEqualTo(none);
+		assertThat(trimmed).isNotEqualTo(BookResultCache.key(BookFilter.of("Drama", from, null, null),
+				PageRequest.of(2, 10)));
+	}
+
+	@Test
+	void writesEmptyTheCache() {
+		BookResultCache cache = new BookResultCache(10, TTL, 1);
+		String key = key("Drama", 0);
+		cache.get(key, loader());
+
+		cache.invalidateAll();
+		cache.get(key, loader());
+
+		assertThat(loads).hasValue(2);
+	}
+
+	@Test
+	void pagesLoadedDuringAWriteAreNotCached() {
+		BookResultCache cache = new BookResultCache(10, TTL, 1);
+		String key = key("Drama", 0);
+
+		cache.get(key, () -> {
+			cache.invalidateAll();
+			return loader().get();
+		});
+		cache.get(key, loader());
+
+		assertThat(loads).hasValue(2);
+	}
+
+	@Test
+	void expiredPagesAreLoadedAgain() {
+		BookResultCache cache = new BookResultCache(10, 0, 1);
+		String key = key("Drama", 0);
+
+		cache.get(key, loader());
+		cache.get(key, loader());
+
+		assertThat(loads).hasValue(2);
+	}
+
+	@Test
+	void leastRecentlyUsedPagesAreEvicted() {
+		BookResultCache cache = new BookResultCache(2, TTL, 1);
+
+		cache.get(key("Drama", 0), loader());
+		cache.get(key("Drama", 1), loader());
+		cache.get(key("Drama", 0), loader());
+		cache.get(key("Drama", 2), loader());
+		cache.get(key("Drama", 0), loader());
+		cache.get(key("Drama", 1), loader());
+
+		assertThat(cache.size()).isEqualTo(2);
+		assertThat(loads).hasValue(4);
+	}
+
+	@Test
+	void clientBoundToThePrimarySkipsTheCache() throws Exception {
+		IBookService bookService = mock(IBookService.class);
+		when(bookService.getBooks(any(BookFilter.class), any(Pageable.class)))
+				.thenAnswer(invocation -> loader().get());
+		Bulkhead read = new Bulkhead("read", 1, 10, ReadYourWrites.taskDecorator());
+		Bulkhead write = new Bulkhead("write", 1, 10, ReadYourWrites.taskDecorator());
+		BookController controller = new BookController();
+		ReflectionTestUtils.setField(controller, "bookService", bookService);
+		ReflectionTestUtils.setField(controller, "bulkheads", new Bulkheads(read, write));
+		ReflectionTestUtils.setField(controller, "bookResultCache", new BookResultCache(10, TTL, 1));
+		MockMvc mockMvc = MockMvcBuilders.standaloneSetup(controller).build();
+		try {
+			list(mockMvc);
+			list(mockMvc);
+			assertThat(loads).hasValue(1);
+
+			ReadYourWrites.requirePrimary();
+			list(mockMvc);
+			list(mockMvc);
+			assertThat(loads).hasValue(3);
+		} finally {
+			ReadYourWrites.clear();
+			read.shutdown();
+			write.shutdown();
+		}
+	}
+
+	private void list(MockMvc mockMvc) throws Exception {
+		mockMvc.perform(get("/books/list").param("genre", "Drama"))
+				.andExpect(request().asyncStarted())
+				.andReturn()
+				.getAsyncResult(5_000);
+	}
+
+	private Supplier<Page<Book>> loader() {
+		return () -> {
+			loads.incrementAndGet();
+			return new PageImpl<>(Collections.singletonList(new Book()), PageRequest.of(0, 1), 2);
+		};
+	}
+
+	private static String key(String genre, int page) {
+		return BookResultCache.key(BookFilter.of(genre, null, null, null), PageRequest.of(page, 10));
+	}
+}
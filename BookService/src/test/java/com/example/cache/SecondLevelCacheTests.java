@@ -0,0 +1,246 @@
+package com.example.cache;
+
+import com.example.entities.Book;
+import com.example.replication.ReadYourWrites;
+import com.example.repositories.IBookRepository;
+import com.example.utils.Constants;
+import org.hibernate.CacheMode;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.orm.jpa.JpaTransactionManager;
+import org.springframework.orm.jpa.LocalContainerEntityManagerFactoryBean;
+import org.springframework.orm.jpa.vendor.Database;
+import org.springframework.orm.jpa.vendor.HibernateJpaVendorAdapter;
+import org.springframework.test.context.junit.jupiter.SpringJUnitConfig;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.cache.CacheManager;
+import javax.persistence.CacheRetrieveMode;
+import javax.persistence.CacheStoreMode;
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+import javax.persistence.PersistenceContext;
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Counts the statements sent to an embedded H2 database per request, with the
+ * second-level and query caches bypassed and in use. Each request runs in its
+ * own transaction, as it does behind the controllers, and reads a book by id,
+ * a book by title and a page of books. A client bound to the primary after
+ * its own write reads past the caches.
+ */
+@SpringJUnitConfig(SecondLevelCacheTests.SecondLevelCacheTestConfig.class)
+class SecondLevelCacheTests {
+
+	private static final int BOOKS = 20;
+	private static final int REQUESTS = 200;
+
+	@Autowired
+	private IBookRepository bookRepository;
+
+	@Autowired
+	private PlatformTransactionManager transactionManager;
+
+	@Autowired
+	private EntityManagerFactory entityManagerFactory;
+
+	@Autowired
+	private DataSource dataSource;
+
+	@PersistenceContext
+	private EntityManager entityManager;
+
+	private final List<Long> ids = new ArrayList<>();
+
+	@BeforeEach
+	void setUp() {
+		new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+			bookRepository.deleteAllInBatch();
+			ids.clear();
+			for (int i = 0; i < BOOKS; i++) {
+				ids.add(bookRepository.save(book("Book " + i)).getId());
+			}
+		});
+		entityManagerFactory.getCache().evictAll();
+		statistics().clear();
+	}
+
+	@Test
+	void cachedReadsSkipTheDatabase() {
+		double before = statementsPerRequest(CacheMode.IGNORE);
+		statementsPerRequest(CacheMode.NORMAL);
+		double after = statementsPerRequest(CacheMode.NORMAL);
+
+		System.out.printf("%-7s %14s%n", "caches", "statements/req");
+		System.out.printf("%-7s %14.2f%n", "off", before);
+		System.out.printf("%-7s %14.2f%n", "on", after);
+		assertThat(before).isEqualTo(4);
+		// only the count of the page is queried: Spring Data does not pass the cacheable hint on to it
+		assertThat(after).isEqualTo(1);
+		assertThat(statistics().getSecondLevelCacheHitCount()).isPositive();
+		assertThat(statistics().getQueryCacheHitCount()).isPositive();
+	}
+
+	@Test
+	void writesInvalidateCachedQueryResults() {
+		request(CacheMode.NORMAL, () -> bookRepository.findByTitle("Book 3"));
+		new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+			Book book = bookRepository.findById(ids.get(3)).orElseThrow();
+			book.setTitle("Renamed");
+		});
+
+		Book[] found = new Book[2];
+		request(CacheMode.NORMAL, () -> {
+			found[0] = bookRepository.findByTitle("Book 3").orElse(null);
+			found[1] = bookRepository.findByTitle("Renamed").orElse(null);
+		});
+
+		assertThat(found[0]).isNull();
+		assertThat(found[1]).isNotNull();
+		assertThat(found[1].getId()).isEqualTo(ids.get(3));
+	}
+
+	@Test
+	void clientBoundToThePrimaryReadsPastTheCaches() {
+		Long id = ids.get(3);
+		request(() -> {
+			bookRepository.findById(id);
+			bookRepository.findByTitle("Book 3");
+		});
+		// another instance renames the book, unseen by this instance's caches
+		new JdbcTemplate(dataSource).update("UPDATE book SET title = ? WHERE id = ?", "Renamed", id);
+
+		Book[] found = new Book[4];
+		request(() -> {
+			found[0] = bookRepository.findById(id).orElseThrow();
+			found[1] = bookRepository.findByTitle("Book 3").orElse(null);
+		});
+		ReadYourWrites.requirePrimary();
+		try {
+			request(() -> found[2] = bookRepository.findByTitle("Book 3").orElse(null));
+		} finally {
+			ReadYourWrites.clear();
+		}
+		ReadYourWrites.requirePrimary();
+		try {
+			request(() -> found[3] = bookRepository.findById(id).orElseThrow());
+		} finally {
+			ReadYourWrites.clear();
+		}
+
+		assertThat(found[0].getTitle()).isEqualTo("Book 3");
+		assertThat(found[1]).isNotNull();
+		assertThat(found[2]).isNull();
+		assertThat(found[3].getTitle()).isEqualTo("Renamed");
+	}
+
+	/**
+	 * Run the requests and count the statements they send to the database.
+	 *
+	 * @param cacheMode how the requests use the caches
+	 * @return the average number of statements per request
+	 */
+	private double statementsPerRequest(CacheMode cacheMode) {
+		long start = statistics().getPrepareStatementCount();
+		for (int i = 0; i < REQUESTS; i++) {
+			int book = i % BOOKS;
+			int page = i % 2;
+			request(cacheMode, () -> {
+				bookRepository.findById(ids.get(book));
+				bookRepository.findByTitle("Book " + book);
+				bookRepository.findAll(PageRequest.of(page, BOOKS / 2));
+			});
+		}
+		return (double) (statistics().getPrepareStatementCount() - start) / REQUESTS;
+	}
+
+	private void request(Runnable work) {
+		TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+		transaction.setReadOnly(true);
+		transaction.executeWithoutResult(status -> work.run());
+	}
+
+	private void request(CacheMode cacheMode, Runnable work) {
+		TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+		transaction.setReadOnly(true);
+		transaction.executeWithoutResult(status -> {
+			boolean bypass = cacheMode == CacheMode.IGNORE;
+			entityManager.setProperty(AvailableSettings.JPA_SHARED_CACHE_RETRIEVE_MODE,
+					bypass ? CacheRetrieveMode.BYPASS : CacheRetrieveMode.USE);
+			entityManager.setProperty(AvailableSettings.JPA_SHARED_CACHE_STORE_MODE,
+					bypass ? CacheStoreMode.BYPASS : CacheStoreMode.USE);
+			entityManager.unwrap(Session.class).setCacheMode(cacheMode);
+			work.run();
+		});
+	}
+
+	private Statistics statistics() {
+		return entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+	}
+
+	private static Book book(String title) {
+		Book book = new Book();
+		book.setTitle(title);
+		book.setGenre("Novel");
+		book.setPublishedDate(new Date());
+		return book;
+	}
+
+	@Configuration
+	@EnableJpaRepositories(basePackageClasses = IBookRepository.class)
+	static class SecondLevelCacheTestConfig {
+
+		@Bean(destroyMethod = "close")
+		CacheManager secondLevelCacheManager() {
+			return SecondLevelCaches.createCacheManager(Constants.SECOND_LEVEL_CACHE_URI, 1_000,
+					Duration.ofMinutes(10), 1_000, Duration.ofMinutes(5), Constants.CACHE_REGION_BOOK);
+		}
+
+		@Bean
+		DataSource dataSource() {
+			return new DriverManagerDataSource("jdbc:h2:mem:second-level-cache;DB_CLOSE_DELAY=-1");
+		}
+
+		@Bean
+		LocalContainerEntityManagerFactoryBean entityManagerFactory(DataSource dataSource,
+																   CacheManager secondLevelCacheManager) {
+			HibernateJpaVendorAdapter vendorAdapter = new HibernateJpaVendorAdapter();
+			vendorAdapter.setDatabase(Database.H2);
+			vendorAdapter.setGenerateDdl(true);
+			Map<String, Object> properties = new HashMap<>();
+			SecondLevelCaches.configure(properties, secondLevelCacheManager, true);
+			LocalContainerEntityManagerFactoryBean factory = new LocalContainerEntityManagerFactoryBean();
+			factory.setDataSource(dataSource);
+			factory.setPackagesToScan(Book.class.getPackage().getName());
+			factory.setJpaVendorAdapter(vendorAdapter);
+			factory.setJpaDialect(new ReadYourWritesJpaDialect());
+			factory.setJpaPropertyMap(properties);
+			return factory;
+		}
+
+		@Bean
+		PlatformTransactionManager transactionManager(EntityManagerFactory entityManagerFactory) {
+			return new JpaTransactionManager(entityManagerFactory);
+		}
+	}
+}
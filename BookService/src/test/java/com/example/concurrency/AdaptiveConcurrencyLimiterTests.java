@@ -0,0 +1,88 @@
+package com.example.concurrency;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Feeds the limit algorithms with synthetic latencies and checks that the
+ * limiter sheds requests beyond the learned limit.
+ */
+class AdaptiveConcurrencyLimiterTests {
+
+	private static final long FAST = TimeUnit.MILLISECONDS.toNanos(10);
+	private static final long SLOW = TimeUnit.MILLISECONDS.toNanos(200);
+
+	@Test
+	void requestsBeyondTheLimitAreRejected() {
+		AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(
+				new AimdLimit(2, 1, 10, 0.9, SLOW));
+
+		AdaptiveConcurrencyLimiter.Permit first = limiter.tryAcquire();
+		AdaptiveConcurrencyLimiter.Permit second = limiter.tryAcquire();
+		AdaptiveConcurrencyLimiter.Permit rejected = limiter.tryAcquire();
+		first.release(false);
+		first.release(false);
+		AdaptiveConcurrencyLimiter.Permit afterRelease = limiter.tryAcquire();
+
+		assertThat(second).isNotNull();
+		assertThat(rejected).isNull();
+		assertThat(afterRelease).isNotNull();
+		assertThat(limiter.getInFlight()).isEqualTo(2);
+		assertThat(limiter.getRejected()).isEqualTo(1);
+	}
+
+	@Test
+	void aimdGrowsWhileBusyAndBacksOffOnOverload() {
+		AimdLimit limit = new AimdLimit(10, 2, 100, 0.5, SLOW);
+
+		for (int i = 0; i < 5; i++) {
+			limit.onSample(FAST, limit.getLimit(), false);
+		}
+		int grown = limit.getLimit();
+		limit.onSample(FAST, 1, false);
+		int idle = limit.getLimit();
+		limit.onSample(SLOW * 2, grown, false);
+		int afterSlowRequest = limit.getLimit();
+		limit.onSample(FAST, grown, true);
+
+		assertThat(grown).isEqualTo(15);
+		assertThat(idle).isEqualTo(15);
+		assertThat(afterSlowRequest).isEqualTo(7);
+		assertThat(limit.getLimit()).isEqualTo(3);
+	}
+
+	@Test
+	void gradientShrinksWhenLatencyRisesAndRecovers() {
+		GradientLimit limit = new GradientLimit(20, 5, 200, 0.2, 1.5, 600);
+
+		for (int i = 0; i < 200; i++) {
+			limit.onSample(FAST, limit.getLimit(), false);
+		}
+		int healthy = limit.getLimit();
+		for (int i = 0; i < 20; i++) {
+			limit.onSample(SLOW, limit.getLimit(), false);
+		}
+		int degraded = limit.getLimit();
+		for (int i = 0; i < 200; i++) {
+			limit.onSample(FAST, limit.getLimit(), false);
+		}
+
+		assertThat(healthy).isGreaterThan(20);
+		assertThat(degraded).isLessThan(healthy / 2);
+		assertThat(limit.getLimit()).isGreaterThan(degraded);
+	}
+
+	@Test
+	void gradientIgnoresSamplesWhileMostlyIdle() {
+		GradientLimit limit = new GradientLimit(20, 5, 200, 0.2, 1.5, 600);
+
+		for (int i = 0; i < 100; i++) {
+			limit.onSample(FAST, 1, false);
+		}
+
+		assertThat(limit.getLimit()).isEqualTo(20);
+	}
+}
@@ -0,0 +1,143 @@
+package com.example.concurrency;
+
+import com.example.configs.MessageConfig;
+import com.example.controllers.BookController;
+import com.example.entities.Book;
+import com.example.exception.GlobalExceptionHandler;
+import com.example.services.IBookService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.i18n.LocaleContextHolder;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.time.Duration;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Verifies that writes piling up on the write bulkhead neither delay reads
+ * nor queue without bound, and that tasks see the submitting request's context.
+ */
+class BulkheadTests {
+
+	private final IBookService bookService = mock(IBookService.class);
+	private final CountDownLatch writeStarted = new CountDownLatch(1);
+	private final CountDownLatch releaseWrites = new CountDownLatch(1);
+
+	private Bulkhead read;
+	private Bulkhead write;
+	private MockMvc mockMvc;
+
+	@BeforeEach
+	void setUp() {
+		read = new Bulkhead("read", 2, 10, task -> task);
+		write = new Bulkhead("write", 1, 1, task -> task);
+		BookController controller = new BookController();
+		ReflectionTestUtils.setField(controller, "bookService", bookService);
+		ReflectionTestUtils.setField(controller, "bulkheads", new Bulkheads(read, write));
+		mockMvc = MockMvcBuilders.standaloneSetup(controller)
+				.setControllerAdvice(new GlobalExceptionHandler())
+				.build();
+
+		Book book = new Book();
+		book.setTitle("Dune");
+		when(bookService.getBookByTitle("Dune")).thenReturn(Optional.of(book));
+		doAnswer(invocation -> {
+			writeStarted.countDown();
+			releaseWrites.await(10, TimeUnit.SECONDS);
+			return null;
+		}).when(bookService).deleteBook(anyLong());
+	}
+
+	@AfterEach
+	void tearDown() {
+		releaseWrites.countDown();
+		read.shutdown();
+		write.shutdown();
+	}
+
+	@Test
+	void saturatedWriteBulkheadDoesNotDelayReads() throws Exception {
+		mockMvc.perform(delete("/books/1")).andExpect(request().asyncStarted());
+		assertThat(writeStarted.await(5, TimeUnit.SECONDS)).isTrue();
+		mockMvc.perform(delete("/books/2")).andExpect(request().asyncStarted());
+		assertThat(write.getExecutor().getQueue()).hasSize(1);
+
+		long start = System.nanoTime();
+		MvcResult result = mockMvc.perform(get("/books/title").param("title", "Dune"))
+				.andExpect(request().asyncStarted())
+				.andReturn();
+		mockMvc.perform(asyncDispatch(result))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.title").value("Dune"));
+
+		assertThat(Duration.ofNanos(System.nanoTime() - start)).isLessThan(Duration.ofSeconds(2));
+		assertThat(releaseWrites.getCount()).isEqualTo(1);
+		assertThat(read.getRejected()).isZero();
+	}
+
+	@Test
+	void fullWriteQueueIsAnsweredWithServiceUnavailable() throws Exception {
+		mockMvc.perform(delete("/books/1")).andExpect(request().asyncStarted());
+		assertThat(writeStarted.await(5, TimeUnit.SECONDS)).isTrue();
+		mockMvc.perform(delete("/books/2")).andExpect(request().asyncStarted());
+
+		mockMvc.perform(delete("/books/3"))
+				.andExpect(status().isServiceUnavailable())
+				.andExpect(header().string(HttpHeaders.RETRY_AFTER, "1"));
+
+		assertThat(write.getRejected()).isEqualTo(1);
+		assertThat(read.getRejected()).isZero();
+	}
+
+	@Test
+	void tasksSeeSubmittingThreadsLocale() throws Exception {
+		Bulkhead bulkhead = new Bulkhead("read", 1, 1, new MessageConfig().localeContextTaskDecorator());
+		try {
+			LocaleContextHolder.setLocale(new Locale("vi"));
+			assertThat(bulkhead.submit(LocaleContextHolder::getLocaleContext).get(5, TimeUnit.SECONDS).getLocale())
+					.isEqualTo(new Locale("vi"));
+
+			LocaleContextHolder.resetLocaleContext();
+			assertThat(bulkhead.submit(LocaleContextHolder::getLocaleContext).get(5, TimeUnit.SECONDS)).isNull();
+		} finally {
+			LocaleContextHolder.resetLocaleContext();
+			bulkhead.shutdown();
+		}
+	}
+
+	@Test
+	void virtualThreadFactoryRunsTasksOnVirtualThreads() throws Exception {
+		assumeTrue(VirtualThreads.isSupported());
+		Bulkhead bulkhead = new Bulkhead("read", 2, 1, VirtualThreads.newThreadFactory("read-"), task -> task);
+		try {
+			Thread thread = bulkhead.submit(Thread::currentThread).get(5, TimeUnit.SECONDS);
+
+			assertThat(VirtualThreads.isVirtual(thread)).isTrue();
+			assertThat(thread.getName()).startsWith("read-");
+		} finally {
+			bulkhead.shutdown();
+		}
+	}
+}
@@ -0,0 +1,145 @@
+package com.example.discovery;
+
+import com.netflix.appinfo.DataCenterInfo;
+import com.netflix.appinfo.InstanceInfo;
+import com.netflix.appinfo.MyDataCenterInfo;
+import com.netflix.discovery.EurekaClient;
+import com.netflix.discovery.shared.Application;
+import com.netflix.discovery.shared.Applications;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.cloud.client.discovery.event.HeartbeatEvent;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.core.io.support.PropertiesLoaderUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Verifies that the registry survives a trip through the snapshot file, that
+ * the backup registry Eureka falls back to serves it, and that an empty
+ * registry never replaces it.
+ */
+class RegistrySnapshotTests {
+
+	@TempDir
+	Path directory;
+
+	private Path file;
+	private RegistrySnapshot snapshot;
+
+	@BeforeEach
+	void setUp() {
+		file = directory.resolve("eureka-registry.json");
+		snapshot = new RegistrySnapshot(file);
+	}
+
+	@AfterEach
+	void tearDown() {
+		SnapshotBackupRegistry.use(null);
+	}
+
+	@Test
+	void savedRegistryLoadsBackUnchanged() {
+		snapshot.save(registry(instance("BOOKSERVICE", "10.0.0.1", 8081), instance("BOOKSERVICE", "10.0.0.2", 8081),
+				instance("AUTHORSERVICE", "10.0.0.3", 8082)));
+
+		Applications loaded = snapshot.load();
+
+		assertThat(loaded.size()).isEqualTo(3);
+		assertThat(loaded.getRegisteredApplications("BOOKSERVICE").getInstances())
+				.extracting(InstanceInfo::getIPAddr, InstanceInfo::getPort, InstanceInfo::getStatus)
+				.containsExactlyInAnyOrder(
+						tuple("10.0.0.1", 8081, InstanceInfo.InstanceStatus.UP),
+						tuple("10.0.0.2", 8081, InstanceInfo.InstanceStatus.UP));
+		assertThat(loaded.getRegisteredApplications("AUTHORSERVICE").getByInstanceId("10.0.0.3:AUTHORSERVICE:8082"))
+				.isNotNull();
+	}
+
+	@Test
+	void missingOrCorruptSnapshotLoadsNothing() throws Exception {
+		assertThat(snapshot.load()).isNull();
+
+		Files.writeString(file, "{\"applications\":", StandardCharsets.UTF_8);
+
+		assertThat(snapshot.load()).isNull();
+	}
+
+	@Test
+	void backupRegistryServesSnapshotWhenFirstFetchFails() throws Exception {
+		assertThat(PropertiesLoaderUtils.loadProperties(new ClassPathResource("application.properties"))
+				.getProperty("eureka.client.backup-registry-impl")).isEqualTo(SnapshotBackupRegistry.class.getName());
+		snapshot.save(registry(instance("BOOKSERVICE", "10.0.0.1", 8081)));
+		SnapshotBackupRegistry.use(snapshot);
+
+		Applications served = new SnapshotBackupRegistry().fetchRegistry();
+
+		assertThat(served.getRegisteredApplications("BOOKSERVICE").getInstances())
+				.extracting(InstanceInfo::getIPAddr).containsExactly("10.0.0.1");
+	}
+
+	@Test
+	void backupRegistryServesEmptyRegistryWithoutSnapshot() {
+		SnapshotBackupRegistry.use(snapshot);
+
+		assertThat(new SnapshotBackupRegistry().fetchRegistry().size()).isZero();
+	}
+
+	@Test
+	void writerNeverOverwritesSnapshotWithEmptyRegistry() {
+		EurekaClient eurekaClient = mock(EurekaClient.class);
+		@SuppressWarnings("unchecked")
+		ObjectProvider<EurekaClient> provider = mock(ObjectProvider.class);
+		when(provider.getObject()).thenReturn(eurekaClient);
+		RegistrySnapshotWriter writer = new RegistrySnapshotWriter(snapshot, provider);
+
+		when(eurekaClient.getApplications()).thenReturn(registry(instance("BOOKSERVICE", "10.0.0.1", 8081)));
+		writer.onRegistryRefreshed(new HeartbeatEvent(this, 1L));
+		when(eurekaClient.getApplications()).thenReturn(registry());
+		writer.onRegistryRefreshed(new HeartbeatEvent(this, 2L));
+
+		assertThat(snapshot.load().getRegisteredApplications("BOOKSERVICE").getInstances())
+				.extracting(InstanceInfo::getIPAddr).containsExactly("10.0.0.1");
+
+		when(eurekaClient.getApplications()).thenReturn(registry(instance("BOOKSERVICE", "10.0.0.2", 8081)));
+		writer.onRegistryRefreshed(new HeartbeatEvent(this, 3L));
+
+		assertThat(snapshot.load().getRegisteredApplications("BOOKSERVICE").getInstances())
+				.extracting(InstanceInfo::getIPAddr).containsExactly("10.0.0.2");
+	}
+
+	private static Applications registry(InstanceInfo... instances) {
+		Applications applications = new Applications();
+		for (InstanceInfo instance : instances) {
+			Application application = applications.getRegisteredApplications(instance.getAppName());
+			if (application == null) {
+				application = new Application(instance.getAppName());
+				applications.addApplication(application);
+			}
+			application.addInstance(instance);
+		}
+		applications.setAppsHashCode(applications.getReconcileHashCode());
+		return applications;
+	}
+
+	private static InstanceInfo instance(String appName, String ipAddress, int port) {
+		return InstanceInfo.Builder.newBuilder()
+				.setAppName(appName)
+				.setInstanceId(ipAddress + ":" + appName + ":" + port)
+				.setHostName(ipAddress)
+				.setIPAddr(ipAddress)
+				.setPort(port)
+				.setStatus(InstanceInfo.InstanceStatus.UP)
+				.setDataCenterInfo(new MyDataCenterInfo(DataCenterInfo.Name.MyOwn))
+				.build();
+	}
+}
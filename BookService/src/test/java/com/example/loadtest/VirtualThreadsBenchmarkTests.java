@@ -0,0 +1,174 @@
+package com.example.loadtest;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Benchmark of requests per second and p99 latency at 10k concurrent clients,
+ * comparing an instance on the Tomcat thread pool with one on virtual threads.
+ * Each client sends a request, waits for the think time and repeats until the
+ * run ends.
+ * <p>
+ * It only runs when both instances are up against the same database, e.g. one
+ * started normally and one with {@code -Pvirtual-threads} on JDK 21 and port 8091, both with
+ * {@code --server.tomcat.max-connections=20000}:
+ * {@code mvn test -Dtest=VirtualThreadsBenchmarkTests -Dloadtest.platform-url=http://localhost:8081
+ * -Dloadtest.virtual-url=http://localhost:8091}. The number of clients, the
+ * duration, the think time and the path can be changed with
+ * {@code loadtest.clients}, {@code loadtest.duration-seconds},
+ * {@code loadtest.think-time-millis} and {@code loadtest.path}.
+ */
+@EnabledIfSystemProperty(named = "loadtest.platform-url", matches = ".+")
+@EnabledIfSystemProperty(named = "loadtest.virtual-url", matches = ".+")
+class VirtualThreadsBenchmarkTests {
+
+	private static final int CLIENTS = Integer.getInteger("loadtest.clients", 10_000);
+	private static final Duration DURATION = Duration.ofSeconds(Long.getLong("loadtest.duration-seconds", 60));
+	private static final long THINK_TIME_MILLIS = Long.getLong("loadtest.think-time-millis", 100);
+	private static final Duration WARMUP = Duration.ofSeconds(15);
+	private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
+	private static final String PATH = System.getProperty("loadtest.path", "/books/list?page=0&size=10");
+
+	@Test
+	void comparePlatformWithVirtualThreads() throws Exception {
+		Result platform = run("platform", System.getProperty("loadtest.platform-url"));
+		Result virtual = run("virtual", System.getProperty("loadtest.virtual-url"));
+
+		System.out.printf("%-9s %10s %8s %8s %8s%n", "threads", "req/s", "p50 ms", "p99 ms", "errors");
+		platform.print();
+		virtual.print();
+		assertThat(platform.completed()).isPositive();
+		assertThat(virtual.completed()).isPositive();
+	}
+
+	/**
+	 * Warm the instance up, then drive it with the configured clients.
+	 *
+	 * @param name    the variant name used in the report
+	 * @param baseUrl the instance base URL
+	 * @return the measurements
+	 * @throws Exception if the run is interrupted
+	 */
+	private Result run(String name, String baseUrl) throws Exception {
+		ExecutorService executor = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors() * 2);
+		try {
+			HttpClient client = HttpClient.newBuilder()
+					.executor(executor)
+					.connectTimeout(REQUEST_TIMEOUT)
+					.build();
+			HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + PATH))
+					.timeout(REQUEST_TIMEOUT)
+					.GET()
+					.build();
+			drive(client, request, Math.min(CLIENTS, 50), WARMUP, 0, new Result(name));
+
+			Result result = new Result(name);
+			long start = System.nanoTime();
+			drive(client, request, CLIENTS, DURATION, THINK_TIME_MILLIS, result);
+			result.elapsedNanos = System.nanoTime() - start;
+			return result;
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+
+	/**
+	 * Run the given number of clients until the duration ends and wait for them to stop.
+	 *
+	 * @param client          the HTTP client
+	 * @param request         the request every client sends
+	 * @param clients         the number of concurrent clients
+	 * @param duration        how long the clients keep sending
+	 * @param thinkTimeMillis the pause between a response and the client's next request
+	 * @param result          the measurements to update
+	 * @throws Exception if the run is interrupted
+	 */
+	private void drive(HttpClient client, HttpRequest request, int clients, Duration duration,
+					   long thinkTimeMillis, Result result) throws Exception {
+		long deadline = System.nanoTime() + duration.toNanos();
+		CompletableFuture<?>[] loops = new CompletableFuture<?>[clients];
+		for (int i = 0; i < clients; i++) {
+			loops[i] = loop(client, request, deadline, thinkTimeMillis, result);
+		}
+		CompletableFuture.allOf(loops).get(duration.plus(REQUEST_TIMEOUT).toMillis() * 2, TimeUnit.MILLISECONDS);
+	}
+
+	/**
+	 * Send requests one after the other, pausing between them, until the deadline.
+	 *
+	 * @param client          the HTTP client
+	 * @param request         the request to send
+	 * @param deadline        the {@link System#nanoTime()} at which to stop
+	 * @param thinkTimeMillis the pause between a response and the next request
+	 * @param result          the measurements to update
+	 * @return a future completing when the client stops
+	 */
+	private CompletableFuture<Void> loop(HttpClient client, HttpRequest request, long deadline,
+										 long thinkTimeMillis, Result result) {
+		if (System.nanoTime() >= deadline) {
+			return CompletableFuture.completedFuture(null);
+		}
+		long start = System.nanoTime();
+		return client.sendAsync(request, HttpResponse.BodyHandlers.discarding())
+				.handle((response, error) -> {
+					if (error == null && response.statusCode() < 500) {
+						result.latencies.add(System.nanoTime() - start);
+					} else {
+						result.errors.incrementAndGet();
+					}
+					return null;
+				})
+				.thenComposeAsync(ignored -> loop(client, request, deadline, thinkTimeMillis, result),
+						CompletableFuture.delayedExecutor(thinkTimeMillis, TimeUnit.MILLISECONDS));
+	}
+
+	/**
+	 * Measurements of one run.
+	 */
+	private static final class Result {
+
+		private final String name;
+		private final ConcurrentLinkedQueue<Long> latencies = new ConcurrentLinkedQueue<>();
+		private final AtomicLong errors = new AtomicLong();
+		private long elapsedNanos;
+
+		Result(String name) {
+			this.name = name;
+		}
+
+		long completed() {
+			return latencies.size();
+		}
+
+		void print() {
+			long[] sorted = latencies.stream().mapToLong(Long::longValue).toArray();
+			Arrays.sort(sorted);
+			System.out.printf("%-9s %10.1f %8d %8d %8d%n", name, sorted.length / (elapsedNanos / 1e9),
+					TimeUnit.NANOSECONDS.toMillis(percentile(sorted, 0.50)),
+					TimeUnit.NANOSECONDS.toMillis(percentile(sorted, 0.99)),
+					errors.get());
+		}
+
+		private static long percentile(long[] sorted, double percentile) {
+			if (sorted.length == 0) {
+				return 0;
+			}
+			return sorted[(int) Math.min(sorted.length - 1, Math.ceil(percentile * sorted.length) - 1)];
+		}
+	}
+}
@@ -0,0 +1,104 @@
+package com.example.migration;
+
+import org.flywaydb.core.Flyway;
+import org.flywaydb.core.api.output.MigrateResult;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import javax.sql.DataSource;
+import java.sql.Date;
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Migrates an embedded H2 database in MySQL mode with the Flyway scripts and
+ * checks, with EXPLAIN, that the hot book queries and each combination of
+ * listing filters use the indexes the scripts define instead of scanning the
+ * table.
+ */
+class SchemaMigrationTests {
+
+	private static final DataSource DATA_SOURCE = new DriverManagerDataSource(
+			"jdbc:h2:mem:schema-migration;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1");
+	private static final JdbcTemplate JDBC = new JdbcTemplate(DATA_SOURCE);
+	private static final String[] GENRES = {"Novel", "Poetry", "Drama", "Essay", "Science"};
+	private static final LocalDate FIRST_DAY = LocalDate.of(2020, 1, 1);
+	private static final Date FROM = Date.valueOf(FIRST_DAY.plusDays(100));
+	private static final Date TO = Date.valueOf(FIRST_DAY.plusDays(130));
+	/** The page query of the filtered listing, as issued for its Specification. */
+	private static final String LISTING =
+			"SELECT id, title, published_date, genre, description, author FROM book WHERE %s LIMIT 20 OFFSET 20";
+
+	private static MigrateResult migration;
+
+	@BeforeAll
+	static void migrate() {
+		migration = Flyway.configure().dataSource(DATA_SOURCE).load().migrate();
+		for (int i = 0; i < 1_000; i++) {
+			JDBC.update("INSERT INTO book (title, published_date, genre, author) VALUES (?, ?, ?, ?)",
+					"Book " + i, Date.valueOf(FIRST_DAY.plusDays(i)), GENRES[i % GENRES.length], i % 50);
+		}
+		JDBC.execute("ANALYZE");
+	}
+
+	@Test
+	void allMigrationsApplyToAnEmptyDatabase() {
+		assertThat(migration.success).isTrue();
+		assertThat(migration.migrationsExecuted).isEqualTo(3);
+	}
+
+	@Test
+	void titleLookupUsesTheTitleIndex() {
+		assertThat(plan("SELECT id, title, published_date, genre, description, author FROM book WHERE title = ?",
+				"Book 7")).containsIgnoringCase("idx_book_title");
+	}
+
+	@Test
+	void genreFilterUsesTheGenreIndex() {
+		assertThat(plan(String.format(LISTING, "genre = ?"), "Drama"))
+				.containsIgnoringCase("idx_book_genre_published_date");
+	}
+
+	@Test
+	void genreAndDateFilterUsesTheGenreDateIndex() {
+		assertThat(plan(String.format(LISTING, "genre = ? AND published_date >= ? AND published_date <= ?"),
+				"Drama", FROM, TO)).containsIgnoringCase("idx_book_genre_published_date");
+	}
+
+	@Test
+	void dateFilterUsesTheDateIndex() {
+		assertThat(plan(String.format(LISTING, "published_date >= ? AND published_date <= ?"), FROM, TO))
+				.containsIgnoringCase("idx_book_published_date");
+	}
+
+	@Test
+	void authorAndDateFilterUsesTheAuthorIndex() {
+		assertThat(plan(String.format(LISTING, "author = ? AND published_date >= ? AND published_date <= ?"),
+				7, FROM, TO)).containsIgnoringCase("idx_book_author_listing");
+	}
+
+	@Test
+	void authorAndGenreFilterUsesTheAuthorIndex() {
+		assertThat(plan(String.format(LISTING, "author = ? AND genre = ?"), 7, "Drama"))
+				.containsIgnoringCase("idx_book_author_listing");
+	}
+
+	@Test
+	void listingBooksOfAnAuthorUsesTheCoveringIndex() {
+		assertThat(plan("SELECT id, title, published_date, genre FROM book WHERE author = ? AND id > ?"
+				+ " ORDER BY id LIMIT 20", 7, 0)).containsIgnoringCase("idx_book_author_listing");
+	}
+
+	@Test
+	void pagedListIsReadInPrimaryKeyOrder() {
+		assertThat(plan("SELECT id, title, published_date, genre, description, author FROM book"
+				+ " ORDER BY id LIMIT 10 OFFSET 10")).containsIgnoringCase("index sorted");
+	}
+
+	private static String plan(String sql, Object... args) {
+		return JDBC.queryForObject("EXPLAIN " + sql, String.class, args);
+	}
+}
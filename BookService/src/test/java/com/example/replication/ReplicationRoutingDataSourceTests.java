@@ -0,0 +1,136 @@
+package com.example.replication;
+
+import com.example.utils.Constants;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.servlet.http.Cookie;
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Routes transactions between two embedded H2 databases standing in for the
+ * primary and a replica. Each database holds one book whose title names the
+ * database, so every read shows where it was served from.
+ */
+class ReplicationRoutingDataSourceTests {
+
+	private final DataSource primary = h2("replication-primary");
+	private final DataSource replica = h2("replication-replica");
+
+	@BeforeEach
+	void setUp() {
+		reset(primary, "primary");
+		reset(replica, "replica");
+	}
+
+	@AfterEach
+	void tearDown() {
+		ReadYourWrites.clear();
+	}
+
+	@Test
+	void readOnlyTransactionsReadFromTheReplica() {
+		DataSource dataSource = routing(replica);
+
+		String title = readOnly(dataSource).execute(status -> title(dataSource));
+
+		assertThat(title).isEqualTo("replica");
+	}
+
+	@Test
+	void writesAndReadsOutsideReadOnlyTransactionsGoToThePrimary() {
+		DataSource dataSource = routing(replica);
+
+		new TransactionTemplate(new DataSourceTransactionManager(dataSource)).executeWithoutResult(status ->
+				new JdbcTemplate(dataSource).update("UPDATE book SET title = 'written' WHERE id = 1"));
+
+		assertThat(title(primary)).isEqualTo("written");
+		assertThat(title(replica)).isEqualTo("replica");
+		assertThat(title(dataSource)).isEqualTo("written");
+	}
+
+	@Test
+	void readsGoToThePrimaryAfterTheClientWrote() {
+		DataSource dataSource = routing(replica);
+		ReadYourWrites.requirePrimary();
+
+		String title = readOnly(dataSource).execute(status -> title(dataSource));
+
+		assertThat(title).isEqualTo("primary");
+	}
+
+	@Test
+	void readsFallBackToThePrimaryWhenTheReplicaIsUnavailable() {
+		DataSource dataSource = routing(new DriverManagerDataSource("jdbc:unavailable:replica"));
+
+		String title = readOnly(dataSource).execute(status -> title(dataSource));
+
+		assertThat(title).isEqualTo("primary");
+	}
+
+	@Test
+	void filterKeepsAClientOnThePrimaryAfterAWrite() throws Exception {
+		ReadYourWritesFilter filter = new ReadYourWritesFilter(Duration.ofSeconds(5));
+
+		MockHttpServletResponse writeResponse = new MockHttpServletResponse();
+		AtomicBoolean primaryForWrite = new AtomicBoolean();
+		filter.doFilter(new MockHttpServletRequest("POST", "/books"), writeResponse,
+				(request, response) -> primaryForWrite.set(ReadYourWrites.isPrimaryRequired()));
+		Cookie cookie = writeResponse.getCookie(Constants.COOKIE_READ_PRIMARY_UNTIL);
+
+		MockHttpServletRequest followingRead = new MockHttpServletRequest("GET", "/books/list");
+		followingRead.setCookies(cookie);
+		AtomicBoolean primaryForFollowingRead = new AtomicBoolean();
+		filter.doFilter(followingRead, new MockHttpServletResponse(),
+				(request, response) -> primaryForFollowingRead.set(ReadYourWrites.isPrimaryRequired()));
+
+		AtomicBoolean primaryForOtherRead = new AtomicBoolean(true);
+		filter.doFilter(new MockHttpServletRequest("GET", "/books/list"), new MockHttpServletResponse(),
+				(request, response) -> primaryForOtherRead.set(ReadYourWrites.isPrimaryRequired()));
+
+		assertThat(cookie).isNotNull();
+		assertThat(primaryForWrite).isTrue();
+		assertThat(primaryForFollowingRead).isTrue();
+		assertThat(primaryForOtherRead).isFalse();
+		assertThat(ReadYourWrites.isPrimaryRequired()).isFalse();
+	}
+
+	private DataSource routing(DataSource replica) {
+		return new LazyConnectionDataSourceProxy(
+				new ReplicationRoutingDataSource(primary, Collections.singletonList(replica)));
+	}
+
+	private static TransactionTemplate readOnly(DataSource dataSource) {
+		TransactionTemplate template = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+		template.setReadOnly(true);
+		return template;
+	}
+
+	private static String title(DataSource dataSource) {
+		return new JdbcTemplate(dataSource).queryForObject("SELECT title FROM book WHERE id = 1", String.class);
+	}
+
+	private static DataSource h2(String name) {
+		return new DriverManagerDataSource("jdbc:h2:mem:" + name + ";DB_CLOSE_DELAY=-1");
+	}
+
+	private static void reset(DataSource dataSource, String title) {
+		JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+		jdbc.execute("CREATE TABLE IF NOT EXISTS book (id BIGINT PRIMARY KEY, title VARCHAR(255))");
+		jdbc.update("DELETE FROM book");
+		jdbc.update("INSERT INTO book (id, title) VALUES (1, ?)", title);
+	}
+}
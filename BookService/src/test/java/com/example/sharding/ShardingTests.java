@@ -0,0 +1,314 @@
+package com.example.sharding;
+
+import com.example.dto.response.BookSummary;
+import com.example.dto.response.CursorPage;
+import com.example.entities.Book;
+import com.example.pagination.Cursors;
+import com.example.repositories.IBookRepository;
+import com.example.services.impl.BookServiceImpl;
+import com.example.services.impl.ShardedBookServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.orm.jpa.JpaTransactionManager;
+import org.springframework.orm.jpa.LocalContainerEntityManagerFactoryBean;
+import org.springframework.orm.jpa.vendor.Database;
+import org.springframework.orm.jpa.vendor.HibernateJpaVendorAdapter;
+import org.springframework.test.context.junit.jupiter.SpringJUnitConfig;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.EnableTransactionManagement;
+
+import javax.persistence.EntityManagerFactory;
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Runs the book service over three embedded H2 shards and an unsharded H2
+ * database. Each shard generates the ids of the modulo strategy, as MySQL
+ * does with the auto-increment step and offset set by the shard pools.
+ */
+@SpringJUnitConfig(ShardingTests.ShardingTestConfig.class)
+class ShardingTests {
+
+	private static final int SHARDS = 3;
+	private static final DataSource UNSHARDED = h2("sharding-unsharded");
+	private static final List<DataSource> SHARD_DATA_SOURCES = IntStream.range(0, SHARDS)
+			.mapToObj(shard -> h2("sharding-" + shard))
+			.collect(Collectors.toList());
+
+	@Autowired
+	private ShardedBookServiceImpl bookService;
+
+	@Autowired
+	private ShardingStrategy strategy;
+
+	@Autowired
+	private BookServiceImpl shardService;
+
+	@BeforeEach
+	void setUp() {
+		createTable(UNSHARDED, 1, 1);
+		for (int shard = 0; shard < SHARDS; shard++) {
+			createTable(SHARD_DATA_SOURCES.get(shard), shard + 1, SHARDS);
+		}
+	}
+
+	@Test
+	void newBooksAreSpreadOverTheShardsAndFoundByTheirId() {
+		List<Book> books = new ArrayList<>();
+		for (int i = 0; i < 6; i++) {
+			books.add(bookService.saveBook(book("Book " + i, null)));
+		}
+
+		for (int shard = 0; shard < SHARDS; shard++) {
+			assertThat(count(SHARD_DATA_SOURCES.get(shard))).isEqualTo(2);
+		}
+		for (Book book : books) {
+			assertThat(isOn(strategy.shardOf(book.getId()), book.getId())).isTrue();
+		}
+		assertThat(count(UNSHARDED)).isZero();
+
+		Book updated = bookService.updateBook(books.get(4).getId(), book("Renamed", null));
+		assertThat(updated.getTitle()).isEqualTo("Renamed");
+		assertThat(bookService.getBookByTitle("Renamed")).hasValueSatisfying(book ->
+				assertThat(book.getId()).isEqualTo(books.get(4).getId()));
+	}
+
+	@Test
+	void booksOfOneAuthorShareAShard() {
+		for (int i = 0; i < 4; i++) {
+			bookService.saveBook(book("Author book " + i, 7L));
+		}
+
+		assertThat(count(SHARD_DATA_SOURCES.get(7 % SHARDS))).isEqualTo(4);
+	}
+
+	@Test
+	void listQueriesMergeThePagesOfAllShards() {
+		List<Long> ids = new ArrayList<>();
+		for (int i = 0; i < 10; i++) {
+			ids.add(bookService.saveBook(book("Book " + i, null)).getId());
+		}
+		ids.sort(null);
+
+		Page<Book> byId = bookService.getBooks(PageRequest.of(1, 4));
+		Page<Book> byTitle = bookService.getBooks(PageRequest.of(0, 3, Sort.by(Sort.Direction.DESC, "title")));
+
+		assertThat(byId.getTotalElements()).isEqualTo(10);
+		assertThat(byId.getContent()).extracting(Book::getId).isEqualTo(ids.subList(4, 8));
+		assertThat(byTitle.getContent()).extracting(Book::getTitle).containsExactly("Book 9", "Book 8", "Book 7");
+	}
+
+	@Test
+	void titleLookupsSearchEveryShard() {
+		for (int i = 0; i < SHARDS; i++) {
+			bookService.saveBook(book("Book " + i, null));
+		}
+
+		for (int i = 0; i < SHARDS; i++) {
+			assertThat(bookService.getBookByTitle("Book " + i)).isPresent();
+		}
+		assertThat(bookService.getBookByTitle("Missing")).isEmpty();
+	}
+
+	@Test
+	void authorListingPagesThroughTheAuthorsBooksWithCursors() {
+		List<Long> ids = new ArrayList<>();
+		for (int i = 0; i < 7; i++) {
+			ids.add(bookService.saveBook(book("Author book " + i, 5L)).getId());
+			bookService.saveBook(book("Other book " + i, 6L));
+		}
+		ids.sort(null);
+
+		List<Long> listed = new ArrayList<>();
+		List<Integer> sizes = new ArrayList<>();
+		String cursor = null;
+		do {
+			CursorPage<BookSummary> page = bookService.getBooksByAuthor(5L, Cursors.decode(cursor), 3);
+			page.getContent().forEach(book -> listed.add(book.getId()));
+			sizes.add(page.getContent().size());
+			cursor = page.getNextCursor();
+		} while (cursor != null);
+
+		assertThat(listed).isEqualTo(ids);
+		assertThat(sizes).containsExactly(3, 3, 1);
+	}
+
+	@Test
+	void backfillMovesBooksToTheirShardAndCanBeRepeated() {
+		JdbcTemplate unsharded = new JdbcTemplate(UNSHARDED);
+		for (long id = 1; id <= 20; id++) {
+			insert(unsharded, id);
+		}
+		insert(new JdbcTemplate(SHARD_DATA_SOURCES.get(0)), 21);
+		ShardBackfill backfill = new ShardBackfill(strategy, SHARD_DATA_SOURCES, 7);
+
+		long moved = backfill.backfill(UNSHARDED);
+		long movedAgain = backfill.backfill(UNSHARDED);
+
+		assertThat(moved).isEqualTo(21);
+		assertThat(movedAgain).isZero();
+		assertThat(count(UNSHARDED)).isZero();
+		for (long id = 1; id <= 21; id++) {
+			assertThat(isOn(strategy.shardOf(id), id)).isTrue();
+		}
+		assertThat(IntStream.range(0, SHARDS).map(shard -> count(SHARD_DATA_SOURCES.get(shard))).sum())
+				.isEqualTo(21);
+	}
+
+	@Test
+	void backfillLeavesBooksWhoseIdIsTakenByAnotherBook() {
+		JdbcTemplate unsharded = new JdbcTemplate(UNSHARDED);
+		insert(unsharded, 1, "Unsharded book");
+		insert(unsharded, 2, "Same book");
+		insert(new JdbcTemplate(SHARD_DATA_SOURCES.get(strategy.shardOf(1))), 1, "Shard book");
+		insert(new JdbcTemplate(SHARD_DATA_SOURCES.get(strategy.shardOf(2))), 2, "Same book");
+		ShardBackfill backfill = new ShardBackfill(strategy, SHARD_DATA_SOURCES, 7);
+
+		long moved = backfill.backfill(UNSHARDED);
+
+		assertThat(moved).isEqualTo(1);
+		assertThat(unsharded.queryForList("SELECT title FROM book", String.class)).containsExactly("Unsharded book");
+		assertThat(new JdbcTemplate(SHARD_DATA_SOURCES.get(strategy.shardOf(1)))
+				.queryForObject("SELECT title FROM book WHERE id = 1", String.class)).isEqualTo("Shard book");
+		assertThat(isOn(strategy.shardOf(2), 2)).isTrue();
+	}
+
+	@Test
+	void rangeStrategyMovesOnOnceTheInsertShardIsFull() {
+		RangeShardingStrategy range = new RangeShardingStrategy(SHARDS, 2, 0);
+		for (int shard = 0; shard < SHARDS; shard++) {
+			createTable(SHARD_DATA_SOURCES.get(shard), (int) range.firstIdOf(shard), 1);
+		}
+		ShardedBookServiceImpl rangeService = new ShardedBookServiceImpl(shardService, range, SHARDS, task -> task);
+		try {
+			List<Book> books = new ArrayList<>();
+			for (int i = 0; i < 5; i++) {
+				books.add(rangeService.saveBook(book("Book " + i, null)));
+			}
+
+			assertThat(books).extracting(Book::getId).containsExactly(1L, 2L, 3L, 4L, 5L);
+			for (Book book : books) {
+				assertThat(isOn(range.shardOf(book.getId()), book.getId())).isTrue();
+			}
+			assertThat(IntStream.range(0, SHARDS).map(shard -> count(SHARD_DATA_SOURCES.get(shard))))
+					.containsExactly(2, 2, 1);
+			assertThat(range.shardForNewBook(book("Next", null))).isEqualTo(2);
+
+			rangeService.deleteBook(3L);
+			assertThat(count(SHARD_DATA_SOURCES.get(1))).isEqualTo(1);
+		} finally {
+			rangeService.shutdown();
+		}
+	}
+
+	@Test
+	void newBookWithIdOfAnotherShardIsRejected() {
+		RangeShardingStrategy range = new RangeShardingStrategy(SHARDS, 2, 1);
+		ShardedBookServiceImpl rangeService = new ShardedBookServiceImpl(shardService, range, SHARDS, task -> task);
+		createTable(SHARD_DATA_SOURCES.get(1), 1, 1);
+		try {
+			assertThatThrownBy(() -> rangeService.saveBook(book("Book", null)))
+					.isInstanceOf(IllegalStateException.class)
+					.hasMessageContaining("belongs to shard 0");
+
+			assertThat(count(SHARD_DATA_SOURCES.get(1))).isZero();
+			assertThat(range.shardForNewBook(book("Next", null))).isEqualTo(1);
+		} finally {
+			rangeService.shutdown();
+		}
+	}
+
+	private static Book book(String title, Long author) {
+		Book book = new Book();
+		book.setTitle(title);
+		book.setGenre("Novel");
+		book.setPublishedDate(new Date());
+		book.setAuthor(author);
+		return book;
+	}
+
+	private static boolean isOn(int shard, long id) {
+		return new JdbcTemplate(SHARD_DATA_SOURCES.get(shard))
+				.queryForObject("SELECT COUNT(*) FROM book WHERE id = ?", Integer.class, id) == 1;
+	}
+
+	private static int count(DataSource dataSource) {
+		return new JdbcTemplate(dataSource).queryForObject("SELECT COUNT(*) FROM book", Integer.class);
+	}
+
+	private static void insert(JdbcTemplate jdbc, long id) {
+		insert(jdbc, id, "Book " + id);
+	}
+
+	private static void insert(JdbcTemplate jdbc, long id, String title) {
+		jdbc.update("INSERT INTO book (id, title, published_date, genre, author) VALUES (?, ?, CURRENT_DATE, 'Novel', ?)",
+				id, title, id % 4);
+	}
+
+	private static void createTable(DataSource dataSource, int start, int step) {
+		JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+		jdbc.execute("DROP TABLE IF EXISTS book");
+		jdbc.execute("CREATE TABLE book (id BIGINT GENERATED BY DEFAULT AS IDENTITY (START WITH " + start
+				+ " INCREMENT BY " + step + ") PRIMARY KEY, title VARCHAR(255) NOT NULL, published_date DATE,"
+				+ " genre VARCHAR(255), description CLOB, author BIGINT)");
+	}
+
+	private static DataSource h2(String name) {
+		return new DriverManagerDataSource("jdbc:h2:mem:" + name + ";DB_CLOSE_DELAY=-1");
+	}
+
+	@Configuration
+	@EnableTransactionManagement(proxyTargetClass = true)
+	@EnableJpaRepositories(basePackageClasses = IBookRepository.class)
+	@Import(BookServiceImpl.class)
+	static class ShardingTestConfig {
+
+		@Bean
+		ShardingStrategy shardingStrategy() {
+			return new ModuloShardingStrategy(SHARDS, true);
+		}
+
+		@Bean
+		DataSource dataSource() {
+			return new ShardRoutingDataSource(UNSHARDED, SHARD_DATA_SOURCES);
+		}
+
+		@Bean
+		LocalContainerEntityManagerFactoryBean entityManagerFactory(DataSource dataSource) {
+			HibernateJpaVendorAdapter vendorAdapter = new HibernateJpaVendorAdapter();
+			vendorAdapter.setDatabase(Database.H2);
+			LocalContainerEntityManagerFactoryBean factory = new LocalContainerEntityManagerFactoryBean();
+			factory.setDataSource(dataSource);
+			factory.setPackagesToScan(Book.class.getPackage().getName());
+			factory.setJpaVendorAdapter(vendorAdapter);
+			return factory;
+		}
+
+		@Bean
+		PlatformTransactionManager transactionManager(EntityManagerFactory entityManagerFactory) {
+			return new JpaTransactionManager(entityManagerFactory);
+		}
+
+		@Bean(destroyMethod = "shutdown")
+		ShardedBookServiceImpl shardedBookService(BookServiceImpl bookServiceImpl, ShardingStrategy strategy) {
+			return new ShardedBookServiceImpl(bookServiceImpl, strategy, SHARDS, task -> task);
+		}
+	}
+}
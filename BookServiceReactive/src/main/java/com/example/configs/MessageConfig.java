@@ -0,0 +1,31 @@
+package com.example.configs;
+
+import com.example.utils.Constants;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.support.ResourceBundleMessageSource;
+import org.springframework.web.filter.reactive.ServerWebExchangeContextFilter;
+
+
+@Configuration
+public class MessageConfig {
+    @Bean
+    public ResourceBundleMessageSource messageSource() {
+        ResourceBundleMessageSource source = new ResourceBundleMessageSource();
+        source.setBasename(Constants.MESSAGE_SOURCE_BASENAME);
+        source.setDefaultEncoding(Constants.MESSAGE_SOURCE_DEFAULT_ENCODING);
+        return source;
+    }
+
+    /**
+     * Puts the current exchange into the Reactor context, so that
+     * {@link Translator} can resolve the request's locale in code that has no
+     * access to the exchange.
+     *
+     * @return the exchange context filter
+     */
+    @Bean
+    public ServerWebExchangeContextFilter serverWebExchangeContextFilter() {
+        return new ServerWebExchangeContextFilter();
+    }
+}
@@ -0,0 +1,69 @@
+package com.example.configs;
+
+import org.springframework.context.i18n.LocaleContext;
+import org.springframework.context.support.ResourceBundleMessageSource;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.reactive.ServerWebExchangeContextFilter;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+import reactor.util.context.Context;
+
+import java.util.Locale;
+
+/**
+ * A utility class for translating messages based on the locale of the current
+ * request. WebFlux does not fill {@code LocaleContextHolder}, so the locale is
+ * resolved from the exchange's {@link LocaleContext}.
+ */
+@Component
+public class Translator {
+
+    private static ResourceBundleMessageSource messageSource;
+
+    /**
+     * Constructs a Translator with the specified ResourceBundleMessageSource.
+     *
+     * @param messageSource the message source to use for translations
+     */
+    private Translator(ResourceBundleMessageSource messageSource) {
+        Translator.messageSource = messageSource;
+    }
+
+    /**
+     * Translates the given message code into the locale of the given request, using the provided arguments.
+     *
+     * @param exchange the current exchange
+     * @param msgCode  the message code to translate
+     * @param args     the arguments to include in the translated message
+     * @return the translated message
+     */
+    public static String toLocale(ServerWebExchange exchange, String msgCode, String... args) {
+        return messageSource.getMessage(msgCode, args, localeOf(exchange));
+    }
+
+    /**
+     * Translates the given message code into the locale of the request the
+     * subscriber is serving. The exchange is read from the Reactor context,
+     * where {@link ServerWebExchangeContextFilter} puts it.
+     *
+     * @param msgCode the message code to translate
+     * @param args    the arguments to include in the translated message
+     * @return a Mono emitting the translated message
+     */
+    public static Mono<String> toLocale(String msgCode, String... args) {
+        return Mono.deferContextual(context -> Mono.just(messageSource.getMessage(msgCode, args,
+                localeOf(ServerWebExchangeContextFilter.get(Context.of(context)).orElse(null)))));
+    }
+
+    /**
+     * Resolve the locale of a request.
+     *
+     * @param exchange the exchange, or null outside a request
+     * @return the request's locale, or the default locale
+     */
+    private static Locale localeOf(ServerWebExchange exchange) {
+        LocaleContext localeContext = exchange != null ? exchange.getLocaleContext() : null;
+        Locale locale = localeContext != null ? localeContext.getLocale() : null;
+        return locale != null ? locale : Locale.getDefault();
+    }
+}
@@ -0,0 +1,94 @@
+package com.example.controllers;
+
+import com.example.entities.Book;
+import com.example.services.IBookService;
+import com.example.utils.Constants;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
+
+import javax.validation.Valid;
+
+/**
+ * Non-blocking controller serving the same operations as BookService's.
+ * All endpoints in this controller are mapped under "/books".
+ */
+@RestController
+@RequestMapping("/books")
+public class BookController {
+
+    @Autowired
+    private IBookService bookService;
+
+    /**
+     * Create a new book.
+     *
+     * @param book the book to be created
+     * @return a {@link ResponseEntity} containing the created {@link Book}
+     */
+    @PostMapping
+    public Mono<ResponseEntity<Book>> createBook(@Valid @RequestBody Mono<Book> book) {
+        return book.flatMap(bookService::saveBook)
+                .map(savedBook -> new ResponseEntity<>(savedBook, HttpStatus.CREATED));
+    }
+
+    /**
+     * Update an existing book.
+     *
+     * @param id          the ID of the book to update
+     * @param bookDetails the updated details of the book
+     * @return a {@link ResponseEntity} containing the updated {@link Book}
+     */
+    @PutMapping("/{id}")
+    public Mono<ResponseEntity<Book>> updateBook(@PathVariable Long id, @Valid @RequestBody Mono<Book> bookDetails) {
+        return bookDetails.flatMap(details -> bookService.updateBook(id, details))
+                .map(ResponseEntity::ok);
+    }
+
+    /**
+     * Delete a book by ID.
+     *
+     * @param id the ID of the book to delete
+     * @return a {@link ResponseEntity} with an empty body
+     */
+    @DeleteMapping("/{id}")
+    public Mono<ResponseEntity<Void>> deleteBook(@PathVariable Long id) {
+        return bookService.deleteBook(id)
+                .then(Mono.fromSupplier(() -> ResponseEntity.noContent().<Void>build()));
+    }
+
+    /**
+     * Get all books with pagination.
+     *
+     * @param page the page number, default is
+     *             {@value Constants#DEFAULT_PAGE_NUMBER}
+     * @param size the page size, default is {@value Constants#DEFAULT_PAGE_SIZE}
+     * @return a {@link ResponseEntity} containing a page of {@link Book}
+     */
+    @GetMapping("/list")
+    public Mono<ResponseEntity<Page<Book>>> getAllBooks(
+            @RequestParam(defaultValue = Constants.DEFAULT_PAGE_NUMBER) int page,
+            @RequestParam(defaultValue = Constants.DEFAULT_PAGE_SIZE) int size) {
+        return bookService.getBooks(PageRequest.of(page, size)).map(ResponseEntity::ok);
+    }
+
+    /**
+     * Get a book by title.
+     *
+     * @param title the title of the book to retrieve
+     * @return a {@link ResponseEntity} containing the {@link Book} with the
+     *         specified title,
+     *         or a not found response if no book is found
+     */
+    @GetMapping("/title")
+    public Mono<ResponseEntity<Book>> getBookByTitle(@RequestParam String title) {
+        return bookService.getBookByTitle(title)
+                .map(ResponseEntity::ok)
+                .defaultIfEmpty(ResponseEntity.notFound().build());
+    }
+
+}
@@ -0,0 +1,147 @@
+package com.example.entities;
+
+import com.example.utils.Constants;
+import com.example.utils.MessagesConstants;
+import com.example.utils.TableConstants;
+import com.fasterxml.jackson.annotation.JsonFormat;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.relational.core.mapping.Column;
+import org.springframework.data.relational.core.mapping.Table;
+
+import javax.validation.constraints.NotBlank;
+import javax.validation.constraints.NotNull;
+import javax.validation.constraints.Size;
+import java.time.LocalDate;
+
+/**
+ * Book row of the table shared with BookService. The published date is a
+ * {@link LocalDate} because R2DBC drivers map DATE columns to java.time types;
+ * it is serialised in the same format as BookService's.
+ */
+@Table(TableConstants.TABLE_BOOK_NAME)
+public class Book {
+
+    @Id
+    @Column(TableConstants.COLUMN_ID)
+    private Long id;
+
+    @Column(TableConstants.COLUMN_TITLE)
+    @NotBlank(message = MessagesConstants.BOOK_GENRE_MANDATORY)
+    @Size(max = 255, message = MessagesConstants.BOOK_TITLE_SIZE)
+    private String title;
+
+    @Column(TableConstants.COLUMN_PUBLISHED_DATE)
+    @NotNull(message = MessagesConstants.BOOK_PUBLISHEDDATE_MANDATORY)
+    @JsonFormat(shape = JsonFormat.Shape.STRING, pattern = Constants.DATE_FORMAT)
+    private LocalDate publishedDate;
+
+    @Column(TableConstants.COLUMN_GENRE)
+    @NotBlank(message = MessagesConstants.BOOK_GENRE_MANDATORY)
+    @Size(max = 255, message = MessagesConstants.BOOK_GENRE_SIZE)
+    private String genre;
+
+    @Column(TableConstants.COLUMN_DESCRIPTION)
+    private String description;
+
+    @Column(TableConstants.COLUMN_AUTHOR)
+    private Long author;
+
+    /**
+     * Get the ID of the book.
+     *
+     * @return the ID of the book
+     */
+    public Long getId() {
+        return id;
+    }
+
+    /**
+     * Set the title of the book.
+     *
+     * @param title the title to set
+     */
+    public void setTitle(String title) {
+        this.title = title;
+    }
+
+    /**
+     * Get the title of the book.
+     *
+     * @return the title of the book
+     */
+    public String getTitle() {
+        return title;
+    }
+
+    /**
+     * Set the author of the book.
+     *
+     * @param author the author to set
+     */
+    public void setAuthor(Long author) {
+        this.author = author;
+    }
+
+    /**
+     * Get the author of the book.
+     *
+     * @return the author of the book
+     */
+    public Long getAuthor() {
+        return author;
+    }
+
+    /**
+     * Get the published date of the book.
+     *
+     * @return the published date of the book
+     */
+    public LocalDate getPublishedDate() {
+        return publishedDate;
+    }
+
+    /**
+     * Set the published date of the book.
+     *
+     * @param publishedDate the published date to set
+     */
+    public void setPublishedDate(LocalDate publishedDate) {
+        this.publishedDate = publishedDate;
+    }
+
+    /**
+     * Get the genre of the book.
+     *
+     * @return the genre of the book
+     */
+    public String getGenre() {
+        return genre;
+    }
+
+    /**
+     * Set the genre of the book.
+     *
+     * @param genre the genre to set
+     */
+    public void setGenre(String genre) {
+        this.genre = genre;
+    }
+
+    /**
+     * Get the description of the book.
+     *
+     * @return the description of the book
+     */
+    public String getDescription() {
+        return description;
+    }
+
+    /**
+     * Set the description of the book.
+     *
+     * @param description the description to set
+     */
+    public void setDescription(String description) {
+        this.description = description;
+    }
+}
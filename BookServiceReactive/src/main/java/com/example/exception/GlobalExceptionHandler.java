@@ -0,0 +1,104 @@
+package com.example.exception;
+
+import com.example.configs.Translator;
+import com.example.utils.Constants;
+import com.example.utils.MessagesConstants;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.FieldError;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.bind.support.WebExchangeBindException;
+import org.springframework.web.server.ServerWebExchange;
+
+import java.util.Date;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Global exception handler for handling various exceptions across the application.
+ * Error bodies match the ones written by BookService.
+ */
+@RestControllerAdvice
+@Slf4j
+public class GlobalExceptionHandler {
+
+    /**
+     * Exception handler for DataAccessException.
+     *
+     * @param exception the exception that occurred
+     * @param exchange the current exchange
+     * @return ResponseEntity containing ErrorDetails
+     */
+    @ExceptionHandler(DataAccessException.class)
+    public ResponseEntity<ErrorDetails> handleDataAccessException(DataAccessException exception,
+                                                                  ServerWebExchange exchange) {
+        log.error(Constants.LOG_DATA_ACCESS_EXCEPTION, exception.getMessage());
+        ErrorDetails errorDetails = new ErrorDetails(new Date(), exception.getMessage(), describe(exchange));
+        return new ResponseEntity<>(errorDetails, HttpStatus.INTERNAL_SERVER_ERROR);
+    }
+
+    /**
+     * Exception handler for general Exception.
+     *
+     * @param exception the exception that occurred
+     * @param exchange the current exchange
+     * @return ResponseEntity containing ErrorDetails
+     */
+    @ExceptionHandler(Exception.class)
+    public ResponseEntity<ErrorDetails> handleGlobalException(Exception exception,
+                                                              ServerWebExchange exchange) {
+        log.error(Constants.LOG_EXCEPTION, exception.getMessage());
+        ErrorDetails errorDetails = new ErrorDetails(new Date(), exception.getMessage(), describe(exchange));
+        return new ResponseEntity<>(errorDetails, HttpStatus.INTERNAL_SERVER_ERROR);
+    }
+
+    /**
+     * Exception handler for WebExchangeBindException (Validation errors).
+     *
+     * @param ex       the WebExchangeBindException
+     * @param exchange the current exchange
+     * @return ResponseEntity containing ErrorDetails
+     */
+    @ExceptionHandler(WebExchangeBindException.class)
+    public ResponseEntity<ErrorDetails> handleMethodArgumentNotValid(WebExchangeBindException ex,
+                                                                     ServerWebExchange exchange) {
+        List<FieldError> fieldErrors = ex.getBindingResult().getFieldErrors();
+        List<String> errorMessages = fieldErrors.stream()
+                .map(error -> Translator.toLocale(exchange, error.getDefaultMessage()))
+                .collect(Collectors.toList());
+        ErrorDetails errorDetails = new ErrorDetails(new Date(),
+                Translator.toLocale(exchange, MessagesConstants.VALIDATION_FAILED_MESSAGE),
+                errorMessages.toString());
+        return new ResponseEntity<>(errorDetails, HttpStatus.BAD_REQUEST);
+    }
+
+    /**
+     * Exception handler to handle ResourceNotFoundException.
+     *
+     * @param exception the ResourceNotFoundException to handle.
+     * @param exchange  the current exchange.
+     * @return ResponseEntity containing an ErrorDetails object and HTTP status 404 (Not Found).
+     */
+    @ExceptionHandler(ResourceNotFoundException.class)
+    public ResponseEntity<ErrorDetails> handleResourceNotFoundException(ResourceNotFoundException exception,
+                                                                        ServerWebExchange exchange) {
+        log.error(Constants.LOG_RESOURCE_NOT_FOUND_EXCEPTION, exception.getMessage());
+
+        ErrorDetails errorDetails = new ErrorDetails(new Date(), exception.getMessage(), describe(exchange));
+        return new ResponseEntity<>(errorDetails, HttpStatus.NOT_FOUND);
+    }
+
+    /**
+     * Describe the request the way the servlet stack's {@code WebRequest#getDescription(false)} does.
+     *
+     * @param exchange the current exchange
+     * @return the request description
+     */
+    private static String describe(ServerWebExchange exchange) {
+        return Constants.REQUEST_DESCRIPTION_PREFIX + exchange.getRequest().getPath().value();
+    }
+
+}
@@ -0,0 +1,31 @@
+package com.example.repositories;
+
+
+import com.example.entities.Book;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.repository.reactive.ReactiveSortingRepository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Reactive repository for managing Book entities, mirroring BookService's
+ * {@code IBookRepository} on top of R2DBC.
+ */
+public interface IBookRepository extends ReactiveSortingRepository<Book, Long> {
+
+    /**
+     * Find one page of books.
+     *
+     * @param pageable the page to read
+     * @return the books on the page
+     */
+    Flux<Book> findAllBy(Pageable pageable);
+
+    /**
+     * Find a book by its title.
+     *
+     * @param title the title of the book to search for
+     * @return a Mono emitting the book with the specified title, or empty if not found
+     */
+    Mono<Book> findByTitle(String title);
+}
@@ -0,0 +1,52 @@
+package com.example.services;
+
+
+import com.example.entities.Book;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import reactor.core.publisher.Mono;
+
+public interface IBookService {
+
+    /**
+     * Saves a new book or updates an existing one.
+     *
+     * @param book the book entity to save or update
+     * @return a Mono emitting the saved or updated book entity
+     */
+    Mono<Book> saveBook(Book book);
+
+    /**
+     * Updates an existing book identified by its ID.
+     *
+     * @param id the ID of the book to update
+     * @param bookDetails the details of the book to update
+     * @return a Mono emitting the updated book entity
+     */
+    Mono<Book> updateBook(Long id, Book bookDetails);
+
+    /**
+     * Deletes a book by its ID.
+     *
+     * @param id the ID of the book to delete
+     * @return a Mono completing once the book is deleted
+     */
+    Mono<Void> deleteBook(Long id);
+
+    /**
+     * Retrieves all books with pagination support.
+     *
+     * @param pageable pagination information
+     * @return a Mono emitting a page of books
+     */
+    Mono<Page<Book>> getBooks(Pageable pageable);
+
+    /**
+     * Retrieves a book by its title.
+     *
+     * @param title the title of the book to retrieve
+     * @return a Mono emitting the book entity if found, otherwise empty
+     */
+    Mono<Book> getBookByTitle(String title);
+
+}
@@ -0,0 +1,100 @@
+package com.example.services.impl;
+
+
+import com.example.configs.Translator;
+import com.example.entities.Book;
+import com.example.exception.ResourceNotFoundException;
+import com.example.repositories.IBookRepository;
+import com.example.services.IBookService;
+import com.example.utils.MessagesConstants;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+
+@Service
+public class BookServiceImpl implements IBookService {
+
+    @Autowired
+    private IBookRepository bookRepository;
+
+    /**
+     * Save a new book or update an existing one.
+     *
+     * @param book the book to save or update
+     * @return the saved or updated book
+     */
+    @Override
+    public Mono<Book> saveBook(Book book) {
+        return bookRepository.save(book);
+    }
+
+    /**
+     * Update an existing book.
+     *
+     * @param id          the ID of the book to update
+     * @param bookDetails the updated details of the book
+     * @return the updated book, or a {@link ResourceNotFoundException} if no book is found with the given ID
+     */
+    @Override
+    public Mono<Book> updateBook(Long id, Book bookDetails) {
+        return findExisting(id)
+                .flatMap(book -> {
+                    book.setTitle(bookDetails.getTitle());
+                    book.setPublishedDate(bookDetails.getPublishedDate());
+                    book.setGenre(bookDetails.getGenre());
+                    book.setDescription(bookDetails.getDescription());
+                    book.setAuthor(bookDetails.getAuthor());
+                    return bookRepository.save(book);
+                });
+    }
+
+    /**
+     * Delete a book by ID.
+     *
+     * @param id the ID of the book to delete
+     * @return completion, or a {@link ResourceNotFoundException} if no book is found with the given ID
+     */
+    @Override
+    public Mono<Void> deleteBook(Long id) {
+        return findExisting(id).flatMap(bookRepository::delete);
+    }
+
+    /**
+     * Retrieve all books with pagination. The page content and the total count
+     * are queried concurrently.
+     *
+     * @param pageable pagination information
+     * @return a page of books
+     */
+    @Override
+    public Mono<Page<Book>> getBooks(Pageable pageable) {
+        return Mono.zip(bookRepository.findAllBy(pageable).collectList(), bookRepository.count())
+                .map(result -> new PageImpl<>(result.getT1(), pageable, result.getT2()));
+    }
+
+    /**
+     * Retrieve a book by title.
+     *
+     * @param title the title of the book to retrieve
+     * @return the book, or empty if not found
+     */
+    @Override
+    public Mono<Book> getBookByTitle(String title) {
+        return bookRepository.findByTitle(title);
+    }
+
+    /**
+     * Find a book that must exist.
+     *
+     * @param id the ID of the book
+     * @return the book, or a {@link ResourceNotFoundException} if no book is found with the given ID
+     */
+    private Mono<Book> findExisting(Long id) {
+        return bookRepository.findById(id)
+                .switchIfEmpty(Translator.toLocale(MessagesConstants.BOOK_NOT_FOUND_ERROR)
+                        .flatMap(message -> Mono.error(new ResourceNotFoundException(message + id))));
+    }
+}
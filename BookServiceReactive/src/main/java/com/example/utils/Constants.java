@@ -0,0 +1,54 @@
+package com.example.utils;
+
+
+/**
+ * A class that holds constant values used throughout the application.
+ */
+public class Constants {
+
+    /**
+     * The default page number used in pagination.
+     */
+    public static final String DEFAULT_PAGE_NUMBER = "0";
+
+    /**
+     * The default page size used in pagination.
+     */
+    public static final String DEFAULT_PAGE_SIZE = "10";
+
+    /**
+     * The date format pattern used for date parsing and formatting.
+     */
+    public static final String DATE_FORMAT = "dd-MM-yyyy";
+
+    /**
+     * Logging message for data access exceptions.
+     */
+    public static final String LOG_DATA_ACCESS_EXCEPTION = "Data access exception occurred: {}";
+
+    /**
+     * Logging message for general exceptions.
+     */
+    public static final String LOG_EXCEPTION = "Exception occurred: {}";
+
+    /**
+     * Logging message for resource not found exceptions.
+     */
+    public static final String LOG_RESOURCE_NOT_FOUND_EXCEPTION="Resource not found occurred: {}";
+
+    /**
+     * Basename for the resource bundle message source.
+     */
+    public static final String MESSAGE_SOURCE_BASENAME = "i18n.messages";
+
+    /**
+     * Default encoding for the resource bundle message source.
+     */
+    public static final String MESSAGE_SOURCE_DEFAULT_ENCODING = "UTF-8";
+
+    /**
+     * Prefix of the request description in error responses, matching the one written by BookService.
+     */
+    public static final String REQUEST_DESCRIPTION_PREFIX = "uri=";
+
+}
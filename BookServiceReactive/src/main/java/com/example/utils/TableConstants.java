@@ -0,0 +1,68 @@
+package com.example.utils;
+
+
+/**
+ * Constants class for database table names and column names used in the application.
+ */
+public class TableConstants {
+
+    /**
+     * Constant for the table name 'book'.
+     */
+    public static final String TABLE_BOOK_NAME = "book";
+
+    /**
+     * Constant for the table name 'book'.
+     */
+    public static final String TABLE_AUTHOR_NAME = "author";
+
+    /**
+     * Constant for the column 'id' in various tables.
+     */
+    public static final String COLUMN_ID = "id";
+
+    /**
+     * Constant for the column 'title' in the 'book' table.
+     */
+    public static final String COLUMN_TITLE = "title";
+
+    /**
+     * Constant for the column 'published_date' in the 'book' table.
+     */
+    public static final String COLUMN_PUBLISHED_DATE = "published_date";
+
+    /**
+     * Constant for the column 'genre' in the 'book' table.
+     */
+    public static final String COLUMN_GENRE = "genre";
+
+    /**
+     * Constant for the column 'description' in various tables.
+     */
+    public static final String COLUMN_DESCRIPTION = "description";
+
+    /**
+     * Constant for the column 'author' in the 'book' table.
+     */
+    public static final String COLUMN_AUTHOR = "author";
+
+    /**
+     * Constant for the column 'author_id' in various tables.
+     */
+    public static final String COLUMN_AUTHOR_ID = "author_id";
+
+    /**
+     * Constant for the column 'author_name' in the 'author' table.
+     */
+    public static final String COLUMN_AUTHOR_NAME = "author_name";
+
+    /**
+     * Constant for the column 'birth_date' in the 'author' table.
+     */
+    public static final String COLUMN_BIRTH_DATE = "birth_date";
+
+    /**
+     * Constant for the column 'nationality' in the various table.
+     */
+    public static final String COLUMN_NATIONALITY = "nationality";
+}
\ No newline at end of file
@@ -0,0 +1,9 @@
+CREATE TABLE IF NOT EXISTS book (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    title VARCHAR(255) NOT NULL,
+    published_date DATE,
+    genre VARCHAR(255),
+    description TEXT,
+    author BIGINT,
+    PRIMARY KEY (id)
+);
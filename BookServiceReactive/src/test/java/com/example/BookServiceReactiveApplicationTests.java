@@ -0,0 +1,13 @@
+package com.example;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+
+@SpringBootTest
+class BookServiceReactiveApplicationTests {
+
+	@Test
+	void contextLoads() {
+	}
+
+}
@@ -0,0 +1,206 @@
+package com.example.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAccumulator;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Load test comparing the MVC BookService with BookServiceReactive under many
+ * mostly idle clients. Each client keeps its connection open, sends a request,
+ * waits for the think time and repeats. The test reports throughput, latency
+ * percentiles, errors and the peak JVM memory and thread count read from each
+ * service's metrics endpoint.
+ * <p>
+ * It only runs when both services are up against the same database, e.g.
+ * {@code mvn test -Dtest=BookApiLoadTests -Dloadtest.mvc-url=http://localhost:8081
+ * -Dloadtest.reactive-url=http://localhost:8083}. The number of clients, the
+ * duration, the think time and the path can be changed with
+ * {@code loadtest.clients}, {@code loadtest.duration-seconds},
+ * {@code loadtest.think-time-millis} and {@code loadtest.path}.
+ */
+@EnabledIfSystemProperty(named = "loadtest.mvc-url", matches = ".+")
+@EnabledIfSystemProperty(named = "loadtest.reactive-url", matches = ".+")
+class BookApiLoadTests {
+
+	private static final int CLIENTS = Integer.getInteger("loadtest.clients", 2000);
+	private static final Duration DURATION = Duration.ofSeconds(Long.getLong("loadtest.duration-seconds", 30));
+	private static final Duration THINK_TIME = Duration.ofMillis(Long.getLong("loadtest.think-time-millis", 1000));
+	private static final Duration WARMUP = Duration.ofSeconds(10);
+	private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(10);
+	private static final String PATH = System.getProperty("loadtest.path", "/books/list?page=0&size=10");
+
+	@Test
+	void compareMvcWithReactive() {
+		Result mvc = run("mvc", System.getProperty("loadtest.mvc-url"));
+		Result reactive = run("reactive", System.getProperty("loadtest.reactive-url"));
+
+		System.out.printf("%-9s %10s %8s %8s %8s %8s %12s %8s%n",
+				"variant", "req/s", "p50 ms", "p99 ms", "errors", "timeouts", "peak MiB", "threads");
+		mvc.print();
+		reactive.print();
+		assertThat(mvc.completed()).isPositive();
+		assertThat(reactive.completed()).isPositive();
+	}
+
+	/**
+	 * Warm the service up, then drive it with the configured clients.
+	 *
+	 * @param name    the variant name used in the report
+	 * @param baseUrl the service base URL
+	 * @return the measurements
+	 */
+	private Result run(String name, String baseUrl) {
+		ConnectionProvider connections = ConnectionProvider.builder("loadtest-" + name)
+				.maxConnections(CLIENTS)
+				.pendingAcquireMaxCount(-1)
+				.build();
+		try {
+			WebClient client = WebClient.builder()
+					.baseUrl(baseUrl)
+					.clientConnector(new ReactorClientHttpConnector(HttpClient.create(connections)))
+					.build();
+			drive(client, Math.min(CLIENTS, 50), WARMUP, Duration.ZERO, new Result(name)).block();
+
+			Result result = new Result(name);
+			Mono<Void> sampler = Flux.interval(Duration.ZERO, Duration.ofSeconds(1))
+					.take(DURATION)
+					.concatMap(tick -> sample(client, result))
+					.then();
+			long start = System.nanoTime();
+			Mono.when(drive(client, CLIENTS, DURATION, THINK_TIME, result), sampler).block();
+			result.elapsedNanos = System.nanoTime() - start;
+			return result;
+		} finally {
+			connections.dispose();
+		}
+	}
+
+	/**
+	 * Run the given number of clients, each looping over request and think time until the duration ends.
+	 *
+	 * @param client    the web client
+	 * @param clients   the number of concurrent clients
+	 * @param duration  how long the clients keep sending
+	 * @param thinkTime the pause between a response and the client's next request
+	 * @param result    the measurements to update
+	 * @return a Mono completing when every client has stopped
+	 */
+	private Mono<Void> drive(WebClient client, int clients, Duration duration, Duration thinkTime, Result result) {
+		long deadline = System.nanoTime() + duration.toNanos();
+		Mono<Void> pause = thinkTime.isZero() ? Mono.empty() : Mono.delay(thinkTime).then();
+		return Flux.range(0, clients)
+				.flatMap(index -> Mono.defer(() -> request(client, result))
+						.then(pause)
+						.repeat(() -> System.nanoTime() < deadline), clients)
+				.then();
+	}
+
+	/**
+	 * Send one request and record its latency or failure.
+	 *
+	 * @param client the web client
+	 * @param result the measurements to update
+	 * @return a Mono completing when the response has been read
+	 */
+	private Mono<Void> request(WebClient client, Result result) {
+		long start = System.nanoTime();
+		return client.get().uri(PATH)
+				.retrieve()
+				.toBodilessEntity()
+				.timeout(REQUEST_TIMEOUT)
+				.doOnSuccess(response -> result.latencies.add(System.nanoTime() - start))
+				.onErrorResume(error -> {
+					if (error instanceof TimeoutException) {
+						result.timeouts.incrementAndGet();
+					} else {
+						result.errors.incrementAndGet();
+					}
+					return Mono.empty();
+				})
+				.then();
+	}
+
+	/**
+	 * Record the service's current JVM memory use and live thread count.
+	 *
+	 * @param client the web client
+	 * @param result the measurements to update
+	 * @return a Mono completing when both metrics were read
+	 */
+	private Mono<Void> sample(WebClient client, Result result) {
+		return Mono.when(
+				metric(client, "jvm.memory.used").doOnNext(result.peakMemoryBytes::accumulate),
+				metric(client, "jvm.threads.live").doOnNext(result.peakThreads::accumulate));
+	}
+
+	/**
+	 * Read the value of a metric from the service's metrics endpoint.
+	 *
+	 * @param client the web client
+	 * @param name   the metric name
+	 * @return the value, or empty when the endpoint is not available
+	 */
+	private Mono<Long> metric(WebClient client, String name) {
+		return client.get().uri("/actuator/metrics/{name}", name)
+				.retrieve()
+				.bodyToMono(JsonNode.class)
+				.map(body -> body.path("measurements").path(0).path("value").asLong())
+				.timeout(REQUEST_TIMEOUT)
+				.onErrorResume(error -> Mono.empty());
+	}
+
+	/**
+	 * Measurements of one run.
+	 */
+	private static final class Result {
+
+		private final String name;
+		private final ConcurrentLinkedQueue<Long> latencies = new ConcurrentLinkedQueue<>();
+		private final AtomicLong errors = new AtomicLong();
+		private final AtomicLong timeouts = new AtomicLong();
+		private final LongAccumulator peakMemoryBytes = new LongAccumulator(Math::max, 0);
+		private final LongAccumulator peakThreads = new LongAccumulator(Math::max, 0);
+		private long elapsedNanos;
+
+		Result(String name) {
+			this.name = name;
+		}
+
+		long completed() {
+			return latencies.size();
+		}
+
+		void print() {
+			long[] sorted = latencies.stream().mapToLong(Long::longValue).toArray();
+			Arrays.sort(sorted);
+			double seconds = elapsedNanos / 1e9;
+			System.out.printf("%-9s %10.1f %8d %8d %8d %8d %12d %8d%n", name, sorted.length / seconds,
+					TimeUnit.NANOSECONDS.toMillis(percentile(sorted, 0.50)),
+					TimeUnit.NANOSECONDS.toMillis(percentile(sorted, 0.99)),
+					errors.get(), timeouts.get(), peakMemoryBytes.get() / (1024 * 1024), peakThreads.get());
+		}
+
+		private static long percentile(long[] sorted, double percentile) {
+			if (sorted.length == 0) {
+				return 0;
+			}
+			return sorted[(int) Math.min(sorted.length - 1, Math.ceil(percentile * sorted.length) - 1)];
+		}
+	}
+}
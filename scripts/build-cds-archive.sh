@@ -0,0 +1,46 @@
+#!/usr/bin/env bash
+# Builds an AppCDS (application class data sharing) archive for a service from a training run, so that
+# later starts map the already parsed and verified classes instead of loading them from the jars.
+#
+#   scripts/build-cds-archive.sh <module> <url> [profiles]
+#   scripts/build-cds-archive.sh BookService 'http://localhost:8081/books/list?page=0&size=1'
+#
+# Needs JDK 13 or later and the module built with mvn package. Class data sharing only archives classes
+# loaded from plain jars, so the fat jar is unpacked into <module>/target/cds with the application classes
+# repacked as application.jar. The service is started from there with the given profiles (prod by
+# default), stopped after the first successful request to <url>, and the loaded classes are written to
+# application.jsa on exit. Start the service with the archive from the same directory:
+#
+#   java -XX:SharedArchiveFile=<module>/target/cds/application.jsa @<module>/target/cds/java.args \
+#        --spring.profiles.active=prod
+set -euo pipefail
+
+module=${1:?usage: $0 <module> <url> [profiles]}
+url=${2:?usage: $0 <module> <url> [profiles]}
+profiles=${3:-prod}
+
+jar=$(ls "$module"/target/*.jar | head -n 1)
+cds=$(cd "$module" && pwd)/target/cds
+rm -rf "$cds"
+mkdir -p "$cds/unpacked"
+(cd "$cds/unpacked" && jar xf "$(cd "$(dirname "$jar")" && pwd)/$(basename "$jar")")
+jar cf "$cds/application.jar" -C "$cds/unpacked/BOOT-INF/classes" .
+
+# the class path must be the same, in the same order, when the archive is used
+start_class=$(sed -n 's/^Start-Class: *//p' "$cds/unpacked/META-INF/MANIFEST.MF" | tr -d '\r')
+classpath=$cds/application.jar
+for lib in "$cds"/unpacked/BOOT-INF/lib/*.jar; do
+    classpath=$classpath:$lib
+done
+printf -- '-cp %s\n%s\n' "$classpath" "$start_class" > "$cds/java.args"
+
+java -XX:ArchiveClassesAtExit="$cds/application.jsa" @"$cds/java.args" --spring.profiles.active="$profiles" &
+pid=$!
+until curl -fs -o /dev/null "$url"; do
+    kill -0 "$pid" 2>/dev/null || { echo "$module stopped before serving $url" >&2; exit 1; }
+    sleep 0.5
+done
+kill "$pid"
+wait "$pid" || true
+
+echo "Archive written to $cds/application.jsa"